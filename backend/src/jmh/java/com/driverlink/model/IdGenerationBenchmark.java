@@ -0,0 +1,266 @@
+package com.driverlink.model;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Insert throughput for incidents, votes and comments under the two id strategies, measured at
+ * the JDBC level with the statements Hibernate sends for each. {@code identity} is what the
+ * entities used to do: one INSERT per row, reading the generated key back, with no batching
+ * possible. {@code pooled} is the pooled-lo sequence: one {@code nextval} per {@link
+ * IdAllocation#BLOCK_SIZE} rows, then a single JDBC batch with the ids filled in. Each invocation
+ * saves one block of rows in one transaction; scores are rows per second.
+ *
+ * <p>Runs against in-memory H2 by default with {@code ./gradlew jmh}. To include PostgreSQL, point
+ * it at an empty scratch database (the benchmark creates and drops its own {@code bench_*}
+ * tables) and select both databases:
+ *
+ * <pre>
+ * java -Dbench.postgres.url=jdbc:postgresql://localhost:5432/driverlink_bench \
+ *     -Dbench.postgres.user=... -Dbench.postgres.password=... \
+ *     -jar build/libs/*-jmh.jar IdGenerationBenchmark -p database=h2,postgresql
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdGenerationBenchmark {
+  private static final int ROWS = IdAllocation.BLOCK_SIZE;
+
+  @Param({"h2"})
+  private String database;
+
+  private Connection connection;
+  private Target incidents;
+  private Target votes;
+  private Target comments;
+  private long row;
+
+  @Setup
+  public void setUp() throws SQLException {
+    if ("postgresql".equals(database)) {
+      String url =
+          System.getProperty(
+              "bench.postgres.url", "jdbc:postgresql://localhost:5432/driverlink_bench");
+      connection =
+          DriverManager.getConnection(
+              url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+              System.getProperty("bench.postgres.user", "postgres"),
+              System.getProperty("bench.postgres.password", ""));
+    } else {
+      connection =
+          DriverManager.getConnection("jdbc:h2:mem:ids;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    }
+    incidents =
+        new Target(
+            "bench_incidents",
+            "title VARCHAR(255) NOT NULL, description VARCHAR(2000) NOT NULL, "
+                + "location_id BIGINT NOT NULL, reporter_id BIGINT NOT NULL, "
+                + "type VARCHAR(50) NOT NULL, status VARCHAR(50) NOT NULL, "
+                + "verification_count INTEGER NOT NULL, created_at TIMESTAMP NOT NULL, "
+                + "updated_at TIMESTAMP NOT NULL, active BOOLEAN NOT NULL",
+            "title, description, location_id, reporter_id, type, status, verification_count, "
+                + "created_at, updated_at, active",
+            10);
+    votes =
+        new Target(
+            "bench_votes",
+            "incident_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+                + "vote_type VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL, "
+                + "active BOOLEAN NOT NULL",
+            "incident_id, user_id, vote_type, created_at, active",
+            5);
+    comments =
+        new Target(
+            "bench_comments",
+            "content VARCHAR(2000) NOT NULL, incident_id BIGINT NOT NULL, "
+                + "user_id BIGINT NOT NULL, created_at TIMESTAMP NOT NULL, "
+                + "updated_at TIMESTAMP NOT NULL, active BOOLEAN NOT NULL",
+            "content, incident_id, user_id, created_at, updated_at, active",
+            6);
+    connection.setAutoCommit(false);
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.rollback();
+    connection.setAutoCommit(true);
+    for (Target target : new Target[] {incidents, votes, comments}) {
+      target.drop();
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long incidentsIdentity() throws SQLException {
+    return incidents.insertIdentity(this::bindIncident);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long incidentsPooled() throws SQLException {
+    return incidents.insertPooled(this::bindIncident);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long votesIdentity() throws SQLException {
+    return votes.insertIdentity(this::bindVote);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long votesPooled() throws SQLException {
+    return votes.insertPooled(this::bindVote);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long commentsIdentity() throws SQLException {
+    return comments.insertIdentity(this::bindComment);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long commentsPooled() throws SQLException {
+    return comments.insertPooled(this::bindComment);
+  }
+
+  private void bindIncident(PreparedStatement statement, int first) throws SQLException {
+    long n = row++;
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    statement.setString(first, "Accident on the N1 northbound " + n);
+    statement.setString(
+        first + 1, "Two lanes closed just after the interchange, traffic backed up for 3km.");
+    statement.setLong(first + 2, n % 1_000 + 1);
+    statement.setLong(first + 3, n % 10_000 + 1);
+    statement.setString(first + 4, "ACCIDENT");
+    statement.setString(first + 5, "PENDING");
+    statement.setInt(first + 6, 0);
+    statement.setTimestamp(first + 7, now);
+    statement.setTimestamp(first + 8, now);
+    statement.setBoolean(first + 9, true);
+  }
+
+  private void bindVote(PreparedStatement statement, int first) throws SQLException {
+    long n = row++;
+    statement.setLong(first, n % 100_000 + 1);
+    statement.setLong(first + 1, n % 10_000 + 1);
+    statement.setString(first + 2, "UPVOTE");
+    statement.setTimestamp(first + 3, new Timestamp(System.currentTimeMillis()));
+    statement.setBoolean(first + 4, true);
+  }
+
+  private void bindComment(PreparedStatement statement, int first) throws SQLException {
+    long n = row++;
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    statement.setString(first, "Still backed up past the off-ramp, avoid if you can " + n);
+    statement.setLong(first + 1, n % 100_000 + 1);
+    statement.setLong(first + 2, n % 10_000 + 1);
+    statement.setTimestamp(first + 3, now);
+    statement.setTimestamp(first + 4, now);
+    statement.setBoolean(first + 5, true);
+  }
+
+  @FunctionalInterface
+  private interface Binder {
+    void bind(PreparedStatement statement, int firstParameter) throws SQLException;
+  }
+
+  /** One table per id strategy, plus the statements for both paths. */
+  private final class Target {
+    private final String name;
+    private final PreparedStatement identityInsert;
+    private final PreparedStatement pooledInsert;
+    private final PreparedStatement nextBlock;
+
+    private Target(String name, String columnDefinitions, String columns, int columnCount)
+        throws SQLException {
+      this.name = name;
+      String placeholders = "?" + ", ?".repeat(columnCount - 1);
+      drop();
+      try (Statement ddl = connection.createStatement()) {
+        ddl.execute(
+            "CREATE TABLE "
+                + name
+                + "_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + columnDefinitions
+                + ")");
+        ddl.execute(
+            "CREATE TABLE " + name + "_pooled (id BIGINT PRIMARY KEY, " + columnDefinitions + ")");
+        ddl.execute("CREATE SEQUENCE " + name + "_seq INCREMENT BY " + ROWS);
+      }
+      identityInsert =
+          connection.prepareStatement(
+              "INSERT INTO " + name + "_identity (" + columns + ") VALUES (" + placeholders + ")",
+              Statement.RETURN_GENERATED_KEYS);
+      pooledInsert =
+          connection.prepareStatement(
+              "INSERT INTO "
+                  + name
+                  + "_pooled (id, "
+                  + columns
+                  + ") VALUES (?, "
+                  + placeholders
+                  + ")");
+      nextBlock = connection.prepareStatement("SELECT nextval('" + name + "_seq')");
+    }
+
+    /** A row at a time, each waiting for its generated id. */
+    private long insertIdentity(Binder binder) throws SQLException {
+      long last = 0;
+      for (int i = 0; i < ROWS; i++) {
+        binder.bind(identityInsert, 1);
+        identityInsert.executeUpdate();
+        try (ResultSet keys = identityInsert.getGeneratedKeys()) {
+          keys.next();
+          last = keys.getLong(1);
+        }
+      }
+      connection.commit();
+      return last;
+    }
+
+    /** One sequence call for the block, then every row in one batch. */
+    private long insertPooled(Binder binder) throws SQLException {
+      long first;
+      try (ResultSet block = nextBlock.executeQuery()) {
+        block.next();
+        first = block.getLong(1);
+      }
+      for (int i = 0; i < ROWS; i++) {
+        pooledInsert.setLong(1, first + i);
+        binder.bind(pooledInsert, 2);
+        pooledInsert.addBatch();
+      }
+      pooledInsert.executeBatch();
+      connection.commit();
+      return first + ROWS - 1;
+    }
+
+    private void drop() throws SQLException {
+      try (Statement ddl = connection.createStatement()) {
+        ddl.execute("DROP TABLE IF EXISTS " + name + "_identity");
+        ddl.execute("DROP TABLE IF EXISTS " + name + "_pooled");
+        ddl.execute("DROP SEQUENCE IF EXISTS " + name + "_seq");
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.driverlink.moderation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of the banned-term matcher against a synthetic dictionary. Compares the automaton with
+ * the obvious alternative of splitting the text into words and looking each one up in a set.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BannedTermMatcherBenchmark {
+
+  private static final String CLEAN_COMMENT =
+      "Accident on the N1 northbound just after the Buccleuch interchange. Two lanes closed, "
+          + "emergency services on scene, traffic backed up to Allandale. Use the M1 if you can, "
+          + "it is moving slowly but moving. Will update when the tow truck arrives.";
+
+  @Param({"50000"})
+  private int dictionarySize;
+
+  private List<String> terms;
+  private BannedTermMatcher matcher;
+  private Set<String> termSet;
+  private String matchingComment;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    terms = new ArrayList<>(dictionarySize);
+    for (int i = 0; i < dictionarySize; i++) {
+      StringBuilder term = new StringBuilder();
+      int length = 4 + random.nextInt(9);
+      for (int j = 0; j < length; j++) {
+        term.append((char) ('a' + random.nextInt(26)));
+      }
+      terms.add(term.toString());
+    }
+    matcher = BannedTermMatcher.compile(terms);
+    termSet = new HashSet<>(terms);
+    matchingComment = CLEAN_COMMENT + " " + terms.get(dictionarySize / 2);
+  }
+
+  @Benchmark
+  public boolean automatonCleanComment() {
+    return matcher.matches(CLEAN_COMMENT);
+  }
+
+  @Benchmark
+  public boolean automatonMatchingComment() {
+    return matcher.matches(matchingComment);
+  }
+
+  @Benchmark
+  public boolean splitAndLookupCleanComment() {
+    for (String word : CLEAN_COMMENT.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+      if (termSet.contains(word)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public BannedTermMatcher compileDictionary() {
+    return BannedTermMatcher.compile(terms);
+  }
+}
@@ -0,0 +1,66 @@
+package com.driverlink.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Token checks made by {@link JwtAuthenticationFilter} for one request: read the subject, then
+ * validate the token against the loaded user. The user lookup itself is left out. {@code
+ * uncached} repeats what the filter used to do, building a key and a parser and verifying the
+ * signature on every call; {@code cached} goes through {@link JwtService}.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAuthenticationBenchmark {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  private JwtService jwtService;
+  private UserDetails userDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService(SECRET, 3_600_000L, 100_000);
+    userDetails = new User("driver@example.com", "password", new ArrayList<>());
+    token = jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public boolean cached() {
+    String username = jwtService.extractUsername(token);
+    return username != null && jwtService.isTokenValid(token, userDetails);
+  }
+
+  @Benchmark
+  public boolean uncached() {
+    String username = uncachedClaims(token).getSubject();
+    return username != null
+        && uncachedClaims(token).getSubject().equals(userDetails.getUsername())
+        && !uncachedClaims(token).getExpiration().before(new Date());
+  }
+
+  private static Claims uncachedClaims(String token) {
+    return Jwts.parserBuilder()
+        .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+        .build()
+        .parseClaimsJws(token)
+        .getBody();
+  }
+}
@@ -0,0 +1,82 @@
+package com.driverlink.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Probing hashes the characters in place and reads a few
+ * words of a bit array, so {@link #mightContain} neither allocates nor takes a lock; adds are
+ * lock-free too and may race with reads. A negative answer is exact, a positive one is wrong with
+ * roughly the configured probability while the filter holds no more than its expected insertions.
+ */
+public final class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  private BloomFilter(long bitCount, int hashCount) {
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+    this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+  }
+
+  /**
+   * Sizes a filter for the expected number of keys and false-positive rate.
+   *
+   * @param expectedInsertions keys the filter should hold before its error rate degrades
+   * @param falsePositiveRate target probability that an absent key is reported present
+   */
+  public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(expectedInsertions, 1);
+    double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+    long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    bits = Math.max(64, Math.min(bits, (long) Integer.MAX_VALUE * 64));
+    int hashes = (int) Math.max(1, Math.round((double) bits / n * Math.log(2)));
+    return new BloomFilter(bits, Math.min(hashes, 16));
+  }
+
+  public void add(CharSequence key) {
+    long h1 = hash(key);
+    long h2 = mix(h1) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+  }
+
+  public boolean mightContain(CharSequence key) {
+    long h1 = hash(key);
+    long h2 = mix(h1) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** FNV-1a over the UTF-16 code units, finished with a mixer so nearby keys spread out. */
+  private static long hash(CharSequence key) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  /** The 64-bit finaliser from MurmurHash3. */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
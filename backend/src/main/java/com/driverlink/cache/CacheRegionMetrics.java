@@ -0,0 +1,63 @@
+package com.driverlink.cache;
+
+import com.driverlink.model.CacheRegions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToLongFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hits, misses and puts of every second-level cache region as {@code hibernate.cache.*} metrics
+ * tagged by region, plus the hit ratio since startup. Needs {@code hibernate.generate_statistics}.
+ */
+@Component
+public class CacheRegionMetrics implements MeterBinder {
+  private final Statistics statistics;
+
+  public CacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (String region : CacheRegions.ALL) {
+      counter(registry, "hibernate.cache.hits", region, CacheRegionStatistics::getHitCount);
+      counter(registry, "hibernate.cache.misses", region, CacheRegionStatistics::getMissCount);
+      counter(registry, "hibernate.cache.puts", region, CacheRegionStatistics::getPutCount);
+      Gauge.builder("hibernate.cache.hit.ratio", this, metrics -> metrics.hitRatio(region))
+          .tag("region", region)
+          .register(registry);
+    }
+  }
+
+  double hitRatio(String region) {
+    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+    if (stats == null) {
+      return 0;
+    }
+    long lookups = stats.getHitCount() + stats.getMissCount();
+    return lookups == 0 ? 0 : (double) stats.getHitCount() / lookups;
+  }
+
+  private void counter(
+      MeterRegistry registry,
+      String name,
+      String region,
+      ToLongFunction<CacheRegionStatistics> count) {
+    FunctionCounter.builder(
+            name,
+            statistics,
+            s -> {
+              CacheRegionStatistics stats = s.getCacheRegionStatistics(region);
+              return stats == null ? 0 : count.applyAsLong(stats);
+            })
+        .tag("region", region)
+        .register(registry);
+  }
+}
@@ -0,0 +1,137 @@
+package com.driverlink.cache;
+
+import com.driverlink.event.LifecycleEvent;
+import com.driverlink.event.UserEvent;
+import com.driverlink.event.VoteEvent;
+import com.driverlink.model.CacheRegions;
+import com.driverlink.model.Incident;
+import com.driverlink.model.Location;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.model.User;
+import com.driverlink.outbox.OutboxEventListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the second-level cache in step with writes it cannot see.
+ *
+ * <p>Hibernate updates the cache for writes made through the entity manager on this node. Writes
+ * on other nodes arrive through the outbox feed: every user and incident event evicts that entry
+ * (and an incident's location), so another node's change is picked up on the next read rather
+ * than when the entry expires. Writes made with plain SQL are evicted after they commit: a vote
+ * adjusts its incident's verification count, a cascading delete or restore switches incidents and
+ * their counts, and users inserted by bulk imports may already have a cached "not found" login
+ * lookup.
+ */
+@Slf4j
+@Component
+public class EntityCacheInvalidator implements OutboxEventListener {
+  private static final String USER_AGGREGATE = "user";
+  private static final String INCIDENT_AGGREGATE = "incident";
+  private static final String VOTE_AGGREGATE = "vote";
+  private static final String LIFECYCLE_AGGREGATE = "lifecycle";
+  private static final String USER_ROLES_ROLE = User.class.getName() + ".roles";
+
+  private final Cache cache;
+  private final ObjectMapper objectMapper;
+
+  public EntityCacheInvalidator(
+      EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper) {
+    this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    this.objectMapper = objectMapper;
+  }
+
+  @TransactionalEventListener
+  public void onUserEvent(UserEvent event) {
+    if (event.getType() == UserEvent.Type.CREATED) {
+      cache.evictQueryRegion(CacheRegions.USERS_BY_LOGIN);
+    }
+  }
+
+  @TransactionalEventListener
+  public void onVoteEvent(VoteEvent event) {
+    cache.evictEntityData(Incident.class, event.getVote().getIncidentId());
+  }
+
+  @TransactionalEventListener
+  public void onLifecycleEvent(LifecycleEvent event) {
+    evictCascade(event.getScope().name(), event.getId());
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    boolean usersChanged = false;
+    for (OutboxEvent event : events) {
+      if (USER_AGGREGATE.equals(event.getAggregateType())) {
+        cache.evictEntityData(User.class, event.getAggregateId());
+        cache.evictCollectionData(USER_ROLES_ROLE, event.getAggregateId());
+        usersChanged = true;
+      } else if (INCIDENT_AGGREGATE.equals(event.getAggregateType())) {
+        cache.evictEntityData(Incident.class, event.getAggregateId());
+        evictLocation(event);
+      } else if (VOTE_AGGREGATE.equals(event.getAggregateType())) {
+        evictVotedIncident(event);
+      } else if (LIFECYCLE_AGGREGATE.equals(event.getAggregateType())) {
+        evictCascade(event);
+      }
+    }
+    if (usersChanged) {
+      cache.evictQueryRegion(CacheRegions.USERS_BY_LOGIN);
+    }
+  }
+
+  private void evictCascade(OutboxEvent event) {
+    try {
+      evictCascade(
+          objectMapper.readTree(event.getPayload()).path("scope").asText(),
+          event.getAggregateId());
+    } catch (JsonProcessingException e) {
+      log.warn(
+          "Evicting all incidents after unreadable lifecycle event {}", event.getPosition(), e);
+      cache.evictEntityData(Incident.class);
+    }
+  }
+
+  /**
+   * An incident's cascade only changes its own verification count. A user's reaches their
+   * incidents and every incident they voted on, which are not known here.
+   */
+  private void evictCascade(String scope, Long id) {
+    if (LifecycleEvent.Scope.INCIDENT.name().equals(scope)) {
+      cache.evictEntityData(Incident.class, id);
+    } else {
+      cache.evictEntityData(Incident.class);
+    }
+  }
+
+  private void evictVotedIncident(OutboxEvent event) {
+    try {
+      JsonNode incidentId = objectMapper.readTree(event.getPayload()).path("incidentId");
+      if (incidentId.canConvertToLong()) {
+        cache.evictEntityData(Incident.class, incidentId.asLong());
+      }
+    } catch (JsonProcessingException e) {
+      log.warn("Skipping unreadable vote event {}", event.getPosition(), e);
+    }
+  }
+
+  private void evictLocation(OutboxEvent event) {
+    try {
+      JsonNode locationId = objectMapper.readTree(event.getPayload()).path("location").path("id");
+      if (locationId.canConvertToLong()) {
+        cache.evictEntityData(Location.class, locationId.asLong());
+      }
+    } catch (JsonProcessingException e) {
+      log.warn("Evicting all locations after unreadable incident event {}", event.getPosition(), e);
+      cache.evictEntityData(Location.class);
+    }
+  }
+}
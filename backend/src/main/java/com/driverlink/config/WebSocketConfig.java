@@ -0,0 +1,93 @@
+package com.driverlink.config;
+
+import com.driverlink.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP over WebSocket. Clients connect to {@code /ws}, send to {@code /app/...} and receive
+ * per-session pushes on {@code /user/queue/...}. Send limits are kept tight so a slow client is
+ * disconnected instead of buffering unbounded data on the server.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+  private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+  private TaskScheduler messageBrokerTaskScheduler;
+
+  @Value("${cors.allowed-origins}")
+  private String[] allowedOrigins;
+
+  @Value("${websocket.heartbeat-ms:20000}")
+  private long heartbeatMs;
+
+  @Value("${websocket.inbound-threads:8}")
+  private int inboundThreads;
+
+  @Value("${websocket.outbound-threads:16}")
+  private int outboundThreads;
+
+  @Value("${websocket.send-time-limit-ms:10000}")
+  private int sendTimeLimitMs;
+
+  @Value("${websocket.send-buffer-size-limit:131072}")
+  private int sendBufferSizeLimit;
+
+  @Value("${websocket.message-size-limit:8192}")
+  private int messageSizeLimit;
+
+  @Autowired
+  public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+    this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+  }
+
+  @Override
+  public void registerStompEndpoints(StompEndpointRegistry registry) {
+    registry.addEndpoint("/ws").setAllowedOriginPatterns(allowedOrigins);
+  }
+
+  @Override
+  public void configureMessageBroker(MessageBrokerRegistry registry) {
+    registry
+        .enableSimpleBroker("/queue")
+        .setHeartbeatValue(new long[] {heartbeatMs, heartbeatMs})
+        .setTaskScheduler(messageBrokerTaskScheduler);
+    registry.setApplicationDestinationPrefixes("/app");
+    registry.setUserDestinationPrefix("/user");
+  }
+
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration
+        .interceptors(stompAuthChannelInterceptor)
+        .taskExecutor()
+        .corePoolSize(inboundThreads)
+        .maxPoolSize(inboundThreads);
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.taskExecutor().corePoolSize(outboundThreads).maxPoolSize(outboundThreads);
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration
+        .setSendTimeLimit(sendTimeLimitMs)
+        .setSendBufferSizeLimit(sendBufferSizeLimit)
+        .setMessageSizeLimit(messageSizeLimit);
+  }
+}
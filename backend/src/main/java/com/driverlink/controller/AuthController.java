@@ -0,0 +1,67 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.AvailabilityDTO;
+import com.driverlink.dto.LoginRequestDTO;
+import com.driverlink.dto.RefreshRequestDTO;
+import com.driverlink.dto.TokenPairDTO;
+import com.driverlink.service.AuthService;
+import com.driverlink.service.UserAvailabilityIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "Auth", description = "Login, token refresh and logout APIs")
+public class AuthController {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthService authService;
+    private final UserAvailabilityIndex availabilityIndex;
+
+    @PostMapping("/login")
+    @Operation(summary = "Log in", description = "Exchange email and password for an access token and a refresh token")
+    public ResponseEntity<TokenPairDTO> login(@Valid @RequestBody LoginRequestDTO request) {
+        return ResponseEntity.ok(authService.login(request));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens",
+            description = "Exchange a refresh token for a new pair. Each refresh token works once; reusing one revokes the session.")
+    public ResponseEntity<TokenPairDTO> refresh(@Valid @RequestBody RefreshRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revoke the session's refresh tokens and the access token presented")
+    public ResponseEntity<Void> logout(
+            @RequestBody(required = false) RefreshRequestDTO request,
+            @Parameter(hidden = true) @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        authService.logout(request == null ? null : request.getRefreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Check availability",
+            description = "Whether a username and/or email is still free to register. Cheap enough to call as the user types.")
+    public ResponseEntity<AvailabilityDTO> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        return ResponseEntity.ok(AvailabilityDTO.builder()
+                .username(hasUsername ? username : null)
+                .usernameAvailable(hasUsername ? availabilityIndex.isUsernameAvailable(username) : null)
+                .email(hasEmail ? email : null)
+                .emailAvailable(hasEmail ? availabilityIndex.isEmailAvailable(email) : null)
+                .build());
+    }
+}
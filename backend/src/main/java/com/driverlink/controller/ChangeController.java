@@ -0,0 +1,36 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.ChangeFeedDTO;
+import com.driverlink.outbox.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Ordered feed of committed changes")
+public class ChangeController {
+    private final ChangeFeedService changeFeedService;
+
+    @GetMapping
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Get changes",
+            description = "Long-polls for incident, comment, vote and rating changes after the given position. "
+                    + "Returns as soon as changes are available, or an empty page when the wait times out; "
+                    + "continue from the returned 'next' cursor.")
+    public DeferredResult<ChangeFeedDTO> getChanges(
+            @Parameter(description = "Position of the last change already processed")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes to return")
+            @RequestParam(defaultValue = "100") int limit) {
+        return changeFeedService.getChanges(since, limit);
+    }
+}
@@ -2,8 +2,10 @@ package com.driverlink.controller;
 
 import com.driverlink.dto.CommentDTO;
 import com.driverlink.dto.CommentStatistics;
+import com.driverlink.dto.CommentThreadDTO;
 import com.driverlink.security.CurrentUser;
 import com.driverlink.service.CommentService;
+import com.driverlink.stream.CommentStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,9 +16,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 
@@ -26,6 +30,7 @@ import java.time.LocalDateTime;
 @Tag(name = "Comment", description = "Comment management APIs")
 public class CommentController {
     private final CommentService commentService;
+    private final CommentStreamHub commentStreamHub;
 
     @GetMapping("/incident/{incidentId}")
     @Operation(summary = "Get comments for incident",
@@ -38,9 +43,35 @@ public class CommentController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
             @Parameter(description = "Search term in comment content")
             @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Only return top-level comments, not replies")
+            @RequestParam(defaultValue = "false") boolean rootsOnly,
             @Parameter(description = "Pagination parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(commentService.getCommentsForIncident(incidentId, since, searchTerm, pageable));
+        return ResponseEntity.ok(commentService.getCommentsForIncident(incidentId, since, searchTerm, rootsOnly, pageable));
+    }
+
+    @GetMapping("/{id}/thread")
+    @Operation(summary = "Get comment thread",
+            description = "Retrieve a comment with its nested replies, optionally limited to a number of levels")
+    public ResponseEntity<CommentThreadDTO> getThread(
+            @Parameter(description = "Comment ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Number of reply levels to include below the comment")
+            @RequestParam(required = false) Integer maxDepth) {
+        return ResponseEntity.ok(commentService.getThread(id, maxDepth));
+    }
+
+    @GetMapping(value = "/incident/{incidentId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream comments for incident",
+            description = "Server-Sent Events stream of comments created, edited and deleted on an incident. "
+                    + "Reconnect with Last-Event-ID to receive missed events; a 'reset' event means the "
+                    + "client should reload the comment list.")
+    public SseEmitter streamComments(
+            @Parameter(description = "Incident ID", required = true)
+            @PathVariable Long incidentId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return commentStreamHub.subscribe(incidentId, lastEventId);
     }
 
     @GetMapping("/incident/{incidentId}/statistics")
@@ -56,7 +87,7 @@ public class CommentController {
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "bearer-jwt")
     @Operation(summary = "Create comment",
-            description = "Create a new comment for an incident")
+            description = "Create a new comment for an incident, or a reply when parentId is set")
     public ResponseEntity<CommentDTO> createComment(
             @Valid @RequestBody CommentDTO commentDTO,
             @Parameter(hidden = true) @CurrentUser Long userId) {
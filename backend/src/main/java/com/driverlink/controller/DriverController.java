@@ -0,0 +1,78 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.DriverPositionDTO;
+import com.driverlink.dto.IngestSessionDTO;
+import com.driverlink.dto.PositionBatchDTO;
+import com.driverlink.security.CurrentUser;
+import com.driverlink.service.DriverPositionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/drivers")
+@RequiredArgsConstructor
+@Tag(name = "Driver", description = "Live driver position APIs")
+public class DriverController {
+    private final DriverPositionService driverPositionService;
+
+    @PostMapping("/me/position")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Report positions",
+            description = "Submit a batch of GPS pings for the current driver. Pings older than the stored position are ignored.")
+    public ResponseEntity<Void> reportPositions(
+            @Valid @RequestBody PositionBatchDTO batch,
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        driverPositionService.recordPositions(userId, batch.getPings());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/me/ingest-session")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Open binary ingest session",
+            description = "Issue a session id and key for sending compact binary position frames over UDP or TCP. "
+                    + "The session expires with the presented token.")
+    public ResponseEntity<IngestSessionDTO> openIngestSession(
+            @Parameter(hidden = true) @RequestHeader("Authorization") String authorization,
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        String token = authorization.substring("Bearer ".length());
+        return ResponseEntity.ok(driverPositionService.openIngestSession(userId, token));
+    }
+
+    @GetMapping("/{userId}/position")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR') or (isAuthenticated() and #userId == principal.id)")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Get driver position",
+            description = "Latest known position of a driver. Drivers may only read their own position; moderators and admins may read any.")
+    public ResponseEntity<DriverPositionDTO> getPosition(
+            @Parameter(description = "Driver user ID", required = true)
+            @PathVariable Long userId) {
+        return ResponseEntity.ok(driverPositionService.getPosition(userId));
+    }
+
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Find nearby drivers",
+            description = "Drivers that recently reported a position within the radius, nearest first. Moderators and admins only.")
+    public ResponseEntity<List<DriverPositionDTO>> getNearbyDrivers(
+            @Parameter(description = "Latitude", required = true)
+            @RequestParam Double latitude,
+            @Parameter(description = "Longitude", required = true)
+            @RequestParam Double longitude,
+            @Parameter(description = "Radius in kilometers", required = true)
+            @RequestParam Double radiusKm,
+            @Parameter(description = "Maximum number of drivers to return")
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(driverPositionService.getNearbyDrivers(latitude, longitude, radiusKm, limit));
+    }
+}
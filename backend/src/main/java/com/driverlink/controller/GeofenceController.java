@@ -0,0 +1,68 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.GeofenceDTO;
+import com.driverlink.security.CurrentUser;
+import com.driverlink.service.GeofenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/geofences")
+@RequiredArgsConstructor
+@Tag(name = "Geofence", description = "Alert zone management APIs")
+public class GeofenceController {
+    private final GeofenceService geofenceService;
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Get my geofences", description = "Active alert zones of the current user")
+    public ResponseEntity<List<GeofenceDTO>> getMyGeofences(
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        return ResponseEntity.ok(geofenceService.getGeofencesForUser(userId));
+    }
+
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Create geofence",
+            description = "Create a circle or polygon alert zone. New incidents reported inside it notify the owner.")
+    public ResponseEntity<GeofenceDTO> createGeofence(
+            @Valid @RequestBody GeofenceDTO geofenceDTO,
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        return new ResponseEntity<>(geofenceService.createGeofence(geofenceDTO, userId), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Update geofence", description = "Replace the name and shape of an alert zone")
+    public ResponseEntity<GeofenceDTO> updateGeofence(
+            @Parameter(description = "Geofence ID", required = true)
+            @PathVariable Long id,
+            @Valid @RequestBody GeofenceDTO geofenceDTO,
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        return ResponseEntity.ok(geofenceService.updateGeofence(id, geofenceDTO, userId));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Delete geofence", description = "Soft delete an alert zone")
+    public ResponseEntity<Void> deleteGeofence(
+            @Parameter(description = "Geofence ID", required = true)
+            @PathVariable Long id,
+            @Parameter(hidden = true) @CurrentUser Long userId) {
+        geofenceService.deleteGeofence(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.driverlink.controller;
 
 import com.driverlink.dto.IncidentDTO;
+import com.driverlink.dto.LifecycleReportDTO;
 import com.driverlink.model.IncidentStatus;
 import com.driverlink.model.IncidentType;
 import com.driverlink.security.CurrentUser;
@@ -37,8 +38,11 @@ public class IncidentController {
             @Parameter(description = "Filter by date range - start")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "Filter by date range - end")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        return ResponseEntity.ok(incidentService.getAllIncidents(status, type, city, startDate, endDate));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Rank by reporter reputation instead of creation order")
+            @RequestParam(defaultValue = "false") boolean rankByReputation) {
+        return ResponseEntity.ok(incidentService.getAllIncidents(status, type, city, startDate, endDate,
+                rankByReputation));
     }
 
     @GetMapping("/{id}")
@@ -57,8 +61,11 @@ public class IncidentController {
             @Parameter(description = "Longitude", required = true)
             @RequestParam Double longitude,
             @Parameter(description = "Radius in kilometers", required = true)
-            @RequestParam Double radiusKm) {
-        return ResponseEntity.ok(incidentService.getNearbyIncidents(latitude, longitude, radiusKm));
+            @RequestParam Double radiusKm,
+            @Parameter(description = "Rank by reporter reputation")
+            @RequestParam(defaultValue = "false") boolean rankByReputation) {
+        return ResponseEntity.ok(incidentService.getNearbyIncidents(latitude, longitude, radiusKm,
+                rankByReputation));
     }
 
     @PostMapping
@@ -82,14 +89,38 @@ public class IncidentController {
         return ResponseEntity.ok(incidentService.updateIncident(id, incidentDTO));
     }
 
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Update incident status", description = "Change the status of an incident")
+    public ResponseEntity<IncidentDTO> updateIncidentStatus(
+            @Parameter(description = "Incident ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "New status", required = true)
+            @RequestParam IncidentStatus status) {
+        return ResponseEntity.ok(incidentService.updateIncidentStatus(id, status));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     @SecurityRequirement(name = "bearer-jwt")
-    @Operation(summary = "Delete incident", description = "Soft delete an incident")
+    @Operation(summary = "Delete incident",
+            description = "Soft delete an incident along with its comments, votes and ratings")
     public ResponseEntity<Void> deleteIncident(
             @Parameter(description = "Incident ID", required = true)
             @PathVariable Long id) {
         incidentService.deleteIncident(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/restore")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Restore incident",
+            description = "Restore a deleted incident along with the content deleted with it")
+    public ResponseEntity<LifecycleReportDTO> restoreIncident(
+            @Parameter(description = "Incident ID", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(incidentService.restoreIncident(id));
+    }
 }
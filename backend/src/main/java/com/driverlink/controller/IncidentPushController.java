@@ -0,0 +1,44 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.GeoSubscriptionDTO;
+import com.driverlink.exception.ValidationException;
+import com.driverlink.stream.IncidentPushService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP endpoints for the live incident feed. After connecting, a client subscribes to {@code
+ * /user/queue/incidents} and sends its position to {@code /app/incidents/subscribe}; sending again
+ * moves the watched area.
+ */
+@Controller
+@RequiredArgsConstructor
+public class IncidentPushController {
+    private final IncidentPushService incidentPushService;
+
+    @MessageMapping("/incidents/subscribe")
+    public void subscribe(@Payload GeoSubscriptionDTO request,
+            @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        if (request.getLatitude() == null || request.getLongitude() == null || request.getRadiusKm() == null) {
+            throw new ValidationException("Latitude, longitude and radius are required");
+        }
+        incidentPushService.subscribe(sessionId, request.getLatitude(), request.getLongitude(), request.getRadiusKm());
+    }
+
+    @MessageMapping("/incidents/unsubscribe")
+    public void unsubscribe(@Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
+        incidentPushService.unsubscribe(sessionId);
+    }
+
+    @MessageExceptionHandler(ValidationException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public String handleValidation(ValidationException e) {
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,45 @@
+package com.driverlink.controller;
+
+import com.driverlink.dto.LeaderboardDTO;
+import com.driverlink.dto.LeaderboardEntryDTO;
+import com.driverlink.leaderboard.LeaderboardWindow;
+import com.driverlink.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+@Tag(name = "Leaderboard", description = "Top reporter rankings")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    @Operation(summary = "Get leaderboard",
+            description = "Top reporters by verified incidents and upvotes received, globally or for one city")
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(
+            @Parameter(description = "Time window: DAY, WEEK or ALL_TIME")
+            @RequestParam(defaultValue = "WEEK") LeaderboardWindow window,
+            @Parameter(description = "Restrict to one city")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Number of reporters to return (at most 100)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(window, city, limit));
+    }
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Get user standing", description = "Rank and counts of one reporter on a leaderboard")
+    public ResponseEntity<LeaderboardEntryDTO> getStanding(
+            @Parameter(description = "User ID", required = true)
+            @PathVariable Long userId,
+            @Parameter(description = "Time window: DAY, WEEK or ALL_TIME")
+            @RequestParam(defaultValue = "WEEK") LeaderboardWindow window,
+            @Parameter(description = "Restrict to one city")
+            @RequestParam(required = false) String city) {
+        return ResponseEntity.ok(leaderboardService.getStanding(window, city, userId));
+    }
+}
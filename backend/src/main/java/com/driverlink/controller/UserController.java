@@ -1,7 +1,11 @@
 package com.driverlink.controller;
 
+import com.driverlink.dto.LifecycleReportDTO;
 import com.driverlink.dto.UserDTO;
+import com.driverlink.dto.UserImportReportDTO;
+import com.driverlink.dto.UserPageDTO;
 import com.driverlink.mapper.UserMapper;
+import com.driverlink.service.UserImportService;
 import com.driverlink.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,9 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.io.InputStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
   private final UserService userService;
   private final UserMapper userMapper;
+  private final UserImportService userImportService;
 
   /**
    * Creates a new user with validation.
@@ -67,15 +74,49 @@ public class UserController {
   }
 
   /**
-   * Retrieves all users in the system.
+   * Lists users a page at a time.
    *
-   * @return list of all users
+   * @param after id of the last user on the previous page
+   * @param limit maximum users to return
+   * @param q username or email prefix to search for
+   * @return the page of users and the cursor for the next page
    */
   @GetMapping
-  @Operation(summary = "Get all users")
-  @ApiResponse(responseCode = "200", description = "List of users retrieved")
-  public ResponseEntity<List<UserDTO>> getAllUsers() {
-    return ResponseEntity.ok(userService.getAllUsers().stream().map(userMapper::toDTO).toList());
+  @Operation(summary = "List users")
+  @ApiResponse(responseCode = "200", description = "Page of users retrieved")
+  public ResponseEntity<UserPageDTO> getUsers(
+      @Parameter(description = "Cursor from the previous page") @RequestParam(required = false)
+          Long after,
+      @Parameter(description = "Page size (at most 200)") @RequestParam(defaultValue = "50")
+          int limit,
+      @Parameter(description = "Username or email prefix") @RequestParam(required = false)
+          String q) {
+    return ResponseEntity.ok(userService.listUsers(after, limit, q));
+  }
+
+  /**
+   * Creates users in bulk from a CSV (with a header row) or NDJSON upload.
+   *
+   * @param contentType text/csv or application/x-ndjson
+   * @param body the file
+   * @return the result of every row
+   */
+  @PostMapping(
+      value = "/import",
+      consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(
+      summary = "Import users",
+      description =
+          "Columns or fields: username, email, password (plain text or a BCrypt hash) and"
+              + " optional roles separated by '|'")
+  @ApiResponse(responseCode = "200", description = "Import processed; see the per-row results")
+  public ResponseEntity<UserImportReportDTO> importUsers(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+    UserImportService.Format format =
+        MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+            ? UserImportService.Format.NDJSON
+            : UserImportService.Format.CSV;
+    return ResponseEntity.ok(userImportService.importUsers(body, format));
   }
 
   /**
@@ -103,7 +144,7 @@ public class UserController {
   }
 
   /**
-   * Deletes a user by their ID.
+   * Deletes a user by their ID, deactivating their incidents and everything they wrote.
    *
    * @param id the user ID
    * @return no content on success
@@ -120,4 +161,22 @@ public class UserController {
     userService.deleteUser(id);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Restores a deleted user along with the content deleted with them.
+   *
+   * @param id the user ID
+   * @return the number of incidents, comments, votes and ratings restored
+   */
+  @PostMapping("/{id}/restore")
+  @Operation(summary = "Restore user")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "User restored successfully"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+      })
+  public ResponseEntity<LifecycleReportDTO> restoreUser(
+      @Parameter(description = "User ID", required = true) @PathVariable Long id) {
+    return ResponseEntity.ok(userService.restoreUser(id));
+  }
 }
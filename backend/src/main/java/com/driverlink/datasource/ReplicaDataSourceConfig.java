@@ -0,0 +1,68 @@
+package com.driverlink.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the auto-configured data source with a primary pool, one read-only pool per replica and
+ * a {@link ReplicaRoutingDataSource} over them. Only active with {@code
+ * datasource.replicas.enabled=true}; otherwise Spring Boot's single pool is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      ReplicaProperties properties,
+      MeterRegistry meterRegistry) {
+    List<DataSource> replicas = new ArrayList<>();
+    for (ReplicaProperties.Node node : properties.getNodes()) {
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + replicas.size());
+      replica.setJdbcUrl(node.getUrl());
+      replica.setUsername(node.getUsername());
+      replica.setPassword(node.getPassword());
+      replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+      replica.setReadOnly(true);
+      // Start even if a replica is down; the health check brings it into rotation later
+      replica.setInitializationFailTimeout(-1);
+      replicas.add(replica);
+    }
+    return new ReplicaRoutingDataSource(
+        primary,
+        replicas,
+        properties.getReadYourWritesWindow(),
+        properties.getMaxTrackedWriters(),
+        properties.getHealthCheckTimeout(),
+        meterRegistry);
+  }
+
+  /**
+   * The data source everything else uses. The lazy proxy defers opening the physical connection
+   * to the first statement, by which time the transaction's read-only flag is known.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+}
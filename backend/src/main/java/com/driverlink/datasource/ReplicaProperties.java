@@ -0,0 +1,42 @@
+package com.driverlink.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read replicas, bound from {@code datasource.replicas.*}. When enabled, read-only transactions are
+ * spread over the replicas and everything else goes to the primary configured under {@code
+ * spring.datasource}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+  private boolean enabled;
+
+  private List<Node> nodes = new ArrayList<>();
+
+  /** Connections per replica pool. */
+  private int maximumPoolSize = 10;
+
+  /** After a user commits a write, their reads stay on the primary for this long. */
+  private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+  /** Upper bound on the number of recent writers remembered. */
+  private long maxTrackedWriters = 100_000;
+
+  /** How long a health check waits for a replica to answer. */
+  private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+  @Data
+  public static class Node {
+    private String url;
+    private String username;
+    private String password;
+  }
+}
@@ -0,0 +1,194 @@
+package com.driverlink.datasource;
+
+import com.driverlink.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ *
+ * <p>The route is chosen when a connection is opened, from the transaction's read-only flag, so
+ * this must sit behind a {@code LazyConnectionDataSourceProxy}: the flag is only set after the
+ * transaction manager has asked for its connection. Replicas are taken round-robin, skipping any
+ * that failed their last health check or refused a connection; with none available reads fall
+ * back to the primary.
+ *
+ * <p>Replicas lag the primary, so a user who has just written reads from the primary for {@code
+ * readYourWritesWindow} after the write commits; a driver always sees the report they just filed.
+ * Other users may see it a moment later.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Cache<Long, Boolean> recentWriters;
+  private final int healthCheckTimeoutSeconds;
+  private final Counter primaryConnections;
+  private final Counter replicaConnections;
+  private final Counter fallbackConnections;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      Duration readYourWritesWindow,
+      long maxTrackedWriters,
+      Duration healthCheckTimeout,
+      MeterRegistry meterRegistry) {
+    this(
+        primary,
+        replicas,
+        readYourWritesWindow,
+        maxTrackedWriters,
+        healthCheckTimeout,
+        meterRegistry,
+        Ticker.systemTicker());
+  }
+
+  ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      Duration readYourWritesWindow,
+      long maxTrackedWriters,
+      Duration healthCheckTimeout,
+      MeterRegistry meterRegistry,
+      Ticker ticker) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.recentWriters =
+        Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .maximumSize(maxTrackedWriters)
+            .ticker(ticker)
+            .build();
+    this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    this.primaryConnections = routeCounter(meterRegistry, "primary");
+    this.replicaConnections = routeCounter(meterRegistry, "replica");
+    this.fallbackConnections = routeCounter(meterRegistry, "fallback");
+    meterRegistry.gauge(
+        "datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyCount);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Long userId = currentUserId();
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      trackWrite(userId);
+      primaryConnections.increment();
+      return primary.getConnection();
+    }
+    if (userId == null || recentWriters.getIfPresent(userId) == null) {
+      for (int attempt = 0; attempt < replicas.size(); attempt++) {
+        Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+        if (!replica.healthy) {
+          continue;
+        }
+        try {
+          Connection connection = replica.dataSource.getConnection();
+          replicaConnections.increment();
+          return connection;
+        } catch (SQLException e) {
+          markDown(replica, e);
+        }
+      }
+    }
+    fallbackConnections.increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Routing uses the pools' own credentials");
+  }
+
+  /** Probes every replica, taking failed ones out of rotation and returning recovered ones. */
+  @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+  public void checkReplicas() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection()) {
+        if (connection.isValid(healthCheckTimeoutSeconds)) {
+          if (!replica.healthy) {
+            log.info("Replica {} is back in rotation", replica.dataSource);
+          }
+          replica.healthy = true;
+        } else {
+          markDown(replica, null);
+        }
+      } catch (SQLException e) {
+        markDown(replica, e);
+      }
+    }
+  }
+
+  int healthyCount() {
+    return (int) replicas.stream().filter(replica -> replica.healthy).count();
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  /** Remembers the user once the transaction commits, so their next reads see the write. */
+  private void trackWrite(Long userId) {
+    if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            recentWriters.put(userId, Boolean.TRUE);
+          }
+        });
+  }
+
+  private static void markDown(Replica replica, SQLException cause) {
+    if (replica.healthy) {
+      log.warn("Taking replica {} out of rotation", replica.dataSource, cause);
+    }
+    replica.healthy = false;
+  }
+
+  private static Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal user) {
+      return user.getId();
+    }
+    return null;
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+    return meterRegistry.counter("datasource.connections", "route", route);
+  }
+
+  private static final class Replica {
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    private Replica(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+  }
+}
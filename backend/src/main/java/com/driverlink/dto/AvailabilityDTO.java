@@ -0,0 +1,14 @@
+package com.driverlink.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Whether a username and/or email can still be registered; fields not asked about are null. */
+@Data
+@Builder
+public class AvailabilityDTO {
+    private String username;
+    private Boolean usernameAvailable;
+    private String email;
+    private Boolean emailAvailable;
+}
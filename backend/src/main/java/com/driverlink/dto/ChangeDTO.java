@@ -0,0 +1,18 @@
+package com.driverlink.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Builder;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ChangeDTO {
+    private Long position;
+    private String aggregateType;
+    private Long aggregateId;
+    private String eventType;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.driverlink.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class ChangeFeedDTO {
+    private List<ChangeDTO> changes;
+    /** Cursor to pass as {@code since} on the next request. */
+    private long next;
+    /** The requested position has been pruned; rebuild from the entity APIs, then resume from {@code next}. */
+    private boolean resetRequired;
+}
@@ -17,6 +17,9 @@ public class CommentDTO {
     
     private Long userId;
     private String username;
+    private Long parentId;
+    private int depth;
+    private int replyCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
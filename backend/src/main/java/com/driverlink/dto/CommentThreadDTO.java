@@ -0,0 +1,17 @@
+package com.driverlink.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class CommentThreadDTO {
+    private CommentDTO comment;
+    private List<CommentThreadDTO> replies = new ArrayList<>();
+
+    public CommentThreadDTO(CommentDTO comment) {
+        this.comment = comment;
+    }
+}
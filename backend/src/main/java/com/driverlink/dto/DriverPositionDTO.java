@@ -0,0 +1,17 @@
+package com.driverlink.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+@Builder
+public class DriverPositionDTO {
+    private Long userId;
+    private Double latitude;
+    private Double longitude;
+    private Integer heading;
+    private Double speedKmh;
+    private Instant recordedAt;
+    private Double distanceKm;
+}
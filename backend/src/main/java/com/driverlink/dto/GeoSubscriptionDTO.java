@@ -0,0 +1,27 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Schema(description = "Area a client wants live incident updates for")
+public class GeoSubscriptionDTO {
+    @NotNull(message = "Latitude is required")
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @NotNull(message = "Radius is required")
+    @Positive
+    @Schema(description = "Radius in kilometers")
+    private Double radiusKm;
+}
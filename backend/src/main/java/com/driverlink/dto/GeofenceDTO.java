@@ -0,0 +1,36 @@
+package com.driverlink.dto;
+
+import com.driverlink.model.GeofenceShape;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class GeofenceDTO {
+    private Long id;
+    private Long userId;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name cannot exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Shape is required")
+    private GeofenceShape shape;
+
+    @Schema(description = "Centre of a circle")
+    @Valid
+    private GeoPointDTO center;
+
+    @Schema(description = "Radius of a circle in kilometers")
+    private Double radiusKm;
+
+    @Schema(description = "Vertices of a polygon, in order")
+    private List<@Valid GeoPointDTO> vertices;
+
+    private LocalDateTime createdAt;
+}
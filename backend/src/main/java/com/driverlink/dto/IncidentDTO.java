@@ -21,6 +21,7 @@ public class IncidentDTO {
     private LocationDTO location;
     
     private Long reporterId;
+    private Double reporterReputation;
     
     @NotNull(message = "Incident type is required")
     private IncidentType type;
@@ -29,5 +30,9 @@ public class IncidentDTO {
     private int verificationCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime verifiedAt;
     private Double averageRating;
+
+    /** Version the client read; must be sent back unchanged when updating the incident. */
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+@Builder
+@Schema(description = "Credentials for sending binary position frames")
+public class IngestSessionDTO {
+    private Long sessionId;
+    @Schema(description = "Base64 128-bit SipHash key for signing frames")
+    private String key;
+    private Integer udpPort;
+    private Integer tcpPort;
+    private Instant expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.driverlink.dto;
+
+import com.driverlink.leaderboard.LeaderboardWindow;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "Top reporters for a time window, globally or for one city")
+public class LeaderboardDTO {
+    @Schema(description = "Time window the leaderboard covers")
+    private LeaderboardWindow window;
+
+    @Schema(description = "City the leaderboard is restricted to, or null for all cities")
+    private String city;
+
+    @Schema(description = "Reporters in rank order")
+    private List<LeaderboardEntryDTO> entries;
+}
@@ -0,0 +1,28 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "A reporter's position on a leaderboard")
+public class LeaderboardEntryDTO {
+    @Schema(description = "1-based rank, or null if the reporter is not on the leaderboard")
+    private Integer rank;
+
+    @Schema(description = "ID of the reporter")
+    private Long userId;
+
+    @Schema(description = "Username of the reporter")
+    private String username;
+
+    @Schema(description = "Incidents of the reporter verified in the window")
+    private long verifiedIncidents;
+
+    @Schema(description = "Upvotes the reporter's incidents received in the window")
+    private long upvotesReceived;
+
+    @Schema(description = "Ranking points: verified incidents are weighted, each upvote counts one")
+    private long points;
+}
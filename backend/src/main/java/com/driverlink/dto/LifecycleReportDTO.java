@@ -0,0 +1,28 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Rows a cascading soft delete or restore switched off or back on, per table. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Rows affected by a cascading delete or restore")
+public class LifecycleReportDTO {
+
+  @Schema(description = "Incidents deactivated or restored along with their reporter")
+  private int incidents;
+
+  @Schema(description = "Comments deactivated or restored")
+  private int comments;
+
+  @Schema(description = "Votes deactivated or restored")
+  private int votes;
+
+  @Schema(description = "Ratings deactivated or restored")
+  private int ratings;
+}
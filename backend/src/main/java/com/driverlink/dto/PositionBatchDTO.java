@@ -0,0 +1,14 @@
+package com.driverlink.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PositionBatchDTO {
+    @NotEmpty(message = "At least one position is required")
+    @Size(max = 500, message = "At most 500 positions per batch")
+    private List<@Valid PositionPingDTO> pings;
+}
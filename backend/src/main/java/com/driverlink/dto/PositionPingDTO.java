@@ -0,0 +1,30 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PositionPingDTO {
+    @NotNull(message = "Latitude is required")
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @NotNull(message = "Timestamp is required")
+    @Schema(description = "Time of the fix in epoch milliseconds")
+    private Long timestamp;
+
+    @Schema(description = "Degrees clockwise from north")
+    private Integer heading;
+
+    @Schema(description = "Speed in km/h")
+    private Double speedKmh;
+}
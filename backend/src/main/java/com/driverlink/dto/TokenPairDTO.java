@@ -0,0 +1,19 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Short-lived access token and the single-use refresh token that renews it")
+public class TokenPairDTO {
+    private String accessToken;
+    @Schema(description = "Access token lifetime in seconds")
+    private Long expiresIn;
+    private String refreshToken;
+    @Schema(description = "Refresh token lifetime in seconds")
+    private Long refreshExpiresIn;
+    @Builder.Default
+    private String tokenType = "Bearer";
+}
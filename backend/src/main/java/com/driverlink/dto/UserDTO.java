@@ -54,4 +54,10 @@ public class UserDTO {
 
   @Schema(description = "Account creation date")
   private LocalDateTime createdAt;
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  @Schema(
+      description = "Reporter reputation from feedback on the user's incidents",
+      example = "3.5")
+  private Double reputation;
 }
@@ -0,0 +1,52 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of a bulk user import, with one result per data row in input order. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk user import report")
+public class UserImportReportDTO {
+
+  @Schema(description = "Data rows read")
+  private int total;
+
+  @Schema(description = "Users created")
+  private int created;
+
+  @Schema(description = "Rows rejected")
+  private int rejected;
+
+  @Schema(description = "Per-row results")
+  private List<RowResult> rows;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RowResult {
+    public enum Status {
+      CREATED,
+      REJECTED
+    }
+
+    @Schema(description = "Line number in the uploaded file")
+    private int line;
+
+    private String username;
+
+    private Status status;
+
+    @Schema(description = "Id of the created user")
+    private Long userId;
+
+    @Schema(description = "Why the row was rejected")
+    private String error;
+  }
+}
@@ -0,0 +1,23 @@
+package com.driverlink.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of the user listing, ordered by id. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of users")
+public class UserPageDTO {
+
+  @Schema(description = "Users on this page")
+  private List<UserDTO> users;
+
+  @Schema(description = "Cursor to pass as 'after' for the next page; absent on the last page")
+  private Long next;
+}
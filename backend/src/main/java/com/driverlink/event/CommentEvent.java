@@ -0,0 +1,18 @@
+package com.driverlink.event;
+
+import com.driverlink.dto.CommentDTO;
+import lombok.Value;
+
+/** Published by {@code CommentService} whenever a comment is created, edited or deleted. */
+@Value
+public class CommentEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  Long incidentId;
+  CommentDTO comment;
+}
@@ -0,0 +1,17 @@
+package com.driverlink.event;
+
+import com.driverlink.dto.GeofenceDTO;
+import lombok.Value;
+
+/** Published by {@code GeofenceService} whenever a geofence is created, changed or deleted. */
+@Value
+public class GeofenceEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  GeofenceDTO geofence;
+}
@@ -0,0 +1,22 @@
+package com.driverlink.event;
+
+import com.driverlink.dto.IncidentDTO;
+import com.driverlink.model.IncidentStatus;
+import lombok.Value;
+
+/** Published by {@code IncidentService} whenever an incident is created, changed or deleted. */
+@Value
+public class IncidentEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+  }
+
+  Type type;
+  IncidentDTO incident;
+
+  /** Status the incident had before a {@link Type#STATUS_CHANGED} change; otherwise null. */
+  IncidentStatus previousStatus;
+}
@@ -0,0 +1,29 @@
+package com.driverlink.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@code LifecycleService} once per cascade, in place of an event for every comment,
+ * vote, rating and incident it switched off or back on. Carries the rows affected per table.
+ */
+@Value
+public class LifecycleEvent {
+  public enum Type {
+    DEACTIVATED,
+    RESTORED
+  }
+
+  /** What the cascade started from. */
+  public enum Scope {
+    INCIDENT,
+    USER
+  }
+
+  Type type;
+  Scope scope;
+  Long id;
+  int incidents;
+  int comments;
+  int votes;
+  int ratings;
+}
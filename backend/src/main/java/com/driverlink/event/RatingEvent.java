@@ -0,0 +1,20 @@
+package com.driverlink.event;
+
+import com.driverlink.dto.RatingDTO;
+import lombok.Value;
+
+/** Published by {@code RatingService} whenever a rating is created, changed or deleted. */
+@Value
+public class RatingEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  RatingDTO rating;
+
+  /** Value the rating had before an {@link Type#UPDATED} change; otherwise null. */
+  Integer previousValue;
+}
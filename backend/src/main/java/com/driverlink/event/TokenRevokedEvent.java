@@ -0,0 +1,11 @@
+package com.driverlink.event;
+
+import lombok.Value;
+
+/** Published by {@code AuthService} when an access token is revoked ahead of its expiry. */
+@Value
+public class TokenRevokedEvent {
+  Long id;
+  String tokenId;
+  long expiresAtMs;
+}
@@ -0,0 +1,23 @@
+package com.driverlink.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@code UserService} whenever a user is written. Carries what the in-memory token
+ * version and name availability indexes need, never credentials.
+ */
+@Value
+public class UserEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  Long userId;
+  String username;
+  String email;
+  boolean active;
+  int tokenVersion;
+}
@@ -0,0 +1,20 @@
+package com.driverlink.event;
+
+import com.driverlink.dto.VoteDTO;
+import lombok.Value;
+
+/** Published by {@code VoteService} whenever a vote is cast, changed or withdrawn. */
+@Value
+public class VoteEvent {
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  Type type;
+  VoteDTO vote;
+
+  /** Vote type the vote had before an {@link Type#UPDATED} change; otherwise null. */
+  String previousVoteType;
+}
@@ -0,0 +1,8 @@
+package com.driverlink.exception;
+
+/** Thrown when credentials or a refresh token are rejected; reported as 401. */
+public class AuthenticationFailedException extends RuntimeException {
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.driverlink.exception;
+
+/** Thrown when a bounded resource is saturated and the caller should retry later; reported as 429. */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
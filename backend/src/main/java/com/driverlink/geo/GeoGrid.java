@@ -0,0 +1,91 @@
+package com.driverlink.geo;
+
+/**
+ * A fixed latitude/longitude grid used to bucket points and circles for spatial lookups. Cells are
+ * identified by a {@code long} that packs the row and column, so they can be used as map keys
+ * without building coordinate objects.
+ */
+public final class GeoGrid {
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+  private static final double KM_PER_DEGREE_LAT = 111.32;
+
+  private final double cellSizeDegrees;
+
+  public GeoGrid(double cellSizeDegrees) {
+    if (cellSizeDegrees <= 0) {
+      throw new IllegalArgumentException("Cell size must be positive");
+    }
+    this.cellSizeDegrees = cellSizeDegrees;
+  }
+
+  public double getCellSizeDegrees() {
+    return cellSizeDegrees;
+  }
+
+  public long cellOf(double latitude, double longitude) {
+    return key(row(latitude), column(longitude));
+  }
+
+  public int row(double latitude) {
+    return (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+  }
+
+  public int column(double longitude) {
+    return (int) Math.floor((longitude + 180.0) / cellSizeDegrees);
+  }
+
+  public static long key(int row, int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+
+  /** Southern edge of a row, in degrees. */
+  public double rowLatitude(int row) {
+    return row * cellSizeDegrees - 90.0;
+  }
+
+  /** Western edge of a column, in degrees. */
+  public double columnLongitude(int column) {
+    return column * cellSizeDegrees - 180.0;
+  }
+
+  /**
+   * Returns every cell overlapping the bounding box of a circle. Circles are expected to be small
+   * relative to the globe; boxes are not wrapped around the antimeridian.
+   */
+  public long[] cellsCovering(double latitude, double longitude, double radiusKm) {
+    double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+    double cos = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    double lonDelta = radiusKm / (KM_PER_DEGREE_LAT * cos);
+    return cellsInBox(
+        latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta);
+  }
+
+  /** Returns every cell overlapping a latitude/longitude box. */
+  public long[] cellsInBox(double minLat, double minLon, double maxLat, double maxLon) {
+    int minRow = row(Math.max(-90.0, minLat));
+    int maxRow = row(Math.min(90.0 - 1e-9, maxLat));
+    int minCol = column(Math.max(-180.0, minLon));
+    int maxCol = column(Math.min(180.0 - 1e-9, maxLon));
+    long[] cells = new long[(maxRow - minRow + 1) * (maxCol - minCol + 1)];
+    int i = 0;
+    for (int r = minRow; r <= maxRow; r++) {
+      for (int c = minCol; c <= maxCol; c++) {
+        cells[i++] = key(r, c);
+      }
+    }
+    return cells;
+  }
+
+  /** Great-circle distance between two points in kilometres (haversine). */
+  public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLon = Math.toRadians(lon2 - lon1);
+    double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2)
+                * Math.sin(dLon / 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+  }
+}
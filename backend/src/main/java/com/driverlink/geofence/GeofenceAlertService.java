@@ -0,0 +1,60 @@
+package com.driverlink.geofence;
+
+import com.driverlink.dto.IncidentDTO;
+import com.driverlink.event.IncidentEvent;
+import com.driverlink.notification.Notification;
+import com.driverlink.notification.NotificationQueue;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Alerts geofence owners about incidents reported inside their zones. Runs after the reporting
+ * transaction commits, so a rolled-back report never alerts anyone, and only queues the alerts:
+ * the report itself pays for one index lookup plus one notification per matching owner.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeofenceAlertService {
+  private final GeofenceIndex geofenceIndex;
+  private final NotificationQueue notificationQueue;
+
+  @TransactionalEventListener
+  public void onIncidentEvent(IncidentEvent event) {
+    if (event.getType() != IncidentEvent.Type.CREATED) {
+      return;
+    }
+    IncidentDTO incident = event.getIncident();
+    List<GeofenceIndex.Match> matches =
+        geofenceIndex.match(
+            incident.getLocation().getLatitude(), incident.getLocation().getLongitude());
+    if (matches.isEmpty()) {
+      return;
+    }
+
+    // One alert per owner, naming the first of their zones that matched
+    Map<Long, String> zoneByOwner = new LinkedHashMap<>();
+    for (GeofenceIndex.Match match : matches) {
+      if (!Objects.equals(match.ownerId(), incident.getReporterId())) {
+        zoneByOwner.putIfAbsent(match.ownerId(), match.name());
+      }
+    }
+    Instant now = Instant.now();
+    zoneByOwner.forEach(
+        (ownerId, zoneName) ->
+            notificationQueue.enqueue(
+                Notification.builder()
+                    .userId(ownerId)
+                    .incidentId(incident.getId())
+                    .incidentType(incident.getType())
+                    .title(incident.getType() + " in " + zoneName)
+                    .message(incident.getTitle())
+                    .createdAt(now)
+                    .build()));
+  }
+}
@@ -0,0 +1,167 @@
+package com.driverlink.geofence;
+
+import com.driverlink.dto.GeofenceDTO;
+import com.driverlink.geo.GeoGrid;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.outbox.OutboxEventListener;
+import com.driverlink.service.GeofenceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory spatial index of active geofences.
+ *
+ * <p>Each zone is rasterised onto a {@link GeoGrid} once, when it is added. Cells the zone fully
+ * covers are marked interior, so a point in them matches without any geometry; cells on the
+ * zone's edge keep the exact test; cells the zone does not reach get no entry at all. A lookup is
+ * therefore one map read plus, at most, a point-in-shape test per zone whose edge crosses that
+ * cell.
+ *
+ * <p>Per-cell entry arrays are replaced, never mutated, so readers need no locking; writers are
+ * serialised. The index is
+ * loaded at startup and kept in step with every node's edits through the outbox feed.
+ */
+@Slf4j
+@Component
+public class GeofenceIndex implements OutboxEventListener {
+  static final String AGGREGATE_TYPE = "geofence";
+
+  private final GeoGrid grid;
+  private final GeofenceService geofenceService;
+  private final ObjectMapper objectMapper;
+  private final Map<Long, Entry[]> cells = new ConcurrentHashMap<>();
+  private final Map<Long, Zone> zones = new ConcurrentHashMap<>();
+
+  public GeofenceIndex(
+      GeofenceService geofenceService,
+      ObjectMapper objectMapper,
+      @Value("${geofences.cell-size-degrees:0.05}") double cellSizeDegrees) {
+    this.geofenceService = geofenceService;
+    this.objectMapper = objectMapper;
+    this.grid = new GeoGrid(cellSizeDegrees);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<GeofenceDTO> geofences = geofenceService.getAllActiveGeofences();
+    geofences.forEach(this::put);
+    log.info("Indexed {} geofences over {} cells", zones.size(), cells.size());
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      if (!AGGREGATE_TYPE.equals(event.getAggregateType())) {
+        continue;
+      }
+      if ("DELETED".equals(event.getEventType())) {
+        remove(event.getAggregateId());
+        continue;
+      }
+      try {
+        put(objectMapper.readValue(event.getPayload(), GeofenceDTO.class));
+      } catch (JsonProcessingException e) {
+        log.warn("Skipping unreadable geofence event {}", event.getPosition(), e);
+      }
+    }
+  }
+
+  /** Adds a geofence, replacing any earlier version with the same id. */
+  public synchronized void put(GeofenceDTO geofence) {
+    Zone zone = Zone.compile(geofence);
+    long[] covered = new long[16];
+    int count = 0;
+    double cellSize = grid.getCellSizeDegrees();
+    int minRow = grid.row(zone.minLat);
+    int maxRow = grid.row(zone.maxLat);
+    int minCol = grid.column(zone.minLon);
+    int maxCol = grid.column(zone.maxLon);
+    remove(zone.id);
+    for (int row = minRow; row <= maxRow; row++) {
+      double south = grid.rowLatitude(row);
+      for (int col = minCol; col <= maxCol; col++) {
+        double west = grid.columnLongitude(col);
+        Zone.Coverage coverage =
+            zone.cover(south, west, south + cellSize, west + cellSize);
+        if (coverage == Zone.Coverage.OUTSIDE) {
+          continue;
+        }
+        long key = GeoGrid.key(row, col);
+        Entry entry = new Entry(zone, coverage == Zone.Coverage.INTERIOR);
+        cells.compute(key, (k, entries) -> append(entries, entry));
+        if (count == covered.length) {
+          covered = Arrays.copyOf(covered, count * 2);
+        }
+        covered[count++] = key;
+      }
+    }
+    zone.cells = Arrays.copyOf(covered, count);
+    zones.put(zone.id, zone);
+  }
+
+  /** Removes a geofence; unknown ids are ignored. */
+  public synchronized void remove(long geofenceId) {
+    Zone zone = zones.remove(geofenceId);
+    if (zone == null) {
+      return;
+    }
+    for (long key : zone.cells) {
+      cells.computeIfPresent(key, (k, entries) -> without(entries, geofenceId));
+    }
+  }
+
+  /** Returns every indexed geofence containing the point. */
+  public List<Match> match(double latitude, double longitude) {
+    Entry[] entries = cells.get(grid.cellOf(latitude, longitude));
+    if (entries == null) {
+      return List.of();
+    }
+    List<Match> matches = new ArrayList<>(entries.length);
+    for (Entry entry : entries) {
+      Zone zone = entry.zone();
+      if (entry.interior() || zone.contains(latitude, longitude)) {
+        matches.add(new Match(zone.id, zone.ownerId, zone.name));
+      }
+    }
+    return matches;
+  }
+
+  public int size() {
+    return zones.size();
+  }
+
+  private static Entry[] append(Entry[] entries, Entry entry) {
+    if (entries == null) {
+      return new Entry[] {entry};
+    }
+    Entry[] grown = Arrays.copyOf(entries, entries.length + 1);
+    grown[entries.length] = entry;
+    return grown;
+  }
+
+  private static Entry[] without(Entry[] entries, long geofenceId) {
+    int kept = 0;
+    Entry[] remaining = new Entry[entries.length];
+    for (Entry entry : entries) {
+      if (entry.zone().id != geofenceId) {
+        remaining[kept++] = entry;
+      }
+    }
+    return kept == 0 ? null : Arrays.copyOf(remaining, kept);
+  }
+
+  /** A geofence containing a queried point. */
+  public record Match(long geofenceId, long ownerId, String name) {}
+
+  private record Entry(Zone zone, boolean interior) {}
+}
@@ -0,0 +1,196 @@
+package com.driverlink.geofence;
+
+import com.driverlink.dto.GeoPointDTO;
+import com.driverlink.dto.GeofenceDTO;
+import com.driverlink.geo.GeoGrid;
+import com.driverlink.model.GeofenceShape;
+import java.util.List;
+
+/** A geofence compiled for matching: bounding box plus either a circle or vertex arrays. */
+final class Zone {
+  private static final double KM_PER_DEGREE_LAT = 111.32;
+
+  final long id;
+  final long ownerId;
+  final String name;
+  final double minLat;
+  final double maxLat;
+  final double minLon;
+  final double maxLon;
+
+  private final double centerLat;
+  private final double centerLon;
+  private final double radiusKm;
+  private final double[] lats;
+  private final double[] lons;
+
+  long[] cells = new long[0];
+
+  private Zone(
+      GeofenceDTO dto,
+      double minLat,
+      double maxLat,
+      double minLon,
+      double maxLon,
+      double centerLat,
+      double centerLon,
+      double radiusKm,
+      double[] lats,
+      double[] lons) {
+    this.id = dto.getId();
+    this.ownerId = dto.getUserId();
+    this.name = dto.getName();
+    this.minLat = minLat;
+    this.maxLat = maxLat;
+    this.minLon = minLon;
+    this.maxLon = maxLon;
+    this.centerLat = centerLat;
+    this.centerLon = centerLon;
+    this.radiusKm = radiusKm;
+    this.lats = lats;
+    this.lons = lons;
+  }
+
+  static Zone compile(GeofenceDTO dto) {
+    if (dto.getShape() == GeofenceShape.CIRCLE) {
+      double lat = dto.getCenter().getLatitude();
+      double lon = dto.getCenter().getLongitude();
+      double r = dto.getRadiusKm();
+      double latDelta = r / KM_PER_DEGREE_LAT;
+      double lonDelta = r / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+      return new Zone(
+          dto,
+          lat - latDelta,
+          lat + latDelta,
+          lon - lonDelta,
+          lon + lonDelta,
+          lat,
+          lon,
+          r,
+          null,
+          null);
+    }
+    List<GeoPointDTO> vertices = dto.getVertices();
+    double[] lats = new double[vertices.size()];
+    double[] lons = new double[vertices.size()];
+    double minLat = Double.MAX_VALUE;
+    double maxLat = -Double.MAX_VALUE;
+    double minLon = Double.MAX_VALUE;
+    double maxLon = -Double.MAX_VALUE;
+    for (int i = 0; i < lats.length; i++) {
+      lats[i] = vertices.get(i).getLatitude();
+      lons[i] = vertices.get(i).getLongitude();
+      minLat = Math.min(minLat, lats[i]);
+      maxLat = Math.max(maxLat, lats[i]);
+      minLon = Math.min(minLon, lons[i]);
+      maxLon = Math.max(maxLon, lons[i]);
+    }
+    return new Zone(dto, minLat, maxLat, minLon, maxLon, 0, 0, 0, lats, lons);
+  }
+
+  boolean isCircle() {
+    return lats == null;
+  }
+
+  boolean contains(double lat, double lon) {
+    if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+      return false;
+    }
+    if (isCircle()) {
+      return GeoGrid.distanceKm(centerLat, centerLon, lat, lon) <= radiusKm;
+    }
+    // Even-odd ray casting; zones are small enough to treat lat/lon as planar
+    boolean inside = false;
+    for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+      if ((lats[i] > lat) != (lats[j] > lat)
+          && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+        inside = !inside;
+      }
+    }
+    return inside;
+  }
+
+  /** How this zone relates to an axis-aligned cell. */
+  Coverage cover(double south, double west, double north, double east) {
+    if (isCircle()) {
+      double nearLat = Math.max(south, Math.min(centerLat, north));
+      double nearLon = Math.max(west, Math.min(centerLon, east));
+      if (GeoGrid.distanceKm(centerLat, centerLon, nearLat, nearLon) > radiusKm) {
+        return Coverage.OUTSIDE;
+      }
+      return cornersInside(south, west, north, east) == 4 ? Coverage.INTERIOR : Coverage.BOUNDARY;
+    }
+    if (edgeCrossesRect(south, west, north, east)) {
+      return Coverage.BOUNDARY;
+    }
+    // No edge touches the cell, so it is either wholly inside or wholly outside
+    return contains((south + north) / 2, (west + east) / 2) ? Coverage.INTERIOR : Coverage.OUTSIDE;
+  }
+
+  private int cornersInside(double south, double west, double north, double east) {
+    int inside = 0;
+    inside += contains(south, west) ? 1 : 0;
+    inside += contains(south, east) ? 1 : 0;
+    inside += contains(north, west) ? 1 : 0;
+    inside += contains(north, east) ? 1 : 0;
+    return inside;
+  }
+
+  private boolean edgeCrossesRect(double south, double west, double north, double east) {
+    for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+      if (segmentIntersectsRect(lats[j], lons[j], lats[i], lons[i], south, west, north, east)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean segmentIntersectsRect(
+      double lat1,
+      double lon1,
+      double lat2,
+      double lon2,
+      double south,
+      double west,
+      double north,
+      double east) {
+    if (Math.max(lat1, lat2) < south
+        || Math.min(lat1, lat2) > north
+        || Math.max(lon1, lon2) < west
+        || Math.min(lon1, lon2) > east) {
+      return false;
+    }
+    if (inRect(lat1, lon1, south, west, north, east) || inRect(lat2, lon2, south, west, north, east)) {
+      return true;
+    }
+    return segmentsIntersect(lat1, lon1, lat2, lon2, south, west, south, east)
+        || segmentsIntersect(lat1, lon1, lat2, lon2, north, west, north, east)
+        || segmentsIntersect(lat1, lon1, lat2, lon2, south, west, north, west)
+        || segmentsIntersect(lat1, lon1, lat2, lon2, south, east, north, east);
+  }
+
+  private static boolean inRect(
+      double lat, double lon, double south, double west, double north, double east) {
+    return lat >= south && lat <= north && lon >= west && lon <= east;
+  }
+
+  private static boolean segmentsIntersect(
+      double ay, double ax, double by, double bx, double cy, double cx, double dy, double dx) {
+    double d1 = cross(cx, cy, dx, dy, ax, ay);
+    double d2 = cross(cx, cy, dx, dy, bx, by);
+    double d3 = cross(ax, ay, bx, by, cx, cy);
+    double d4 = cross(ax, ay, bx, by, dx, dy);
+    return ((d1 > 0) != (d2 > 0) || d1 == 0 || d2 == 0)
+        && ((d3 > 0) != (d4 > 0) || d3 == 0 || d4 == 0);
+  }
+
+  private static double cross(double ox, double oy, double px, double py, double qx, double qy) {
+    return (px - ox) * (qy - oy) - (py - oy) * (qx - ox);
+  }
+
+  enum Coverage {
+    INTERIOR,
+    BOUNDARY,
+    OUTSIDE
+  }
+}
@@ -0,0 +1,326 @@
+package com.driverlink.ingest;
+
+import com.driverlink.tracking.DriverPositionStore;
+import java.io.IOException;
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional listener for {@link PingFrame binary pings} over UDP and TCP, an alternative to the
+ * JSON position endpoint for clients where per-request HTTP overhead matters.
+ *
+ * <p>Each transport runs on one thread reading into a direct, little-endian buffer. Frames are
+ * authenticated and decoded with absolute reads straight from that buffer and written into the
+ * {@link DriverPositionStore}, so the steady state neither copies bytes nor allocates per frame.
+ * Replayed frames are harmless: the store ignores pings that are not newer than the one it holds.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ingest", name = "enabled", havingValue = "true")
+public class BinaryIngestServer implements SmartLifecycle {
+  private static final int MAX_FRAMES_PER_DATAGRAM = 32;
+  private static final int MAX_TCP_REJECTS = 16;
+
+  private final DriverPositionStore store;
+  private final IngestSessionRegistry sessions;
+  private final String bindAddress;
+  private final int udpPort;
+  private final int tcpPort;
+  private final int tcpBufferSize;
+  private final int maxConnections;
+  private final long maxClockSkewMs;
+
+  private final AtomicLong acceptedFrames = new AtomicLong();
+  private final AtomicLong rejectedFrames = new AtomicLong();
+
+  private volatile boolean running;
+  private DatagramChannel udp;
+  private ServerSocketChannel tcp;
+  private Selector selector;
+  private Thread udpThread;
+  private Thread tcpThread;
+  private int connections;
+
+  public BinaryIngestServer(
+      DriverPositionStore store,
+      IngestSessionRegistry sessions,
+      @Value("${ingest.bind-address:0.0.0.0}") String bindAddress,
+      @Value("${ingest.udp-port:7401}") int udpPort,
+      @Value("${ingest.tcp-port:7402}") int tcpPort,
+      @Value("${ingest.tcp-buffer-size:8192}") int tcpBufferSize,
+      @Value("${ingest.max-connections:20000}") int maxConnections,
+      @Value("${drivers.position.max-clock-skew-ms:30000}") long maxClockSkewMs) {
+    this.store = store;
+    this.sessions = sessions;
+    this.bindAddress = bindAddress;
+    this.udpPort = udpPort;
+    this.tcpPort = tcpPort;
+    this.tcpBufferSize = Math.max(tcpBufferSize, PingFrame.SIZE);
+    this.maxConnections = maxConnections;
+    this.maxClockSkewMs = maxClockSkewMs;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    try {
+      udp = DatagramChannel.open();
+      udp.bind(new InetSocketAddress(bindAddress, udpPort));
+      tcp = ServerSocketChannel.open();
+      tcp.bind(new InetSocketAddress(bindAddress, tcpPort), 1024);
+      tcp.configureBlocking(false);
+      selector = Selector.open();
+      tcp.register(selector, SelectionKey.OP_ACCEPT);
+    } catch (IOException e) {
+      closeQuietly();
+      throw new IllegalStateException("Could not open binary ingest listener", e);
+    }
+    running = true;
+    udpThread = new Thread(this::udpLoop, "ingest-udp");
+    tcpThread = new Thread(this::tcpLoop, "ingest-tcp");
+    udpThread.setDaemon(true);
+    tcpThread.setDaemon(true);
+    udpThread.start();
+    tcpThread.start();
+    log.info("Binary ingest listening on UDP {} and TCP {}", getUdpPort(), getTcpPort());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    selector.wakeup();
+    try {
+      // Closing the datagram channel releases the blocked receive
+      udp.close();
+      udpThread.join(1000);
+      tcpThread.join(1000);
+    } catch (IOException ignored) {
+      // closed below
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (SelectionKey key : selector.keys()) {
+      if (key.channel() instanceof SocketChannel) {
+        close(key);
+      }
+    }
+    closeQuietly();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  public int getUdpPort() {
+    return udp.socket().getLocalPort();
+  }
+
+  public int getTcpPort() {
+    return tcp.socket().getLocalPort();
+  }
+
+  public long getAcceptedFrames() {
+    return acceptedFrames.get();
+  }
+
+  public long getRejectedFrames() {
+    return rejectedFrames.get();
+  }
+
+  private void udpLoop() {
+    ByteBuffer buf =
+        ByteBuffer.allocateDirect(PingFrame.SIZE * MAX_FRAMES_PER_DATAGRAM)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    while (running) {
+      try {
+        buf.clear();
+        if (udp.receive(buf) == null) {
+          continue;
+        }
+        buf.flip();
+        if (buf.remaining() % PingFrame.SIZE != 0) {
+          rejectedFrames.incrementAndGet();
+          continue;
+        }
+        processFrames(buf);
+      } catch (ClosedChannelException e) {
+        return;
+      } catch (IOException e) {
+        log.warn("Binary ingest UDP receive failed", e);
+      } catch (RuntimeException e) {
+        // One bad datagram must not stop ingest for every driver
+        log.error("Binary ingest UDP datagram failed", e);
+      }
+    }
+  }
+
+  private void tcpLoop() {
+    while (running) {
+      try {
+        selector.select();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+          } else if (key.isReadable()) {
+            read(key);
+          }
+        }
+      } catch (ClosedChannelException | ClosedSelectorException e) {
+        return;
+      } catch (IOException e) {
+        if (running) {
+          log.warn("Binary ingest TCP loop failed", e);
+        }
+      } catch (RuntimeException e) {
+        log.error("Binary ingest TCP loop failed", e);
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = tcp.accept()) != null) {
+      if (connections >= maxConnections) {
+        channel.close();
+        continue;
+      }
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      ByteBuffer buf = ByteBuffer.allocateDirect(tcpBufferSize).order(ByteOrder.LITTLE_ENDIAN);
+      channel.register(selector, SelectionKey.OP_READ, new Connection(buf));
+      connections++;
+    }
+  }
+
+  private void read(SelectionKey key) {
+    SocketChannel channel = (SocketChannel) key.channel();
+    Connection connection = (Connection) key.attachment();
+    ByteBuffer buf = connection.buffer;
+    try {
+      int n = channel.read(buf);
+      if (n < 0) {
+        close(key);
+        return;
+      }
+      buf.flip();
+      connection.rejects += processFrames(buf);
+      buf.compact();
+      if (connection.rejects > MAX_TCP_REJECTS) {
+        // Most likely out of sync with the frame boundaries or not a client at all
+        close(key);
+      }
+    } catch (IOException e) {
+      close(key);
+    }
+  }
+
+  private void close(SelectionKey key) {
+    key.cancel();
+    try {
+      key.channel().close();
+    } catch (IOException ignored) {
+      // already closing
+    }
+    connections--;
+  }
+
+  /** Handles every whole frame in the buffer and leaves any partial frame unread. */
+  private int processFrames(ByteBuffer buf) {
+    long now = System.currentTimeMillis();
+    int total = 0;
+    int rejected = 0;
+    while (buf.remaining() >= PingFrame.SIZE) {
+      int at = buf.position();
+      total++;
+      if (!processFrame(buf, at, now)) {
+        rejected++;
+      }
+      buf.position(at + PingFrame.SIZE);
+    }
+    acceptedFrames.addAndGet(total - rejected);
+    rejectedFrames.addAndGet(rejected);
+    return rejected;
+  }
+
+  private boolean processFrame(ByteBuffer buf, int at, long now) {
+    if (buf.get(at + PingFrame.VERSION_OFFSET) != PingFrame.VERSION) {
+      return false;
+    }
+    IngestSession session = sessions.find(buf.getLong(at + PingFrame.SESSION_OFFSET), now);
+    if (session == null || !store.accepts(session.userId())) {
+      return false;
+    }
+    long mac = SipHash.hash(session.k0(), session.k1(), buf, at, PingFrame.MAC_OFFSET);
+    if (mac != buf.getLong(at + PingFrame.MAC_OFFSET)) {
+      return false;
+    }
+    int latE7 = buf.getInt(at + PingFrame.LATITUDE_OFFSET);
+    int lonE7 = buf.getInt(at + PingFrame.LONGITUDE_OFFSET);
+    long timestampMs = buf.getLong(at + PingFrame.TIMESTAMP_OFFSET);
+    if (Math.abs(latE7) > 900_000_000
+        || Math.abs(lonE7) > 1_800_000_000
+        || timestampMs > now + maxClockSkewMs) {
+      return false;
+    }
+    int heading = Short.toUnsignedInt(buf.getShort(at + PingFrame.HEADING_OFFSET));
+    int speed = Short.toUnsignedInt(buf.getShort(at + PingFrame.SPEED_OFFSET));
+    store.update(
+        session.userId(),
+        latE7 / 1e7,
+        lonE7 / 1e7,
+        timestampMs,
+        heading == PingFrame.UNKNOWN ? -1 : heading,
+        speed == PingFrame.UNKNOWN ? -1 : speed / 10.0);
+    return true;
+  }
+
+  private void closeQuietly() {
+    for (Closeable c : new Closeable[] {udp, tcp, selector}) {
+      if (c != null) {
+        try {
+          c.close();
+        } catch (IOException ignored) {
+          // shutting down
+        }
+      }
+    }
+  }
+
+  private static final class Connection {
+    final ByteBuffer buffer;
+    int rejects;
+
+    Connection(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+  }
+}
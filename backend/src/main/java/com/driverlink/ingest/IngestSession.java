@@ -0,0 +1,4 @@
+package com.driverlink.ingest;
+
+/** A driver's authorisation to send binary pings, valid until its JWT expires. */
+public record IngestSession(long sessionId, long userId, long k0, long k1, long expiresAtMs) {}
@@ -0,0 +1,121 @@
+package com.driverlink.ingest;
+
+import com.driverlink.exception.TooManyRequestsException;
+import com.driverlink.security.JwtService;
+import com.driverlink.security.TokenRevocationListener;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Live binary-ingest sessions. A session id carries its slot index in the low 24 bits and random
+ * bits above, so the ingest loop finds a session with one array read and no boxing, and a guessed
+ * id almost never names a live session.
+ *
+ * <p>A driver holds at most one session: opening another replaces it, and revoking the driver's
+ * tokens closes it.
+ */
+@Component
+public class IngestSessionRegistry implements TokenRevocationListener {
+  static final String KEY_PURPOSE = "driverlink-ingest";
+  private static final int SLOT_BITS = 24;
+  private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+  private final JwtService jwtService;
+  private final AtomicReferenceArray<IngestSession> slots;
+  private final Map<Long, Integer> slotsByUser = new ConcurrentHashMap<>();
+  private final AtomicInteger cursor = new AtomicInteger();
+  private final SecureRandom random = new SecureRandom();
+
+  public IngestSessionRegistry(
+      JwtService jwtService, @Value("${ingest.max-sessions:65536}") int maxSessions) {
+    this.jwtService = jwtService;
+    this.slots = new AtomicReferenceArray<>(Math.min(maxSessions, SLOT_MASK + 1));
+  }
+
+  /**
+   * Opens a session for the holder of a valid token, replacing the driver's previous session. The
+   * 128-bit key is derived from the token, so it is only ever handed to whoever presented that
+   * token.
+   *
+   * @throws TooManyRequestsException if every slot holds a live session
+   */
+  public OpenedSession open(long userId, String token) {
+    byte[] key = Arrays.copyOf(jwtService.deriveKey(token, KEY_PURPOSE), 16);
+    long expiresAt = jwtService.getExpiration(token).getTime();
+    Integer owned = slotsByUser.get(userId);
+    if (owned != null) {
+      IngestSession current = slots.get(owned);
+      if (current != null && current.userId() == userId) {
+        IngestSession session = newSession(owned, userId, key, expiresAt);
+        if (slots.compareAndSet(owned, current, session)) {
+          return new OpenedSession(session, key);
+        }
+      }
+    }
+    long now = System.currentTimeMillis();
+    for (int attempt = 0; attempt < slots.length(); attempt++) {
+      int slot = Math.floorMod(cursor.getAndIncrement(), slots.length());
+      IngestSession current = slots.get(slot);
+      if (current != null && current.expiresAtMs() > now) {
+        continue;
+      }
+      IngestSession session = newSession(slot, userId, key, expiresAt);
+      if (slots.compareAndSet(slot, current, session)) {
+        Integer previous = slotsByUser.put(userId, slot);
+        if (previous != null && previous != slot) {
+          // A concurrent open for the same driver took another slot; keep only this one
+          release(previous, userId);
+        }
+        return new OpenedSession(session, key);
+      }
+    }
+    throw new TooManyRequestsException("No free ingest session slots, please try again later");
+  }
+
+  /** Closes the driver's session, if any; its frames are rejected from now on. */
+  public void close(long userId) {
+    Integer slot = slotsByUser.remove(userId);
+    if (slot != null) {
+      release(slot, userId);
+    }
+  }
+
+  @Override
+  public void onTokensRevoked(long userId) {
+    close(userId);
+  }
+
+  /** Returns the live session with the given id, or {@code null}. */
+  public IngestSession find(long sessionId, long nowMs) {
+    int slot = (int) (sessionId & SLOT_MASK);
+    if (slot >= slots.length()) {
+      return null;
+    }
+    IngestSession session = slots.get(slot);
+    if (session == null || session.sessionId() != sessionId || session.expiresAtMs() <= nowMs) {
+      return null;
+    }
+    return session;
+  }
+
+  private IngestSession newSession(int slot, long userId, byte[] key, long expiresAt) {
+    long sessionId = (random.nextLong() & ~(long) SLOT_MASK) | slot;
+    return new IngestSession(sessionId, userId, PingFrame.k0(key), PingFrame.k1(key), expiresAt);
+  }
+
+  private void release(int slot, long userId) {
+    IngestSession current = slots.get(slot);
+    if (current != null && current.userId() == userId) {
+      slots.compareAndSet(slot, current, null);
+    }
+  }
+
+  /** A newly opened session together with the raw key to hand to the client. */
+  public record OpenedSession(IngestSession session, byte[] key) {}
+}
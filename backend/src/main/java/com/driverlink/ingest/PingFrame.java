@@ -0,0 +1,81 @@
+package com.driverlink.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Wire format of a binary GPS ping: a fixed 40-byte little-endian frame.
+ *
+ * <pre>
+ *  0  u8   version (1)
+ *  1  u8   flags (reserved, 0)
+ *  2  u16  heading in degrees, 0xFFFF if unknown
+ *  4  u16  speed in tenths of km/h, 0xFFFF if unknown
+ *  6  u16  reserved
+ *  8  i64  ingest session id
+ * 16  i32  latitude * 10^7
+ * 20  i32  longitude * 10^7
+ * 24  i64  fix time, epoch milliseconds
+ * 32  i64  SipHash-2-4 of bytes 0..31 under the session key
+ * </pre>
+ *
+ * Over UDP a datagram carries one or more whole frames; over TCP frames are simply concatenated.
+ */
+public final class PingFrame {
+  public static final int SIZE = 40;
+  public static final byte VERSION = 1;
+  public static final int UNKNOWN = 0xFFFF;
+
+  static final int VERSION_OFFSET = 0;
+  static final int HEADING_OFFSET = 2;
+  static final int SPEED_OFFSET = 4;
+  static final int SESSION_OFFSET = 8;
+  static final int LATITUDE_OFFSET = 16;
+  static final int LONGITUDE_OFFSET = 20;
+  static final int TIMESTAMP_OFFSET = 24;
+  static final int MAC_OFFSET = 32;
+
+  private PingFrame() {}
+
+  /**
+   * Appends a signed frame at the buffer's position, which must be little-endian.
+   *
+   * @param heading degrees, or a negative value if unknown
+   * @param speedKmh speed, or a negative value if unknown
+   */
+  public static void write(
+      ByteBuffer buf,
+      long sessionId,
+      byte[] key,
+      double latitude,
+      double longitude,
+      long timestampMs,
+      int heading,
+      double speedKmh) {
+    if (buf.order() != ByteOrder.LITTLE_ENDIAN) {
+      throw new IllegalArgumentException("Frames are little-endian");
+    }
+    int at = buf.position();
+    buf.put(at + VERSION_OFFSET, VERSION);
+    buf.put(at + 1, (byte) 0);
+    buf.putShort(at + HEADING_OFFSET, (short) (heading < 0 ? UNKNOWN : heading % 360));
+    buf.putShort(
+        at + SPEED_OFFSET,
+        (short) (speedKmh < 0 ? UNKNOWN : Math.min(Math.round(speedKmh * 10), UNKNOWN - 1)));
+    buf.putShort(at + 6, (short) 0);
+    buf.putLong(at + SESSION_OFFSET, sessionId);
+    buf.putInt(at + LATITUDE_OFFSET, (int) Math.round(latitude * 1e7));
+    buf.putInt(at + LONGITUDE_OFFSET, (int) Math.round(longitude * 1e7));
+    buf.putLong(at + TIMESTAMP_OFFSET, timestampMs);
+    buf.putLong(at + MAC_OFFSET, SipHash.hash(k0(key), k1(key), buf, at, MAC_OFFSET));
+    buf.position(at + SIZE);
+  }
+
+  static long k0(byte[] key) {
+    return ByteBuffer.wrap(key, 0, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+  }
+
+  static long k1(byte[] key) {
+    return ByteBuffer.wrap(key, 8, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+  }
+}
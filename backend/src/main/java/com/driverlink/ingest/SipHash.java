@@ -0,0 +1,89 @@
+package com.driverlink.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * SipHash-2-4, a fast keyed MAC for short messages. Reads the message straight out of a buffer
+ * with absolute little-endian accesses, so authenticating a frame copies nothing.
+ */
+final class SipHash {
+  private SipHash() {}
+
+  /** Hashes {@code length} bytes of {@code buf} starting at {@code offset}. */
+  static long hash(long k0, long k1, ByteBuffer buf, int offset, int length) {
+    long v0 = 0x736f6d6570736575L ^ k0;
+    long v1 = 0x646f72616e646f6dL ^ k1;
+    long v2 = 0x6c7967656e657261L ^ k0;
+    long v3 = 0x7465646279746573L ^ k1;
+
+    ByteBuffer le =
+        buf.order() == ByteOrder.LITTLE_ENDIAN
+            ? buf
+            : buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    int blocks = length & ~7;
+    for (int i = 0; i < blocks; i += 8) {
+      long m = le.getLong(offset + i);
+      v3 ^= m;
+      for (int r = 0; r < 2; r++) {
+        v0 += v1;
+        v1 = Long.rotateLeft(v1, 13);
+        v1 ^= v0;
+        v0 = Long.rotateLeft(v0, 32);
+        v2 += v3;
+        v3 = Long.rotateLeft(v3, 16);
+        v3 ^= v2;
+        v0 += v3;
+        v3 = Long.rotateLeft(v3, 21);
+        v3 ^= v0;
+        v2 += v1;
+        v1 = Long.rotateLeft(v1, 17);
+        v1 ^= v2;
+        v2 = Long.rotateLeft(v2, 32);
+      }
+      v0 ^= m;
+    }
+
+    long last = ((long) length & 0xff) << 56;
+    for (int i = 0; i < (length & 7); i++) {
+      last |= (le.get(offset + blocks + i) & 0xffL) << (8 * i);
+    }
+    v3 ^= last;
+    for (int r = 0; r < 2; r++) {
+      v0 += v1;
+      v1 = Long.rotateLeft(v1, 13);
+      v1 ^= v0;
+      v0 = Long.rotateLeft(v0, 32);
+      v2 += v3;
+      v3 = Long.rotateLeft(v3, 16);
+      v3 ^= v2;
+      v0 += v3;
+      v3 = Long.rotateLeft(v3, 21);
+      v3 ^= v0;
+      v2 += v1;
+      v1 = Long.rotateLeft(v1, 17);
+      v1 ^= v2;
+      v2 = Long.rotateLeft(v2, 32);
+    }
+    v0 ^= last;
+
+    v2 ^= 0xff;
+    for (int r = 0; r < 4; r++) {
+      v0 += v1;
+      v1 = Long.rotateLeft(v1, 13);
+      v1 ^= v0;
+      v0 = Long.rotateLeft(v0, 32);
+      v2 += v3;
+      v3 = Long.rotateLeft(v3, 16);
+      v3 ^= v2;
+      v0 += v3;
+      v3 = Long.rotateLeft(v3, 21);
+      v3 ^= v0;
+      v2 += v1;
+      v1 = Long.rotateLeft(v1, 17);
+      v1 ^= v2;
+      v2 = Long.rotateLeft(v2, 32);
+    }
+    return v0 ^ v1 ^ v2 ^ v3;
+  }
+}
@@ -0,0 +1,410 @@
+package com.driverlink.leaderboard;
+
+import com.driverlink.model.IncidentStatus;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.model.VoteType;
+import com.driverlink.outbox.OutboxEventListener;
+import com.driverlink.repository.IncidentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Top-reporter leaderboards for every window, globally and per city, held in memory.
+ *
+ * <p>Each (window, city) pair has its own {@link RankedBoard}; every contribution is applied to the
+ * reporter's city board and to the global one. Rolling windows also record contributions in hourly
+ * buckets. When a bucket falls out of the window its contributions are subtracted from the boards,
+ * so a window rolls over in time proportional to the expiring bucket, never by recounting.
+ *
+ * <p>A reporter earns points while one of their incidents is verified or resolved and when someone
+ * else upvotes one of them. Boards are loaded from the database once at startup and then follow
+ * every node's changes through the outbox feed. An incident leaving those statuses is taken back
+ * from the bucket it was credited to, which is remembered for the length of the longest rolling
+ * window. An upvote always counts in the hour its vote was cast, even when the vote was changed
+ * into an upvote later, so crediting, withdrawing and reloading agree on its bucket; a withdrawal
+ * whose bucket has expired comes off the all-time board only. A cascading delete or restore takes
+ * down or brings back many upvotes and incidents at once, so it has the boards reloaded on the next
+ * roll instead.
+ */
+@Slf4j
+@Component
+public class LeaderboardIndex implements OutboxEventListener {
+  static final String GLOBAL = "";
+  private static final long HOUR_MS = 3_600_000L;
+  private static final String INCIDENT_AGGREGATE = "incident";
+  private static final String VOTE_AGGREGATE = "vote";
+  private static final String LIFECYCLE_AGGREGATE = "lifecycle";
+  private static final String VERIFIED_INCIDENTS =
+      " FROM incidents i JOIN locations l ON l.id = i.location_id"
+          + " WHERE i.active AND i.status IN ('VERIFIED', 'RESOLVED')";
+  private static final String UPVOTES_RECEIVED =
+      " FROM votes v JOIN incidents i ON i.id = v.incident_id"
+          + " JOIN locations l ON l.id = i.location_id"
+          + " WHERE v.active AND i.active AND v.vote_type = 'UPVOTE'"
+          + " AND v.user_id <> i.reporter_id";
+  private static final String ALL_TIME_VERIFIED_SQL =
+      "SELECT i.reporter_id, l.city, COUNT(*), 0, NULL"
+          + VERIFIED_INCIDENTS
+          + " GROUP BY i.reporter_id, l.city";
+  // One row per incident, so the bucket each one was credited to is known if it is withdrawn
+  private static final String RECENT_VERIFIED_SQL =
+      "SELECT i.reporter_id, l.city, 1, 0, i.verified_at, i.id"
+          + VERIFIED_INCIDENTS
+          + " AND i.verified_at >= ?";
+  private static final String ALL_TIME_UPVOTES_SQL =
+      "SELECT i.reporter_id, l.city, 0, COUNT(*), NULL, NULL"
+          + UPVOTES_RECEIVED
+          + " GROUP BY i.reporter_id, l.city";
+  private static final String RECENT_UPVOTES_SQL =
+      "SELECT i.reporter_id, l.city, 0, COUNT(*), MIN(v.created_at), NULL"
+          + UPVOTES_RECEIVED
+          + " AND v.created_at >= ?"
+          + " GROUP BY i.reporter_id, l.city, DATE_TRUNC('hour', v.created_at)";
+  private static final Set<String> VERIFIED_STATUSES =
+      Set.of(IncidentStatus.VERIFIED.name(), IncidentStatus.RESOLVED.name());
+  private static final RowMapper<Row> ROW_MAPPER =
+      (rs, rowNum) -> {
+        Timestamp at = rs.getTimestamp(5);
+        return new Row(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getLong(3),
+            rs.getLong(4),
+            at == null ? 0 : at.getTime(),
+            rs.getLong(6));
+      };
+
+  private final IncidentRepository incidentRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final long verifiedPoints;
+  // An incident's reporter never changes, and its city rarely does
+  private final Cache<Long, Origin> origins;
+  private final Map<LeaderboardWindow, Window> windows = new EnumMap<>(LeaderboardWindow.class);
+  // When each incident verified within the longest rolling window was credited, by incident id
+  private final Map<Long, Long> verifiedAt = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+  @Autowired
+  public LeaderboardIndex(
+      IncidentRepository incidentRepository,
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      @Value("${leaderboards.verified-points:5}") long verifiedPoints,
+      @Value("${leaderboards.incident-cache-size:100000}") long incidentCacheSize) {
+    this(
+        incidentRepository,
+        jdbcTemplate,
+        objectMapper,
+        Clock.systemUTC(),
+        verifiedPoints,
+        incidentCacheSize);
+  }
+
+  LeaderboardIndex(
+      IncidentRepository incidentRepository,
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      Clock clock,
+      long verifiedPoints,
+      long incidentCacheSize) {
+    this.incidentRepository = incidentRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.verifiedPoints = verifiedPoints;
+    this.origins = Caffeine.newBuilder().maximumSize(incidentCacheSize).build();
+    windows.putAll(emptyWindows());
+  }
+
+  /** The first {@code limit} reporters of the window, globally or for one city. */
+  public List<Standing> top(LeaderboardWindow window, String city, int limit) {
+    lock.readLock().lock();
+    try {
+      RankedBoard board = windows.get(window).boards.get(cityKey(city));
+      return board == null ? List.of() : board.top(limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** The user's standing in the window, globally or for one city; null if they are unranked. */
+  public Standing standing(LeaderboardWindow window, String city, long userId) {
+    lock.readLock().lock();
+    try {
+      RankedBoard board = windows.get(window).boards.get(cityKey(city));
+      return board == null ? null : board.standing(userId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    long now = clock.millis();
+    long currentHour = Math.floorDiv(now, HOUR_MS);
+    Timestamp since =
+        new Timestamp((currentHour - LeaderboardWindow.WEEK.getHours() + 1) * HOUR_MS);
+    List<Row> allTime = new ArrayList<>();
+    allTime.addAll(jdbcTemplate.query(ALL_TIME_VERIFIED_SQL, ROW_MAPPER));
+    allTime.addAll(jdbcTemplate.query(ALL_TIME_UPVOTES_SQL, ROW_MAPPER));
+    List<Row> recent = new ArrayList<>();
+    recent.addAll(jdbcTemplate.query(RECENT_VERIFIED_SQL, ROW_MAPPER, since));
+    recent.addAll(jdbcTemplate.query(RECENT_UPVOTES_SQL, ROW_MAPPER, since));
+
+    Map<LeaderboardWindow, Window> loaded = emptyWindows();
+    Map<Long, Long> loadedVerifiedAt = new HashMap<>();
+    for (Row row : allTime) {
+      loaded
+          .get(LeaderboardWindow.ALL_TIME)
+          .add(row.userId(), cityKey(row.city()), row.verified(), row.upvotes(), 0, currentHour);
+    }
+    for (Row row : recent) {
+      if (row.verified() > 0) {
+        loadedVerifiedAt.put(row.incidentId(), row.atMs());
+      }
+      long hour = Math.min(Math.floorDiv(row.atMs(), HOUR_MS), currentHour);
+      String city = cityKey(row.city());
+      for (Window window : loaded.values()) {
+        if (window.period.isRolling()) {
+          window.add(row.userId(), city, row.verified(), row.upvotes(), hour, currentHour);
+        }
+      }
+    }
+    // Replaces rather than adds to the boards, so a reload starts over from the database
+    lock.writeLock().lock();
+    try {
+      windows.putAll(loaded);
+      verifiedAt.clear();
+      verifiedAt.putAll(loadedVerifiedAt);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info(
+        "Loaded leaderboards from {} all-time and {} hourly aggregates",
+        allTime.size(),
+        recent.size());
+  }
+
+  /** Drops expired buckets from the rolling windows, or reloads the boards if asked to. */
+  @Scheduled(fixedDelayString = "${leaderboards.roll-interval-ms:60000}")
+  public void roll() {
+    if (reloadRequested.getAndSet(false)) {
+      load();
+      return;
+    }
+    long currentHour = Math.floorDiv(clock.millis(), HOUR_MS);
+    lock.writeLock().lock();
+    try {
+      windows.values().forEach(window -> window.roll(currentHour));
+      long oldestKept = (currentHour - LeaderboardWindow.WEEK.getHours() + 1) * HOUR_MS;
+      verifiedAt.values().removeIf(atMs -> atMs < oldestKept);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      try {
+        if (INCIDENT_AGGREGATE.equals(event.getAggregateType())
+            && "STATUS_CHANGED".equals(event.getEventType())) {
+          onStatusChanged(objectMapper.readTree(event.getPayload()));
+        } else if (VOTE_AGGREGATE.equals(event.getAggregateType())) {
+          onVote(event.getEventType(), objectMapper.readTree(event.getPayload()));
+        } else if (LIFECYCLE_AGGREGATE.equals(event.getAggregateType())) {
+          reloadRequested.set(true);
+        }
+      } catch (JsonProcessingException e) {
+        log.warn(
+            "Skipping unreadable {} event {}", event.getAggregateType(), event.getPosition(), e);
+      }
+    }
+  }
+
+  private void onStatusChanged(JsonNode incident) throws JsonProcessingException {
+    boolean verified = VERIFIED_STATUSES.contains(incident.path("status").asText());
+    boolean wasVerified = VERIFIED_STATUSES.contains(incident.path("previousStatus").asText());
+    if (verified == wasVerified) {
+      return;
+    }
+    long incidentId = incident.path("id").asLong();
+    // Credited in the bucket of the persisted verification time, as the boards are loaded
+    long verifiedAtMs = verified ? timestamp(incident.path("verifiedAt")) : 0;
+    lock.writeLock().lock();
+    try {
+      long atMs;
+      if (verified) {
+        atMs = verifiedAtMs;
+        verifiedAt.put(incidentId, atMs);
+      } else {
+        // Not remembered: credited before the rolling windows began, so only all-time counts it
+        Long creditedAt = verifiedAt.remove(incidentId);
+        atMs = creditedAt == null ? 0 : creditedAt;
+      }
+      apply(
+          incident.path("reporterId").asLong(),
+          incident.path("location").path("city").asText(null),
+          verified ? 1 : -1,
+          0,
+          atMs);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void onVote(String eventType, JsonNode vote) throws JsonProcessingException {
+    boolean upvote = VoteType.UPVOTE.name().equals(vote.path("voteType").asText());
+    boolean wasUpvote = VoteType.UPVOTE.name().equals(vote.path("previousVoteType").asText());
+    int delta;
+    if ("DELETED".equals(eventType)) {
+      delta = upvote ? -1 : 0;
+    } else {
+      delta = (upvote ? 1 : 0) - (wasUpvote ? 1 : 0);
+    }
+    if (delta == 0) {
+      return;
+    }
+    long incidentId = vote.path("incidentId").asLong();
+    Origin origin = origins.get(incidentId, this::findOrigin);
+    if (origin == null || origin.reporterId() == vote.path("userId").asLong()) {
+      return;
+    }
+    // Credited and withdrawn in the bucket of the vote's creation, as the boards are loaded
+    apply(origin.reporterId(), origin.city(), 0, delta, timestamp(vote.path("createdAt")));
+  }
+
+  private void apply(long userId, String city, long verified, long upvotes, long atMs) {
+    long currentHour = Math.floorDiv(clock.millis(), HOUR_MS);
+    long hour = Math.min(Math.floorDiv(atMs, HOUR_MS), currentHour);
+    lock.writeLock().lock();
+    try {
+      for (Window window : windows.values()) {
+        window.roll(currentHour);
+        window.add(userId, cityKey(city), verified, upvotes, hour, currentHour);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Origin findOrigin(Long incidentId) {
+    List<Object[]> rows = incidentRepository.findReporterAndCityById(incidentId);
+    return rows.isEmpty() ? null : new Origin((Long) rows.get(0)[0], (String) rows.get(0)[1]);
+  }
+
+  private long timestamp(JsonNode node) throws JsonProcessingException {
+    if (node.isMissingNode() || node.isNull()) {
+      return clock.millis();
+    }
+    LocalDateTime time = objectMapper.treeToValue(node, LocalDateTime.class);
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private Map<LeaderboardWindow, Window> emptyWindows() {
+    Map<LeaderboardWindow, Window> empty = new EnumMap<>(LeaderboardWindow.class);
+    for (LeaderboardWindow period : LeaderboardWindow.values()) {
+      empty.put(period, new Window(period, verifiedPoints));
+    }
+    return empty;
+  }
+
+  private static String cityKey(String city) {
+    return city == null || city.isBlank() ? GLOBAL : city.strip().toLowerCase(Locale.ROOT);
+  }
+
+  /** The boards of one window, plus its hourly buckets if it rolls. */
+  private static final class Window {
+    private final LeaderboardWindow period;
+    private final long verifiedPoints;
+    private final Map<String, RankedBoard> boards = new HashMap<>();
+    private final TreeMap<Long, Map<Contribution, long[]>> buckets = new TreeMap<>();
+
+    private Window(LeaderboardWindow period, long verifiedPoints) {
+      this.period = period;
+      this.verifiedPoints = verifiedPoints;
+    }
+
+    private void add(
+        long userId, String city, long verified, long upvotes, long hour, long currentHour) {
+      if (period.isRolling()) {
+        if (hour <= currentHour - period.getHours()) {
+          return;
+        }
+        long[] counts =
+            buckets
+                .computeIfAbsent(hour, h -> new HashMap<>())
+                .computeIfAbsent(new Contribution(userId, city), c -> new long[2]);
+        counts[0] += verified;
+        counts[1] += upvotes;
+      }
+      adjust(userId, city, verified, upvotes);
+    }
+
+    private void roll(long currentHour) {
+      if (!period.isRolling() || buckets.isEmpty()) {
+        return;
+      }
+      Map<Long, Map<Contribution, long[]>> expired =
+          buckets.headMap(currentHour - period.getHours(), true);
+      for (Map<Contribution, long[]> bucket : expired.values()) {
+        bucket.forEach(
+            (contribution, counts) ->
+                adjust(contribution.userId(), contribution.city(), -counts[0], -counts[1]));
+      }
+      expired.clear();
+    }
+
+    private void adjust(long userId, String city, long verified, long upvotes) {
+      adjust(GLOBAL, userId, verified, upvotes);
+      if (!GLOBAL.equals(city)) {
+        adjust(city, userId, verified, upvotes);
+      }
+    }
+
+    private void adjust(String scope, long userId, long verified, long upvotes) {
+      RankedBoard board = boards.computeIfAbsent(scope, s -> new RankedBoard(verifiedPoints));
+      board.add(userId, verified, upvotes);
+      if (board.isEmpty()) {
+        boards.remove(scope);
+      }
+    }
+  }
+
+  private record Contribution(long userId, String city) {}
+
+  private record Origin(long reporterId, String city) {}
+
+  private record Row(
+      long userId, String city, long verified, long upvotes, long atMs, long incidentId) {}
+}
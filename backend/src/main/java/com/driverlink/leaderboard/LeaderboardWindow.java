@@ -0,0 +1,23 @@
+package com.driverlink.leaderboard;
+
+/** Period a leaderboard covers, as a number of trailing hourly buckets. */
+public enum LeaderboardWindow {
+  DAY(24),
+  WEEK(24 * 7),
+  ALL_TIME(0);
+
+  private final int hours;
+
+  LeaderboardWindow(int hours) {
+    this.hours = hours;
+  }
+
+  /** Number of hourly buckets in the window; 0 if the window never rolls. */
+  public int getHours() {
+    return hours;
+  }
+
+  public boolean isRolling() {
+    return hours > 0;
+  }
+}
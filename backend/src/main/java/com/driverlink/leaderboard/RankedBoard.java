@@ -0,0 +1,192 @@
+package com.driverlink.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Reporters ordered by points, as an order-statistic treap.
+ *
+ * <p>Nodes are ordered by points (highest first), then user id, and every node tracks the size of
+ * its subtree. A user's rank is the number of nodes ordered before it, counted on the way down
+ * from the root, and the top N is the first N nodes of an in-order walk; a change of points
+ * unlinks the user's node and re-inserts it. All three are O(log n) expected, plus N for the walk.
+ * A user whose counts fall back to zero leaves the board.
+ *
+ * <p>Not thread-safe.
+ */
+final class RankedBoard {
+  private final long verifiedPoints;
+  private final Map<Long, Node> nodes = new HashMap<>();
+  private final SplittableRandom random = new SplittableRandom();
+  private Node root;
+
+  RankedBoard(long verifiedPoints) {
+    this.verifiedPoints = verifiedPoints;
+  }
+
+  int size() {
+    return nodes.size();
+  }
+
+  boolean isEmpty() {
+    return nodes.isEmpty();
+  }
+
+  /** Adjusts the user's counts and moves them to their new position. */
+  void add(long userId, long verifiedDelta, long upvoteDelta) {
+    Node node = nodes.get(userId);
+    if (node == null) {
+      node = new Node(userId, random.nextInt());
+      nodes.put(userId, node);
+    } else {
+      root = unlink(root, node);
+    }
+    node.verified += verifiedDelta;
+    node.upvotes += upvoteDelta;
+    node.points = node.verified * verifiedPoints + node.upvotes;
+    if (node.verified <= 0 && node.upvotes <= 0) {
+      nodes.remove(userId);
+      return;
+    }
+    node.left = null;
+    node.right = null;
+    node.size = 1;
+    root = insert(root, node);
+  }
+
+  /** Returns the user's standing, or null if they are not on the board. */
+  Standing standing(long userId) {
+    Node node = nodes.get(userId);
+    if (node == null) {
+      return null;
+    }
+    int before = 0;
+    Node t = root;
+    while (t != node) {
+      if (precedes(node, t)) {
+        t = t.left;
+      } else {
+        before += size(t.left) + 1;
+        t = t.right;
+      }
+    }
+    return node.standing(before + size(node.left) + 1);
+  }
+
+  /** Returns the first {@code limit} users in rank order. */
+  List<Standing> top(int limit) {
+    List<Standing> top = new ArrayList<>(Math.min(limit, nodes.size()));
+    Deque<Node> path = new ArrayDeque<>();
+    Node t = root;
+    while (top.size() < limit && (t != null || !path.isEmpty())) {
+      while (t != null) {
+        path.push(t);
+        t = t.left;
+      }
+      t = path.pop();
+      top.add(t.standing(top.size() + 1));
+      t = t.right;
+    }
+    return top;
+  }
+
+  private static Node insert(Node t, Node node) {
+    if (t == null) {
+      return node;
+    }
+    if (node.priority > t.priority) {
+      Node[] halves = split(t, node);
+      node.left = halves[0];
+      node.right = halves[1];
+      return update(node);
+    }
+    if (precedes(node, t)) {
+      t.left = insert(t.left, node);
+    } else {
+      t.right = insert(t.right, node);
+    }
+    return update(t);
+  }
+
+  private static Node unlink(Node t, Node node) {
+    if (t == node) {
+      return merge(t.left, t.right);
+    }
+    if (precedes(node, t)) {
+      t.left = unlink(t.left, node);
+    } else {
+      t.right = unlink(t.right, node);
+    }
+    return update(t);
+  }
+
+  /** Splits the tree into the nodes ordered before the key and those ordered after it. */
+  private static Node[] split(Node t, Node key) {
+    if (t == null) {
+      return new Node[2];
+    }
+    if (precedes(t, key)) {
+      Node[] halves = split(t.right, key);
+      t.right = halves[0];
+      halves[0] = update(t);
+      return halves;
+    }
+    Node[] halves = split(t.left, key);
+    t.left = halves[1];
+    halves[1] = update(t);
+    return halves;
+  }
+
+  private static Node merge(Node a, Node b) {
+    if (a == null) {
+      return b;
+    }
+    if (b == null) {
+      return a;
+    }
+    if (a.priority > b.priority) {
+      a.right = merge(a.right, b);
+      return update(a);
+    }
+    b.left = merge(a, b.left);
+    return update(b);
+  }
+
+  private static boolean precedes(Node a, Node b) {
+    return a.points != b.points ? a.points > b.points : a.userId < b.userId;
+  }
+
+  private static Node update(Node t) {
+    t.size = size(t.left) + size(t.right) + 1;
+    return t;
+  }
+
+  private static int size(Node t) {
+    return t == null ? 0 : t.size;
+  }
+
+  private static final class Node {
+    private final long userId;
+    private final int priority;
+    private long verified;
+    private long upvotes;
+    private long points;
+    private Node left;
+    private Node right;
+    private int size = 1;
+
+    private Node(long userId, int priority) {
+      this.userId = userId;
+      this.priority = priority;
+    }
+
+    private Standing standing(int rank) {
+      return new Standing(userId, rank, verified, upvotes, points);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package com.driverlink.leaderboard;
+
+/** A reporter's position on one leaderboard. */
+public record Standing(
+    long userId, int rank, long verifiedIncidents, long upvotesReceived, long points) {}
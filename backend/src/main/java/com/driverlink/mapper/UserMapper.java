@@ -3,6 +3,8 @@ package com.driverlink.mapper;
 import com.driverlink.dto.UserDTO;
 import com.driverlink.model.Role;
 import com.driverlink.model.User;
+import com.driverlink.reputation.ReputationService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
@@ -15,7 +17,9 @@ import java.util.stream.Collectors;
  * concerns by handling object transformations.
  */
 @Component
+@RequiredArgsConstructor
 public class UserMapper {
+  private final ReputationService reputationService;
 
   /** Converts a User entity to UserDTO. Note: Password is not included in the DTO for security. */
   public UserDTO toDTO(User user) {
@@ -32,6 +36,9 @@ public class UserMapper {
     dto.setRoles(user.getRoles().stream()
         .map(Role::name)
         .collect(Collectors.toSet()));
+    if (user.getId() != null) {
+      dto.setReputation(reputationService.getScore(user.getId()));
+    }
     return dto;
   }
 
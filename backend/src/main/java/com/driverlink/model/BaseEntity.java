@@ -9,10 +9,6 @@ import java.time.LocalDateTime;
 @Setter
 @MappedSuperclass
 public abstract class BaseEntity {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    protected Long id;
-
     @Column(name = "created_at", nullable = false, updatable = false)
     protected LocalDateTime createdAt;
 
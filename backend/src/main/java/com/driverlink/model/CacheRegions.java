@@ -0,0 +1,22 @@
+package com.driverlink.model;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions. Each one is sized and given its expiry in {@code
+ * application.conf}; Hibernate refuses to start if a region is missing there.
+ */
+public final class CacheRegions {
+  public static final String USERS = "users";
+  public static final String USER_ROLES = "user-roles";
+  public static final String LOCATIONS = "locations";
+  public static final String INCIDENTS = "incidents";
+
+  /** Ids of users looked up by username or email. */
+  public static final String USERS_BY_LOGIN = "users-by-login";
+
+  public static final List<String> ALL =
+      List.of(USERS, USER_ROLES, LOCATIONS, INCIDENTS, USERS_BY_LOGIN);
+
+  private CacheRegions() {}
+}
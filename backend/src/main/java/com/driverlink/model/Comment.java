@@ -4,15 +4,30 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
 @Table(name = "comments")
 @Data
 @NoArgsConstructor
+@DynamicUpdate
 public class Comment {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "comments_id_seq")
+  @GenericGenerator(
+      name = "comments_id_seq",
+      type = SequenceStyleGenerator.class,
+      parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "comments_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+      })
   private Long id;
 
   @NotBlank(message = "Comment content is required")
@@ -27,6 +42,27 @@ public class Comment {
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
+  /** The comment this one replies to, or {@code null} for a top-level comment. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "parent_id")
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private Comment parent;
+
+  /** Materialised path of this comment within its thread, see {@link CommentPath}. */
+  @Column(length = 400)
+  private String path;
+
+  @Column(nullable = false)
+  private int depth = 0;
+
+  /**
+   * Number of active direct replies, maintained incrementally in SQL. Not versioned; edits only
+   * write the columns they change.
+   */
+  @Column(name = "reply_count", nullable = false)
+  private int replyCount = 0;
+
   @Column(nullable = false)
   private LocalDateTime createdAt;
 
@@ -35,6 +71,8 @@ public class Comment {
   @Column(nullable = false)
   private boolean active = true;
 
+  @Version private Long version;
+
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
@@ -0,0 +1,41 @@
+package com.driverlink.model;
+
+/**
+ * Helpers for the materialised path stored on {@link Comment}. A path is the concatenation of the
+ * zero-padded ids of the root comment, every intermediate ancestor and the comment itself. Because
+ * each segment has the same width and only contains digits, sorting by path yields a depth-first
+ * walk of the thread and every subtree is one contiguous range of paths.
+ */
+public final class CommentPath {
+  /** Width of one path segment; wide enough for any positive {@code long} id. */
+  public static final int SEGMENT_LENGTH = 19;
+
+  /** Deepest reply level a path column of 400 characters can hold. */
+  public static final int MAX_DEPTH = 20;
+
+  private CommentPath() {}
+
+  /** Path of a comment with the given id under the given parent path ({@code null} for roots). */
+  public static String of(String parentPath, long id) {
+    String segment = String.format("%0" + SEGMENT_LENGTH + "d", id);
+    return parentPath == null ? segment : parentPath + segment;
+  }
+
+  /**
+   * Smallest path that sorts after every path starting with {@code prefix}, so the subtree of a
+   * comment is {@code path >= prefix AND path < upperBound(prefix)}. The bound is computed by
+   * incrementing the prefix as a decimal number, which keeps it digits-only and therefore ordered
+   * the same way under any database collation.
+   */
+  public static String upperBound(String prefix) {
+    char[] digits = prefix.toCharArray();
+    for (int i = digits.length - 1; i >= 0; i--) {
+      if (digits[i] != '9') {
+        digits[i]++;
+        return new String(digits);
+      }
+      digits[i] = '0';
+    }
+    throw new IllegalStateException("Comment path has no upper bound: " + prefix);
+  }
+}
@@ -0,0 +1,65 @@
+package com.driverlink.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A user-defined area the owner wants to be alerted about. */
+@Entity
+@Table(name = "geofences")
+@Data
+@NoArgsConstructor
+public class Geofence {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @NotBlank(message = "Name is required")
+  @Column(nullable = false, length = 100)
+  private String name;
+
+  @Enumerated(EnumType.STRING)
+  @NotNull(message = "Shape is required")
+  @Column(nullable = false, length = 20)
+  private GeofenceShape shape;
+
+  /** Centre of a circle. */
+  @Column(name = "center_latitude")
+  private Double centerLatitude;
+
+  @Column(name = "center_longitude")
+  private Double centerLongitude;
+
+  @Column(name = "radius_km")
+  private Double radiusKm;
+
+  /** Polygon vertices as {@code lat,lon;lat,lon;...}. */
+  @Column(columnDefinition = "TEXT")
+  private String vertices;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  private LocalDateTime updatedAt;
+
+  @Column(nullable = false)
+  private boolean active = true;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now();
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+}
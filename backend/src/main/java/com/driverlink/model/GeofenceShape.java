@@ -0,0 +1,6 @@
+package com.driverlink.model;
+
+public enum GeofenceShape {
+  CIRCLE,
+  POLYGON
+}
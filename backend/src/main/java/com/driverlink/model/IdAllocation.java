@@ -0,0 +1,24 @@
+package com.driverlink.model;
+
+/**
+ * Id block size for the sequence-generated entities. Each sequence call hands out a block of this
+ * many ids (pooled-lo: the value returned is the first id of the block), so inserts need one
+ * round trip per block rather than one per row and can be batched. Must match the sequences'
+ * {@code INCREMENT BY} (V10); anything else allocating from those sequences must claim whole
+ * blocks too.
+ *
+ * <p>The entities name the optimizer in their generator mappings rather than relying on the
+ * {@code hibernate.id.optimizer.pooled.preferred} setting, which would silently fall back to
+ * plain pooled (nextval read as the last id of the block) if it were ever left out.
+ */
+public final class IdAllocation {
+  public static final int BLOCK_SIZE = 50;
+
+  /** {@link #BLOCK_SIZE} as a generator parameter. */
+  public static final String INCREMENT = "" + BLOCK_SIZE;
+
+  /** Optimizer for the entities' sequence generators. */
+  public static final String OPTIMIZER = "pooled-lo";
+
+  private IdAllocation() {}
+}
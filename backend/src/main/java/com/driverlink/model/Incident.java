@@ -6,14 +6,31 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
 @Table(name = "incidents")
 @Data
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.INCIDENTS)
+@DynamicUpdate
 public class Incident {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "incidents_id_seq")
+  @GenericGenerator(
+      name = "incidents_id_seq",
+      type = SequenceStyleGenerator.class,
+      parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "incidents_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+      })
   private Long id;
 
   @NotBlank(message = "Title is required")
@@ -39,6 +56,10 @@ public class Incident {
   @Column(nullable = false)
   private IncidentStatus status = IncidentStatus.PENDING;
 
+  /**
+   * Active upvotes. Adjusted in SQL by each vote without touching {@link #version}; updates only
+   * write the columns they change, so an edit cannot put back a stale count.
+   */
   private int verificationCount = 0;
 
   @Column(nullable = false)
@@ -46,9 +67,15 @@ public class Incident {
 
   private LocalDateTime updatedAt;
 
+  /** When the incident became verified or resolved; null while it is neither. */
+  private LocalDateTime verifiedAt;
+
   @Column(nullable = false)
   private boolean active = true;
 
+  /** Concurrent edits fail with an optimistic-lock conflict instead of overwriting each other. */
+  @Version private Long version;
+
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
@@ -4,14 +4,29 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
 @Table(name = "locations")
 @Data
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.LOCATIONS)
 public class Location {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "locations_id_seq")
+  @GenericGenerator(
+      name = "locations_id_seq",
+      type = SequenceStyleGenerator.class,
+      parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "locations_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+      })
   private Long id;
 
   @NotNull(message = "Latitude is required")
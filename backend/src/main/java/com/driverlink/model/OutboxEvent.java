@@ -0,0 +1,47 @@
+package com.driverlink.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change recorded in the same transaction as the mutation it describes. Rows are inserted
+ * without a {@code position}; the outbox poller assigns positions in commit order, which is what
+ * change-feed consumers page through.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "aggregate_type", nullable = false, length = 30)
+  private String aggregateType;
+
+  @Column(name = "aggregate_id", nullable = false)
+  private Long aggregateId;
+
+  @Column(name = "event_type", nullable = false, length = 30)
+  private String eventType;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(insertable = false, updatable = false)
+  private Long position;
+
+  public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+    this.aggregateType = aggregateType;
+    this.aggregateId = aggregateId;
+    this.eventType = eventType;
+    this.payload = payload;
+    this.createdAt = LocalDateTime.now();
+  }
+}
@@ -5,6 +5,9 @@ import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
 @Table(name = "ratings")
@@ -12,7 +15,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class Rating {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "ratings_id_seq")
+    @GenericGenerator(
+            name = "ratings_id_seq",
+            type = SequenceStyleGenerator.class,
+            parameters = {
+                @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "ratings_id_seq"),
+                @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+                @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+            })
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +47,9 @@ public class Rating {
     @Column(nullable = false)
     private boolean active = true;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,55 @@
+package com.driverlink.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A refresh token, stored as the SHA-256 of the value handed to the client. Tokens are single use:
+ * refreshing revokes the presented token and issues its successor in the same family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+  private String tokenHash;
+
+  /** Shared by every token descended from one login. */
+  @Column(name = "family_id", nullable = false, length = 36)
+  private String familyId;
+
+  /** Id of the access token issued alongside, so it can be revoked with the family. */
+  @Column(name = "access_token_id", nullable = false, length = 36)
+  private String accessTokenId;
+
+  /** The user's token version at issue; the token is rejected once the user's version moves on. */
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "revoked_at")
+  private LocalDateTime revokedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,28 @@
+package com.driverlink.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** An access token id that must be refused until the token would have expired anyway. */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "token_id", nullable = false, unique = true, length = 36)
+  private String tokenId;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  public RevokedToken(String tokenId, LocalDateTime expiresAt) {
+    this.tokenId = tokenId;
+    this.expiresAt = expiresAt;
+  }
+}
@@ -10,6 +10,11 @@ import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /** Represents a user in the system. This entity stores user information and credentials. */
 @Entity
@@ -22,9 +27,19 @@ import lombok.NoArgsConstructor;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 public class User extends BaseEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "users_id_seq")
+  @GenericGenerator(
+      name = "users_id_seq",
+      type = SequenceStyleGenerator.class,
+      parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "users_id_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+      })
   private Long id;
 
   @NotBlank(message = "Username is required")
@@ -45,7 +60,12 @@ public class User extends BaseEntity {
   @Column(nullable = false)
   private boolean active = true;
 
+  /** Tokens carry the version they were issued at; bumping it revokes all of them. */
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
   @ElementCollection(fetch = FetchType.EAGER)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLES)
   @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
   @Enumerated(EnumType.STRING)
   @Column(name = "role")
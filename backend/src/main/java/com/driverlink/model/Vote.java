@@ -6,6 +6,9 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Getter
 @Setter
@@ -15,6 +18,18 @@ import lombok.ToString;
 @AllArgsConstructor
 @ToString(callSuper = true)
 public class Vote extends BaseEntity {
+    @Id
+    @GeneratedValue(generator = "votes_id_seq")
+    @GenericGenerator(
+            name = "votes_id_seq",
+            type = SequenceStyleGenerator.class,
+            parameters = {
+                @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "votes_id_seq"),
+                @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdAllocation.INCREMENT),
+                @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdAllocation.OPTIMIZER)
+            })
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "incident_id", nullable = false)
     private Incident incident;
@@ -29,4 +44,7 @@ public class Vote extends BaseEntity {
 
     @Column(name = "active", nullable = false)
     private boolean active = true;
+
+    @Version
+    private Long version;
 }
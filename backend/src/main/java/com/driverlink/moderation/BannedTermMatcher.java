@@ -0,0 +1,284 @@
+package com.driverlink.moderation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable Aho-Corasick automaton over a banned-term dictionary.
+ *
+ * <p>Terms and scanned text are both passed through {@link TextFolding}, so accents, case,
+ * leetspeak and punctuation cannot be used to slip a term past the matcher. A plain term only
+ * matches a whole word (or whole run of words); a term ending in {@code *} also matches as a word
+ * prefix, so {@code idiot*} catches "idiots". Word boundaries are encoded in the patterns
+ * themselves, which keeps a scan to one pass over the text with no per-word allocation.
+ *
+ * <p>Instances are thread-safe and meant to be shared.
+ */
+public final class BannedTermMatcher {
+  private static final char PREFIX_WILDCARD = '*';
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+
+  private final String[] terms;
+  private final int[] rootAscii;
+  private final int[] edgeStart;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  private final int[] fail;
+  private final int[] output;
+  private final int[] outputLink;
+
+  private BannedTermMatcher(
+      String[] terms,
+      int[] edgeStart,
+      char[] edgeChars,
+      int[] edgeTargets,
+      int[] fail,
+      int[] output,
+      int[] outputLink) {
+    this.terms = terms;
+    this.edgeStart = edgeStart;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.fail = fail;
+    this.output = output;
+    this.outputLink = outputLink;
+    this.rootAscii = new int[128];
+    Arrays.fill(rootAscii, NONE);
+    for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+      if (edgeChars[e] < 128) {
+        rootAscii[edgeChars[e]] = edgeTargets[e];
+      }
+    }
+  }
+
+  /** Returns a matcher that never matches. */
+  public static BannedTermMatcher empty() {
+    return compile(List.of());
+  }
+
+  /**
+   * Compiles a dictionary. Blank terms are ignored; duplicates (after folding) are merged.
+   *
+   * @param rawTerms the banned terms as written in the dictionary
+   * @return the compiled matcher
+   */
+  public static BannedTermMatcher compile(Collection<String> rawTerms) {
+    List<Pattern> patterns = new ArrayList<>(rawTerms.size());
+    for (String raw : rawTerms) {
+      String term = raw.strip();
+      boolean prefix = term.endsWith(String.valueOf(PREFIX_WILDCARD));
+      String folded = TextFolding.foldTerm(prefix ? term.substring(0, term.length() - 1) : term);
+      if (folded.isEmpty()) {
+        continue;
+      }
+      String pattern = TextFolding.BOUNDARY + folded + (prefix ? "" : TextFolding.BOUNDARY);
+      patterns.add(new Pattern(pattern, term));
+    }
+    patterns.sort((a, b) -> a.pattern.compareTo(b.pattern));
+    return build(patterns);
+  }
+
+  /** Number of distinct terms in the dictionary. */
+  public int size() {
+    return terms.length;
+  }
+
+  /** Returns whether the text contains at least one banned term. */
+  public boolean matches(String text) {
+    return scan(text, null);
+  }
+
+  /** Returns every banned term found in the text, in order of the end of their first match. */
+  public List<String> findAll(String text) {
+    List<String> found = new ArrayList<>();
+    scan(text, found);
+    return found;
+  }
+
+  private boolean scan(String text, List<String> found) {
+    if (text == null || terms.length == 0) {
+      return false;
+    }
+    String decomposed = TextFolding.decompose(text);
+    int state = step(ROOT, TextFolding.BOUNDARY);
+    boolean lastWasBoundary = true;
+    for (int i = 0; i < decomposed.length(); i++) {
+      char f = TextFolding.fold(decomposed, i);
+      if (f == TextFolding.SKIP || (f == TextFolding.BOUNDARY && lastWasBoundary)) {
+        continue;
+      }
+      lastWasBoundary = f == TextFolding.BOUNDARY;
+      state = step(state, f);
+      if (report(state, found)) {
+        return true;
+      }
+    }
+    if (!lastWasBoundary) {
+      state = step(state, TextFolding.BOUNDARY);
+      if (report(state, found)) {
+        return true;
+      }
+    }
+    return found != null && !found.isEmpty();
+  }
+
+  /** Records the terms ending at the state; returns true if the caller only wanted a yes/no. */
+  private boolean report(int state, List<String> found) {
+    int s = output[state] != NONE ? state : outputLink[state];
+    if (s == NONE) {
+      return false;
+    }
+    if (found == null) {
+      return true;
+    }
+    for (; s != NONE; s = outputLink[s]) {
+      String term = terms[output[s]];
+      if (!found.contains(term)) {
+        found.add(term);
+      }
+    }
+    return false;
+  }
+
+  private int step(int state, char c) {
+    while (true) {
+      int next = transition(state, c);
+      if (next != NONE) {
+        return next;
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = fail[state];
+    }
+  }
+
+  private int transition(int state, char c) {
+    if (state == ROOT && c < 128) {
+      return rootAscii[c];
+    }
+    int lo = edgeStart[state];
+    int hi = edgeStart[state + 1] - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      char m = edgeChars[mid];
+      if (m < c) {
+        lo = mid + 1;
+      } else if (m > c) {
+        hi = mid - 1;
+      } else {
+        return edgeTargets[mid];
+      }
+    }
+    return NONE;
+  }
+
+  /**
+   * Builds the trie from lexicographically sorted patterns. Because the input is sorted, each new
+   * pattern only branches off the path of the previous one, and every node's children are created
+   * in ascending character order, so the edge list can be turned into a CSR layout with a single
+   * stable counting sort.
+   */
+  private static BannedTermMatcher build(List<Pattern> patterns) {
+    int maxNodes = 1;
+    for (Pattern p : patterns) {
+      maxNodes += p.pattern.length();
+    }
+    int[] edgeParent = new int[maxNodes];
+    char[] edgeChar = new char[maxNodes];
+    int[] edgeChild = new int[maxNodes];
+    int[] nodeOutput = new int[maxNodes];
+    Arrays.fill(nodeOutput, NONE);
+    List<String> terms = new ArrayList<>(patterns.size());
+
+    int nodes = 1;
+    int edges = 0;
+    int[] path = new int[1];
+    String previous = "";
+    for (Pattern p : patterns) {
+      String pattern = p.pattern;
+      if (path.length < pattern.length() + 1) {
+        path = Arrays.copyOf(path, pattern.length() + 1);
+      }
+      int common = commonPrefix(previous, pattern);
+      int node = path[common];
+      for (int i = common; i < pattern.length(); i++) {
+        int child = nodes++;
+        edgeParent[edges] = node;
+        edgeChar[edges] = pattern.charAt(i);
+        edgeChild[edges] = child;
+        edges++;
+        path[i + 1] = child;
+        node = child;
+      }
+      if (nodeOutput[node] == NONE) {
+        nodeOutput[node] = terms.size();
+        terms.add(p.term);
+      }
+      previous = pattern;
+    }
+
+    int[] edgeStart = new int[nodes + 1];
+    for (int e = 0; e < edges; e++) {
+      edgeStart[edgeParent[e] + 1]++;
+    }
+    for (int n = 0; n < nodes; n++) {
+      edgeStart[n + 1] += edgeStart[n];
+    }
+    char[] chars = new char[edges];
+    int[] targets = new int[edges];
+    int[] cursor = Arrays.copyOf(edgeStart, nodes);
+    for (int e = 0; e < edges; e++) {
+      int slot = cursor[edgeParent[e]]++;
+      chars[slot] = edgeChar[e];
+      targets[slot] = edgeChild[e];
+    }
+
+    int[] output = Arrays.copyOf(nodeOutput, nodes);
+    int[] fail = new int[nodes];
+    int[] outputLink = new int[nodes];
+    Arrays.fill(outputLink, NONE);
+    BannedTermMatcher partial =
+        new BannedTermMatcher(
+            terms.toArray(new String[0]), edgeStart, chars, targets, fail, output, outputLink);
+
+    int[] queue = new int[nodes];
+    int head = 0;
+    int tail = 0;
+    for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+      fail[targets[e]] = ROOT;
+      queue[tail++] = targets[e];
+    }
+    while (head < tail) {
+      int state = queue[head++];
+      for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+        int child = targets[e];
+        char c = chars[e];
+        int f = fail[state];
+        while (f != ROOT && partial.transition(f, c) == NONE) {
+          f = fail[f];
+        }
+        int target = partial.transition(f, c);
+        fail[child] = target != NONE ? target : ROOT;
+        int suffix = fail[child];
+        outputLink[child] = output[suffix] != NONE ? suffix : outputLink[suffix];
+        queue[tail++] = child;
+      }
+    }
+    return partial;
+  }
+
+  private static int commonPrefix(String a, String b) {
+    int n = Math.min(a.length(), b.length());
+    int i = 0;
+    while (i < n && a.charAt(i) == b.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  private record Pattern(String pattern, String term) {}
+}
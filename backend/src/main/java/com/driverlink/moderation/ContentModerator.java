@@ -0,0 +1,110 @@
+package com.driverlink.moderation;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Screens user-supplied text against the banned-term dictionary.
+ *
+ * <p>The dictionary is read from {@code moderation.banned-terms-file} when set, otherwise from the
+ * bundled {@code moderation/banned-terms.txt}. An external file is watched and recompiled when it
+ * changes, so terms can be added without a restart; the compiled matcher is swapped atomically and
+ * in-flight checks keep using the previous one.
+ */
+@Slf4j
+@Component
+public class ContentModerator {
+  private static final String BUNDLED_TERMS = "moderation/banned-terms.txt";
+
+  @Value("${moderation.banned-terms-file:}")
+  private String bannedTermsFile;
+
+  private volatile BannedTermMatcher matcher = BannedTermMatcher.empty();
+  private volatile FileTime loadedVersion;
+
+  @PostConstruct
+  public void load() {
+    try {
+      if (bannedTermsFile == null || bannedTermsFile.isBlank()) {
+        try (InputStream in = new ClassPathResource(BUNDLED_TERMS).getInputStream()) {
+          install(readTerms(in), "classpath:" + BUNDLED_TERMS);
+        }
+      } else {
+        reloadIfChanged();
+      }
+    } catch (IOException e) {
+      log.error("Failed to load banned terms, content moderation is disabled", e);
+    }
+  }
+
+  /** Recompiles the dictionary if the external terms file has been modified since the last load. */
+  @Scheduled(fixedDelayString = "${moderation.reload-interval-ms:30000}")
+  public void reloadIfChanged() {
+    if (bannedTermsFile == null || bannedTermsFile.isBlank()) {
+      return;
+    }
+    Path path = Path.of(bannedTermsFile);
+    try {
+      FileTime modified = Files.getLastModifiedTime(path);
+      if (modified.equals(loadedVersion)) {
+        return;
+      }
+      try (InputStream in = Files.newInputStream(path)) {
+        install(readTerms(in), path.toString());
+      }
+      loadedVersion = modified;
+    } catch (IOException e) {
+      log.warn("Could not reload banned terms from {}: {}", path, e.getMessage());
+    }
+  }
+
+  /** Returns whether the text contains a banned term. {@code null} text is always acceptable. */
+  public boolean containsBannedTerm(String text) {
+    return matcher.matches(text);
+  }
+
+  /** Returns whether any of the texts contains a banned term. */
+  public boolean containsBannedTerm(String... texts) {
+    BannedTermMatcher current = matcher;
+    for (String text : texts) {
+      if (current.matches(text)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void install(List<String> terms, String source) {
+    matcher = BannedTermMatcher.compile(terms);
+    log.info("Loaded {} banned terms from {}", matcher.size(), source);
+  }
+
+  private static List<String> readTerms(InputStream in) throws IOException {
+    List<String> terms = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String term = line.strip();
+        if (!term.isEmpty() && !term.startsWith("#")) {
+          terms.add(term);
+        }
+      }
+    }
+    return terms;
+  }
+}
@@ -0,0 +1,156 @@
+package com.driverlink.moderation;
+
+import java.text.Normalizer;
+
+/**
+ * Folds text into the canonical form the banned-term matcher works on: lower case, accents
+ * stripped, common leetspeak and look-alike characters mapped to the letter they imitate, and every
+ * run of non-alphanumeric characters collapsed into a single space.
+ */
+final class TextFolding {
+  static final char BOUNDARY = ' ';
+
+  /** Marker returned by {@link #fold(char)} for characters that produce no output at all. */
+  static final char SKIP = '\0';
+
+  private static final char[] ASCII = new char[128];
+  private static final boolean[] SYMBOL = new boolean[128];
+
+  static {
+    for (char c = 0; c < 128; c++) {
+      ASCII[c] = BOUNDARY;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      ASCII[c] = c;
+      ASCII[Character.toUpperCase(c)] = c;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      ASCII[c] = c;
+    }
+    map("aA4@", 'a');
+    map("bB8", 'b');
+    map("eE3", 'e');
+    map("gG9", 'g');
+    map("iIlL1!|", 'i');
+    map("oO0", 'o');
+    map("sS5$", 's');
+    map("tT7+", 't');
+  }
+
+  private TextFolding() {}
+
+  private static void map(String from, char to) {
+    for (int i = 0; i < from.length(); i++) {
+      char c = from.charAt(i);
+      ASCII[c] = to;
+      SYMBOL[c] = !Character.isLetterOrDigit(c);
+    }
+  }
+
+  /**
+   * Decomposes accented characters so their base letter can be folded. Pure ASCII input, which is
+   * the common case, is returned as is.
+   */
+  static String decompose(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) >= 128) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKD);
+      }
+    }
+    return text;
+  }
+
+  /**
+   * Folds the character at {@code i} of decomposed text. Returns {@link #BOUNDARY} for separators
+   * and {@link #SKIP} for combining marks. Symbols such as {@code !} or {@code $} only stand in for
+   * a letter when another letter or digit follows them, so trailing punctuation stays punctuation.
+   */
+  static char fold(String text, int i) {
+    char c = text.charAt(i);
+    if (c < 128) {
+      if (SYMBOL[c] && (i + 1 >= text.length() || !isWordChar(text.charAt(i + 1)))) {
+        return BOUNDARY;
+      }
+      return ASCII[c];
+    }
+    if (isMark(c)) {
+      return SKIP;
+    }
+    char lower = Character.toLowerCase(c);
+    char confusable = foldConfusable(lower);
+    if (confusable != SKIP) {
+      return confusable;
+    }
+    return Character.isLetterOrDigit(lower) ? lower : BOUNDARY;
+  }
+
+  private static boolean isWordChar(char c) {
+    return c < 128 ? Character.isLetterOrDigit(c) : Character.isLetterOrDigit(c) || isMark(c);
+  }
+
+  private static boolean isMark(char c) {
+    return Character.getType(c) == Character.NON_SPACING_MARK;
+  }
+
+  /** Folds a whole term the same way text is folded while it is scanned. */
+  static String foldTerm(String term) {
+    String decomposed = decompose(term.strip());
+    StringBuilder folded = new StringBuilder(decomposed.length());
+    for (int i = 0; i < decomposed.length(); i++) {
+      char f = fold(decomposed, i);
+      if (f == SKIP || (f == BOUNDARY && (folded.isEmpty() || lastIsBoundary(folded)))) {
+        continue;
+      }
+      folded.append(f);
+    }
+    if (!folded.isEmpty() && lastIsBoundary(folded)) {
+      folded.setLength(folded.length() - 1);
+    }
+    return folded.toString();
+  }
+
+  private static boolean lastIsBoundary(StringBuilder sb) {
+    return sb.charAt(sb.length() - 1) == BOUNDARY;
+  }
+
+  /** Cyrillic and Greek letters that are routinely swapped in for their Latin look-alikes. */
+  private static char foldConfusable(char c) {
+    switch (c) {
+      case '\u0430': // Cyrillic a
+      case '\u03b1': // Greek alpha
+        return 'a';
+      case '\u0435': // Cyrillic ie
+      case '\u03b5': // Greek epsilon
+        return 'e';
+      case '\u043e': // Cyrillic o
+      case '\u03bf': // Greek omicron
+        return 'o';
+      case '\u0440': // Cyrillic er
+      case '\u03c1': // Greek rho
+        return 'p';
+      case '\u0441': // Cyrillic es
+        return 'c';
+      case '\u0443': // Cyrillic u
+        return 'y';
+      case '\u0445': // Cyrillic ha
+        return 'x';
+      case '\u0456': // Cyrillic i
+      case '\u03b9': // Greek iota
+        return 'i';
+      case '\u0455': // Cyrillic dze
+        return 's';
+      case '\u0458': // Cyrillic je
+        return 'j';
+      case '\u03ba': // Greek kappa
+        return 'k';
+      case '\u03bd': // Greek nu
+        return 'v';
+      case '\u03c4': // Greek tau
+        return 't';
+      case '\u03c5': // Greek upsilon
+        return 'u';
+      default:
+        return SKIP;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.driverlink.notification;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import lombok.Value;
+
+/** One delivery to one user: a single alert, or every alert coalesced during a digest window. */
+@Value
+public class Digest {
+  Long userId;
+  List<Notification> notifications;
+
+  /** Orders the alerts most urgent first, oldest first within a priority. */
+  public static Digest of(Long userId, List<Notification> notifications) {
+    return new Digest(
+        userId,
+        notifications.stream()
+            .sorted(
+                Comparator.comparingInt(Notification::priority)
+                    .thenComparing(Notification::getCreatedAt))
+            .toList());
+  }
+
+  public int priority() {
+    return notifications.get(0).priority();
+  }
+
+  public Instant oldest() {
+    return notifications.stream().map(Notification::getCreatedAt).min(Instant::compareTo).get();
+  }
+}
@@ -0,0 +1,41 @@
+package com.driverlink.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Appends each digest as one JSON line to a local file, as a stand-in for a real provider. */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "file")
+public class FileNotificationSender implements NotificationSender {
+  private final ObjectMapper objectMapper;
+  private final Path path;
+
+  public FileNotificationSender(
+      ObjectMapper objectMapper,
+      @Value("${notifications.file.path:notifications.jsonl}") String path) {
+    this.objectMapper = objectMapper;
+    this.path = Path.of(path);
+  }
+
+  @Override
+  public synchronized void send(List<Digest> batch) throws IOException {
+    StringBuilder lines = new StringBuilder();
+    for (Digest digest : batch) {
+      lines.append(objectMapper.writeValueAsString(digest)).append('\n');
+    }
+    Files.writeString(
+        path,
+        lines,
+        StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+  }
+}
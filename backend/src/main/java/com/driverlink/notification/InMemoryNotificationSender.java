@@ -0,0 +1,27 @@
+package com.driverlink.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Keeps delivered digests in memory, for tests and local runs. */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "memory")
+public class InMemoryNotificationSender implements NotificationSender {
+  private final List<Digest> sent = new ArrayList<>();
+
+  @Override
+  public synchronized void send(List<Digest> batch) {
+    sent.addAll(batch);
+  }
+
+  /** Returns a copy of everything delivered so far, in delivery order. */
+  public synchronized List<Digest> getSent() {
+    return new ArrayList<>(sent);
+  }
+
+  public synchronized void clear() {
+    sent.clear();
+  }
+}
@@ -0,0 +1,24 @@
+package com.driverlink.notification;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Sender that only writes digests to the log; the default until a real channel is configured. */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSender implements NotificationSender {
+
+  @Override
+  public void send(List<Digest> batch) {
+    for (Digest digest : batch) {
+      log.info(
+          "Notify user {}: {} alert(s), first: {}",
+          digest.getUserId(),
+          digest.getNotifications().size(),
+          digest.getNotifications().get(0).getTitle());
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.driverlink.notification;
+
+import com.driverlink.model.IncidentType;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+/** An alert addressed to one user. */
+@Value
+@Builder
+public class Notification {
+  Long userId;
+  Long incidentId;
+  IncidentType incidentType;
+  String title;
+  String message;
+  Instant createdAt;
+
+  /** Delivery priority; lower goes first. Threats to safety jump ahead of everything else. */
+  public int priority() {
+    return incidentType == IncidentType.CRIME || incidentType == IncidentType.ACCIDENT ? 0 : 1;
+  }
+}
@@ -0,0 +1,247 @@
+package com.driverlink.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a stream of alerts into few, well-ordered deliveries.
+ *
+ * <p>Each user gets a digest window: the first alert is sent at once and opens the window; alerts
+ * arriving while it is open are held and go out together when it closes, which opens the next
+ * window if anything was sent. A user therefore gets at most one delivery per window however busy
+ * their zones are.
+ *
+ * <p>Ready digests wait in a priority queue, so crime and accident alerts overtake the rest.
+ * Workers hand them to the {@link NotificationSender} in batches; a failed batch is retried with
+ * exponential backoff up to a fixed number of attempts. Producers never block: past the capacity
+ * new alerts are dropped and counted.
+ */
+@Slf4j
+@Component
+public class NotificationQueue {
+  private static final Comparator<Delivery> DELIVERY_ORDER =
+      Comparator.comparingInt((Delivery d) -> d.digest().priority())
+          .thenComparingLong(Delivery::sequence);
+
+  private final NotificationSender sender;
+  private final int capacity;
+  private final long digestWindowMs;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long retryBaseDelayMs;
+  private final long retryMaxDelayMs;
+
+  private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+  private final PriorityBlockingQueue<Delivery> ready =
+      new PriorityBlockingQueue<>(64, DELIVERY_ORDER);
+  private final AtomicInteger depth = new AtomicInteger();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ScheduledExecutorService scheduler;
+  private final Thread[] workers;
+  private volatile boolean running = true;
+
+  private final Counter delivered;
+  private final Counter dropped;
+  private final Counter retried;
+  private final Counter failed;
+  private final Timer latency;
+
+  public NotificationQueue(
+      NotificationSender sender,
+      MeterRegistry meterRegistry,
+      @Value("${notifications.queue-capacity:10000}") int capacity,
+      @Value("${notifications.worker-threads:2}") int workerThreads,
+      @Value("${notifications.digest-window-ms:300000}") long digestWindowMs,
+      @Value("${notifications.batch-size:50}") int batchSize,
+      @Value("${notifications.max-attempts:5}") int maxAttempts,
+      @Value("${notifications.retry-base-delay-ms:1000}") long retryBaseDelayMs,
+      @Value("${notifications.retry-max-delay-ms:60000}") long retryMaxDelayMs) {
+    this.sender = sender;
+    this.capacity = capacity;
+    this.digestWindowMs = digestWindowMs;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.retryBaseDelayMs = retryBaseDelayMs;
+    this.retryMaxDelayMs = retryMaxDelayMs;
+
+    Gauge.builder("notifications.queue.depth", depth, AtomicInteger::get)
+        .description("Alerts accepted but not yet delivered or given up on")
+        .register(meterRegistry);
+    Gauge.builder("notifications.queue.ready", ready, PriorityBlockingQueue::size)
+        .description("Digests waiting for a delivery worker")
+        .register(meterRegistry);
+    delivered = meterRegistry.counter("notifications.delivered");
+    dropped = meterRegistry.counter("notifications.dropped");
+    retried = meterRegistry.counter("notifications.retried");
+    failed = meterRegistry.counter("notifications.failed");
+    latency =
+        Timer.builder("notifications.delivery.latency")
+            .description("Time from an alert being raised to its delivery")
+            .register(meterRegistry);
+
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread t = new Thread(r, "notification-scheduler");
+              t.setDaemon(true);
+              return t;
+            });
+    workers = new Thread[workerThreads];
+    for (int i = 0; i < workerThreads; i++) {
+      workers[i] = new Thread(this::deliverLoop, "notification-worker-" + i);
+      workers[i].setDaemon(true);
+      workers[i].start();
+    }
+  }
+
+  /** Accepts an alert for delivery; returns false if it was dropped because the queue is full. */
+  public boolean enqueue(Notification notification) {
+    if (depth.incrementAndGet() > capacity) {
+      depth.decrementAndGet();
+      dropped.increment();
+      log.warn("Notification queue full, dropping alert for user {}", notification.getUserId());
+      return false;
+    }
+    if (digestWindowMs <= 0) {
+      submit(Digest.of(notification.getUserId(), List.of(notification)), 0);
+      return true;
+    }
+    windows.compute(
+        notification.getUserId(),
+        (userId, window) -> {
+          if (window == null) {
+            submit(Digest.of(userId, List.of(notification)), 0);
+            return openWindow(userId);
+          }
+          window.held.add(notification);
+          return window;
+        });
+    return true;
+  }
+
+  /** Alerts accepted but not yet delivered, including those held in digest windows. */
+  public int size() {
+    return depth.get();
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    scheduler.shutdownNow();
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+    if (depth.get() > 0) {
+      log.warn("Shutting down with {} undelivered alerts", depth.get());
+    }
+  }
+
+  private Window openWindow(Long userId) {
+    Window window = new Window();
+    scheduler.schedule(() -> closeWindow(userId, window), digestWindowMs, TimeUnit.MILLISECONDS);
+    return window;
+  }
+
+  private void closeWindow(Long userId, Window window) {
+    windows.compute(
+        userId,
+        (id, current) -> {
+          if (current != window) {
+            return current;
+          }
+          if (window.held.isEmpty()) {
+            return null;
+          }
+          submit(Digest.of(id, window.held), 0);
+          return openWindow(id);
+        });
+  }
+
+  private void submit(Digest digest, int attempt) {
+    ready.offer(new Delivery(digest, attempt, sequence.incrementAndGet()));
+  }
+
+  private void deliverLoop() {
+    List<Delivery> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        batch.add(ready.take());
+      } catch (InterruptedException e) {
+        return;
+      }
+      ready.drainTo(batch, batchSize - 1);
+      deliver(batch);
+      batch.clear();
+    }
+  }
+
+  private void deliver(List<Delivery> batch) {
+    List<Digest> digests = new ArrayList<>(batch.size());
+    int alerts = 0;
+    for (Delivery delivery : batch) {
+      digests.add(delivery.digest());
+      alerts += delivery.digest().getNotifications().size();
+    }
+    try {
+      sender.send(digests);
+    } catch (Exception e) {
+      log.warn("Could not deliver {} notification digest(s)", batch.size(), e);
+      for (Delivery delivery : batch) {
+        retry(delivery);
+      }
+      return;
+    }
+    Instant now = Instant.now();
+    for (Digest digest : digests) {
+      for (Notification notification : digest.getNotifications()) {
+        latency.record(Duration.between(notification.getCreatedAt(), now));
+      }
+    }
+    delivered.increment(alerts);
+    depth.addAndGet(-alerts);
+  }
+
+  private void retry(Delivery delivery) {
+    int alerts = delivery.digest().getNotifications().size();
+    int attempt = delivery.attempt() + 1;
+    if (attempt >= maxAttempts || !running) {
+      failed.increment(alerts);
+      depth.addAndGet(-alerts);
+      log.error(
+          "Giving up on {} alert(s) for user {} after {} attempts",
+          alerts,
+          delivery.digest().getUserId(),
+          attempt);
+      return;
+    }
+    retried.increment(alerts);
+    long delay = Math.min(retryBaseDelayMs << Math.min(attempt - 1, 20), retryMaxDelayMs);
+    scheduler.schedule(() -> submit(delivery.digest(), attempt), delay, TimeUnit.MILLISECONDS);
+  }
+
+  /** Alerts held for a user while their digest window is open; only touched inside compute. */
+  private static final class Window {
+    final List<Notification> held = new ArrayList<>();
+  }
+
+  private record Delivery(Digest digest, int attempt, long sequence) {}
+}
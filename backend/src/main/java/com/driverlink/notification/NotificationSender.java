@@ -0,0 +1,12 @@
+package com.driverlink.notification;
+
+import java.util.List;
+
+/**
+ * Delivers batches of digests over some channel. Called from the delivery workers only. A batch
+ * either succeeds or throws; when it throws, every digest in it is retried with backoff, so
+ * implementations should make a partially delivered batch safe to resend.
+ */
+public interface NotificationSender {
+  void send(List<Digest> batch) throws Exception;
+}
@@ -0,0 +1,76 @@
+package com.driverlink.notification;
+
+import com.driverlink.model.User;
+import com.driverlink.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails each digest to its user. Recipients for the whole batch are looked up in one query and
+ * the messages go out over one SMTP connection.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "smtp")
+public class SmtpNotificationSender implements NotificationSender {
+  private final JavaMailSender mailSender;
+  private final UserRepository userRepository;
+  private final String from;
+
+  public SmtpNotificationSender(
+      JavaMailSender mailSender,
+      UserRepository userRepository,
+      @Value("${notifications.smtp.from:alerts@driverlink.local}") String from) {
+    this.mailSender = mailSender;
+    this.userRepository = userRepository;
+    this.from = from;
+  }
+
+  @Override
+  public void send(List<Digest> batch) {
+    Map<Long, User> users =
+        userRepository
+            .findAllById(batch.stream().map(Digest::getUserId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+    List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+    for (Digest digest : batch) {
+      User user = users.get(digest.getUserId());
+      if (user == null || user.getEmail() == null) {
+        continue;
+      }
+      messages.add(toMessage(user.getEmail(), digest));
+    }
+    if (!messages.isEmpty()) {
+      mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+    }
+  }
+
+  private SimpleMailMessage toMessage(String to, Digest digest) {
+    List<Notification> notifications = digest.getNotifications();
+    SimpleMailMessage message = new SimpleMailMessage();
+    message.setFrom(from);
+    message.setTo(to);
+    message.setSubject(
+        notifications.size() == 1
+            ? notifications.get(0).getTitle()
+            : notifications.get(0).getTitle() + " and " + (notifications.size() - 1) + " more");
+    StringBuilder body = new StringBuilder();
+    for (Notification notification : notifications) {
+      body.append(notification.getTitle())
+          .append('\n')
+          .append(notification.getMessage())
+          .append("\n\n");
+    }
+    message.setText(body.toString());
+    return message;
+  }
+}
@@ -0,0 +1,117 @@
+package com.driverlink.outbox;
+
+import com.driverlink.dto.ChangeDTO;
+import com.driverlink.dto.ChangeFeedDTO;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.OutboxEventRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Serves the change feed to HTTP consumers. A request that is already behind gets its page
+ * straight from the outbox table; a request at the head is parked and completed from the next
+ * dispatched batch, so idle consumers cost a parked request rather than a query per poll.
+ */
+@Service
+public class ChangeFeedService implements OutboxEventListener {
+  static final String PRUNED_CURSOR = "pruned";
+
+  /** Aggregates carried by the outbox for internal consumers only, e.g. users' private zones. */
+  static final Set<String> PRIVATE_AGGREGATES = Set.of("geofence", "user", "revocation");
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+  private final long timeoutMs;
+  private final int maxPageSize;
+
+  public ChangeFeedService(
+      OutboxEventRepository outboxEventRepository,
+      @Value("${outbox.changes.timeout-ms:25000}") long timeoutMs,
+      @Value("${outbox.changes.max-page-size:500}") int maxPageSize) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.timeoutMs = timeoutMs;
+    this.maxPageSize = maxPageSize;
+  }
+
+  /**
+   * Returns changes after {@code since}, waiting up to the configured timeout for one to arrive.
+   */
+  public DeferredResult<ChangeFeedDTO> getChanges(long since, int limit) {
+    int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+    DeferredResult<ChangeFeedDTO> result = new DeferredResult<>(timeoutMs);
+
+    Long prunedThrough = outboxEventRepository.findCursor(PRUNED_CURSOR);
+    if (prunedThrough != null && since < prunedThrough) {
+      result.setResult(
+          ChangeFeedDTO.builder().changes(List.of()).next(prunedThrough).resetRequired(true).build());
+      return result;
+    }
+
+    // Park before querying so a batch dispatched in between is not missed
+    Waiter waiter = new Waiter(since, pageSize, result);
+    waiters.add(waiter);
+    result.onCompletion(() -> waiters.remove(waiter));
+    result.onTimeout(() -> result.setResult(page(List.of(), since)));
+
+    List<OutboxEvent> events = fetch(since, pageSize);
+    if (!events.isEmpty()) {
+      result.setResult(page(events, since));
+    }
+    return result;
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    long first = events.get(0).getPosition();
+    for (Waiter waiter : waiters) {
+      List<OutboxEvent> page;
+      if (waiter.since() >= first - 1) {
+        page = new ArrayList<>(waiter.limit());
+        for (OutboxEvent event : events) {
+          if (event.getPosition() > waiter.since() && page.size() < waiter.limit()) {
+            page.add(event);
+          }
+        }
+      } else {
+        page = fetch(waiter.since(), waiter.limit());
+      }
+      if (!page.isEmpty()) {
+        waiter.result().setResult(page(page, waiter.since()));
+      }
+    }
+  }
+
+  private List<OutboxEvent> fetch(long since, int limit) {
+    return outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(
+        since, PageRequest.of(0, limit));
+  }
+
+  private static ChangeFeedDTO page(List<OutboxEvent> events, long since) {
+    List<ChangeDTO> changes = new ArrayList<>(events.size());
+    for (OutboxEvent event : events) {
+      if (PRIVATE_AGGREGATES.contains(event.getAggregateType())) {
+        continue;
+      }
+      changes.add(
+          ChangeDTO.builder()
+              .position(event.getPosition())
+              .aggregateType(event.getAggregateType())
+              .aggregateId(event.getAggregateId())
+              .eventType(event.getEventType())
+              .payload(event.getPayload())
+              .createdAt(event.getCreatedAt())
+              .build());
+    }
+    // Advance past private events too, so consumers do not keep asking for them
+    long next = events.isEmpty() ? since : events.get(events.size() - 1).getPosition();
+    return ChangeFeedDTO.builder().changes(changes).next(next).build();
+  }
+
+  private record Waiter(long since, int limit, DeferredResult<ChangeFeedDTO> result) {}
+}
@@ -0,0 +1,56 @@
+package com.driverlink.outbox;
+
+import com.driverlink.repository.OutboxEventRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the outbox small with two bulk deletes. Compaction drops events that a later event of the
+ * same aggregate supersedes once they are old enough that live consumers have seen them, leaving
+ * the latest change per aggregate for consumers rebuilding from scratch. Pruning then drops
+ * everything past the retention window and records the pruned position, so consumers resuming
+ * from before it are told to rebuild.
+ */
+@Slf4j
+@Component
+public class OutboxCompactor {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final long compactAfterMs;
+  private final long retentionMs;
+
+  public OutboxCompactor(
+      OutboxEventRepository outboxEventRepository,
+      @Value("${outbox.compact-after-ms:3600000}") long compactAfterMs,
+      @Value("${outbox.retention-ms:604800000}") long retentionMs) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.compactAfterMs = compactAfterMs;
+    this.retentionMs = retentionMs;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${outbox.compaction-interval-ms:600000}",
+      initialDelayString = "${outbox.compaction-interval-ms:600000}")
+  @Transactional
+  public void compactAndPrune() {
+    LocalDateTime now = LocalDateTime.now();
+    int compacted =
+        outboxEventRepository.compactSupersededBefore(now.minus(Duration.ofMillis(compactAfterMs)));
+
+    int pruned = 0;
+    Long horizon =
+        outboxEventRepository.findMaxPositionCreatedBefore(now.minus(Duration.ofMillis(retentionMs)));
+    if (horizon != null) {
+      pruned = outboxEventRepository.deleteUpToPosition(horizon);
+      outboxEventRepository.saveCursor(ChangeFeedService.PRUNED_CURSOR, horizon);
+    }
+    if (compacted > 0 || pruned > 0) {
+      log.info("Outbox compaction removed {} superseded and {} expired events", compacted, pruned);
+    }
+  }
+}
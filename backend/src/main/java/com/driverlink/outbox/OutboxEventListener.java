@@ -0,0 +1,13 @@
+package com.driverlink.outbox;
+
+import com.driverlink.model.OutboxEvent;
+import java.util.List;
+
+/**
+ * In-process consumer of the change feed. Every node delivers each sequenced batch to its own
+ * listeners in position order; a listener that throws does not hold back the others, and the batch
+ * is not redelivered.
+ */
+public interface OutboxEventListener {
+  void onOutboxEvents(List<OutboxEvent> events);
+}
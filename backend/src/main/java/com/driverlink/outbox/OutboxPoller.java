@@ -0,0 +1,117 @@
+package com.driverlink.outbox;
+
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Turns committed outbox rows into the change feed.
+ *
+ * <p>Outbox ids come from a sequence and can become visible out of order when transactions commit
+ * concurrently, so consumers cannot safely page by id. Instead one node at a time (guarded by an
+ * advisory lock) stamps unsequenced rows with consecutive positions in a single statement; since
+ * each stamping transaction commits before the next begins, positions are visible without gaps.
+ * Every node then tails the feed by position and hands each batch to its local listeners.
+ */
+@Slf4j
+@Component
+public class OutboxPoller {
+  private static final long SEQUENCER_LOCK_KEY = 0x6f7574626f78L;
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final List<OutboxEventListener> listeners;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  private volatile long dispatchedPosition;
+
+  public OutboxPoller(
+      OutboxEventRepository outboxEventRepository,
+      List<OutboxEventListener> listeners,
+      PlatformTransactionManager transactionManager,
+      @Value("${outbox.batch-size:500}") int batchSize) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.listeners = listeners;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @PostConstruct
+  void init() {
+    // Local listeners rebuild from their own sources on startup; only new changes are dispatched
+    dispatchedPosition = headPosition();
+  }
+
+  /** Position of the last event handed to local listeners. */
+  public long getDispatchedPosition() {
+    return dispatchedPosition;
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:250}")
+  public void poll() {
+    try {
+      // Drain any backlog in full batches before waiting for the next tick
+      int stamped;
+      do {
+        stamped = sequence();
+      } while (stamped == batchSize);
+      int dispatched;
+      do {
+        dispatched = dispatch();
+      } while (dispatched == batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Outbox poll failed", e);
+    }
+  }
+
+  /** Assigns positions to the next batch of unsequenced rows; returns how many were stamped. */
+  int sequence() {
+    Integer stamped =
+        transactionTemplate.execute(
+            status -> {
+              if (!outboxEventRepository.tryAdvisoryLock(SEQUENCER_LOCK_KEY)) {
+                return 0;
+              }
+              return outboxEventRepository.assignPositions(headPosition(), batchSize);
+            });
+    return stamped == null ? 0 : stamped;
+  }
+
+  /**
+   * Highest position ever assigned. Pruning can empty the table, so the pruned cursor counts too;
+   * otherwise positions would start over below it and below what has already been dispatched.
+   */
+  private long headPosition() {
+    Long prunedThrough = outboxEventRepository.findCursor(ChangeFeedService.PRUNED_CURSOR);
+    return Math.max(
+        outboxEventRepository.findMaxPosition(), prunedThrough == null ? 0 : prunedThrough);
+  }
+
+  /** Delivers the next batch of sequenced events to local listeners; returns the batch size. */
+  int dispatch() {
+    List<OutboxEvent> batch =
+        outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(
+            dispatchedPosition, PageRequest.of(0, batchSize));
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    List<OutboxEvent> events = List.copyOf(batch);
+    for (OutboxEventListener listener : listeners) {
+      try {
+        listener.onOutboxEvents(events);
+      } catch (RuntimeException e) {
+        log.warn("Outbox listener {} failed", listener.getClass().getSimpleName(), e);
+      }
+    }
+    dispatchedPosition = events.get(events.size() - 1).getPosition();
+    return events.size();
+  }
+}
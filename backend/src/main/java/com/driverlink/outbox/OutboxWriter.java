@@ -0,0 +1,92 @@
+package com.driverlink.outbox;
+
+import com.driverlink.event.CommentEvent;
+import com.driverlink.event.GeofenceEvent;
+import com.driverlink.event.IncidentEvent;
+import com.driverlink.event.LifecycleEvent;
+import com.driverlink.event.RatingEvent;
+import com.driverlink.event.TokenRevokedEvent;
+import com.driverlink.event.UserEvent;
+import com.driverlink.event.VoteEvent;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records domain events in {@code outbox_events} just before the publishing transaction commits,
+ * so a change and its outbox row are either both committed or both rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onIncidentEvent(IncidentEvent event) {
+    ObjectNode payload = objectMapper.valueToTree(event.getIncident());
+    // Lets feed consumers tell a status being left from one being entered
+    if (event.getPreviousStatus() != null) {
+      payload.put("previousStatus", event.getPreviousStatus().name());
+    }
+    append("incident", event.getIncident().getId(), event.getType().name(), payload);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onCommentEvent(CommentEvent event) {
+    append("comment", event.getComment().getId(), event.getType().name(), event.getComment());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onVoteEvent(VoteEvent event) {
+    ObjectNode payload = objectMapper.valueToTree(event.getVote());
+    // Lets feed consumers take back an upvote that was changed into another vote type
+    if (event.getPreviousVoteType() != null) {
+      payload.put("previousVoteType", event.getPreviousVoteType());
+    }
+    append("vote", event.getVote().getId(), event.getType().name(), payload);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onRatingEvent(RatingEvent event) {
+    append("rating", event.getRating().getId(), event.getType().name(), event.getRating());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onGeofenceEvent(GeofenceEvent event) {
+    append("geofence", event.getGeofence().getId(), event.getType().name(), event.getGeofence());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onUserEvent(UserEvent event) {
+    append("user", event.getUserId(), event.getType().name(), event);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onLifecycleEvent(LifecycleEvent event) {
+    append("lifecycle", event.getId(), event.getType().name(), event);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onTokenRevokedEvent(TokenRevokedEvent event) {
+    append("revocation", event.getId(), "CREATED", event);
+  }
+
+  private void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+    try {
+      outboxEventRepository.save(
+          new OutboxEvent(
+              aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload)));
+    } catch (JsonProcessingException e) {
+      // Failing here rolls back the mutation, which is preferable to a silently missing event
+      throw new IllegalStateException("Could not serialize " + aggregateType + " event", e);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.driverlink.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of a gradient limiter.
+ *
+ * <p>Two moving averages of request latency are kept: a short one tracking current conditions and
+ * a long one standing in for the latency of an unloaded server. While the short average stays
+ * within {@code tolerance} of the long one the limit grows by roughly its square root per sample;
+ * once requests slow down, the limit is scaled down by the ratio of the two, so fewer requests run
+ * at once and queueing in the connection pool drains. Samples taken while less than half the limit
+ * is in use are ignored for the estimate: they say nothing about how the server copes at the limit.
+ *
+ * <p>Low-priority requests may only fill a share of the limit, so they are turned away first.
+ */
+public class AdaptiveConcurrencyLimiter {
+  private static final double SHORT_WEIGHT = 2.0 / (10 + 1);
+  private static final double LONG_WEIGHT = 2.0 / (500 + 1);
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final double lowPriorityShare;
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private volatile int limit;
+  private double estimate;
+  private double shortRtt;
+  private double longRtt;
+
+  public AdaptiveConcurrencyLimiter(RequestLimitProperties.Concurrency settings) {
+    this.minLimit = Math.max(1, settings.getMinLimit());
+    this.maxLimit = Math.max(minLimit, settings.getMaxLimit());
+    this.tolerance = settings.getTolerance();
+    this.smoothing = settings.getSmoothing();
+    this.lowPriorityShare = settings.getLowPriorityShare();
+    this.estimate = Math.min(maxLimit, Math.max(minLimit, settings.getInitialLimit()));
+    this.limit = (int) estimate;
+  }
+
+  /** Takes a slot if the request's priority still has room under the current limit. */
+  public boolean tryAcquire(RequestPriority priority) {
+    int current = limit;
+    int allowed =
+        priority == RequestPriority.HIGH
+            ? current
+            : Math.max(1, (int) (current * lowPriorityShare));
+    while (true) {
+      int running = inflight.get();
+      if (running >= allowed) {
+        return false;
+      }
+      if (inflight.compareAndSet(running, running + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** Frees a slot and feeds the request's latency into the limit. */
+  public void release(long latencyNanos) {
+    int running = inflight.getAndDecrement();
+    update(latencyNanos, running);
+  }
+
+  /** Frees a slot without a latency sample, for requests whose duration is not meaningful. */
+  public void release() {
+    inflight.decrementAndGet();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  private synchronized void update(long latencyNanos, int running) {
+    if (shortRtt == 0) {
+      shortRtt = latencyNanos;
+      longRtt = latencyNanos;
+      return;
+    }
+    shortRtt += (latencyNanos - shortRtt) * SHORT_WEIGHT;
+    longRtt += (latencyNanos - longRtt) * LONG_WEIGHT;
+    if (longRtt > shortRtt * 2) {
+      // Latency has dropped for good (warm caches, load gone); let the baseline follow it down
+      longRtt *= 0.95;
+    }
+    if (running < estimate / 2) {
+      return;
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+    double target = estimate * gradient + Math.sqrt(estimate);
+    estimate = estimate * (1 - smoothing) + target * smoothing;
+    estimate = Math.max(minLimit, Math.min(maxLimit, estimate));
+    limit = (int) estimate;
+  }
+}
@@ -0,0 +1,9 @@
+package com.driverlink.ratelimit;
+
+/** User actions that are subject to rate limiting. */
+public enum RateLimitAction {
+  COMMENT,
+  VOTE,
+  RATING,
+  INCIDENT_REPORT
+}
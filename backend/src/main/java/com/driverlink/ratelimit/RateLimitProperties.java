@@ -0,0 +1,67 @@
+package com.driverlink.ratelimit;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limit configuration, bound from {@code rate-limit.*}. Every action has a per-user limit and
+ * an optional per-target limit (per user and incident, for example). Unset actions fall back to the
+ * defaults below.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+  /** Upper bound on the number of buckets kept in memory. */
+  private long maxTrackedKeys = 100_000;
+
+  private Map<RateLimitAction, ActionLimits> actions = defaultActions();
+
+  public ActionLimits getLimits(RateLimitAction action) {
+    ActionLimits limits = actions.get(action);
+    return limits != null ? limits : defaultActions().get(action);
+  }
+
+  private static Map<RateLimitAction, ActionLimits> defaultActions() {
+    Map<RateLimitAction, ActionLimits> defaults = new EnumMap<>(RateLimitAction.class);
+    defaults.put(
+        RateLimitAction.COMMENT,
+        new ActionLimits(new Limit(10, Duration.ofMinutes(1)), new Limit(3, Duration.ofMinutes(1))));
+    defaults.put(
+        RateLimitAction.VOTE,
+        new ActionLimits(new Limit(30, Duration.ofMinutes(1)), new Limit(5, Duration.ofMinutes(1))));
+    defaults.put(
+        RateLimitAction.RATING,
+        new ActionLimits(new Limit(10, Duration.ofMinutes(1)), new Limit(3, Duration.ofMinutes(1))));
+    defaults.put(
+        RateLimitAction.INCIDENT_REPORT,
+        new ActionLimits(new Limit(5, Duration.ofMinutes(10)), null));
+    return defaults;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ActionLimits {
+    /** Limit across everything the user does for this action. */
+    private Limit perUser;
+
+    /** Limit per user and target entity; {@code null} disables the scoped check. */
+    private Limit perTarget;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Limit {
+    private int capacity;
+    private Duration refillPeriod;
+  }
+}
@@ -0,0 +1,19 @@
+package com.driverlink.ratelimit;
+
+/**
+ * Decides whether a user may perform an action right now. Implementations must be cheap enough to
+ * call on every write request and must not touch the database.
+ */
+public interface RateLimiter {
+
+  /**
+   * Attempts to consume one permit for the given action.
+   *
+   * @param action the action being performed
+   * @param userId the acting user
+   * @param targetId the entity the action is aimed at (e.g. an incident), or {@code null} if the
+   *     action has no target
+   * @return {@code true} if the action is allowed, {@code false} if the caller is over the limit
+   */
+  boolean tryAcquire(RateLimitAction action, Long userId, Long targetId);
+}
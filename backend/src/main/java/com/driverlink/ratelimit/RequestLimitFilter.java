@@ -0,0 +1,192 @@
+package com.driverlink.ratelimit;
+
+import com.driverlink.ratelimit.RateLimitProperties.Limit;
+import com.driverlink.ratelimit.RequestLimitProperties.RouteGroup;
+import com.driverlink.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Guards the API against abusive clients and overload. Runs after JWT authentication so requests
+ * can be charged to the user; anonymous requests are charged to the client address.
+ *
+ * <p>Two checks apply in order. The route group's token bucket rejects a client that is over its
+ * own budget with 429. The {@link AdaptiveConcurrencyLimiter} then sheds requests with 503 once
+ * the server as a whole is running as many as its latency allows, low-priority routes first.
+ */
+@Component
+public class RequestLimitFilter extends OncePerRequestFilter {
+  private final RequestLimitProperties properties;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final Ticker ticker;
+  private final Cache<BucketKey, TimedBucket> buckets;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public RequestLimitFilter(RequestLimitProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Ticker.systemTicker());
+  }
+
+  RequestLimitFilter(
+      RequestLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.ticker = ticker;
+    this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.getConcurrency());
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxTrackedKeys())
+            .expireAfter(new IdleExpiry())
+            .ticker(ticker)
+            .build();
+
+    Gauge.builder("requests.concurrency.limit", concurrencyLimiter, l -> l.getLimit())
+        .description("Current adaptive limit on concurrently served requests")
+        .register(meterRegistry);
+    Gauge.builder("requests.concurrency.inflight", concurrencyLimiter, l -> l.getInflight())
+        .description("Requests currently holding a concurrency slot")
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.isEnabled();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    RouteGroup group = resolveGroup(request);
+    long now = ticker.read();
+
+    Long userId = currentUserId();
+    TokenBucket bucket =
+        userId != null
+            ? bucket(group.getName(), "u:" + userId, group.getPerUser(), now)
+            : bucket(group.getName(), "ip:" + request.getRemoteAddr(), group.getPerIp(), now);
+    if (bucket != null && !bucket.tryConsume(now)) {
+      long waitNanos = bucket.nanosUntilAvailable(now);
+      long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+      reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, group, "client");
+      return;
+    }
+
+    if (!properties.getConcurrency().isEnabled()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    if (!concurrencyLimiter.tryAcquire(group.getPriority())) {
+      reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, group, "overload");
+      return;
+    }
+    long start = ticker.read();
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = false;
+    } finally {
+      if (failed || request.isAsyncStarted()) {
+        // Streams and long polls hold the connection, not a worker; their duration is not load
+        concurrencyLimiter.release();
+      } else {
+        concurrencyLimiter.release(ticker.read() - start);
+      }
+    }
+  }
+
+  private RouteGroup resolveGroup(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (RouteGroup group : properties.getRoutes()) {
+      for (String pattern : group.getPatterns()) {
+        if (pathMatcher.match(pattern, path)) {
+          return group;
+        }
+      }
+    }
+    return properties.getDefaultGroup();
+  }
+
+  private static Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal user) {
+      return user.getId();
+    }
+    return null;
+  }
+
+  private TokenBucket bucket(String group, String client, Limit limit, long now) {
+    if (limit == null) {
+      return null;
+    }
+    long periodNanos = limit.getRefillPeriod().toNanos();
+    return buckets
+        .get(
+            new BucketKey(group, client),
+            k -> new TimedBucket(new TokenBucket(limit.getCapacity(), periodNanos, now), periodNanos))
+        .bucket();
+  }
+
+  private void reject(
+      HttpServletResponse response,
+      HttpStatus status,
+      long retryAfterSeconds,
+      RouteGroup group,
+      String reason)
+      throws IOException {
+    meterRegistry
+        .counter("requests.rejected", "group", group.getName(), "reason", reason)
+        .increment();
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.getWriter().write(
+        status == HttpStatus.TOO_MANY_REQUESTS
+            ? "Too many requests, please slow down"
+            : "Server is busy, please retry shortly");
+  }
+
+  private record BucketKey(String group, String client) {}
+
+  private record TimedBucket(TokenBucket bucket, long refillPeriodNanos) {}
+
+  private static class IdleExpiry implements Expiry<BucketKey, TimedBucket> {
+    @Override
+    public long expireAfterCreate(BucketKey key, TimedBucket value, long currentTime) {
+      return value.refillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        BucketKey key, TimedBucket value, long currentTime, long currentDuration) {
+      return value.refillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterRead(
+        BucketKey key, TimedBucket value, long currentTime, long currentDuration) {
+      return value.refillPeriodNanos();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.driverlink.ratelimit;
+
+import com.driverlink.ratelimit.RateLimitProperties.Limit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Request-level limits, bound from {@code request-limit.*}. Each route group has per-user and
+ * per-IP token buckets and a priority; requests matching no group use the default group. The
+ * concurrency settings drive the adaptive limit shared by all groups.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "request-limit")
+public class RequestLimitProperties {
+
+  private boolean enabled = true;
+
+  /** Upper bound on the number of buckets kept in memory. */
+  private long maxTrackedKeys = 200_000;
+
+  /** Route groups, checked in order; the first whose patterns match the request path applies. */
+  private List<RouteGroup> routes = defaultRoutes();
+
+  private RouteGroup defaultGroup =
+      new RouteGroup(
+          "default",
+          List.of("/**"),
+          RequestPriority.HIGH,
+          new Limit(300, Duration.ofMinutes(1)),
+          new Limit(600, Duration.ofMinutes(1)));
+
+  private Concurrency concurrency = new Concurrency();
+
+  private static List<RouteGroup> defaultRoutes() {
+    List<RouteGroup> routes = new ArrayList<>();
+    routes.add(
+        new RouteGroup(
+            "availability",
+            List.of("/auth/availability"),
+            RequestPriority.LOW,
+            null,
+            new Limit(120, Duration.ofMinutes(1))));
+    routes.add(
+        new RouteGroup(
+            "auth",
+            List.of("/auth/**"),
+            RequestPriority.HIGH,
+            null,
+            new Limit(20, Duration.ofMinutes(1))));
+    routes.add(
+        new RouteGroup(
+            "incidents-nearby",
+            List.of("/api/incidents/nearby"),
+            RequestPriority.LOW,
+            new Limit(60, Duration.ofMinutes(1)),
+            new Limit(120, Duration.ofMinutes(1))));
+    routes.add(
+        new RouteGroup(
+            "incidents",
+            List.of("/api/incidents", "/api/incidents/**"),
+            RequestPriority.LOW,
+            new Limit(120, Duration.ofMinutes(1)),
+            new Limit(240, Duration.ofMinutes(1))));
+    return routes;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RouteGroup {
+    private String name;
+
+    /**
+     * Ant-style patterns matched against the path below the context path, which is the path the
+     * controller is mapped at: {@code /api/incidents/**}, but {@code /auth/**}.
+     */
+    private List<String> patterns = new ArrayList<>();
+
+    private RequestPriority priority = RequestPriority.HIGH;
+
+    /** Bucket per authenticated user; {@code null} disables it. */
+    private Limit perUser;
+
+    /** Bucket per client address, applied to anonymous requests; {@code null} disables it. */
+    private Limit perIp;
+  }
+
+  @Data
+  public static class Concurrency {
+    private boolean enabled = true;
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    private int maxLimit = 400;
+
+    /** Latency may rise this far above the long-term baseline before the limit starts to shrink. */
+    private double tolerance = 1.5;
+
+    /** Weight of each new limit estimate; lower values react more slowly but more steadily. */
+    private double smoothing = 0.2;
+
+    /** Share of the limit available to {@link RequestPriority#LOW} routes. */
+    private double lowPriorityShare = 0.7;
+  }
+}
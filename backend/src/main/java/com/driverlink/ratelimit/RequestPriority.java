@@ -0,0 +1,9 @@
+package com.driverlink.ratelimit;
+
+/** How readily a route's requests are shed when the server is near its concurrency limit. */
+public enum RequestPriority {
+  /** May use the whole concurrency limit. */
+  HIGH,
+  /** Limited to a share of the concurrency limit, so it is refused first under load. */
+  LOW
+}
@@ -0,0 +1,48 @@
+package com.driverlink.ratelimit;
+
+/**
+ * A token bucket that refills continuously. Holds at most {@code capacity} tokens and regains
+ * {@code capacity} tokens every {@code refillPeriodNanos}.
+ */
+public class TokenBucket {
+  private final double capacity;
+  private final double tokensPerNano;
+  private double tokens;
+  private long lastRefillNanos;
+
+  public TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+    this.capacity = capacity;
+    this.tokensPerNano = (double) capacity / refillPeriodNanos;
+    this.tokens = capacity;
+    this.lastRefillNanos = nowNanos;
+  }
+
+  /** Takes one token if available. */
+  public synchronized boolean tryConsume(long nowNanos) {
+    refill(nowNanos);
+    if (tokens >= 1.0) {
+      tokens -= 1.0;
+      return true;
+    }
+    return false;
+  }
+
+  /** Returns a token taken by {@link #tryConsume} when a later check rejected the request. */
+  public synchronized void refund() {
+    tokens = Math.min(capacity, tokens + 1.0);
+  }
+
+  /** Nanoseconds until at least one token is available, or zero if one already is. */
+  public synchronized long nanosUntilAvailable(long nowNanos) {
+    refill(nowNanos);
+    return tokens >= 1.0 ? 0L : (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+  }
+
+  private void refill(long nowNanos) {
+    long elapsed = nowNanos - lastRefillNanos;
+    if (elapsed > 0) {
+      tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+      lastRefillNanos = nowNanos;
+    }
+  }
+}
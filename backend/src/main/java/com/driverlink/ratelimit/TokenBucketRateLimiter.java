@@ -0,0 +1,95 @@
+package com.driverlink.ratelimit;
+
+import com.driverlink.ratelimit.RateLimitProperties.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory {@link RateLimiter} backed by token buckets. Buckets live in a bounded concurrent cache
+ * and expire once they have been idle for a full refill period; at that point they would be full
+ * again, so dropping them never lets a caller through early.
+ */
+@Component
+public class TokenBucketRateLimiter implements RateLimiter {
+  private final RateLimitProperties properties;
+  private final Ticker ticker;
+  private final Cache<BucketKey, TimedBucket> buckets;
+
+  @Autowired
+  public TokenBucketRateLimiter(RateLimitProperties properties) {
+    this(properties, Ticker.systemTicker());
+  }
+
+  TokenBucketRateLimiter(RateLimitProperties properties, Ticker ticker) {
+    this.properties = properties;
+    this.ticker = ticker;
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxTrackedKeys())
+            .expireAfter(new IdleExpiry())
+            .ticker(ticker)
+            .build();
+  }
+
+  @Override
+  public boolean tryAcquire(RateLimitAction action, Long userId, Long targetId) {
+    if (userId == null) {
+      return true;
+    }
+    RateLimitProperties.ActionLimits limits = properties.getLimits(action);
+    long now = ticker.read();
+
+    TokenBucket scoped = null;
+    if (targetId != null && limits.getPerTarget() != null) {
+      scoped = bucket(new BucketKey(action, userId, targetId), limits.getPerTarget(), now);
+      if (!scoped.tryConsume(now)) {
+        return false;
+      }
+    }
+
+    if (limits.getPerUser() != null
+        && !bucket(new BucketKey(action, userId, null), limits.getPerUser(), now).tryConsume(now)) {
+      if (scoped != null) {
+        scoped.refund();
+      }
+      return false;
+    }
+    return true;
+  }
+
+  private TokenBucket bucket(BucketKey key, Limit limit, long now) {
+    long periodNanos = limit.getRefillPeriod().toNanos();
+    return buckets
+        .get(
+            key,
+            k -> new TimedBucket(new TokenBucket(limit.getCapacity(), periodNanos, now), periodNanos))
+        .bucket();
+  }
+
+  private record BucketKey(RateLimitAction action, long userId, Long targetId) {}
+
+  private record TimedBucket(TokenBucket bucket, long refillPeriodNanos) {}
+
+  private static class IdleExpiry implements Expiry<BucketKey, TimedBucket> {
+    @Override
+    public long expireAfterCreate(BucketKey key, TimedBucket value, long currentTime) {
+      return value.refillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        BucketKey key, TimedBucket value, long currentTime, long currentDuration) {
+      return value.refillPeriodNanos();
+    }
+
+    @Override
+    public long expireAfterRead(
+        BucketKey key, TimedBucket value, long currentTime, long currentDuration) {
+      return value.refillPeriodNanos();
+    }
+  }
+}
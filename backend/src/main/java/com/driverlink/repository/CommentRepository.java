@@ -4,6 +4,7 @@ import com.driverlink.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,14 +20,33 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.incident.id = :incidentId " +
            "AND (:since IS NULL OR c.createdAt >= :since) " +
            "AND (:searchTerm IS NULL OR LOWER(c.content) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "AND (:rootsOnly = false OR c.parent IS NULL) " +
            "AND c.active = :active")
     Page<Comment> findCommentsWithFilters(
             @Param("incidentId") Long incidentId,
             @Param("since") LocalDateTime since,
             @Param("searchTerm") String searchTerm,
+            @Param("rootsOnly") boolean rootsOnly,
             @Param("active") boolean active,
             Pageable pageable);
 
+    /**
+     * Load a subtree in depth-first order with a single range scan over the path index
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+           "WHERE c.path >= :fromPath AND c.path < :toPath " +
+           "AND c.depth <= :maxDepth " +
+           "AND c.active = true " +
+           "ORDER BY c.path")
+    List<Comment> findSubtree(
+            @Param("fromPath") String fromPath,
+            @Param("toPath") String toPath,
+            @Param("maxDepth") int maxDepth);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :id")
+    int adjustReplyCount(@Param("id") Long id, @Param("delta") int delta);
+
     @Query("SELECT COUNT(DISTINCT c.user.id) FROM Comment c " +
            "WHERE c.incident.id = :incidentId AND c.active = true")
     Long countUniqueCommenters(@Param("incidentId") Long incidentId);
@@ -35,16 +55,6 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
            "WHERE c.incident.id = :incidentId AND c.active = true")
     LocalDateTime findLastCommentDate(@Param("incidentId") Long incidentId);
 
-    @Query("SELECT COUNT(c) FROM Comment c " +
-           "WHERE c.user.id = :userId " +
-           "AND c.incident.id = :incidentId " +
-           "AND c.createdAt >= :since " +
-           "AND c.active = true")
-    Long countRecentCommentsByUser(
-            @Param("userId") Long userId,
-            @Param("incidentId") Long incidentId,
-            @Param("since") LocalDateTime since);
-
     @Query("SELECT c FROM Comment c " +
            "WHERE c.incident.id = :incidentId " +
            "AND c.createdAt >= :since " +
@@ -0,0 +1,13 @@
+package com.driverlink.repository;
+
+import com.driverlink.model.Geofence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface GeofenceRepository extends JpaRepository<Geofence, Long> {
+    List<Geofence> findByUserIdAndActiveTrue(Long userId);
+    List<Geofence> findByActiveTrue();
+    long countByUserIdAndActiveTrue(Long userId);
+}
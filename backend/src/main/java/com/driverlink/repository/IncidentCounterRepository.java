@@ -0,0 +1,26 @@
+package com.driverlink.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Incident counters changed in place with SQL, so concurrent votes add up rather than one
+ * read-modify-write overwriting another. Runs in the caller's transaction but bypasses the entity
+ * manager: the version is left alone, so the counter never conflicts with an edit, and a cached or
+ * already loaded {@code Incident} is not refreshed. The second-level cache entry is evicted when
+ * the vote event commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IncidentCounterRepository {
+  private static final String ADJUST_VERIFICATION_COUNT =
+      "UPDATE incidents SET verification_count = verification_count + ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Adds {@code delta} to the incident's verification count; returns the rows updated. */
+  public int adjustVerificationCount(Long incidentId, int delta) {
+    return jdbcTemplate.update(ADJUST_VERIFICATION_COUNT, delta, incidentId);
+  }
+}
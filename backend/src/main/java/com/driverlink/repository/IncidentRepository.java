@@ -9,11 +9,18 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IncidentRepository extends JpaRepository<Incident, Long> {
     List<Incident> findByLocationCityAndActive(String city, boolean active);
     List<Incident> findByStatusAndActive(IncidentStatus status, boolean active);
+
+    @Query("SELECT i.reporter.id FROM Incident i WHERE i.id = :id")
+    Optional<Long> findReporterIdById(@Param("id") Long id);
+
+    @Query("SELECT i.reporter.id, i.location.city FROM Incident i WHERE i.id = :id")
+    List<Object[]> findReporterAndCityById(@Param("id") Long id);
     
     @Query("SELECT i FROM Incident i WHERE i.active = true AND " +
            "ST_Distance(ST_MakePoint(i.location.longitude, i.location.latitude), " +
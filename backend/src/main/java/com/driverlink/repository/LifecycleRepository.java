@@ -0,0 +1,124 @@
+package com.driverlink.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based soft deletes and restores of an incident's or a user's content, one statement per
+ * table however many rows it touches. Every row switched off is tagged with its cause (see {@link
+ * #incidentCause} and {@link #userCause}), and a restore brings back only the rows with that tag,
+ * so content removed on its own, or by another cascade, stays removed.
+ *
+ * <p>Like {@link IncidentCounterRepository}, this runs in the caller's transaction but bypasses
+ * the entity manager: versions are bumped so a concurrent edit of a changed row fails its
+ * optimistic check, timestamps are left alone, and cached incidents must be evicted once the
+ * transaction commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LifecycleRepository {
+  private static final String DEACTIVATE =
+      "UPDATE %s SET active = false, deactivated_by = ?, version = version + 1 WHERE active";
+  private static final String DEACTIVATE_BY_INCIDENT = DEACTIVATE + " AND incident_id = ?";
+  // The user's own content, and what others left on the incidents this cascade just deactivated
+  private static final String DEACTIVATE_BY_USER =
+      DEACTIVATE
+          + " AND (user_id = ?"
+          + " OR incident_id IN (SELECT id FROM incidents WHERE deactivated_by = ?))";
+  private static final String DEACTIVATE_INCIDENTS_BY_REPORTER =
+      String.format(DEACTIVATE, "incidents") + " AND reporter_id = ?";
+  private static final String RESTORE =
+      "UPDATE %s SET active = true, deactivated_by = NULL, version = version + 1"
+          + " WHERE deactivated_by = ?";
+  // Upvotes switched off by the cause, whether just deactivated or about to be restored
+  private static final String ADJUST_VERIFICATION_COUNTS =
+      "UPDATE incidents i SET verification_count = i.verification_count + ? * d.upvotes"
+          + " FROM (SELECT incident_id, COUNT(*) AS upvotes FROM votes"
+          + " WHERE deactivated_by = ? AND NOT active AND vote_type = 'UPVOTE'"
+          + " GROUP BY incident_id) d"
+          + " WHERE i.id = d.incident_id";
+  // Replies switched off by the cause, counted against parents the cause did not switch off; a
+  // parent taken down with its replies keeps its count, as they come back together
+  private static final String ADJUST_REPLY_COUNTS =
+      "UPDATE comments p SET reply_count = p.reply_count + ? * d.replies"
+          + " FROM (SELECT parent_id, COUNT(*) AS replies FROM comments"
+          + " WHERE deactivated_by = ? AND NOT active AND parent_id IS NOT NULL"
+          + " GROUP BY parent_id) d"
+          + " WHERE p.id = d.parent_id AND p.deactivated_by IS DISTINCT FROM ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public static String incidentCause(Long incidentId) {
+    return "incident:" + incidentId;
+  }
+
+  public static String userCause(Long userId) {
+    return "user:" + userId;
+  }
+
+  /** Deactivates the active incidents reported by the user; returns the rows updated. */
+  public int deactivateIncidentsByReporter(Long userId, String cause) {
+    return jdbcTemplate.update(DEACTIVATE_INCIDENTS_BY_REPORTER, cause, userId);
+  }
+
+  /** Deactivates the active rows of {@code table} that belong to the incident. */
+  public int deactivateByIncident(ChildTable table, Long incidentId, String cause) {
+    return jdbcTemplate.update(
+        String.format(DEACTIVATE_BY_INCIDENT, table.sqlName()), cause, incidentId);
+  }
+
+  /**
+   * Deactivates the active rows of {@code table} written by the user or left on an incident
+   * already deactivated by {@code cause}.
+   */
+  public int deactivateByUser(ChildTable table, Long userId, String cause) {
+    return jdbcTemplate.update(
+        String.format(DEACTIVATE_BY_USER, table.sqlName()), cause, userId, cause);
+  }
+
+  /** Reactivates the incidents deactivated by {@code cause}. */
+  public int restoreIncidents(String cause) {
+    return jdbcTemplate.update(String.format(RESTORE, "incidents"), cause);
+  }
+
+  /** Reactivates the rows of {@code table} deactivated by {@code cause}. */
+  public int restore(ChildTable table, String cause) {
+    return jdbcTemplate.update(String.format(RESTORE, table.sqlName()), cause);
+  }
+
+  /**
+   * Adds {@code sign} times the number of upvotes deactivated by {@code cause} to each of their
+   * incidents' verification counts: -1 after deactivating them, +1 before restoring them. Returns
+   * the incidents updated.
+   */
+  public int adjustVerificationCounts(String cause, int sign) {
+    return jdbcTemplate.update(ADJUST_VERIFICATION_COUNTS, sign, cause);
+  }
+
+  /**
+   * Adds {@code sign} times the number of replies deactivated by {@code cause} to each parent
+   * comment outside the cascade: -1 after deactivating them, +1 before restoring them. Returns the
+   * comments updated.
+   */
+  public int adjustReplyCounts(String cause, int sign) {
+    return jdbcTemplate.update(ADJUST_REPLY_COUNTS, sign, cause, cause);
+  }
+
+  /** The per-incident tables a cascade reaches. */
+  public enum ChildTable {
+    COMMENTS("comments"),
+    VOTES("votes"),
+    RATINGS("ratings");
+
+    private final String sqlName;
+
+    ChildTable(String sqlName) {
+      this.sqlName = sqlName;
+    }
+
+    String sqlName() {
+      return sqlName;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.driverlink.repository;
+
+import com.driverlink.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByPositionGreaterThanOrderByPositionAsc(Long position, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(o.position), 0) FROM OutboxEvent o")
+    long findMaxPosition();
+
+    @Query("SELECT MAX(o.position) FROM OutboxEvent o WHERE o.createdAt < :before")
+    Long findMaxPositionCreatedBefore(@Param("before") LocalDateTime before);
+
+    /** Serialises sequencing across nodes; released when the surrounding transaction ends. */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+
+    /**
+     * Gives the oldest unsequenced rows consecutive positions after {@code base}, in id order, in a
+     * single statement.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events o SET position = :base + n.rn " +
+                   "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM outbox_events " +
+                   "      WHERE position IS NULL ORDER BY id LIMIT :batchSize) n " +
+                   "WHERE o.id = n.id", nativeQuery = true)
+    int assignPositions(@Param("base") long base, @Param("batchSize") int batchSize);
+
+    /** Deletes sequenced events that a later event of the same aggregate supersedes. */
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events o WHERE o.position IS NOT NULL AND o.created_at < :before " +
+                   "AND EXISTS (SELECT 1 FROM outbox_events n WHERE n.aggregate_type = o.aggregate_type " +
+                   "AND n.aggregate_id = o.aggregate_id AND n.position > o.position)", nativeQuery = true)
+    int compactSupersededBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.position <= :position")
+    int deleteUpToPosition(@Param("position") Long position);
+
+    @Query(value = "SELECT position FROM outbox_cursors WHERE name = :name", nativeQuery = true)
+    Long findCursor(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_cursors (name, position) VALUES (:name, :position) " +
+                   "ON CONFLICT (name) DO UPDATE SET position = EXCLUDED.position", nativeQuery = true)
+    int saveCursor(@Param("name") String name, @Param("position") long position);
+}
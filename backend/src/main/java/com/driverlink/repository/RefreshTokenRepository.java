@@ -0,0 +1,29 @@
+package com.driverlink.repository;
+
+import com.driverlink.model.RefreshToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  List<RefreshToken> findByFamilyId(String familyId);
+
+  /**
+   * Marks a token used unless another request already did; returns 0 if it was already revoked,
+   * which means the token was presented twice.
+   */
+  @Modifying
+  @Query(
+      "UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+  int revokeIfUnused(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package com.driverlink.repository;
+
+import com.driverlink.model.RevokedToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+  boolean existsByTokenId(String tokenId);
+
+  List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,11 +1,55 @@
 package com.driverlink.repository;
 
+import com.driverlink.model.CacheRegions;
 import com.driverlink.model.User;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USERS_BY_LOGIN)
+  })
   Optional<User> findByUsername(String username);
 
+  /** Looked up by the authentication filter on every request; the result is cached. */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USERS_BY_LOGIN)
+  })
   Optional<User> findByEmail(String email);
+
+  boolean existsByUsernameIgnoreCase(String username);
+
+  boolean existsByEmailIgnoreCase(String email);
+
+  /** Id, username and email of users after {@code afterId}, in id order. */
+  @Query("SELECT u.id, u.username, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+  List<Object[]> findIdentityRows(@Param("afterId") long afterId, Pageable page);
+
+  /** Id, token version and active flag of every user whose tokens are not simply version 0. */
+  @Query("SELECT u.id, u.tokenVersion, u.active FROM User u WHERE u.tokenVersion > 0 OR u.active = false")
+  List<Object[]> findTokenVersionOverrides();
+
+  /**
+   * Keyset page of the user listing as id, username, email, active, created at and role: one row
+   * per user and role (a null role for users with none), for users after {@code afterId} whose
+   * username or email matches the lower-case LIKE pattern. A user's rows are adjacent; no entities
+   * are loaded.
+   */
+  @Query(
+      "SELECT u.id, u.username, u.email, u.active, u.createdAt, r FROM User u LEFT JOIN u.roles r"
+          + " WHERE u.id > :afterId"
+          + " AND (LOWER(u.username) LIKE :pattern ESCAPE '!'"
+          + " OR LOWER(u.email) LIKE :pattern ESCAPE '!')"
+          + " ORDER BY u.id")
+  List<Object[]> findListingRows(
+      @Param("afterId") long afterId, @Param("pattern") String pattern, Pageable page);
 }
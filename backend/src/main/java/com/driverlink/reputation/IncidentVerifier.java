@@ -0,0 +1,81 @@
+package com.driverlink.reputation;
+
+import com.driverlink.event.VoteEvent;
+import com.driverlink.model.Incident;
+import com.driverlink.model.IncidentStatus;
+import com.driverlink.model.Vote;
+import com.driverlink.model.VoteType;
+import com.driverlink.repository.IncidentRepository;
+import com.driverlink.repository.VoteRepository;
+import com.driverlink.service.IncidentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Verifies pending incidents once enough reputable users confirm them.
+ *
+ * <p>After each committed upvote, the incident's active votes are summed with every voter's
+ * reputation weight: upvotes add it, downvotes and reports subtract it, and the reporter's own vote
+ * is ignored. When the total reaches the threshold the incident moves from PENDING to VERIFIED, so
+ * a few confirmations from trusted reporters count as much as many from unknown ones. Disabled
+ * unless {@code reputation.verification.enabled} is set; moderators can always verify by hand.
+ */
+@Slf4j
+@Component
+public class IncidentVerifier {
+  private final IncidentRepository incidentRepository;
+  private final VoteRepository voteRepository;
+  private final IncidentService incidentService;
+  private final ReputationService reputationService;
+  private final boolean enabled;
+  private final double threshold;
+
+  public IncidentVerifier(
+      IncidentRepository incidentRepository,
+      VoteRepository voteRepository,
+      IncidentService incidentService,
+      ReputationService reputationService,
+      @Value("${reputation.verification.enabled:false}") boolean enabled,
+      @Value("${reputation.verification.threshold:3}") double threshold) {
+    this.incidentRepository = incidentRepository;
+    this.voteRepository = voteRepository;
+    this.incidentService = incidentService;
+    this.reputationService = reputationService;
+    this.enabled = enabled;
+    this.threshold = threshold;
+  }
+
+  @TransactionalEventListener
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onVoteEvent(VoteEvent event) {
+    if (!enabled
+        || event.getType() == VoteEvent.Type.DELETED
+        || !VoteType.UPVOTE.name().equals(event.getVote().getVoteType())) {
+      return;
+    }
+    Incident incident = incidentRepository.findById(event.getVote().getIncidentId()).orElse(null);
+    if (incident == null
+        || !incident.isActive()
+        || incident.getStatus() != IncidentStatus.PENDING) {
+      return;
+    }
+    Long reporterId = incident.getReporter().getId();
+    double support = 0;
+    for (Vote vote : voteRepository.findByIncidentIdAndActiveTrue(incident.getId())) {
+      Long voterId = vote.getUser().getId();
+      if (voterId.equals(reporterId)) {
+        continue;
+      }
+      double weight = reputationService.getWeight(voterId);
+      support += vote.getVoteType() == VoteType.UPVOTE ? weight : -weight;
+    }
+    if (support >= threshold) {
+      log.debug("Verifying incident {} with weighted support {}", incident.getId(), support);
+      incidentService.updateIncidentStatus(incident.getId(), IncidentStatus.VERIFIED);
+    }
+  }
+}
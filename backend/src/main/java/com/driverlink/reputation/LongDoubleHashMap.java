@@ -0,0 +1,154 @@
+package com.driverlink.reputation;
+
+/**
+ * Open-addressing map from {@code long} keys to {@code double} values, stored in two parallel
+ * primitive arrays with linear probing. Avoids the boxed {@code Long}/{@code Double} pair and
+ * entry object per mapping a {@code HashMap} would need, which matters once every reporter has a
+ * score. Keys are never removed; a missing key reads as {@code 0}.
+ *
+ * <p>Not thread-safe.
+ */
+final class LongDoubleHashMap {
+  private static final long EMPTY = 0L;
+  private static final double MAX_LOAD = 0.6;
+
+  /** Receives the entries of the map. */
+  @FunctionalInterface
+  interface EntryConsumer {
+    void accept(long key, double value);
+  }
+
+  private long[] keys;
+  private double[] values;
+  private int size;
+  private int resizeAt;
+  // Slot 0 is the empty marker, so key 0 lives outside the table
+  private boolean hasZeroKey;
+  private double zeroValue;
+
+  LongDoubleHashMap() {
+    this(16);
+  }
+
+  LongDoubleHashMap(int expectedSize) {
+    allocate(tableSize(expectedSize));
+  }
+
+  int size() {
+    return size + (hasZeroKey ? 1 : 0);
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  double get(long key) {
+    if (key == EMPTY) {
+      return zeroValue;
+    }
+    int mask = keys.length - 1;
+    for (int slot = mix(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return 0;
+  }
+
+  void put(long key, double value) {
+    if (key == EMPTY) {
+      hasZeroKey = true;
+      zeroValue = value;
+      return;
+    }
+    values[slotFor(key)] = value;
+  }
+
+  /** Adds the delta to the key's value and returns the new value. */
+  double add(long key, double delta) {
+    if (key == EMPTY) {
+      hasZeroKey = true;
+      return zeroValue += delta;
+    }
+    int slot = slotFor(key);
+    return values[slot] += delta;
+  }
+
+  /** Multiplies every value by the factor. */
+  void scale(double factor) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      values[slot] *= factor;
+    }
+    zeroValue *= factor;
+  }
+
+  void forEach(EntryConsumer consumer) {
+    if (hasZeroKey) {
+      consumer.accept(EMPTY, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != EMPTY) {
+        consumer.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /** Returns the key's slot, inserting the key with value 0 if it is absent. */
+  private int slotFor(long key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    if (size >= resizeAt) {
+      grow();
+      return slotFor(key);
+    }
+    keys[slot] = key;
+    size++;
+    return slot;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    double[] oldValues = values;
+    allocate(keys.length * 2);
+    int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != EMPTY) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new double[capacity];
+    resizeAt = (int) (capacity * MAX_LOAD);
+  }
+
+  private static int tableSize(int expectedSize) {
+    int needed = (int) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD);
+    return Math.max(16, Integer.highestOneBit(needed - 1) << 1);
+  }
+
+  /** Spreads sequential ids across the table (the 64-bit finaliser from MurmurHash3). */
+  private static int mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb93e0a9dfe1aL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
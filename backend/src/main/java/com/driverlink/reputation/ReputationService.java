@@ -0,0 +1,237 @@
+package com.driverlink.reputation;
+
+import com.driverlink.event.RatingEvent;
+import com.driverlink.event.VoteEvent;
+import com.driverlink.model.VoteType;
+import com.driverlink.repository.IncidentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reporter reputation: how well the incidents a user files are received by everyone else.
+ *
+ * <p>Each vote or rating on an incident is evidence about its reporter: an upvote counts +1, a
+ * downvote -1, a report -2, and a rating of 1 to 5 stars counts -1 to +1. Evidence decays
+ * exponentially with a configurable half-life, so the score reflects recent reporting. Feedback
+ * on one's own incidents is ignored.
+ *
+ * <p>Scores are updated incrementally from committed vote and rating events; a changed vote or
+ * rating retracts its previous evidence. To make decay free, values are stored relative to an
+ * epoch (forward decay): evidence {@code e} at time {@code t} adds {@code e * 2^((t - epoch) /
+ * halfLife)}, and a score is read back by decaying the stored value from the epoch to now. Nothing
+ * has to be touched as time passes, and every score fits in one primitive {@code long -> double}
+ * map.
+ *
+ * <p>Evidence recorded on this node is also kept as a pending delta. The checkpoint adds pending
+ * deltas to {@code user_reputation} (decaying the stored score to the write time in the same
+ * statement) and reloads the table, which picks up the other nodes' checkpoints and moves the
+ * epoch forward so the stored values stay small.
+ */
+@Slf4j
+@Service
+public class ReputationService {
+  private static final String UPSERT_SQL =
+      "INSERT INTO user_reputation (user_id, score, updated_at) VALUES (?, ?, ?)"
+          + " ON CONFLICT (user_id) DO UPDATE SET"
+          + " score = user_reputation.score * EXP(? * GREATEST(EXTRACT(EPOCH FROM"
+          + " EXCLUDED.updated_at - user_reputation.updated_at), 0)) + EXCLUDED.score,"
+          + " updated_at = GREATEST(EXCLUDED.updated_at, user_reputation.updated_at)";
+  private static final String LOAD_SQL = "SELECT user_id, score, updated_at FROM user_reputation";
+
+  private final IncidentRepository incidentRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+  private final double decayPerMs;
+  private final double weightScale;
+  private final Cache<Long, Long> reporters;
+
+  private LongDoubleHashMap scores = new LongDoubleHashMap();
+  private LongDoubleHashMap pending = new LongDoubleHashMap();
+  private long epochMs;
+
+  @Autowired
+  public ReputationService(
+      IncidentRepository incidentRepository,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${reputation.half-life-ms:2592000000}") long halfLifeMs,
+      @Value("${reputation.weight-scale:10}") double weightScale,
+      @Value("${reputation.reporter-cache-size:100000}") long reporterCacheSize) {
+    this(
+        incidentRepository,
+        jdbcTemplate,
+        meterRegistry,
+        Clock.systemUTC(),
+        halfLifeMs,
+        weightScale,
+        reporterCacheSize);
+  }
+
+  ReputationService(
+      IncidentRepository incidentRepository,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      long halfLifeMs,
+      double weightScale,
+      long reporterCacheSize) {
+    this.incidentRepository = incidentRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+    this.decayPerMs = Math.log(2) / halfLifeMs;
+    this.weightScale = weightScale;
+    // An incident's reporter never changes, so lookups can be cached indefinitely
+    this.reporters = Caffeine.newBuilder().maximumSize(reporterCacheSize).build();
+    this.epochMs = clock.millis();
+    meterRegistry.gauge("reputation.users", this, ReputationService::size);
+  }
+
+  /** The user's current score, rounded to two decimals; 0 for users without feedback. */
+  public double getScore(long userId) {
+    return Math.round(score(userId) * 100) / 100.0;
+  }
+
+  /**
+   * Multiplier for the user's contributions to incident ranking and verification: 1 for a neutral
+   * reporter, tending to 2 for a well-regarded one and to 0 for one whose reports are rejected.
+   */
+  public double getWeight(long userId) {
+    return 2 / (1 + Math.exp(-score(userId) / weightScale));
+  }
+
+  @TransactionalEventListener
+  public void onVoteEvent(VoteEvent event) {
+    String voteType = event.getVote().getVoteType();
+    double evidence =
+        switch (event.getType()) {
+          case CREATED -> voteEvidence(voteType);
+          case UPDATED -> voteEvidence(voteType) - voteEvidence(event.getPreviousVoteType());
+          case DELETED -> -voteEvidence(voteType);
+        };
+    credit(event.getVote().getIncidentId(), event.getVote().getUserId(), evidence);
+  }
+
+  @TransactionalEventListener
+  public void onRatingEvent(RatingEvent event) {
+    int value = event.getRating().getValue();
+    double evidence =
+        switch (event.getType()) {
+          case CREATED -> ratingEvidence(value);
+          case UPDATED -> ratingEvidence(value) - ratingEvidence(event.getPreviousValue());
+          case DELETED -> -ratingEvidence(value);
+        };
+    credit(event.getRating().getIncidentId(), event.getRating().getUserId(), evidence);
+  }
+
+  /** Adds evidence about the user, observed now. */
+  public synchronized void record(long userId, double evidence) {
+    double forward = evidence * Math.exp(decayPerMs * (clock.millis() - epochMs));
+    scores.add(userId, forward);
+    pending.add(userId, forward);
+  }
+
+  @PostConstruct
+  void load() {
+    reload(clock.millis());
+  }
+
+  @Scheduled(
+      fixedDelayString = "${reputation.checkpoint-interval-ms:60000}",
+      initialDelayString = "${reputation.checkpoint-interval-ms:60000}")
+  public void checkpoint() {
+    LongDoubleHashMap flushed;
+    long flushedEpochMs;
+    synchronized (this) {
+      flushed = pending;
+      flushedEpochMs = epochMs;
+      pending = new LongDoubleHashMap();
+    }
+    long now = clock.millis();
+    if (!flushed.isEmpty()) {
+      double toNow = Math.exp(-decayPerMs * (now - flushedEpochMs));
+      Timestamp updatedAt = new Timestamp(now);
+      double decayPerSecond = -decayPerMs * 1000;
+      List<Object[]> rows = new ArrayList<>(flushed.size());
+      flushed.forEach(
+          (userId, value) ->
+              rows.add(new Object[] {userId, value * toNow, updatedAt, decayPerSecond}));
+      try {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+      } catch (RuntimeException e) {
+        log.warn("Could not checkpoint reputation for {} users; retrying later", rows.size(), e);
+        synchronized (this) {
+          double rebase = Math.exp(decayPerMs * (flushedEpochMs - epochMs));
+          flushed.forEach((userId, value) -> pending.add(userId, value * rebase));
+        }
+        return;
+      }
+    }
+    reload(now);
+  }
+
+  /** Replaces the scores with the checkpointed ones plus evidence not yet checkpointed. */
+  private void reload(long now) {
+    LongDoubleHashMap loaded = new LongDoubleHashMap(Math.max(16, size()));
+    jdbcTemplate.query(
+        LOAD_SQL,
+        rs -> {
+          long ageMs = now - rs.getTimestamp("updated_at").getTime();
+          loaded.put(rs.getLong("user_id"), rs.getDouble("score") * Math.exp(-decayPerMs * ageMs));
+        });
+    synchronized (this) {
+      pending.scale(Math.exp(-decayPerMs * (now - epochMs)));
+      pending.forEach(loaded::add);
+      scores = loaded;
+      epochMs = now;
+    }
+    log.debug("Loaded reputation for {} users", loaded.size());
+  }
+
+  private void credit(Long incidentId, Long voterId, double evidence) {
+    if (evidence == 0) {
+      return;
+    }
+    Long reporterId =
+        reporters.get(incidentId, id -> incidentRepository.findReporterIdById(id).orElse(null));
+    if (reporterId == null || reporterId.equals(voterId)) {
+      return;
+    }
+    record(reporterId, evidence);
+  }
+
+  private synchronized double score(long userId) {
+    return scores.get(userId) * Math.exp(-decayPerMs * (clock.millis() - epochMs));
+  }
+
+  private synchronized int size() {
+    return scores.size();
+  }
+
+  private static double voteEvidence(String voteType) {
+    if (voteType == null) {
+      return 0;
+    }
+    return switch (VoteType.valueOf(voteType)) {
+      case UPVOTE -> 1;
+      case DOWNVOTE -> -1;
+      case REPORT -> -2;
+    };
+  }
+
+  private static double ratingEvidence(Integer value) {
+    return value == null ? 0 : (value - 3) / 2.0;
+  }
+}
@@ -0,0 +1,85 @@
+package com.driverlink.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Retries {@link RetryOnConflict} methods that lose an optimistic-lock race.
+ *
+ * <p>Ordered just outside the transaction interceptor, so every attempt runs in its own
+ * transaction and reloads the rows it changes. Waits between attempts are exponential with full
+ * jitter (a random delay up to the backoff), which spreads out writers that collided on the same
+ * row. A call that joins a transaction already in progress is not retried, as that transaction is
+ * rolled back anyway; the outermost retrying caller handles it. When the attempts run out the
+ * conflict propagates and is answered with 409.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final long baseDelayMs;
+  private final long maxDelayMs;
+
+  public OptimisticLockRetryAspect(
+      MeterRegistry meterRegistry,
+      @Value("${retry.optimistic-lock.max-attempts:4}") int maxAttempts,
+      @Value("${retry.optimistic-lock.base-delay-ms:10}") long baseDelayMs,
+      @Value("${retry.optimistic-lock.max-delay-ms:200}") long maxDelayMs) {
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.baseDelayMs = baseDelayMs;
+    this.maxDelayMs = maxDelayMs;
+  }
+
+  @Around("@annotation(com.driverlink.retry.RetryOnConflict)")
+  public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+    String method = joinPoint.getSignature().toShortString();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return joinPoint.proceed();
+      } catch (OptimisticLockingFailureException conflict) {
+        if (attempt >= maxAttempts) {
+          count(method, "exhausted");
+          throw conflict;
+        }
+        count(method, "retried");
+        long delay = backoffMillis(attempt);
+        log.debug("{} hit an optimistic-lock conflict, retrying in {} ms", method, delay);
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw conflict;
+        }
+      }
+    }
+  }
+
+  /** A random delay up to {@code baseDelayMs * 2^(attempt - 1)}, capped at {@code maxDelayMs}. */
+  long backoffMillis(int attempt) {
+    long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private void count(String method, String outcome) {
+    meterRegistry
+        .counter("optimistic.lock.conflicts", "method", method, "outcome", outcome)
+        .increment();
+  }
+}
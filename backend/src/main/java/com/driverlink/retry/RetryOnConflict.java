@@ -0,0 +1,18 @@
+package com.driverlink.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional method in a fresh transaction when it fails with an optimistic-lock
+ * conflict, see {@link OptimisticLockRetryAspect}. Only for methods that are safe to repeat: each
+ * attempt reloads what it changes, and nothing outside the rolled-back transaction (rate-limit
+ * permits, non-transactional listeners) is consumed twice.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {}
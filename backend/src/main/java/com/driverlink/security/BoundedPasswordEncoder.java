@@ -0,0 +1,186 @@
+package com.driverlink.security;
+
+import com.driverlink.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * BCrypt on its own small thread pool, so a burst of logins or registrations queues up here instead
+ * of occupying every request thread.
+ *
+ * <p>The pool and its queue are bounded. When both are full, or a caller waits longer than the
+ * timeout, the call fails with {@link TooManyRequestsException} rather than piling up more work.
+ * The work factor is either fixed by configuration or calibrated at startup to the largest cost
+ * that hashes within the target time on this machine; {@link #upgradeEncoding} reports hashes made
+ * at a lower cost so they can be replaced on the next successful login.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private static final String CALIBRATION_INPUT = "calibration-password";
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMs;
+  private final Timer hashTime;
+  private final Timer verifyTime;
+  private final Timer queueTime;
+  private final Counter rejected;
+
+  @Autowired
+  public BoundedPasswordEncoder(
+      MeterRegistry meterRegistry,
+      @Value("${security.password.cost:0}") int cost,
+      @Value("${security.password.target-ms:250}") long targetMs,
+      @Value("${security.password.min-cost:10}") int minCost,
+      @Value("${security.password.max-cost:14}") int maxCost,
+      @Value("${security.password.threads:0}") int threads,
+      @Value("${security.password.queue-capacity:64}") int queueCapacity,
+      @Value("${security.password.timeout-ms:5000}") long timeoutMs) {
+    this(
+        new BCryptPasswordEncoder(cost > 0 ? cost : calibrate(targetMs, minCost, maxCost)),
+        meterRegistry,
+        threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+        queueCapacity,
+        timeoutMs);
+  }
+
+  BoundedPasswordEncoder(
+      PasswordEncoder delegate,
+      MeterRegistry meterRegistry,
+      int threads,
+      int queueCapacity,
+      long timeoutMs) {
+    this.delegate = delegate;
+    this.timeoutMs = timeoutMs;
+    AtomicInteger index = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            r -> {
+              Thread t = new Thread(r, "password-hasher-" + index.getAndIncrement());
+              t.setDaemon(true);
+              return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder("passwords.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashing requests waiting for a hasher thread")
+        .register(meterRegistry);
+    hashTime =
+        Timer.builder("passwords.hash.duration")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+    verifyTime =
+        Timer.builder("passwords.hash.duration")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+    queueTime =
+        Timer.builder("passwords.queue.wait")
+            .description("Time a hashing request waited for a hasher thread")
+            .register(meterRegistry);
+    rejected = meterRegistry.counter("passwords.rejected");
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> hashTime.recordCallable(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(
+        () -> verifyTime.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> work) {
+    long submitted = System.nanoTime();
+    Future<T> future;
+    try {
+      future =
+          executor.submit(
+              () -> {
+                queueTime.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return work.call();
+              });
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new TooManyRequestsException("Too many sign-in requests, please retry shortly");
+    }
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new TooManyRequestsException("Too many sign-in requests, please retry shortly");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while hashing password", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  /**
+   * Picks the largest cost in [minCost, maxCost] whose hash takes no longer than the target. Each
+   * step doubles the work, so one measurement at the minimum cost is enough to extrapolate.
+   */
+  static int calibrate(long targetMs, int minCost, int maxCost) {
+    BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+    probe.encode(CALIBRATION_INPUT);
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < 3; i++) {
+      long start = System.nanoTime();
+      probe.encode(CALIBRATION_INPUT);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    double measuredMs = Math.max(best / 1e6, 0.001);
+    int cost = minCost;
+    while (cost < maxCost && measuredMs * (1L << (cost + 1 - minCost)) <= targetMs) {
+      cost++;
+    }
+    log.info(
+        "BCrypt cost {} selected ({} ms at cost {}, target {} ms)",
+        cost,
+        String.format("%.1f", measuredMs),
+        minCost,
+        targetMs);
+    return cost;
+  }
+}
@@ -0,0 +1,32 @@
+package com.driverlink.security;
+
+import com.driverlink.repository.RefreshTokenRepository;
+import com.driverlink.repository.RevokedTokenRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Deletes refresh tokens and revocations that have outlived the tokens they describe. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiredTokenPurger {
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final RevokedTokenRepository revokedTokenRepository;
+
+  @Scheduled(
+      fixedDelayString = "${jwt.purge-interval-ms:3600000}",
+      initialDelayString = "${jwt.purge-interval-ms:3600000}")
+  @Transactional
+  public void purge() {
+    LocalDateTime now = LocalDateTime.now();
+    int refreshTokens = refreshTokenRepository.deleteExpired(now);
+    int revocations = revokedTokenRepository.deleteExpired(now);
+    if (refreshTokens + revocations > 0) {
+      log.info("Purged {} expired refresh tokens and {} revocations", refreshTokens, revocations);
+    }
+  }
+}
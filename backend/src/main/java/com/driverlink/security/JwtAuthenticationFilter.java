@@ -9,8 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,8 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final TokenAuthenticator tokenAuthenticator;
 
   @Override
   protected void doFilterInternal(
@@ -30,7 +27,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
-    final String userEmail;
 
     // Skip if no Authorization header or not Bearer token
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -41,17 +37,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     try {
       // Extract JWT token
       jwt = authHeader.substring(7);
-      userEmail = jwtService.extractUsername(jwt);
 
-      // Process only if we have a username and no existing authentication
-      if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+      // Process only if there is no existing authentication
+      if (SecurityContextHolder.getContext().getAuthentication() == null) {
+        UsernamePasswordAuthenticationToken authToken = tokenAuthenticator.authenticate(jwt);
 
-        // Validate token
-        if (jwtService.isTokenValid(jwt, userDetails)) {
-          UsernamePasswordAuthenticationToken authToken =
-              new UsernamePasswordAuthenticationToken(
-                  userDetails, null, userDetails.getAuthorities());
+        // A revoked token authenticates nobody
+        if (authToken != null) {
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
           // Update Security Context
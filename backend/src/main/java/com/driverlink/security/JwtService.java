@@ -1,25 +1,74 @@
 package com.driverlink.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; tokens that verify are
+ * cached by their SHA-256 until they expire, so the several lookups made for one request, and the
+ * repeated requests made with one token, cost a single signature check.
+ */
 @Service
 public class JwtService {
-  @Value("${jwt.secret}")
-  private String secretKey;
+  private static final ThreadLocal<MessageDigest> SHA_256 =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+              throw new IllegalStateException("SHA-256 unavailable", e);
+            }
+          });
 
-  @Value("${jwt.expiration}")
-  private long jwtExpiration;
+  static final String USER_ID_CLAIM = "uid";
+  static final String ROLES_CLAIM = "roles";
+  static final String TOKEN_VERSION_CLAIM = "ver";
+
+  private final String secretKey;
+  private final long jwtExpiration;
+  private final Key signingKey;
+  private final JwtParser parser;
+  private final Cache<TokenHash, Claims> verified;
+
+  public JwtService(
+      @Value("${jwt.secret}") String secretKey,
+      @Value("${jwt.expiration}") long jwtExpiration,
+      @Value("${jwt.cache.max-size:100000}") long cacheMaxSize) {
+    this.secretKey = secretKey;
+    this.jwtExpiration = jwtExpiration;
+    this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+    this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    this.verified =
+        Caffeine.newBuilder().maximumSize(cacheMaxSize).expireAfter(new UntilExpiry()).build();
+  }
 
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
@@ -29,9 +78,86 @@ public class JwtService {
     return generateToken(new HashMap<>(), userDetails);
   }
 
+  /**
+   * Issues a token that carries the user's id, roles and token version, so requests bearing it can
+   * be authenticated from the token alone.
+   */
+  public String generateToken(UserPrincipal principal) {
+    return generateToken(principal, UUID.randomUUID().toString());
+  }
+
+  /** Same as {@link #generateToken(UserPrincipal)}, with a caller-chosen token id ({@code jti}). */
+  public String generateToken(UserPrincipal principal, String tokenId) {
+    Map<String, Object> claims = new HashMap<>();
+    claims.put(Claims.ID, tokenId);
+    claims.put(USER_ID_CLAIM, principal.getId());
+    claims.put(
+        ROLES_CLAIM,
+        principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    claims.put(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+    return generateToken(claims, principal);
+  }
+
+  /** Returns the token's id ({@code jti}), or {@code null} if it was issued without one. */
+  public String extractTokenId(String token) {
+    return extractClaim(token, Claims::getId);
+  }
+
+  /**
+   * Rebuilds the principal from a verified token's claims.
+   *
+   * @return the principal, or {@code null} for a token issued without user claims
+   * @throws JwtException if the token is invalid or expired
+   */
+  public UserPrincipal extractPrincipal(String token) {
+    Claims claims = extractAllClaims(token);
+    Long userId = claims.get(USER_ID_CLAIM, Long.class);
+    if (userId == null) {
+      return null;
+    }
+    List<?> roles = claims.get(ROLES_CLAIM, List.class);
+    List<GrantedAuthority> authorities = new ArrayList<>(roles == null ? 0 : roles.size());
+    if (roles != null) {
+      for (Object role : roles) {
+        authorities.add(new SimpleGrantedAuthority(role.toString()));
+      }
+    }
+    Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+    return UserPrincipal.builder()
+        .id(userId)
+        .username(claims.getSubject())
+        .authorities(authorities)
+        .tokenVersion(tokenVersion == null ? 0 : tokenVersion)
+        .build();
+  }
+
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    try {
+      final String username = extractUsername(token);
+      return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    } catch (JwtException e) {
+      return false;
+    }
+  }
+
+  public Date getExpiration(String token) {
+    return extractExpiration(token);
+  }
+
+  /**
+   * Derives a key bound to a token, for authenticating a side channel opened with it. Only the
+   * server can compute it, and different purposes yield unrelated keys.
+   */
+  public byte[] deriveKey(String token, String purpose) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(secretKey.getBytes(), "HmacSHA256"));
+      mac.update(purpose.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return mac.doFinal(token.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HmacSHA256 unavailable", e);
+    }
   }
 
   private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -40,7 +166,7 @@ public class JwtService {
         .setSubject(userDetails.getUsername())
         .setIssuedAt(new Date(System.currentTimeMillis()))
         .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
@@ -58,14 +184,45 @@ public class JwtService {
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+    TokenHash hash = TokenHash.of(token);
+    Claims claims = verified.getIfPresent(hash);
+    if (claims == null) {
+      // Throws for a bad signature or an expired token; only verified tokens are cached
+      claims = parser.parseClaimsJws(token).getBody();
+      if (claims.getExpiration() != null) {
+        verified.put(hash, claims);
+      }
+    }
+    return claims;
   }
 
-  private Key getSigningKey() {
-    return Keys.hmacShaKeyFor(secretKey.getBytes());
+  /** SHA-256 of a token; collisions are infeasible, so a hit stands in for the signature check. */
+  private record TokenHash(long h0, long h1, long h2, long h3) {
+    static TokenHash of(String token) {
+      MessageDigest digest = SHA_256.get();
+      ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+      return new TokenHash(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+  }
+
+  /** Keeps a verified token exactly as long as the token itself is valid. */
+  private static class UntilExpiry implements Expiry<TokenHash, Claims> {
+    @Override
+    public long expireAfterCreate(TokenHash key, Claims claims, long currentTime) {
+      long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        TokenHash key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        TokenHash key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
@@ -0,0 +1,62 @@
+package com.driverlink.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions. The WebSocket handshake itself is open because browsers cannot set
+ * headers on it, so the JWT travels in the {@code Authorization} header of the STOMP {@code
+ * CONNECT} frame instead; the resulting principal stays attached to the session for its lifetime.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private final TokenAuthenticator tokenAuthenticator;
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    StompHeaderAccessor accessor =
+        MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+    if (accessor == null) {
+      return message;
+    }
+    if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+      accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+    } else if (accessor.getUser() == null && requiresUser(accessor.getCommand())) {
+      throw new MessageDeliveryException("Not authenticated");
+    }
+    return message;
+  }
+
+  private UsernamePasswordAuthenticationToken authenticate(String authHeader) {
+    if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+      throw new MessageDeliveryException("Missing bearer token");
+    }
+    String jwt = authHeader.substring(BEARER_PREFIX.length());
+    UsernamePasswordAuthenticationToken authentication;
+    try {
+      authentication = tokenAuthenticator.authenticate(jwt);
+    } catch (RuntimeException e) {
+      throw new MessageDeliveryException("Invalid token");
+    }
+    if (authentication == null) {
+      throw new MessageDeliveryException("Invalid token");
+    }
+    return authentication;
+  }
+
+  private static boolean requiresUser(StompCommand command) {
+    return command == StompCommand.SUBSCRIBE || command == StompCommand.SEND;
+  }
+}
@@ -0,0 +1,67 @@
+package com.driverlink.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into an authentication, for both HTTP requests and STOMP sessions.
+ *
+ * <p>In {@code claims} mode (the default) a token carrying user claims is trusted as is, after its
+ * version is checked against {@link TokenVersionRegistry}; no query is made. Tokens without user
+ * claims, and every token in {@code database} mode, are checked against the user loaded from the
+ * database instead. In either mode a token whose id is on the {@link TokenRevocationList} is
+ * refused.
+ */
+@Component
+public class TokenAuthenticator {
+  private final JwtService jwtService;
+  private final CustomUserDetailsService userDetailsService;
+  private final TokenVersionRegistry tokenVersions;
+  private final TokenRevocationList revocations;
+  private final boolean trustClaims;
+
+  public TokenAuthenticator(
+      JwtService jwtService,
+      CustomUserDetailsService userDetailsService,
+      TokenVersionRegistry tokenVersions,
+      TokenRevocationList revocations,
+      @Value("${jwt.auth.mode:claims}") String mode) {
+    this.jwtService = jwtService;
+    this.userDetailsService = userDetailsService;
+    this.tokenVersions = tokenVersions;
+    this.revocations = revocations;
+    this.trustClaims = "claims".equalsIgnoreCase(mode);
+  }
+
+  /**
+   * Authenticates a token.
+   *
+   * @return the authentication, or {@code null} if the token no longer grants access
+   * @throws RuntimeException if the token is malformed, forged or expired, or its user is gone
+   */
+  public UsernamePasswordAuthenticationToken authenticate(String jwt) {
+    String tokenId = jwtService.extractTokenId(jwt);
+    if (tokenId != null && revocations.isRevoked(tokenId)) {
+      return null;
+    }
+    UserPrincipal claimed = jwtService.extractPrincipal(jwt);
+    if (claimed == null) {
+      UserDetails userDetails =
+          userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+      return jwtService.isTokenValid(jwt, userDetails) ? authenticated(userDetails) : null;
+    }
+    if (trustClaims) {
+      return tokenVersions.isCurrent(claimed.getId(), claimed.getTokenVersion())
+          ? authenticated(claimed)
+          : null;
+    }
+    UserPrincipal current = (UserPrincipal) userDetailsService.loadUserById(claimed.getId());
+    return current.getTokenVersion() == claimed.getTokenVersion() ? authenticated(current) : null;
+  }
+
+  private static UsernamePasswordAuthenticationToken authenticated(UserDetails userDetails) {
+    return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+  }
+}
@@ -0,0 +1,137 @@
+package com.driverlink.security;
+
+import com.driverlink.bloom.BloomFilter;
+import com.driverlink.event.TokenRevokedEvent;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.model.RevokedToken;
+import com.driverlink.outbox.OutboxEventListener;
+import com.driverlink.repository.RevokedTokenRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Access token ids revoked before their expiry, checked on every authenticated request.
+ *
+ * <p>A Bloom filter answers the common case, a token that was never revoked, without touching
+ * the exact map; only a filter hit is confirmed against the map. Both lookups hash the id in place,
+ * so a check costs a handful of memory reads and no allocation or query.
+ *
+ * <p>The list is loaded before the application takes traffic, updated as soon as a local
+ * revocation commits, kept in step with other nodes through the outbox feed, and periodically
+ * rebuilt from the table so expired ids drop out and the filter stays within its error rate.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements OutboxEventListener {
+  static final String AGGREGATE_TYPE = "revocation";
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final ObjectMapper objectMapper;
+  private final long expectedInsertions;
+  private final double falsePositiveRate;
+  private volatile Snapshot snapshot;
+
+  public TokenRevocationList(
+      RevokedTokenRepository revokedTokenRepository,
+      ObjectMapper objectMapper,
+      @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+      @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.objectMapper = objectMapper;
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveRate = falsePositiveRate;
+    this.snapshot = new Snapshot(BloomFilter.create(expectedInsertions, falsePositiveRate));
+  }
+
+  /** Returns whether the access token with this id has been revoked. */
+  public boolean isRevoked(String tokenId) {
+    Snapshot current = snapshot;
+    return current.filter.mightContain(tokenId) && current.expiries.containsKey(tokenId);
+  }
+
+  /** Records a revocation in this node's list; the caller is responsible for persisting it. */
+  public synchronized void add(String tokenId, long expiresAtMs) {
+    snapshot.add(tokenId, expiresAtMs);
+  }
+
+  public int size() {
+    return snapshot.expiries.size();
+  }
+
+  @PostConstruct
+  @Scheduled(
+      fixedDelayString = "${jwt.revocation.rebuild-interval-ms:600000}",
+      initialDelayString = "${jwt.revocation.rebuild-interval-ms:600000}")
+  public void rebuild() {
+    List<RevokedToken> revoked = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+    Snapshot rebuilt =
+        new Snapshot(
+            BloomFilter.create(Math.max(expectedInsertions, 2L * revoked.size()), falsePositiveRate));
+    for (RevokedToken token : revoked) {
+      rebuilt.add(token.getTokenId(), toEpochMs(token.getExpiresAt()));
+    }
+    long now = System.currentTimeMillis();
+    synchronized (this) {
+      // Carry over revocations that arrived while the table was being read
+      snapshot.expiries.forEach(
+          (tokenId, expiresAtMs) -> {
+            if (expiresAtMs > now && !rebuilt.expiries.containsKey(tokenId)) {
+              rebuilt.add(tokenId, expiresAtMs);
+            }
+          });
+      snapshot = rebuilt;
+    }
+    log.debug("Rebuilt token revocation list with {} ids", rebuilt.expiries.size());
+  }
+
+  @TransactionalEventListener
+  public void onTokenRevoked(TokenRevokedEvent event) {
+    add(event.getTokenId(), event.getExpiresAtMs());
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      if (!AGGREGATE_TYPE.equals(event.getAggregateType())) {
+        continue;
+      }
+      try {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        add(payload.get("tokenId").asText(), payload.get("expiresAtMs").asLong());
+      } catch (JsonProcessingException e) {
+        log.warn("Skipping unreadable revocation event {}", event.getPosition(), e);
+      }
+    }
+  }
+
+  private static long toEpochMs(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static final class Snapshot {
+    final BloomFilter filter;
+    final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    Snapshot(BloomFilter filter) {
+      this.filter = filter;
+    }
+
+    void add(String tokenId, long expiresAtMs) {
+      // Exact entry first, so a concurrent reader that sees the filter bit also finds the entry
+      expiries.put(tokenId, expiresAtMs);
+      filter.add(tokenId);
+    }
+  }
+}
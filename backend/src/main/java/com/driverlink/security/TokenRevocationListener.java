@@ -0,0 +1,9 @@
+package com.driverlink.security;
+
+/**
+ * Told by {@link TokenVersionRegistry} when a user's tokens stop being honoured, because the user
+ * was deactivated or their token version moved, so state derived from those tokens can be dropped.
+ */
+public interface TokenRevocationListener {
+  void onTokensRevoked(long userId);
+}
@@ -0,0 +1,100 @@
+package com.driverlink.security;
+
+import com.driverlink.event.UserEvent;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.outbox.OutboxEventListener;
+import com.driverlink.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Current token version of every user, held in memory so a token's claims can be checked without
+ * a query. Only exceptions are stored: a user absent from the map is active at version 0, which is
+ * every user who has never had tokens revoked.
+ *
+ * <p>Loaded before the application takes traffic, updated as soon as a local change commits, and
+ * kept in step with other nodes' changes through the outbox feed. A hard-deleted user is revoked
+ * on every running node; after a restart their remaining access tokens live out their (short)
+ * lifetime, as no row is left to record them against. Every change that stops a user's tokens being
+ * honoured is passed on to the {@link TokenRevocationListener}s.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry implements OutboxEventListener {
+  static final String AGGREGATE_TYPE = "user";
+  private static final int REVOKED = -1;
+
+  private final UserRepository userRepository;
+  private final ObjectMapper objectMapper;
+  private final List<TokenRevocationListener> revocationListeners;
+  private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void load() {
+    for (Object[] row : userRepository.findTokenVersionOverrides()) {
+      apply((Long) row[0], (Boolean) row[2], (Integer) row[1]);
+    }
+    log.info("Loaded token versions for {} users", versions.size());
+  }
+
+  /** Returns whether a token issued to the user at the given version is still honoured. */
+  public boolean isCurrent(long userId, int tokenVersion) {
+    Integer current = versions.get(userId);
+    return current == null ? tokenVersion == 0 : current == tokenVersion;
+  }
+
+  @TransactionalEventListener
+  public void onUserEvent(UserEvent event) {
+    apply(event.getUserId(), event.isActive(), event.getTokenVersion());
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      if (!AGGREGATE_TYPE.equals(event.getAggregateType())) {
+        continue;
+      }
+      try {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        apply(
+            payload.get("userId").asLong(),
+            payload.get("active").asBoolean(),
+            payload.get("tokenVersion").asInt());
+      } catch (JsonProcessingException e) {
+        log.warn("Skipping unreadable user event {}", event.getPosition(), e);
+      }
+    }
+  }
+
+  private void apply(Long userId, boolean active, int tokenVersion) {
+    int previous;
+    if (!active) {
+      previous = put(userId, REVOKED);
+    } else if (tokenVersion == 0) {
+      Integer removed = versions.remove(userId);
+      previous = removed == null ? 0 : removed;
+    } else {
+      previous = put(userId, tokenVersion);
+    }
+    if (previous != (active ? tokenVersion : REVOKED)) {
+      for (TokenRevocationListener listener : revocationListeners) {
+        listener.onTokensRevoked(userId);
+      }
+    }
+  }
+
+  private int put(Long userId, int version) {
+    Integer previous = versions.put(userId, version);
+    return previous == null ? 0 : previous;
+  }
+}
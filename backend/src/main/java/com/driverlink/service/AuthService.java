@@ -0,0 +1,207 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.LoginRequestDTO;
+import com.driverlink.dto.TokenPairDTO;
+import com.driverlink.event.TokenRevokedEvent;
+import com.driverlink.exception.AuthenticationFailedException;
+import com.driverlink.model.RefreshToken;
+import com.driverlink.model.RevokedToken;
+import com.driverlink.model.User;
+import com.driverlink.repository.RefreshTokenRepository;
+import com.driverlink.repository.RevokedTokenRepository;
+import com.driverlink.repository.UserRepository;
+import com.driverlink.security.JwtService;
+import com.driverlink.security.UserPrincipal;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues short-lived access tokens with rotating, single-use refresh tokens. Each login starts a
+ * token family; presenting a refresh token that was already rotated means it leaked, so the whole
+ * family and its live access tokens are revoked. A refresh token carries the user's token version
+ * and stops working when that version is bumped, like the access tokens it would mint.
+ */
+@Service
+public class AuthService {
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long accessExpirationMs;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public AuthService(UserRepository userRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            RevokedTokenRepository revokedTokenRepository,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${jwt.expiration}") long accessExpirationMs,
+            @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMs) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accessExpirationMs = accessExpirationMs;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Exchange credentials for a new token pair. Hashing can wait on the bounded password encoder,
+     * so it runs outside any transaction and only the writes hold a connection.
+     */
+    public TokenPairDTO login(LoginRequestDTO request) {
+        User user = userRepository.findByEmail(request.getEmail())
+                .filter(User::isActive)
+                .filter(u -> passwordEncoder.matches(request.getPassword(), u.getPassword()))
+                .orElseThrow(() -> new AuthenticationFailedException("Invalid email or password"));
+        String checkedHash = user.getPassword();
+        // Stored at an older work factor; the raw password is only available now
+        String upgradedHash = passwordEncoder.upgradeEncoding(checkedHash)
+                ? passwordEncoder.encode(request.getPassword())
+                : null;
+        return transactionTemplate.execute(status -> {
+            if (upgradedHash != null) {
+                userRepository.findById(user.getId())
+                        .filter(managed -> checkedHash.equals(managed.getPassword()))
+                        .ifPresent(managed -> managed.setPassword(upgradedHash));
+            }
+            return issue(user, UUID.randomUUID().toString());
+        });
+    }
+
+    /**
+     * Rotate a refresh token: revoke it and issue its successor
+     */
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
+    public TokenPairDTO refresh(String refreshToken) {
+        RefreshToken presented = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new AuthenticationFailedException("Invalid refresh token"));
+        if (presented.getRevokedAt() != null) {
+            revokeFamily(presented.getFamilyId());
+            throw new AuthenticationFailedException("Refresh token has already been used");
+        }
+        if (presented.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new AuthenticationFailedException("Refresh token has expired");
+        }
+        User user = presented.getUser();
+        if (!user.isActive()) {
+            revokeFamily(presented.getFamilyId());
+            throw new AuthenticationFailedException("User is not active");
+        }
+        if (presented.getTokenVersion() != user.getTokenVersion()) {
+            revokeFamily(presented.getFamilyId());
+            throw new AuthenticationFailedException("Refresh token has been revoked");
+        }
+
+        // Conditional on the row still being unused, so of two concurrent refreshes only one rotates
+        if (refreshTokenRepository.revokeIfUnused(presented.getId(), LocalDateTime.now()) == 0) {
+            revokeFamily(presented.getFamilyId());
+            throw new AuthenticationFailedException("Refresh token has already been used");
+        }
+        return issue(user, presented.getFamilyId());
+    }
+
+    /**
+     * Revoke the refresh token's family and, if given, the access token in use
+     */
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId()));
+        }
+        if (accessToken != null) {
+            try {
+                String tokenId = jwtService.extractTokenId(accessToken);
+                if (tokenId != null) {
+                    LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                            jwtService.getExpiration(accessToken).toInstant(), ZoneId.systemDefault());
+                    revokeAccessToken(tokenId, expiresAt);
+                }
+            } catch (JwtException e) {
+                // Already expired or never valid: nothing left to revoke
+            }
+        }
+    }
+
+    private TokenPairDTO issue(User user, String familyId) {
+        String accessTokenId = UUID.randomUUID().toString();
+        String accessToken = jwtService.generateToken(UserPrincipal.create(user), accessTokenId);
+
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshToken stored = new RefreshToken();
+        stored.setUser(user);
+        stored.setTokenHash(hash(refreshToken));
+        stored.setFamilyId(familyId);
+        stored.setTokenVersion(user.getTokenVersion());
+        stored.setAccessTokenId(accessTokenId);
+        stored.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)));
+        refreshTokenRepository.save(stored);
+
+        return TokenPairDTO.builder()
+                .accessToken(accessToken)
+                .expiresIn(accessExpirationMs / 1000)
+                .refreshToken(refreshToken)
+                .refreshExpiresIn(refreshExpirationMs / 1000)
+                .build();
+    }
+
+    private void revokeFamily(String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (RefreshToken token : refreshTokenRepository.findByFamilyId(familyId)) {
+            if (token.getRevokedAt() == null) {
+                token.setRevokedAt(now);
+            }
+            LocalDateTime accessExpiresAt = token.getCreatedAt().plus(Duration.ofMillis(accessExpirationMs));
+            if (accessExpiresAt.isAfter(now)) {
+                revokeAccessToken(token.getAccessTokenId(), accessExpiresAt);
+            }
+        }
+    }
+
+    private void revokeAccessToken(String tokenId, LocalDateTime expiresAt) {
+        if (revokedTokenRepository.existsByTokenId(tokenId)) {
+            return;
+        }
+        RevokedToken saved = revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        eventPublisher.publishEvent(new TokenRevokedEvent(saved.getId(), tokenId,
+                expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -2,23 +2,32 @@ package com.driverlink.service;
 
 import com.driverlink.dto.CommentDTO;
 import com.driverlink.dto.CommentStatistics;
+import com.driverlink.dto.CommentThreadDTO;
+import com.driverlink.event.CommentEvent;
 import com.driverlink.exception.ResourceNotFoundException;
 import com.driverlink.exception.ValidationException;
 import com.driverlink.model.Comment;
+import com.driverlink.model.CommentPath;
 import com.driverlink.model.Incident;
 import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.ratelimit.RateLimitAction;
+import com.driverlink.ratelimit.RateLimiter;
 import com.driverlink.repository.CommentRepository;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.UserRepository;
+import com.driverlink.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +35,9 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final IncidentRepository incidentRepository;
     private final UserRepository userRepository;
+    private final RateLimiter rateLimiter;
+    private final ContentModerator contentModerator;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final int MAX_COMMENT_LENGTH = 1000;
     private static final int MIN_COMMENT_LENGTH = 5;
@@ -38,12 +50,48 @@ public class CommentService {
             Long incidentId, 
             LocalDateTime since,
             String searchTerm,
+            boolean rootsOnly,
             Pageable pageable) {
         validateIncidentExists(incidentId);
-        return commentRepository.findCommentsWithFilters(incidentId, since, searchTerm, true, pageable)
+        return commentRepository.findCommentsWithFilters(incidentId, since, searchTerm, rootsOnly, true, pageable)
                 .map(this::convertToDTO);
     }
 
+    /**
+     * Get a comment together with its replies, optionally limited to a number of levels below it
+     */
+    @Transactional(readOnly = true)
+    public CommentThreadDTO getThread(Long commentId, Integer maxDepth) {
+        Comment root = getCommentById(commentId);
+        if (!root.isActive()) {
+            throw new ResourceNotFoundException("Comment not found");
+        }
+        int levels = maxDepth == null ? CommentPath.MAX_DEPTH : Math.max(0, maxDepth);
+        List<Comment> subtree = commentRepository.findSubtree(
+                root.getPath(),
+                CommentPath.upperBound(root.getPath()),
+                root.getDepth() + levels);
+
+        // Rows arrive in path order, so every parent is seen before its replies. Replies whose
+        // parent was deleted have no node to attach to and are left out with it.
+        Map<Long, CommentThreadDTO> nodes = new HashMap<>();
+        CommentThreadDTO thread = null;
+        for (Comment comment : subtree) {
+            CommentThreadDTO node = new CommentThreadDTO(convertToDTO(comment));
+            if (comment.getId().equals(root.getId())) {
+                thread = node;
+            } else {
+                CommentThreadDTO parent = nodes.get(comment.getParent().getId());
+                if (parent == null) {
+                    continue;
+                }
+                parent.getReplies().add(node);
+            }
+            nodes.put(comment.getId(), node);
+        }
+        return thread;
+    }
+
     /**
      * Get comment statistics for an incident
      */
@@ -66,6 +114,8 @@ public class CommentService {
         User user = getUserById(userId);
         Incident incident = getIncidentById(dto.getIncidentId());
 
+        Comment parent = dto.getParentId() != null ? getReplyParent(dto.getParentId(), incident) : null;
+
         // Check for spam (multiple comments in short time)
         validateNotSpamming(userId, dto.getIncidentId());
 
@@ -73,9 +123,15 @@ public class CommentService {
         comment.setContent(dto.getContent());
         comment.setIncident(incident);
         comment.setUser(user);
+        comment.setParent(parent);
+        comment.setDepth(parent != null ? parent.getDepth() + 1 : 0);
 
         Comment saved = commentRepository.save(comment);
-        return convertToDTO(saved);
+        saved.setPath(CommentPath.of(parent != null ? parent.getPath() : null, saved.getId()));
+        if (parent != null) {
+            commentRepository.adjustReplyCount(parent.getId(), 1);
+        }
+        return publish(CommentEvent.Type.CREATED, convertToDTO(saved));
     }
 
     /**
@@ -92,19 +148,35 @@ public class CommentService {
         comment.setUpdatedAt(LocalDateTime.now());
 
         Comment updated = commentRepository.save(comment);
-        return convertToDTO(updated);
+        return publish(CommentEvent.Type.UPDATED, convertToDTO(updated));
     }
 
     /**
      * Delete a comment
      */
+    @RetryOnConflict
     @Transactional
     public void deleteComment(Long id, Long userId) {
         Comment comment = getCommentById(id);
         validateCommentOwnership(comment, userId);
+        if (!comment.isActive()) {
+            return;
+        }
 
         comment.setActive(false);
         commentRepository.save(comment);
+        if (comment.getParent() != null) {
+            commentRepository.adjustReplyCount(comment.getParent().getId(), -1);
+        }
+        publish(CommentEvent.Type.DELETED, convertToDTO(comment));
+    }
+
+    /**
+     * Announce a change; listeners that push it to clients only see it once the transaction commits
+     */
+    private CommentDTO publish(CommentEvent.Type type, CommentDTO dto) {
+        eventPublisher.publishEvent(new CommentEvent(type, dto.getIncidentId(), dto));
+        return dto;
     }
 
     private Comment getCommentById(Long id) {
@@ -112,6 +184,17 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
     }
 
+    private Comment getReplyParent(Long parentId, Incident incident) {
+        Comment parent = getCommentById(parentId);
+        if (!parent.isActive() || !parent.getIncident().getId().equals(incident.getId())) {
+            throw new ValidationException("Can only reply to an active comment on the same incident");
+        }
+        if (parent.getDepth() >= CommentPath.MAX_DEPTH) {
+            throw new ValidationException("Replies cannot be nested more than " + CommentPath.MAX_DEPTH + " levels deep");
+        }
+        return parent;
+    }
+
     private User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -155,17 +238,13 @@ public class CommentService {
     }
 
     private void validateNotSpamming(Long userId, Long incidentId) {
-        LocalDateTime threshold = LocalDateTime.now().minusMinutes(1);
-        long recentComments = commentRepository.countRecentCommentsByUser(userId, incidentId, threshold);
-        if (recentComments >= 3) {
+        if (!rateLimiter.tryAcquire(RateLimitAction.COMMENT, userId, incidentId)) {
             throw new ValidationException("Please wait before posting more comments");
         }
     }
 
     private boolean containsInappropriateContent(String content) {
-        // Implement content moderation logic here
-        // This could integrate with a content moderation service or use a list of banned words
-        return false; // Placeholder implementation
+        return contentModerator.containsBannedTerm(content);
     }
 
     private CommentDTO convertToDTO(Comment comment) {
@@ -175,6 +254,9 @@ public class CommentService {
         dto.setIncidentId(comment.getIncident().getId());
         dto.setUserId(comment.getUser().getId());
         dto.setUsername(comment.getUser().getUsername());
+        dto.setParentId(comment.getParent() != null ? comment.getParent().getId() : null);
+        dto.setDepth(comment.getDepth());
+        dto.setReplyCount(comment.getReplyCount());
         dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
         return dto;
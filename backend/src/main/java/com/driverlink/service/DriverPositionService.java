@@ -0,0 +1,129 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.DriverPositionDTO;
+import com.driverlink.dto.IngestSessionDTO;
+import com.driverlink.dto.PositionPingDTO;
+import com.driverlink.exception.ResourceNotFoundException;
+import com.driverlink.exception.ValidationException;
+import com.driverlink.ingest.IngestSessionRegistry;
+import com.driverlink.tracking.DriverPositionStore;
+import com.driverlink.tracking.DriverPositionStore.DriverPosition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class DriverPositionService {
+    private static final int MAX_NEARBY_RESULTS = 200;
+
+    private final DriverPositionStore store;
+    private final IngestSessionRegistry ingestSessionRegistry;
+    private final long maxClockSkewMs;
+    private final long staleAfterMs;
+    private final double maxRadiusKm;
+
+    @Value("${ingest.enabled:false}")
+    private boolean ingestEnabled;
+
+    @Value("${ingest.udp-port:7401}")
+    private int ingestUdpPort;
+
+    @Value("${ingest.tcp-port:7402}")
+    private int ingestTcpPort;
+
+    public DriverPositionService(DriverPositionStore store,
+            IngestSessionRegistry ingestSessionRegistry,
+            @Value("${drivers.position.max-clock-skew-ms:30000}") long maxClockSkewMs,
+            @Value("${drivers.position.stale-after-ms:120000}") long staleAfterMs,
+            @Value("${drivers.position.max-radius-km:25}") double maxRadiusKm) {
+        this.store = store;
+        this.ingestSessionRegistry = ingestSessionRegistry;
+        this.maxClockSkewMs = maxClockSkewMs;
+        this.staleAfterMs = staleAfterMs;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    /**
+     * Record a batch of GPS pings for a driver; returns how many advanced the stored position.
+     * A batch containing a ping from the future is rejected without recording any of it
+     */
+    public int recordPositions(Long userId, List<PositionPingDTO> pings) {
+        long latestAllowed = System.currentTimeMillis() + maxClockSkewMs;
+        // Reject the whole batch before applying any of it, so a bad ping never leaves it half-recorded
+        for (PositionPingDTO ping : pings) {
+            if (ping.getTimestamp() > latestAllowed) {
+                throw new ValidationException("Position timestamp is in the future");
+            }
+        }
+        int accepted = 0;
+        for (PositionPingDTO ping : pings) {
+            if (store.update(userId, ping.getLatitude(), ping.getLongitude(), ping.getTimestamp(),
+                    ping.getHeading() == null ? -1 : ping.getHeading(),
+                    ping.getSpeedKmh() == null ? -1 : ping.getSpeedKmh())) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Open a binary ingest session for a driver, keyed to the token they authenticated with
+     */
+    public IngestSessionDTO openIngestSession(Long userId, String token) {
+        if (!ingestEnabled) {
+            throw new ValidationException("Binary position ingest is not enabled");
+        }
+        // The ingest loop has no one to report this to, so refuse the session instead
+        if (!store.accepts(userId)) {
+            throw new ValidationException("Driver cannot report positions over binary ingest");
+        }
+        IngestSessionRegistry.OpenedSession opened = ingestSessionRegistry.open(userId, token);
+        return IngestSessionDTO.builder()
+                .sessionId(opened.session().sessionId())
+                .key(Base64.getEncoder().encodeToString(opened.key()))
+                .udpPort(ingestUdpPort)
+                .tcpPort(ingestTcpPort)
+                .expiresAt(Instant.ofEpochMilli(opened.session().expiresAtMs()))
+                .build();
+    }
+
+    /**
+     * Get the latest known position of a driver
+     */
+    public DriverPositionDTO getPosition(Long userId) {
+        DriverPosition position = store.get(userId);
+        if (position == null) {
+            throw new ResourceNotFoundException("No position known for driver " + userId);
+        }
+        return convertToDTO(position);
+    }
+
+    /**
+     * Find drivers that reported a position within the radius recently, nearest first
+     */
+    public List<DriverPositionDTO> getNearbyDrivers(Double latitude, Double longitude, Double radiusKm, int limit) {
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new ValidationException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        long minTimestamp = System.currentTimeMillis() - staleAfterMs;
+        return store.findNearby(latitude, longitude, radiusKm, minTimestamp, Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS)))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private DriverPositionDTO convertToDTO(DriverPosition position) {
+        return DriverPositionDTO.builder()
+                .userId(position.userId())
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .heading(position.heading() < 0 ? null : position.heading())
+                .speedKmh(position.speedKmh() < 0 ? null : position.speedKmh())
+                .recordedAt(Instant.ofEpochMilli(position.timestampMs()))
+                .distanceKm(Double.isNaN(position.distanceKm()) ? null : position.distanceKm())
+                .build();
+    }
+}
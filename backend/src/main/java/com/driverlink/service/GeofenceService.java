@@ -0,0 +1,209 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.GeoPointDTO;
+import com.driverlink.dto.GeofenceDTO;
+import com.driverlink.event.GeofenceEvent;
+import com.driverlink.exception.ResourceAccessDeniedException;
+import com.driverlink.exception.ResourceNotFoundException;
+import com.driverlink.exception.ValidationException;
+import com.driverlink.model.Geofence;
+import com.driverlink.model.GeofenceShape;
+import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.repository.GeofenceRepository;
+import com.driverlink.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class GeofenceService {
+    private final GeofenceRepository geofenceRepository;
+    private final UserRepository userRepository;
+    private final ContentModerator contentModerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPerUser;
+    private final double maxRadiusKm;
+    private final int maxVertices;
+    private final double maxPolygonSpanDegrees;
+
+    public GeofenceService(GeofenceRepository geofenceRepository,
+            UserRepository userRepository,
+            ContentModerator contentModerator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${geofences.max-per-user:20}") int maxPerUser,
+            @Value("${geofences.max-radius-km:25}") double maxRadiusKm,
+            @Value("${geofences.max-vertices:64}") int maxVertices,
+            @Value("${geofences.max-polygon-span-degrees:0.5}") double maxPolygonSpanDegrees) {
+        this.geofenceRepository = geofenceRepository;
+        this.userRepository = userRepository;
+        this.contentModerator = contentModerator;
+        this.eventPublisher = eventPublisher;
+        this.maxPerUser = maxPerUser;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxVertices = maxVertices;
+        this.maxPolygonSpanDegrees = maxPolygonSpanDegrees;
+    }
+
+    /**
+     * Get the active geofences of a user
+     */
+    @Transactional(readOnly = true)
+    public List<GeofenceDTO> getGeofencesForUser(Long userId) {
+        return geofenceRepository.findByUserIdAndActiveTrue(userId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get every active geofence, e.g. to build the spatial index
+     */
+    @Transactional(readOnly = true)
+    public List<GeofenceDTO> getAllActiveGeofences() {
+        return geofenceRepository.findByActiveTrue().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create a geofence for a user
+     */
+    @Transactional
+    public GeofenceDTO createGeofence(GeofenceDTO dto, Long userId) {
+        validateGeofence(dto);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        if (geofenceRepository.countByUserIdAndActiveTrue(userId) >= maxPerUser) {
+            throw new ValidationException("A user can have at most " + maxPerUser + " geofences");
+        }
+
+        Geofence geofence = new Geofence();
+        geofence.setUser(user);
+        applyShape(geofence, dto);
+
+        Geofence saved = geofenceRepository.save(geofence);
+        return publish(GeofenceEvent.Type.CREATED, convertToDTO(saved));
+    }
+
+    /**
+     * Update a geofence owned by the user
+     */
+    @Transactional
+    public GeofenceDTO updateGeofence(Long id, GeofenceDTO dto, Long userId) {
+        validateGeofence(dto);
+        Geofence geofence = getOwnedGeofence(id, userId);
+        applyShape(geofence, dto);
+
+        Geofence updated = geofenceRepository.save(geofence);
+        return publish(GeofenceEvent.Type.UPDATED, convertToDTO(updated));
+    }
+
+    /**
+     * Soft delete a geofence owned by the user
+     */
+    @Transactional
+    public void deleteGeofence(Long id, Long userId) {
+        Geofence geofence = getOwnedGeofence(id, userId);
+        geofence.setActive(false);
+        geofenceRepository.save(geofence);
+        publish(GeofenceEvent.Type.DELETED, convertToDTO(geofence));
+    }
+
+    private GeofenceDTO publish(GeofenceEvent.Type type, GeofenceDTO dto) {
+        eventPublisher.publishEvent(new GeofenceEvent(type, dto));
+        return dto;
+    }
+
+    private Geofence getOwnedGeofence(Long id, Long userId) {
+        Geofence geofence = geofenceRepository.findById(id)
+                .filter(Geofence::isActive)
+                .orElseThrow(() -> new ResourceNotFoundException("Geofence", "id", id));
+        if (!geofence.getUser().getId().equals(userId)) {
+            throw new ResourceAccessDeniedException("You are not authorized to modify this geofence");
+        }
+        return geofence;
+    }
+
+    private void applyShape(Geofence geofence, GeofenceDTO dto) {
+        geofence.setName(dto.getName());
+        geofence.setShape(dto.getShape());
+        if (dto.getShape() == GeofenceShape.CIRCLE) {
+            geofence.setCenterLatitude(dto.getCenter().getLatitude());
+            geofence.setCenterLongitude(dto.getCenter().getLongitude());
+            geofence.setRadiusKm(dto.getRadiusKm());
+            geofence.setVertices(null);
+        } else {
+            geofence.setCenterLatitude(null);
+            geofence.setCenterLongitude(null);
+            geofence.setRadiusKm(null);
+            geofence.setVertices(encodeVertices(dto.getVertices()));
+        }
+    }
+
+    private void validateGeofence(GeofenceDTO dto) {
+        if (contentModerator.containsBannedTerm(dto.getName())) {
+            throw new ValidationException("Geofence name contains inappropriate content");
+        }
+        if (dto.getShape() == GeofenceShape.CIRCLE) {
+            if (dto.getCenter() == null || dto.getRadiusKm() == null) {
+                throw new ValidationException("A circle needs a center and a radius");
+            }
+            if (dto.getRadiusKm() <= 0 || dto.getRadiusKm() > maxRadiusKm) {
+                throw new ValidationException("Radius must be between 0 and " + maxRadiusKm + " km");
+            }
+            return;
+        }
+        List<GeoPointDTO> vertices = dto.getVertices();
+        if (vertices == null || vertices.size() < 3 || vertices.size() > maxVertices) {
+            throw new ValidationException("A polygon needs between 3 and " + maxVertices + " vertices");
+        }
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (GeoPointDTO vertex : vertices) {
+            minLat = Math.min(minLat, vertex.getLatitude());
+            maxLat = Math.max(maxLat, vertex.getLatitude());
+            minLon = Math.min(minLon, vertex.getLongitude());
+            maxLon = Math.max(maxLon, vertex.getLongitude());
+        }
+        if (maxLat - minLat > maxPolygonSpanDegrees || maxLon - minLon > maxPolygonSpanDegrees) {
+            throw new ValidationException("A polygon may span at most " + maxPolygonSpanDegrees + " degrees");
+        }
+    }
+
+    private static String encodeVertices(List<GeoPointDTO> vertices) {
+        return vertices.stream()
+                .map(v -> v.getLatitude() + "," + v.getLongitude())
+                .collect(Collectors.joining(";"));
+    }
+
+    private static List<GeoPointDTO> decodeVertices(String encoded) {
+        List<GeoPointDTO> vertices = new ArrayList<>();
+        for (String pair : encoded.split(";")) {
+            int comma = pair.indexOf(',');
+            vertices.add(new GeoPointDTO(
+                    Double.parseDouble(pair.substring(0, comma)),
+                    Double.parseDouble(pair.substring(comma + 1))));
+        }
+        return vertices;
+    }
+
+    private GeofenceDTO convertToDTO(Geofence geofence) {
+        GeofenceDTO dto = new GeofenceDTO();
+        dto.setId(geofence.getId());
+        dto.setUserId(geofence.getUser().getId());
+        dto.setName(geofence.getName());
+        dto.setShape(geofence.getShape());
+        if (geofence.getShape() == GeofenceShape.CIRCLE) {
+            dto.setCenter(new GeoPointDTO(geofence.getCenterLatitude(), geofence.getCenterLongitude()));
+            dto.setRadiusKm(geofence.getRadiusKm());
+        } else {
+            dto.setVertices(decodeVertices(geofence.getVertices()));
+        }
+        dto.setCreatedAt(geofence.getCreatedAt());
+        return dto;
+    }
+}
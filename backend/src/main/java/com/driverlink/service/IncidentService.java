@@ -1,20 +1,31 @@
 package com.driverlink.service;
 
 import com.driverlink.dto.IncidentDTO;
+import com.driverlink.dto.LifecycleReportDTO;
 import com.driverlink.dto.LocationDTO;
+import com.driverlink.event.IncidentEvent;
+import com.driverlink.exception.ValidationException;
 import com.driverlink.model.Incident;
 import com.driverlink.model.IncidentStatus;
 import com.driverlink.model.IncidentType;
 import com.driverlink.model.Location;
 import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.reputation.ReputationService;
+import com.driverlink.ratelimit.RateLimitAction;
+import com.driverlink.ratelimit.RateLimiter;
+import com.driverlink.retry.RetryOnConflict;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.LocationRepository;
 import com.driverlink.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,17 +36,23 @@ public class IncidentService {
     private final LocationRepository locationRepository;
     private final UserRepository userRepository;
     private final RatingService ratingService;
+    private final RateLimiter rateLimiter;
+    private final ContentModerator contentModerator;
+    private final ReputationService reputationService;
+    private final LifecycleService lifecycleService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Get all incidents with optional filtering
+     * Get all incidents with optional filtering, optionally ranked by reporter reputation
      */
     @Transactional(readOnly = true)
     public List<IncidentDTO> getAllIncidents(IncidentStatus status, IncidentType type, 
-            String city, LocalDateTime startDate, LocalDateTime endDate) {
-        return incidentRepository.findIncidentsWithFilters(status, type, city, startDate, endDate)
+            String city, LocalDateTime startDate, LocalDateTime endDate, boolean rankByReputation) {
+        List<IncidentDTO> incidents = incidentRepository.findIncidentsWithFilters(status, type, city, startDate, endDate)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return rankByReputation ? rank(incidents) : incidents;
     }
 
     /**
@@ -52,11 +69,13 @@ public class IncidentService {
      * Find incidents within specified radius from coordinates
      */
     @Transactional(readOnly = true)
-    public List<IncidentDTO> getNearbyIncidents(Double latitude, Double longitude, Double radiusKm) {
-        return incidentRepository.findNearbyIncidents(longitude, latitude, radiusKm)
+    public List<IncidentDTO> getNearbyIncidents(Double latitude, Double longitude, Double radiusKm,
+            boolean rankByReputation) {
+        List<IncidentDTO> incidents = incidentRepository.findNearbyIncidents(longitude, latitude, radiusKm)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return rankByReputation ? rank(incidents) : incidents;
     }
 
     /**
@@ -64,9 +83,14 @@ public class IncidentService {
      */
     @Transactional
     public IncidentDTO createIncident(IncidentDTO dto, Long userId) {
+        validateContent(dto);
         User reporter = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
+        if (!rateLimiter.tryAcquire(RateLimitAction.INCIDENT_REPORT, userId, null)) {
+            throw new ValidationException("Please wait before reporting more incidents");
+        }
+
         Location location = new Location();
         location.setLatitude(dto.getLocation().getLatitude());
         location.setLongitude(dto.getLocation().getLongitude());
@@ -85,16 +109,25 @@ public class IncidentService {
         incident.setStatus(IncidentStatus.PENDING);
 
         Incident saved = incidentRepository.save(incident);
-        return convertToDTO(saved);
+        return publish(IncidentEvent.Type.CREATED, convertToDTO(saved));
     }
 
     /**
-     * Update an existing incident
+     * Update an existing incident. The DTO must carry the version the client read; an edit based on
+     * an older version is rejected with a conflict rather than retried, as it would overwrite the
+     * newer changes
      */
     @Transactional
     public IncidentDTO updateIncident(Long id, IncidentDTO dto) {
+        validateContent(dto);
+        if (dto.getVersion() == null) {
+            throw new ValidationException("Version is required");
+        }
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Incident not found"));
+        if (!dto.getVersion().equals(incident.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Incident.class, id);
+        }
 
         incident.setTitle(dto.getTitle());
         incident.setDescription(dto.getDescription());
@@ -112,18 +145,102 @@ public class IncidentService {
         }
 
         Incident updated = incidentRepository.save(incident);
-        return convertToDTO(updated);
+        return publish(IncidentEvent.Type.UPDATED, convertToDTO(updated));
     }
 
     /**
-     * Soft delete an incident
+     * Change the status of an incident
      */
+    @RetryOnConflict
     @Transactional
-    public void deleteIncident(Long id) {
+    public IncidentDTO updateIncidentStatus(Long id, IncidentStatus status) {
+        if (status == null) {
+            throw new ValidationException("Status is required");
+        }
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Incident not found"));
+        if (incident.getStatus() == status) {
+            return convertToDTO(incident);
+        }
+
+        IncidentStatus previousStatus = incident.getStatus();
+        boolean verified = isVerified(status);
+        if (verified != isVerified(previousStatus)) {
+            incident.setVerifiedAt(verified ? LocalDateTime.now() : null);
+        }
+        incident.setStatus(status);
+        Incident updated = incidentRepository.save(incident);
+        return publish(IncidentEvent.Type.STATUS_CHANGED, convertToDTO(updated), previousStatus);
+    }
+
+    /**
+     * Soft delete an incident along with its comments, votes and ratings
+     */
+    @RetryOnConflict
+    @Transactional
+    public LifecycleReportDTO deleteIncident(Long id) {
+        Incident incident = incidentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Incident not found"));
+        if (!incident.isActive()) {
+            return new LifecycleReportDTO();
+        }
         incident.setActive(false);
         incidentRepository.save(incident);
+        publish(IncidentEvent.Type.DELETED, convertToDTO(incident));
+        return lifecycleService.deactivateIncident(id);
+    }
+
+    /**
+     * Restore a deleted incident along with the comments, votes and ratings deleted with it
+     */
+    @RetryOnConflict
+    @Transactional
+    public LifecycleReportDTO restoreIncident(Long id) {
+        Incident incident = incidentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Incident not found"));
+        if (incident.isActive()) {
+            return new LifecycleReportDTO();
+        }
+        if (!incident.getReporter().isActive()) {
+            throw new ValidationException("Restore the incident's reporter first");
+        }
+        incident.setActive(true);
+        Incident restored = incidentRepository.save(incident);
+        publish(IncidentEvent.Type.UPDATED, convertToDTO(restored));
+        return lifecycleService.restoreIncident(id);
+    }
+
+    private IncidentDTO publish(IncidentEvent.Type type, IncidentDTO dto) {
+        return publish(type, dto, null);
+    }
+
+    private IncidentDTO publish(IncidentEvent.Type type, IncidentDTO dto, IncidentStatus previousStatus) {
+        eventPublisher.publishEvent(new IncidentEvent(type, dto, previousStatus));
+        return dto;
+    }
+
+    /**
+     * Orders incidents by their reporter's reputation weight, newest first among equals
+     */
+    private List<IncidentDTO> rank(List<IncidentDTO> incidents) {
+        incidents.sort(Comparator
+                .comparingDouble((IncidentDTO dto) -> reputationService.getWeight(dto.getReporterId()))
+                .reversed()
+                .thenComparing(IncidentDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return incidents;
+    }
+
+    /**
+     * Verified and resolved incidents both count as verified
+     */
+    private static boolean isVerified(IncidentStatus status) {
+        return status == IncidentStatus.VERIFIED || status == IncidentStatus.RESOLVED;
+    }
+
+    private void validateContent(IncidentDTO dto) {
+        if (contentModerator.containsBannedTerm(dto.getTitle(), dto.getDescription())) {
+            throw new ValidationException("Incident contains inappropriate content");
+        }
     }
 
     private IncidentDTO convertToDTO(Incident incident) {
@@ -132,11 +249,14 @@ public class IncidentService {
         dto.setTitle(incident.getTitle());
         dto.setDescription(incident.getDescription());
         dto.setReporterId(incident.getReporter().getId());
+        dto.setReporterReputation(reputationService.getScore(incident.getReporter().getId()));
         dto.setType(incident.getType());
         dto.setStatus(incident.getStatus());
         dto.setVerificationCount(incident.getVerificationCount());
         dto.setCreatedAt(incident.getCreatedAt());
         dto.setUpdatedAt(incident.getUpdatedAt());
+        dto.setVerifiedAt(incident.getVerifiedAt());
+        dto.setVersion(incident.getVersion());
         
         LocationDTO locationDTO = new LocationDTO();
         Location location = incident.getLocation();
@@ -0,0 +1,73 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.LeaderboardDTO;
+import com.driverlink.dto.LeaderboardEntryDTO;
+import com.driverlink.exception.ResourceNotFoundException;
+import com.driverlink.leaderboard.LeaderboardIndex;
+import com.driverlink.leaderboard.LeaderboardWindow;
+import com.driverlink.leaderboard.Standing;
+import com.driverlink.model.User;
+import com.driverlink.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private static final int MAX_LIMIT = 100;
+
+    private final LeaderboardIndex leaderboardIndex;
+    private final UserRepository userRepository;
+
+    /**
+     * Get the top reporters of a window, globally or for one city
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardDTO getLeaderboard(LeaderboardWindow window, String city, int limit) {
+        List<Standing> top = leaderboardIndex.top(window, city, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        Map<Long, String> usernames = userRepository
+                .findAllById(top.stream().map(Standing::userId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+        return LeaderboardDTO.builder()
+                .window(window)
+                .city(city)
+                .entries(top.stream()
+                        .map(standing -> convertToDTO(standing, usernames.get(standing.userId())))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Get a user's standing in a window, globally or for one city
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardEntryDTO getStanding(LeaderboardWindow window, String city, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        Standing standing = leaderboardIndex.standing(window, city, userId);
+        if (standing == null) {
+            return LeaderboardEntryDTO.builder()
+                    .userId(userId)
+                    .username(user.getUsername())
+                    .build();
+        }
+        return convertToDTO(standing, user.getUsername());
+    }
+
+    private LeaderboardEntryDTO convertToDTO(Standing standing, String username) {
+        return LeaderboardEntryDTO.builder()
+                .rank(standing.rank())
+                .userId(standing.userId())
+                .username(username)
+                .verifiedIncidents(standing.verifiedIncidents())
+                .upvotesReceived(standing.upvotesReceived())
+                .points(standing.points())
+                .build();
+    }
+}
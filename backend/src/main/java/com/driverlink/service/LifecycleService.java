@@ -0,0 +1,122 @@
+package com.driverlink.service;
+
+import static com.driverlink.repository.LifecycleRepository.ChildTable.COMMENTS;
+import static com.driverlink.repository.LifecycleRepository.ChildTable.RATINGS;
+import static com.driverlink.repository.LifecycleRepository.ChildTable.VOTES;
+
+import com.driverlink.dto.LifecycleReportDTO;
+import com.driverlink.event.LifecycleEvent;
+import com.driverlink.repository.LifecycleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cascades the soft delete of an incident or a user to the content that hangs off it, and undoes
+ * it on restore.
+ *
+ * <p>Deactivating an incident takes down its comments, votes and ratings; deactivating a user
+ * takes down their incidents with everything on them, plus whatever the user wrote on other
+ * incidents. Each table is changed with a single bulk statement, verification counts are adjusted
+ * for the upvotes involved and reply counts for the replies, and one {@link LifecycleEvent} with
+ * the counts is published instead of an event per row. The incident or user itself is switched by its own service, in the same
+ * transaction.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class LifecycleService {
+  private final LifecycleRepository lifecycleRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /** Deactivates the incident's active comments, votes and ratings. */
+  public LifecycleReportDTO deactivateIncident(Long incidentId) {
+    String cause = LifecycleRepository.incidentCause(incidentId);
+    LifecycleReportDTO report =
+        LifecycleReportDTO.builder()
+            .comments(lifecycleRepository.deactivateByIncident(COMMENTS, incidentId, cause))
+            .votes(lifecycleRepository.deactivateByIncident(VOTES, incidentId, cause))
+            .ratings(lifecycleRepository.deactivateByIncident(RATINGS, incidentId, cause))
+            .build();
+    lifecycleRepository.adjustVerificationCounts(cause, -1);
+    lifecycleRepository.adjustReplyCounts(cause, -1);
+    return publish(
+        LifecycleEvent.Type.DEACTIVATED, LifecycleEvent.Scope.INCIDENT, incidentId, report);
+  }
+
+  /** Restores what deactivating the incident took down. */
+  public LifecycleReportDTO restoreIncident(Long incidentId) {
+    String cause = LifecycleRepository.incidentCause(incidentId);
+    lifecycleRepository.adjustVerificationCounts(cause, 1);
+    lifecycleRepository.adjustReplyCounts(cause, 1);
+    LifecycleReportDTO report =
+        LifecycleReportDTO.builder()
+            .comments(lifecycleRepository.restore(COMMENTS, cause))
+            .votes(lifecycleRepository.restore(VOTES, cause))
+            .ratings(lifecycleRepository.restore(RATINGS, cause))
+            .build();
+    return publish(
+        LifecycleEvent.Type.RESTORED, LifecycleEvent.Scope.INCIDENT, incidentId, report);
+  }
+
+  /**
+   * Deactivates the user's active incidents with their comments, votes and ratings, and the user's
+   * own comments, votes and ratings on other incidents.
+   */
+  public LifecycleReportDTO deactivateUser(Long userId) {
+    String cause = LifecycleRepository.userCause(userId);
+    // Incidents first: the other tables pick up what was left on them by the cause
+    int incidents = lifecycleRepository.deactivateIncidentsByReporter(userId, cause);
+    LifecycleReportDTO report =
+        LifecycleReportDTO.builder()
+            .incidents(incidents)
+            .comments(lifecycleRepository.deactivateByUser(COMMENTS, userId, cause))
+            .votes(lifecycleRepository.deactivateByUser(VOTES, userId, cause))
+            .ratings(lifecycleRepository.deactivateByUser(RATINGS, userId, cause))
+            .build();
+    lifecycleRepository.adjustVerificationCounts(cause, -1);
+    lifecycleRepository.adjustReplyCounts(cause, -1);
+    return publish(LifecycleEvent.Type.DEACTIVATED, LifecycleEvent.Scope.USER, userId, report);
+  }
+
+  /** Restores what deactivating the user took down. */
+  public LifecycleReportDTO restoreUser(Long userId) {
+    String cause = LifecycleRepository.userCause(userId);
+    lifecycleRepository.adjustVerificationCounts(cause, 1);
+    lifecycleRepository.adjustReplyCounts(cause, 1);
+    LifecycleReportDTO report =
+        LifecycleReportDTO.builder()
+            .incidents(lifecycleRepository.restoreIncidents(cause))
+            .comments(lifecycleRepository.restore(COMMENTS, cause))
+            .votes(lifecycleRepository.restore(VOTES, cause))
+            .ratings(lifecycleRepository.restore(RATINGS, cause))
+            .build();
+    return publish(LifecycleEvent.Type.RESTORED, LifecycleEvent.Scope.USER, userId, report);
+  }
+
+  private LifecycleReportDTO publish(
+      LifecycleEvent.Type type, LifecycleEvent.Scope scope, Long id, LifecycleReportDTO report) {
+    log.info(
+        "{} {} {}: {} incidents, {} comments, {} votes, {} ratings",
+        type,
+        scope,
+        id,
+        report.getIncidents(),
+        report.getComments(),
+        report.getVotes(),
+        report.getRatings());
+    eventPublisher.publishEvent(
+        new LifecycleEvent(
+            type,
+            scope,
+            id,
+            report.getIncidents(),
+            report.getComments(),
+            report.getVotes(),
+            report.getRatings()));
+    return report;
+  }
+}
@@ -2,15 +2,21 @@ package com.driverlink.service;
 
 import com.driverlink.dto.RatingDTO;
 import com.driverlink.dto.RatingStatistics;
+import com.driverlink.event.RatingEvent;
 import com.driverlink.exception.ResourceNotFoundException;
 import com.driverlink.exception.ValidationException;
 import com.driverlink.model.Incident;
 import com.driverlink.model.Rating;
 import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.ratelimit.RateLimitAction;
+import com.driverlink.ratelimit.RateLimiter;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.RatingRepository;
 import com.driverlink.repository.UserRepository;
+import com.driverlink.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -23,6 +29,9 @@ public class RatingService {
     private final RatingRepository ratingRepository;
     private final IncidentRepository incidentRepository;
     private final UserRepository userRepository;
+    private final RateLimiter rateLimiter;
+    private final ContentModerator contentModerator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get ratings for an incident with optional filtering
@@ -68,6 +77,7 @@ public class RatingService {
         Incident incident = getIncidentById(dto.getIncidentId());
 
         validateNoExistingRating(dto.getIncidentId(), userId);
+        validateNotSpamming(userId, dto.getIncidentId());
 
         Rating rating = new Rating();
         rating.setUser(user);
@@ -76,7 +86,7 @@ public class RatingService {
         rating.setComment(dto.getComment());
 
         Rating saved = ratingRepository.save(rating);
-        return convertToDTO(saved);
+        return publish(RatingEvent.Type.CREATED, convertToDTO(saved));
     }
 
     /**
@@ -87,24 +97,40 @@ public class RatingService {
         validateRatingInput(dto);
         Rating rating = getRatingById(id);
         validateRatingOwnership(rating, userId);
+        validateNotSpamming(userId, rating.getIncident().getId());
 
+        int previousValue = rating.getValue();
         rating.setValue(dto.getValue());
         rating.setComment(dto.getComment());
 
         Rating updated = ratingRepository.save(rating);
-        return convertToDTO(updated);
+        return publish(RatingEvent.Type.UPDATED, convertToDTO(updated), previousValue);
     }
 
     /**
      * Delete a rating
      */
+    @RetryOnConflict
     @Transactional
     public void deleteRating(Long id, Long userId) {
         Rating rating = getRatingById(id);
         validateRatingOwnership(rating, userId);
+        if (!rating.isActive()) {
+            return;
+        }
 
         rating.setActive(false);
         ratingRepository.save(rating);
+        publish(RatingEvent.Type.DELETED, convertToDTO(rating));
+    }
+
+    private RatingDTO publish(RatingEvent.Type type, RatingDTO dto) {
+        return publish(type, dto, null);
+    }
+
+    private RatingDTO publish(RatingEvent.Type type, RatingDTO dto, Integer previousValue) {
+        eventPublisher.publishEvent(new RatingEvent(type, dto, previousValue));
+        return dto;
     }
 
     private Rating getRatingById(Long id) {
@@ -135,6 +161,9 @@ public class RatingService {
         if (dto.getComment() != null && dto.getComment().length() > 500) {
             throw new ValidationException("Comment cannot exceed 500 characters");
         }
+        if (contentModerator.containsBannedTerm(dto.getComment())) {
+            throw new ValidationException("Comment contains inappropriate content");
+        }
     }
 
     private void validateNoExistingRating(Long incidentId, Long userId) {
@@ -143,6 +172,12 @@ public class RatingService {
         }
     }
 
+    private void validateNotSpamming(Long userId, Long incidentId) {
+        if (!rateLimiter.tryAcquire(RateLimitAction.RATING, userId, incidentId)) {
+            throw new ValidationException("Please wait before submitting more ratings");
+        }
+    }
+
     private void validateRatingOwnership(Rating rating, Long userId) {
         if (!rating.getUser().getId().equals(userId)) {
             throw new ValidationException("User can only modify their own ratings");
@@ -0,0 +1,168 @@
+package com.driverlink.service;
+
+import com.driverlink.bloom.BloomFilter;
+import com.driverlink.event.UserEvent;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.outbox.OutboxEventListener;
+import com.driverlink.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers "is this username / email free?" mostly from memory.
+ *
+ * <p>Bloom filters hold the normalised (trimmed, lower-case) username and email of every user. A
+ * name the filter has never seen is certainly free, which is the usual answer while someone types
+ * a new name; only a possible hit is confirmed with a case-insensitive query. Names are added as
+ * soon as a user is written, before the transaction commits, so a name being registered is never
+ * reported free; a rolled-back or since-changed name just costs a query until the next rebuild.
+ *
+ * <p>Loaded before the application takes traffic, kept in step with other nodes through the
+ * outbox feed, and periodically rebuilt so stale names drop out and the filters are resized as the
+ * user base grows.
+ */
+@Slf4j
+@Component
+public class UserAvailabilityIndex implements OutboxEventListener {
+  private static final String AGGREGATE_TYPE = "user";
+  private static final int LOAD_BATCH_SIZE = 10_000;
+
+  private final UserRepository userRepository;
+  private final ObjectMapper objectMapper;
+  private final long expectedUsers;
+  private final double falsePositiveRate;
+  private final Counter answeredFromMemory;
+  private final Counter answeredFromDatabase;
+
+  private volatile Filters filters;
+  private Filters rebuilding;
+
+  public UserAvailabilityIndex(
+      UserRepository userRepository,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${users.availability.expected-users:100000}") long expectedUsers,
+      @Value("${users.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.userRepository = userRepository;
+    this.objectMapper = objectMapper;
+    this.expectedUsers = expectedUsers;
+    this.falsePositiveRate = falsePositiveRate;
+    this.filters = new Filters(expectedUsers, falsePositiveRate);
+    this.answeredFromMemory = meterRegistry.counter("users.availability.checks", "source", "memory");
+    this.answeredFromDatabase =
+        meterRegistry.counter("users.availability.checks", "source", "database");
+  }
+
+  public boolean isUsernameAvailable(String username) {
+    if (!filters.usernames.mightContain(normalize(username))) {
+      answeredFromMemory.increment();
+      return true;
+    }
+    answeredFromDatabase.increment();
+    return !userRepository.existsByUsernameIgnoreCase(username.strip());
+  }
+
+  public boolean isEmailAvailable(String email) {
+    if (!filters.emails.mightContain(normalize(email))) {
+      answeredFromMemory.increment();
+      return true;
+    }
+    answeredFromDatabase.increment();
+    return !userRepository.existsByEmailIgnoreCase(email.strip());
+  }
+
+  /** Marks the names as taken on this node. */
+  public synchronized void add(String username, String email) {
+    filters.add(username, email);
+    if (rebuilding != null) {
+      rebuilding.add(username, email);
+    }
+  }
+
+  @PostConstruct
+  @Scheduled(
+      fixedDelayString = "${users.availability.rebuild-interval-ms:3600000}",
+      initialDelayString = "${users.availability.rebuild-interval-ms:3600000}")
+  public void rebuild() {
+    Filters rebuilt =
+        new Filters(Math.max(expectedUsers, userRepository.count() * 2), falsePositiveRate);
+    synchronized (this) {
+      rebuilding = rebuilt;
+    }
+    long loaded = 0;
+    long afterId = 0;
+    List<Object[]> rows;
+    do {
+      rows = userRepository.findIdentityRows(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+      for (Object[] row : rows) {
+        rebuilt.add((String) row[1], (String) row[2]);
+        afterId = (Long) row[0];
+      }
+      loaded += rows.size();
+    } while (rows.size() == LOAD_BATCH_SIZE);
+    synchronized (this) {
+      filters = rebuilt;
+      rebuilding = null;
+    }
+    log.info("Loaded {} usernames and emails into the availability index", loaded);
+  }
+
+  @EventListener
+  public void onUserEvent(UserEvent event) {
+    if (event.getType() != UserEvent.Type.DELETED) {
+      add(event.getUsername(), event.getEmail());
+    }
+  }
+
+  @Override
+  public void onOutboxEvents(List<OutboxEvent> events) {
+    for (OutboxEvent event : events) {
+      if (!AGGREGATE_TYPE.equals(event.getAggregateType())) {
+        continue;
+      }
+      try {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        if (!UserEvent.Type.DELETED.name().equals(payload.path("type").asText())) {
+          add(payload.path("username").asText(null), payload.path("email").asText(null));
+        }
+      } catch (JsonProcessingException e) {
+        log.warn("Skipping unreadable user event {}", event.getPosition(), e);
+      }
+    }
+  }
+
+  private static String normalize(String name) {
+    return name.strip().toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Filters {
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+
+    private Filters(long expectedUsers, double falsePositiveRate) {
+      this.usernames = BloomFilter.create(expectedUsers, falsePositiveRate);
+      this.emails = BloomFilter.create(expectedUsers, falsePositiveRate);
+    }
+
+    private void add(String username, String email) {
+      if (username != null) {
+        usernames.add(normalize(username));
+      }
+      if (email != null) {
+        emails.add(normalize(email));
+      }
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.driverlink.service;
+
+import com.driverlink.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads import rows one line at a time, so an upload is never held in memory as a whole. CSV needs
+ * a header naming at least the username, email and password columns; NDJSON has one object per
+ * line. A line that cannot be parsed becomes a row carrying the error rather than failing the
+ * import.
+ */
+final class UserImportRows {
+  private static final List<String> REQUIRED_COLUMNS = List.of("username", "email", "password");
+  private static final String ROLE_SEPARATORS = "[|;\\s]+";
+
+  record Row(
+      int line, String username, String email, String password, List<String> roles, String error) {
+    static Row failed(int line, String error) {
+      return new Row(line, null, null, null, List.of(), error);
+    }
+  }
+
+  private final BufferedReader reader;
+  private final UserImportService.Format format;
+  private final ObjectMapper objectMapper;
+  private Map<String, Integer> columns;
+  private int line;
+
+  UserImportRows(
+      BufferedReader reader, UserImportService.Format format, ObjectMapper objectMapper) {
+    this.reader = reader;
+    this.format = format;
+    this.objectMapper = objectMapper;
+  }
+
+  /** Returns the next row, or null at the end of the input. */
+  Row next() throws IOException {
+    String text;
+    while ((text = reader.readLine()) != null) {
+      line++;
+      if (line == 1 && text.startsWith("\uFEFF")) {
+        text = text.substring(1);
+      }
+      if (text.isBlank()) {
+        continue;
+      }
+      if (format == UserImportService.Format.NDJSON) {
+        return jsonRow(text);
+      }
+      if (columns == null) {
+        columns = header(text);
+        continue;
+      }
+      return csvRow(text);
+    }
+    return null;
+  }
+
+  private Row jsonRow(String text) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(text);
+    } catch (JsonProcessingException e) {
+      return Row.failed(line, "Malformed JSON");
+    }
+    if (!node.isObject()) {
+      return Row.failed(line, "Expected a JSON object");
+    }
+    List<String> roles = new ArrayList<>();
+    JsonNode rolesNode = node.path("roles");
+    if (rolesNode.isArray()) {
+      rolesNode.forEach(role -> roles.add(role.asText()));
+    } else if (rolesNode.isTextual()) {
+      roles.addAll(splitRoles(rolesNode.asText()));
+    }
+    return new Row(
+        line,
+        node.path("username").asText(null),
+        node.path("email").asText(null),
+        node.path("password").asText(null),
+        roles,
+        null);
+  }
+
+  private Row csvRow(String text) {
+    List<String> fields = splitCsv(text);
+    if (fields == null) {
+      return Row.failed(line, "Unterminated quoted field");
+    }
+    return new Row(
+        line,
+        field(fields, "username"),
+        field(fields, "email"),
+        field(fields, "password"),
+        splitRoles(field(fields, "roles")),
+        null);
+  }
+
+  private String field(List<String> fields, String column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= fields.size()) {
+      return null;
+    }
+    String value = fields.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Map<String, Integer> header(String text) {
+    List<String> names = splitCsv(text);
+    Map<String, Integer> columns = new HashMap<>();
+    if (names != null) {
+      for (int i = 0; i < names.size(); i++) {
+        columns.putIfAbsent(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+      }
+    }
+    if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+      throw new ValidationException(
+          "CSV header must name the columns " + String.join(", ", REQUIRED_COLUMNS));
+    }
+    return columns;
+  }
+
+  private static List<String> splitRoles(String roles) {
+    if (roles == null || roles.isBlank()) {
+      return List.of();
+    }
+    return Arrays.asList(roles.strip().split(ROLE_SEPARATORS));
+  }
+
+  /** Splits one CSV record (RFC 4180 quoting, no embedded line breaks); null if a quote is open. */
+  static List<String> splitCsv(String text) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      return null;
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,349 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.UserDTO;
+import com.driverlink.dto.UserImportReportDTO;
+import com.driverlink.dto.UserImportReportDTO.RowResult;
+import com.driverlink.event.UserEvent;
+import com.driverlink.model.IdAllocation;
+import com.driverlink.model.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates users in bulk from CSV or NDJSON uploads.
+ *
+ * <p>Rows are parsed and validated as they are read; usernames and emails are checked against the
+ * rest of the file in memory and against existing users through {@link UserAvailabilityIndex}.
+ * Passwords are hashed on a bounded pool while parsing continues (when the pool falls behind the
+ * reading thread hashes too, which throttles the upload), and accepted rows are inserted with JDBC
+ * batches, one transaction per batch. If a batch hits a uniqueness conflict its rows are retried
+ * one by one so only the conflicting rows are rejected.
+ *
+ * <p>Plain-text passwords are hashed at the import cost rather than the full login cost; they are
+ * rehashed at the configured cost on first login. Rows may instead carry an existing BCrypt hash,
+ * which is stored as is.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  private static final Pattern BCRYPT_HASH =
+      Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+  private static final String INSERT_USER =
+      "INSERT INTO users (id, username, email, password, created_at, active) "
+          + "VALUES (?, ?, ?, ?, ?, true)";
+  private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+  /** Claims whole id blocks, as Hibernate does, so imported and JPA-created users never clash. */
+  private static final String NEXT_ID_BLOCKS =
+      "SELECT nextval('users_id_seq') FROM generate_series(1, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final UserAvailabilityIndex availabilityIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final PasswordEncoder importEncoder;
+  private final ThreadPoolExecutor hashExecutor;
+  private final int batchSize;
+  private final int maxRows;
+
+  public UserImportService(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      Validator validator,
+      UserAvailabilityIndex availabilityIndex,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      @Value("${users.import.password-cost:10}") int passwordCost,
+      @Value("${users.import.hash-threads:0}") int hashThreads,
+      @Value("${users.import.batch-size:500}") int batchSize,
+      @Value("${users.import.max-rows:50000}") int maxRows) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.validator = validator;
+    this.availabilityIndex = availabilityIndex;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.importEncoder = new BCryptPasswordEncoder(passwordCost);
+    this.batchSize = batchSize;
+    this.maxRows = maxRows;
+
+    int threads =
+        hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger index = new AtomicInteger();
+    this.hashExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 4),
+            r -> {
+              Thread t = new Thread(r, "user-import-hasher-" + index.getAndIncrement());
+              t.setDaemon(true);
+              return t;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Imports users from the stream.
+   *
+   * @param input the uploaded file
+   * @param format how the file is encoded
+   * @return per-row results
+   */
+  public UserImportReportDTO importUsers(InputStream input, Format format) {
+    long started = System.nanoTime();
+    List<RowResult> results = new ArrayList<>();
+    List<Pending> pending = new ArrayList<>(batchSize);
+    Set<String> seenUsernames = new HashSet<>();
+    Set<String> seenEmails = new HashSet<>();
+
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      UserImportRows rows = new UserImportRows(reader, format, objectMapper);
+      UserImportRows.Row row;
+      int read = 0;
+      while ((row = rows.next()) != null) {
+        if (++read > maxRows) {
+          results.add(rejected(row, "Import is limited to " + maxRows + " rows"));
+          break;
+        }
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        String error = validate(row, roles, seenUsernames, seenEmails);
+        if (error != null) {
+          results.add(rejected(row, error));
+          continue;
+        }
+        String password = row.password();
+        Future<String> hash =
+            BCRYPT_HASH.matcher(password).matches()
+                ? CompletableFuture.completedFuture(password)
+                : hashExecutor.submit(() -> importEncoder.encode(password));
+        pending.add(new Pending(row, roles, hash));
+        if (pending.size() >= batchSize) {
+          flush(pending, results);
+        }
+      }
+      flush(pending, results);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read import", e);
+    } finally {
+      pending.forEach(p -> p.hash().cancel(false));
+    }
+
+    results.sort(Comparator.comparingInt(RowResult::getLine));
+    int created =
+        (int) results.stream().filter(r -> r.getStatus() == RowResult.Status.CREATED).count();
+    log.info(
+        "Imported {} of {} users in {} ms",
+        created,
+        results.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    return UserImportReportDTO.builder()
+        .total(results.size())
+        .created(created)
+        .rejected(results.size() - created)
+        .rows(results)
+        .build();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    hashExecutor.shutdownNow();
+  }
+
+  /** Returns why the row cannot be imported, or null if it can; fills in its parsed roles. */
+  private String validate(
+      UserImportRows.Row row, Set<Role> roles, Set<String> seenUsernames, Set<String> seenEmails) {
+    if (row.error() != null) {
+      return row.error();
+    }
+    UserDTO candidate =
+        UserDTO.builder()
+            .username(row.username())
+            .email(row.email())
+            .password(row.password())
+            .build();
+    String violation = firstViolation(candidate, "username");
+    if (violation == null) {
+      violation = firstViolation(candidate, "email");
+    }
+    if (violation != null) {
+      return violation;
+    }
+    if (row.password() == null || row.password().isBlank()) {
+      return "Password is required";
+    }
+    if (!BCRYPT_HASH.matcher(row.password()).matches()) {
+      violation = firstViolation(candidate, "password");
+      if (violation != null) {
+        return violation;
+      }
+    }
+
+    for (String name : row.roles()) {
+      String role = name.toUpperCase(Locale.ROOT);
+      try {
+        roles.add(Role.valueOf(role.startsWith("ROLE_") ? role : "ROLE_" + role));
+      } catch (IllegalArgumentException e) {
+        return "Invalid role: " + name;
+      }
+    }
+    if (roles.isEmpty()) {
+      roles.add(Role.ROLE_USER);
+    }
+
+    String username = row.username().strip().toLowerCase(Locale.ROOT);
+    String email = row.email().strip().toLowerCase(Locale.ROOT);
+    if (seenUsernames.contains(username)) {
+      return "Duplicate username in file";
+    }
+    if (seenEmails.contains(email)) {
+      return "Duplicate email in file";
+    }
+    if (!availabilityIndex.isUsernameAvailable(row.username())) {
+      return "Username already exists";
+    }
+    if (!availabilityIndex.isEmailAvailable(row.email())) {
+      return "Email already exists";
+    }
+    seenUsernames.add(username);
+    seenEmails.add(email);
+    return null;
+  }
+
+  private String firstViolation(UserDTO candidate, String property) {
+    Set<ConstraintViolation<UserDTO>> violations = validator.validateProperty(candidate, property);
+    return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+  }
+
+  private void flush(List<Pending> pending, List<RowResult> results) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<Prepared> batch = new ArrayList<>(pending.size());
+    for (Pending p : pending) {
+      try {
+        batch.add(new Prepared(p.row(), p.roles(), p.hash().get()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while hashing passwords", e);
+      } catch (ExecutionException e) {
+        results.add(rejected(p.row(), "Password could not be hashed"));
+      }
+    }
+    pending.clear();
+
+    try {
+      List<Long> ids = transactionTemplate.execute(status -> insert(batch));
+      for (int i = 0; i < batch.size(); i++) {
+        results.add(created(batch.get(i).row(), ids.get(i)));
+      }
+    } catch (DataIntegrityViolationException e) {
+      // Someone registered one of these names since it was checked; find which rows conflict
+      for (Prepared p : batch) {
+        try {
+          List<Long> ids = transactionTemplate.execute(status -> insert(List.of(p)));
+          results.add(created(p.row(), ids.get(0)));
+        } catch (DataIntegrityViolationException conflict) {
+          results.add(rejected(p.row(), "Username or email already exists"));
+        }
+      }
+    }
+  }
+
+  private List<Long> insert(List<Prepared> batch) {
+    List<Long> ids = allocateIds(batch.size());
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> users = new ArrayList<>(batch.size());
+    List<Object[]> roles = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      Prepared p = batch.get(i);
+      Long id = ids.get(i);
+      users.add(
+          new Object[] {id, p.row().username().strip(), p.row().email().strip(), p.hash(), now});
+      for (Role role : p.roles()) {
+        roles.add(new Object[] {id, role.name()});
+      }
+    }
+    jdbcTemplate.batchUpdate(INSERT_USER, users);
+    jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+    for (int i = 0; i < batch.size(); i++) {
+      UserImportRows.Row row = batch.get(i).row();
+      eventPublisher.publishEvent(
+          new UserEvent(
+              UserEvent.Type.CREATED,
+              ids.get(i),
+              row.username().strip(),
+              row.email().strip(),
+              true,
+              0));
+    }
+    return ids;
+  }
+
+  private List<Long> allocateIds(int count) {
+    int blocks = (count + IdAllocation.BLOCK_SIZE - 1) / IdAllocation.BLOCK_SIZE;
+    List<Long> ids = new ArrayList<>(count);
+    for (Long first : jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks)) {
+      for (int i = 0; i < IdAllocation.BLOCK_SIZE && ids.size() < count; i++) {
+        ids.add(first + i);
+      }
+    }
+    return ids;
+  }
+
+  private static RowResult created(UserImportRows.Row row, Long userId) {
+    return new RowResult(row.line(), row.username(), RowResult.Status.CREATED, userId, null);
+  }
+
+  private static RowResult rejected(UserImportRows.Row row, String error) {
+    return new RowResult(row.line(), row.username(), RowResult.Status.REJECTED, null, error);
+  }
+
+  private record Pending(UserImportRows.Row row, Set<Role> roles, Future<String> hash) {}
+
+  private record Prepared(UserImportRows.Row row, Set<Role> roles, String hash) {}
+}
@@ -1,13 +1,28 @@
 package com.driverlink.service;
 
+import com.driverlink.dto.LifecycleReportDTO;
+import com.driverlink.dto.UserDTO;
+import com.driverlink.dto.UserPageDTO;
+import com.driverlink.event.UserEvent;
 import com.driverlink.exception.UserException;
+import com.driverlink.model.Role;
 import com.driverlink.model.User;
 import com.driverlink.repository.UserRepository;
+import com.driverlink.reputation.ReputationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,9 +35,14 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 @RequiredArgsConstructor
 public class UserService {
+  private static final int MAX_PAGE_SIZE = 200;
+
   private final UserRepository userRepository;
   private final UserValidator userValidator;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ReputationService reputationService;
+  private final LifecycleService lifecycleService;
 
   /**
    * Creates a new user with proper validation and password encryption.
@@ -39,7 +59,7 @@ public class UserService {
       })
   public User createUser(User user) {
     validateAndPrepareUser(user);
-    return userRepository.save(user);
+    return publish(UserEvent.Type.CREATED, userRepository.save(user));
   }
 
   /**
@@ -63,14 +83,52 @@ public class UserService {
   }
 
   /**
-   * Retrieves all users in the system.
+   * Lists users a page at a time, in id order, optionally narrowed to usernames or emails starting
+   * with a prefix. Roles come from the same query, so no user entities are loaded.
    *
-   * @return list of all users
+   * @param after id of the last user on the previous page, or null for the first page
+   * @param limit maximum users on the page
+   * @param search case-insensitive username or email prefix, or null for all users
+   * @return the page and the cursor for the next one
    */
-  @Operation(summary = "Get all users")
-  @ApiResponse(responseCode = "200", description = "List of users retrieved")
-  public List<User> getAllUsers() {
-    return userRepository.findAll();
+  @Operation(summary = "List users")
+  @ApiResponse(responseCode = "200", description = "Page of users retrieved")
+  @Transactional(readOnly = true)
+  public UserPageDTO listUsers(Long after, int limit, String search) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    // One row per role: rows for pageSize + 1 complete users tell whether a next page exists
+    int rowLimit = (pageSize + 1) * Role.values().length;
+    List<Object[]> rows =
+        userRepository.findListingRows(
+            after == null ? 0L : after, prefixPattern(search), PageRequest.of(0, rowLimit));
+
+    Map<Long, UserDTO> users = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      UserDTO user =
+          users.computeIfAbsent(
+              (Long) row[0],
+              id ->
+                  UserDTO.builder()
+                      .id(id)
+                      .username((String) row[1])
+                      .email((String) row[2])
+                      .active((Boolean) row[3])
+                      .createdAt((LocalDateTime) row[4])
+                      .roles(new HashSet<>())
+                      .reputation(reputationService.getScore(id))
+                      .build());
+      if (row[5] != null) {
+        user.getRoles().add(((Role) row[5]).name());
+      }
+    }
+
+    List<UserDTO> page = new ArrayList<>(users.values());
+    Long next = null;
+    if (page.size() > pageSize) {
+      page = page.subList(0, pageSize);
+      next = page.get(pageSize - 1).getId();
+    }
+    return UserPageDTO.builder().users(page).next(next).build();
   }
 
   /**
@@ -90,13 +148,17 @@ public class UserService {
   public User updateUser(User user) {
     User existingUser = getUserById(user.getId());
     userValidator.validateUpdateUser(user, existingUser);
-    return userRepository.save(user);
+    int tokenVersion = existingUser.getTokenVersion();
+    user.setTokenVersion(revokesTokens(existingUser, user) ? tokenVersion + 1 : tokenVersion);
+    return publish(UserEvent.Type.UPDATED, userRepository.save(user));
   }
 
   /**
-   * Deletes a user by their ID.
+   * Soft-deletes a user by their ID: the user is deactivated, their tokens stop working, and their
+   * incidents and everything they wrote are deactivated with them.
    *
    * @param id the user ID
+   * @return the content deactivated along with the user
    * @throws UserException if user not found
    */
   @Operation(summary = "Delete user")
@@ -105,9 +167,68 @@ public class UserService {
         @ApiResponse(responseCode = "204", description = "User deleted successfully"),
         @ApiResponse(responseCode = "404", description = "User not found")
       })
-  public void deleteUser(Long id) {
+  public LifecycleReportDTO deleteUser(Long id) {
     User user = getUserById(id);
-    userRepository.delete(user);
+    if (!user.isActive()) {
+      return new LifecycleReportDTO();
+    }
+    user.setActive(false);
+    user.setTokenVersion(user.getTokenVersion() + 1);
+    publish(UserEvent.Type.UPDATED, userRepository.save(user));
+    return lifecycleService.deactivateUser(id);
+  }
+
+  /**
+   * Restores a deleted user along with the content deleted with them.
+   *
+   * @param id the user ID
+   * @return the content restored along with the user
+   * @throws UserException if user not found
+   */
+  @Operation(summary = "Restore user")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "User restored successfully"),
+        @ApiResponse(responseCode = "404", description = "User not found")
+      })
+  public LifecycleReportDTO restoreUser(Long id) {
+    User user = getUserById(id);
+    if (user.isActive()) {
+      return new LifecycleReportDTO();
+    }
+    user.setActive(true);
+    publish(UserEvent.Type.UPDATED, userRepository.save(user));
+    return lifecycleService.restoreUser(id);
+  }
+
+  private static String prefixPattern(String search) {
+    if (search == null || search.isBlank()) {
+      return "%";
+    }
+    String prefix = search.strip().toLowerCase(Locale.ROOT);
+    return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+  }
+
+  private User publish(UserEvent.Type type, User user) {
+    eventPublisher.publishEvent(
+        new UserEvent(
+            type,
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.isActive(),
+            user.getTokenVersion()));
+    return user;
+  }
+
+  /**
+   * Tokens already issued must stop working when they would grant more than the user now has, or
+   * when the credentials they were obtained with change.
+   */
+  private static boolean revokesTokens(User existing, User updated) {
+    return !Objects.equals(existing.getRoles(), updated.getRoles())
+        || (existing.isActive() && !updated.isActive())
+        || !Objects.equals(existing.getPassword(), updated.getPassword());
   }
 
   /**
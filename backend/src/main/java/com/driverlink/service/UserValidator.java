@@ -2,7 +2,6 @@ package com.driverlink.service;
 
 import com.driverlink.exception.UserException.InvalidInputException;
 import com.driverlink.model.User;
-import com.driverlink.repository.UserRepository;
 import java.util.regex.Pattern;
 import org.springframework.stereotype.Component;
 
@@ -10,10 +9,10 @@ import org.springframework.stereotype.Component;
 public class UserValidator {
   private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
 
-  private final UserRepository userRepository;
+  private final UserAvailabilityIndex availabilityIndex;
 
-  public UserValidator(UserRepository userRepository) {
-    this.userRepository = userRepository;
+  public UserValidator(UserAvailabilityIndex availabilityIndex) {
+    this.availabilityIndex = availabilityIndex;
   }
 
   public void validateNewUser(User user) {
@@ -27,11 +26,12 @@ public class UserValidator {
     validateRequiredFields(user);
     validateEmail(user.getEmail());
 
-    if (!existingUser.getUsername().equals(user.getUsername())) {
+    // Names are unique regardless of case, so a change of case alone is not a new name
+    if (!existingUser.getUsername().equalsIgnoreCase(user.getUsername().strip())) {
       validateUniqueUsername(user.getUsername());
     }
 
-    if (!existingUser.getEmail().equals(user.getEmail())) {
+    if (!existingUser.getEmail().equalsIgnoreCase(user.getEmail().strip())) {
       validateUniqueEmail(user.getEmail());
     }
   }
@@ -52,13 +52,13 @@ public class UserValidator {
   }
 
   private void validateUniqueUsername(String username) {
-    if (userRepository.findByUsername(username) != null) {
+    if (!availabilityIndex.isUsernameAvailable(username)) {
       throw new InvalidInputException("Username already exists");
     }
   }
 
   private void validateUniqueEmail(String email) {
-    if (userRepository.findByEmail(email) != null) {
+    if (!availabilityIndex.isEmailAvailable(email)) {
       throw new InvalidInputException("Email already exists");
     }
   }
@@ -2,6 +2,7 @@ package com.driverlink.service;
 
 import com.driverlink.dto.VoteDTO;
 import com.driverlink.dto.VoteStatistics;
+import com.driverlink.event.VoteEvent;
 import com.driverlink.exception.ResourceNotFoundException;
 import com.driverlink.exception.ValidationException;
 import com.driverlink.exception.ResourceAccessDeniedException;
@@ -9,10 +10,15 @@ import com.driverlink.model.Incident;
 import com.driverlink.model.User;
 import com.driverlink.model.Vote;
 import com.driverlink.model.VoteType;
+import com.driverlink.ratelimit.RateLimitAction;
+import com.driverlink.ratelimit.RateLimiter;
+import com.driverlink.retry.RetryOnConflict;
+import com.driverlink.repository.IncidentCounterRepository;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.UserRepository;
 import com.driverlink.repository.VoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +36,9 @@ public class VoteService {
     private final VoteRepository voteRepository;
     private final UserRepository userRepository;
     private final IncidentRepository incidentRepository;
+    private final IncidentCounterRepository incidentCounterRepository;
+    private final RateLimiter rateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get votes for an incident
@@ -78,6 +87,7 @@ public class VoteService {
         validateVoteInput(voteDTO);
         User user = getUserById(userId);
         Incident incident = getIncidentById(voteDTO.getIncidentId());
+        validateNotSpamming(userId, voteDTO.getIncidentId());
 
         // Check if user has already voted
         Vote existingVote = voteRepository.findByIncidentIdAndUserIdAndActiveTrue(
@@ -95,9 +105,12 @@ public class VoteService {
                         .map(VoteType::name)
                         .toArray(String[]::new)));
             }
+            String previousVoteType = existingVote.getVoteType().name();
+            adjustVerificationCount(existingVote.getVoteType(), voteType, incident.getId());
             existingVote.setVoteType(voteType);
             existingVote.setUpdatedAt(LocalDateTime.now());
-            return convertToDTO(voteRepository.save(existingVote));
+            return publish(VoteEvent.Type.UPDATED, convertToDTO(voteRepository.save(existingVote)),
+                    previousVoteType);
         }
 
         // Create new vote
@@ -105,8 +118,9 @@ public class VoteService {
         vote.setVoteType(VoteType.valueOf(voteDTO.getVoteType().toUpperCase()));
         vote.setIncident(incident);
         vote.setUser(user);
-        
-        return convertToDTO(voteRepository.save(vote));
+        adjustVerificationCount(null, vote.getVoteType(), incident.getId());
+
+        return publish(VoteEvent.Type.CREATED, convertToDTO(voteRepository.save(vote)));
     }
 
     /**
@@ -119,6 +133,7 @@ public class VoteService {
 
         Incident incident = incidentRepository.findById(voteDTO.getIncidentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Incident", "id", voteDTO.getIncidentId()));
+        validateNotSpamming(userId, incident.getId());
 
         // Validate and convert vote type
         VoteType voteType;
@@ -137,11 +152,14 @@ public class VoteService {
                 incident.getId(), userId);
 
         Vote vote;
+        String previousVoteType = null;
         if (existingVote.isPresent()) {
             vote = existingVote.get();
             if (vote.getVoteType() == voteType) {
                 throw new ValidationException("You have already voted " + voteType + " for this incident");
             }
+            previousVoteType = vote.getVoteType().name();
+            adjustVerificationCount(vote.getVoteType(), voteType, incident.getId());
             // Update existing vote
             vote.setVoteType(voteType);  
             vote.setUpdatedAt(LocalDateTime.now());
@@ -152,27 +170,36 @@ public class VoteService {
             vote.setIncident(incident);
             vote.setVoteType(voteType);  
             vote.setActive(true);
+            adjustVerificationCount(null, voteType, incident.getId());
         }
 
+        VoteEvent.Type eventType = vote.getId() == null ? VoteEvent.Type.CREATED : VoteEvent.Type.UPDATED;
         vote = voteRepository.save(vote);
-        return convertToDTO(vote);
+        return publish(eventType, convertToDTO(vote), previousVoteType);
     }
 
     /**
      * Remove a vote
      */
+    @RetryOnConflict
     @Transactional
     public void removeVote(Long id, Long userId) {
         Vote vote = getVoteById(id);
         validateVoteOwnership(vote, userId);
+        if (!vote.isActive()) {
+            return;
+        }
 
         vote.setActive(false);
+        adjustVerificationCount(vote.getVoteType(), null, vote.getIncident().getId());
         voteRepository.save(vote);
+        publish(VoteEvent.Type.DELETED, convertToDTO(vote));
     }
 
     /**
      * Delete a vote
      */
+    @RetryOnConflict
     @Transactional
     public void deleteVote(Long voteId, Long userId) {
         Vote vote = voteRepository.findById(voteId)
@@ -181,9 +208,14 @@ public class VoteService {
         if (!vote.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("You are not authorized to delete this vote");
         }
+        if (!vote.isActive()) {
+            return;
+        }
 
         vote.setActive(false);
+        adjustVerificationCount(vote.getVoteType(), null, vote.getIncident().getId());
         voteRepository.save(vote);
+        publish(VoteEvent.Type.DELETED, convertToDTO(vote));
     }
 
     /**
@@ -194,6 +226,26 @@ public class VoteService {
         return voteRepository.existsByIncidentIdAndUserIdAndActiveTrue(incidentId, userId);
     }
 
+    private VoteDTO publish(VoteEvent.Type type, VoteDTO dto) {
+        return publish(type, dto, null);
+    }
+
+    private VoteDTO publish(VoteEvent.Type type, VoteDTO dto, String previousVoteType) {
+        eventPublisher.publishEvent(new VoteEvent(type, dto, previousVoteType));
+        return dto;
+    }
+
+    /**
+     * Keep the incident's count of active upvotes in step with a vote changing from one type to
+     * another (null when the vote is new or removed)
+     */
+    private void adjustVerificationCount(VoteType from, VoteType to, Long incidentId) {
+        int delta = (to == VoteType.UPVOTE ? 1 : 0) - (from == VoteType.UPVOTE ? 1 : 0);
+        if (delta != 0) {
+            incidentCounterRepository.adjustVerificationCount(incidentId, delta);
+        }
+    }
+
     private Vote getVoteById(Long id) {
         return voteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vote", "id", id));
@@ -221,6 +273,12 @@ public class VoteService {
         }
     }
 
+    private void validateNotSpamming(Long userId, Long incidentId) {
+        if (!rateLimiter.tryAcquire(RateLimitAction.VOTE, userId, incidentId)) {
+            throw new ValidationException("Please wait before voting again");
+        }
+    }
+
     private void validateVoteOwnership(Vote vote, Long userId) {
         if (!vote.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("You are not authorized to modify this vote");
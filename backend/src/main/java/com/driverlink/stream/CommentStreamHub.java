@@ -0,0 +1,289 @@
+package com.driverlink.stream;
+
+import com.driverlink.event.CommentEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans committed comment changes out to Server-Sent Event subscribers, one channel per incident.
+ *
+ * <p>Each channel keeps a small ring buffer of recent events so a client reconnecting with {@code
+ * Last-Event-ID} is caught up from memory. Each subscriber has its own bounded queue drained on a
+ * shared executor; when a slow client falls behind, the oldest queued events are dropped rather
+ * than letting memory grow or stalling publishers.
+ *
+ * <p>Event ids have the form {@code <boot>-<sequence>}. If a client resumes from an id this
+ * process cannot replay (another boot, or an event that has left the buffer) it receives a {@code
+ * reset} event and should reload the comment list.
+ */
+@Slf4j
+@Component
+public class CommentStreamHub {
+  private static final String RESET_EVENT = "reset";
+
+  private final String bootId;
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+  private final ExecutorService senders;
+  private final Supplier<SseEmitter> emitters;
+  private final Clock clock;
+
+  private final int replayBufferSize;
+  private final int subscriberQueueSize;
+  private final long idleChannelMs;
+
+  @Autowired
+  public CommentStreamHub(
+      @Value("${comments.stream.replay-buffer-size:128}") int replayBufferSize,
+      @Value("${comments.stream.subscriber-queue-size:64}") int subscriberQueueSize,
+      @Value("${comments.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+      @Value("${comments.stream.idle-channel-ms:600000}") long idleChannelMs,
+      @Value("${comments.stream.sender-threads:4}") int senderThreads) {
+    this(
+        replayBufferSize,
+        subscriberQueueSize,
+        idleChannelMs,
+        Executors.newFixedThreadPool(
+            senderThreads,
+            r -> {
+              Thread t = new Thread(r, "comment-stream-sender");
+              t.setDaemon(true);
+              return t;
+            }),
+        () -> new SseEmitter(emitterTimeoutMs),
+        Clock.systemUTC());
+  }
+
+  CommentStreamHub(
+      int replayBufferSize,
+      int subscriberQueueSize,
+      long idleChannelMs,
+      ExecutorService senders,
+      Supplier<SseEmitter> emitters,
+      Clock clock) {
+    this.replayBufferSize = replayBufferSize;
+    this.subscriberQueueSize = subscriberQueueSize;
+    this.idleChannelMs = idleChannelMs;
+    this.senders = senders;
+    this.emitters = emitters;
+    this.clock = clock;
+    this.bootId = Long.toString(clock.millis(), 36);
+  }
+
+  /**
+   * Opens a stream of comment events for an incident.
+   *
+   * @param incidentId the incident to follow
+   * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+   * @return the emitter to return from the controller
+   */
+  public SseEmitter subscribe(Long incidentId, String lastEventId) {
+    SseEmitter emitter = emitters.get();
+    Subscriber subscriber = new Subscriber(emitter);
+    // Attached while the map entry is locked, so the heartbeat cannot reap the channel in between
+    Channel channel =
+        channels.compute(
+            incidentId,
+            (id, existing) -> {
+              Channel attached = existing != null ? existing : new Channel(sequence.get());
+              attached.attach(subscriber, lastEventId);
+              return attached;
+            });
+    emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+    emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+    emitter.onError(e -> channel.subscribers.remove(subscriber));
+    return emitter;
+  }
+
+  @TransactionalEventListener
+  public void onCommentEvent(CommentEvent event) {
+    Channel channel = channels.get(event.getIncidentId());
+    if (channel != null) {
+      channel.publish(event);
+    }
+  }
+
+  /** Keeps idle connections open through proxies and drops channels nobody is watching. */
+  @Scheduled(fixedDelayString = "${comments.stream.heartbeat-ms:15000}")
+  public void heartbeat() {
+    long now = clock.millis();
+    for (Long incidentId : channels.keySet()) {
+      Channel channel =
+          channels.computeIfPresent(
+              incidentId,
+              (id, existing) ->
+                  existing.subscribers.isEmpty() && now - existing.lastActivity > idleChannelMs
+                      ? null
+                      : existing);
+      if (channel != null) {
+        for (Subscriber subscriber : channel.subscribers) {
+          subscriber.enqueue(StreamedEvent.HEARTBEAT);
+        }
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    senders.shutdownNow();
+    channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+  }
+
+  private record StreamedEvent(long seq, String name, Object data) {
+    static final StreamedEvent HEARTBEAT = new StreamedEvent(-1, null, null);
+  }
+
+  private final class Channel {
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final StreamedEvent[] ring = new StreamedEvent[replayBufferSize];
+    private int ringHead;
+    private int ringSize;
+    /** Highest sequence number that can no longer be replayed from this channel. */
+    private long floorSeq;
+
+    private volatile long lastActivity = clock.millis();
+
+    Channel(long floorSeq) {
+      this.floorSeq = floorSeq;
+    }
+
+    synchronized void publish(CommentEvent event) {
+      StreamedEvent streamed =
+          new StreamedEvent(
+              sequence.incrementAndGet(),
+              "comment." + event.getType().name().toLowerCase(Locale.ROOT),
+              event.getComment());
+      if (ringSize == ring.length) {
+        floorSeq = ring[ringHead].seq();
+        ringSize--;
+        ringHead = (ringHead + 1) % ring.length;
+      }
+      ring[(ringHead + ringSize) % ring.length] = streamed;
+      ringSize++;
+      lastActivity = clock.millis();
+      for (Subscriber subscriber : subscribers) {
+        subscriber.enqueue(streamed);
+      }
+    }
+
+    /** Registers the subscriber and queues its replay under the same lock as publishing. */
+    synchronized void attach(Subscriber subscriber, String lastEventId) {
+      lastActivity = clock.millis();
+      if (lastEventId != null) {
+        long lastSeq = parseSequence(lastEventId);
+        if (lastSeq < floorSeq) {
+          subscriber.enqueue(new StreamedEvent(sequence.get(), RESET_EVENT, "replay unavailable"));
+        } else {
+          for (int i = 0; i < ringSize; i++) {
+            StreamedEvent event = ring[(ringHead + i) % ring.length];
+            if (event.seq() > lastSeq) {
+              subscriber.enqueue(event);
+            }
+          }
+        }
+      }
+      subscribers.add(subscriber);
+    }
+
+    /** Returns the sequence in an id minted by this boot, or -1 for anything else. */
+    private long parseSequence(String eventId) {
+      int dash = eventId.lastIndexOf('-');
+      if (dash <= 0 || !eventId.substring(0, dash).equals(bootId)) {
+        return -1;
+      }
+      try {
+        return Long.parseLong(eventId.substring(dash + 1));
+      } catch (NumberFormatException e) {
+        return -1;
+      }
+    }
+  }
+
+  private final class Subscriber {
+    private final SseEmitter emitter;
+    private final ArrayDeque<StreamedEvent> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private long dropped;
+
+    Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    void enqueue(StreamedEvent event) {
+      if (closed) {
+        return;
+      }
+      synchronized (queue) {
+        if (event == StreamedEvent.HEARTBEAT && !queue.isEmpty()) {
+          return;
+        }
+        if (queue.size() >= subscriberQueueSize) {
+          queue.pollFirst();
+          dropped++;
+        }
+        queue.addLast(event);
+      }
+      if (draining.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        while (true) {
+          StreamedEvent event;
+          synchronized (queue) {
+            event = queue.pollFirst();
+            if (event == null) {
+              draining.set(false);
+              return;
+            }
+          }
+          send(event);
+        }
+      } catch (IOException | IllegalStateException e) {
+        close(e);
+      }
+    }
+
+    private void send(StreamedEvent event) throws IOException {
+      if (event == StreamedEvent.HEARTBEAT) {
+        emitter.send(SseEmitter.event().comment("keep-alive"));
+        return;
+      }
+      emitter.send(
+          SseEmitter.event().id(bootId + "-" + event.seq()).name(event.name()).data(event.data()));
+    }
+
+    private void close(Exception cause) {
+      closed = true;
+      synchronized (queue) {
+        if (dropped > 0) {
+          log.debug("Comment stream closed after dropping {} events", dropped);
+        }
+        queue.clear();
+      }
+      emitter.completeWithError(cause);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.driverlink.stream;
+
+import com.driverlink.dto.LocationDTO;
+import com.driverlink.event.IncidentEvent;
+import com.driverlink.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+/**
+ * Pushes committed incident changes to the STOMP sessions watching the incident's location.
+ *
+ * <p>The event is serialized once and the same bytes are handed to every matching session; each
+ * message is addressed to a single session, so a user with several open tabs watching different
+ * areas only gets what each tab asked for.
+ */
+@Slf4j
+@Service
+public class IncidentPushService {
+  public static final String DESTINATION = "/queue/incidents";
+
+  private final IncidentSubscriptionIndex index;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final ObjectMapper objectMapper;
+  private final double maxRadiusKm;
+
+  public IncidentPushService(
+      IncidentSubscriptionIndex index,
+      SimpMessagingTemplate messagingTemplate,
+      ObjectMapper objectMapper,
+      @Value("${incidents.push.max-radius-km:50}") double maxRadiusKm) {
+    this.index = index;
+    this.messagingTemplate = messagingTemplate;
+    this.objectMapper = objectMapper;
+    this.maxRadiusKm = maxRadiusKm;
+  }
+
+  /** Starts (or moves) the live feed of a session. */
+  public void subscribe(String sessionId, double latitude, double longitude, double radiusKm) {
+    if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+      throw new ValidationException("Invalid coordinates");
+    }
+    if (!(radiusKm > 0)) {
+      throw new ValidationException("Radius must be positive");
+    }
+    index.subscribe(sessionId, latitude, longitude, Math.min(radiusKm, maxRadiusKm));
+  }
+
+  public void unsubscribe(String sessionId) {
+    index.unsubscribe(sessionId);
+  }
+
+  @EventListener
+  public void onDisconnect(SessionDisconnectEvent event) {
+    index.unsubscribe(event.getSessionId());
+  }
+
+  @TransactionalEventListener
+  public void onIncidentEvent(IncidentEvent event) {
+    LocationDTO location = event.getIncident().getLocation();
+    if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+      return;
+    }
+    List<IncidentSubscriptionIndex.Subscription> targets =
+        index.match(location.getLatitude(), location.getLongitude());
+    if (targets.isEmpty()) {
+      return;
+    }
+    byte[] payload;
+    try {
+      payload = objectMapper.writeValueAsBytes(event);
+    } catch (JsonProcessingException e) {
+      log.warn("Could not serialize incident event {}", event.getIncident().getId(), e);
+      return;
+    }
+    for (IncidentSubscriptionIndex.Subscription target : targets) {
+      messagingTemplate.send(
+          "/user/" + target.sessionId() + DESTINATION, message(target.sessionId(), payload));
+    }
+  }
+
+  private static Message<byte[]> message(String sessionId, byte[] payload) {
+    SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    headers.setSessionId(sessionId);
+    headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    headers.setLeaveMutable(true);
+    return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+  }
+}
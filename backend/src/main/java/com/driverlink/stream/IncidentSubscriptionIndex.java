@@ -0,0 +1,111 @@
+package com.driverlink.stream;
+
+import com.driverlink.geo.GeoGrid;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spatial index of live incident subscriptions. Each subscription is a circle registered under
+ * every grid cell its bounding box touches, so matching an event reads a single cell and only
+ * checks the exact distance for the handful of subscribers whose circles reach that cell.
+ *
+ * <p>There is at most one subscription per STOMP session; subscribing again replaces it.
+ */
+@Component
+public class IncidentSubscriptionIndex {
+
+  private final GeoGrid grid;
+  private final Map<Long, Set<Subscription>> cells = new ConcurrentHashMap<>();
+  private final Map<String, Subscription> bySession = new ConcurrentHashMap<>();
+
+  public IncidentSubscriptionIndex(
+      @Value("${incidents.push.cell-size-degrees:0.1}") double cellSizeDegrees) {
+    this.grid = new GeoGrid(cellSizeDegrees);
+  }
+
+  /** Registers or replaces the subscription of a session. */
+  public void subscribe(String sessionId, double latitude, double longitude, double radiusKm) {
+    Subscription subscription =
+        new Subscription(
+            sessionId,
+            latitude,
+            longitude,
+            radiusKm,
+            grid.cellsCovering(latitude, longitude, radiusKm));
+    Subscription previous = bySession.put(sessionId, subscription);
+    if (previous != null) {
+      removeFromCells(previous);
+    }
+    for (long cell : subscription.cells()) {
+      cells.compute(
+          cell,
+          (c, set) -> {
+            Set<Subscription> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+          });
+    }
+  }
+
+  /** Drops the subscription of a session, if any. */
+  public void unsubscribe(String sessionId) {
+    Subscription previous = bySession.remove(sessionId);
+    if (previous != null) {
+      removeFromCells(previous);
+    }
+  }
+
+  /** Returns the subscriptions whose circle contains the point. */
+  public List<Subscription> match(double latitude, double longitude) {
+    Set<Subscription> candidates = cells.get(grid.cellOf(latitude, longitude));
+    if (candidates == null) {
+      return List.of();
+    }
+    List<Subscription> matches = new ArrayList<>();
+    for (Subscription s : candidates) {
+      if (s.contains(latitude, longitude)) {
+        matches.add(s);
+      }
+    }
+    return matches;
+  }
+
+  public int size() {
+    return bySession.size();
+  }
+
+  private void removeFromCells(Subscription subscription) {
+    for (long cell : subscription.cells()) {
+      cells.computeIfPresent(
+          cell,
+          (c, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+          });
+    }
+  }
+
+  /** A circular area watched by one session. */
+  public record Subscription(
+      String sessionId, double latitude, double longitude, double radiusKm, long[] cells) {
+
+    boolean contains(double lat, double lon) {
+      return GeoGrid.distanceKm(latitude, longitude, lat, lon) <= radiusKm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this);
+    }
+  }
+}
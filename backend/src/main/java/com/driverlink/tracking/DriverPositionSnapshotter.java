@@ -0,0 +1,90 @@
+package com.driverlink.tracking;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists a downsampled history of driver positions: at most one row per driver per snapshot
+ * interval, written with JDBC batches straight from the in-memory store. Also evicts drivers that
+ * stopped reporting from the live grid and prunes history past its retention.
+ */
+@Slf4j
+@Component
+public class DriverPositionSnapshotter {
+  private static final String INSERT_SQL =
+      "INSERT INTO driver_positions (user_id, latitude, longitude, heading, speed_kmh, recorded_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final DriverPositionStore store;
+  private final JdbcTemplate jdbcTemplate;
+  private final int batchSize;
+  private final long staleAfterMs;
+  private final long retentionMs;
+
+  public DriverPositionSnapshotter(
+      DriverPositionStore store,
+      JdbcTemplate jdbcTemplate,
+      @Value("${drivers.position.snapshot-batch-size:1000}") int batchSize,
+      @Value("${drivers.position.stale-after-ms:120000}") long staleAfterMs,
+      @Value("${drivers.position.retention-ms:2592000000}") long retentionMs) {
+    this.store = store;
+    this.jdbcTemplate = jdbcTemplate;
+    this.batchSize = batchSize;
+    this.staleAfterMs = staleAfterMs;
+    this.retentionMs = retentionMs;
+  }
+
+  @Scheduled(fixedDelayString = "${drivers.position.snapshot-interval-ms:30000}")
+  public void snapshot() {
+    List<Object[]> rows = new ArrayList<>(batchSize);
+    int written =
+        store.drainChanged(
+            (userId, latitude, longitude, timestampMs, heading, speedKmh) -> {
+              rows.add(
+                  new Object[] {
+                    userId,
+                    latitude,
+                    longitude,
+                    heading < 0 ? null : heading,
+                    speedKmh < 0 ? null : (float) speedKmh,
+                    new Timestamp(timestampMs)
+                  });
+              if (rows.size() == batchSize) {
+                flush(rows);
+              }
+            });
+    flush(rows);
+    int evicted = store.evictStale(System.currentTimeMillis() - staleAfterMs);
+    log.debug("Snapshotted {} driver positions, evicted {} stale drivers", written, evicted);
+  }
+
+  @Scheduled(fixedDelayString = "${drivers.position.prune-interval-ms:3600000}")
+  public void prune() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+    int deleted = jdbcTemplate.update("DELETE FROM driver_positions WHERE recorded_at < ?", cutoff);
+    if (deleted > 0) {
+      log.info("Pruned {} driver position snapshots", deleted);
+    }
+  }
+
+  private void flush(List<Object[]> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    } catch (RuntimeException e) {
+      // History is best effort; the live store is unaffected
+      log.warn("Could not persist {} driver position snapshots", rows.size(), e);
+    }
+    rows.clear();
+  }
+}
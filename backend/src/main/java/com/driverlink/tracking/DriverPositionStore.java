@@ -0,0 +1,351 @@
+package com.driverlink.tracking;
+
+import com.driverlink.geo.GeoGrid;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latest known position of every driver, held in primitive arrays indexed by user id.
+ *
+ * <p>Slots live in fixed-size pages that are allocated on first use and never moved, so writers
+ * never block each other or lose updates to a resize. Latitude and longitude are packed into one
+ * {@code long} (degrees * 10^7). Each slot carries a sequence number used as a seqlock: writers
+ * make it odd while they publish timestamp, position and motion, and readers retry until they see
+ * the same even value before and after reading, so a ping is never observed half-written.
+ * Recording a ping touches only these arrays; the grid index is updated only when a driver crosses
+ * into another cell.
+ *
+ * <p>Grid membership is maintained without locks and can briefly hold a driver in a cell it has
+ * just left; queries check each slot's current cell, and {@link #evictStale} removes leftovers.
+ */
+@Component
+public class DriverPositionStore {
+  private static final int PAGE_BITS = 12;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final long NO_CELL = Long.MIN_VALUE;
+  private static final double E7 = 1e7;
+  private static final int MAX_SPEED_DECI_KMH = (1 << 21) - 2;
+
+  private final AtomicReferenceArray<Page> pages;
+  private final long capacity;
+  private final GeoGrid grid;
+  private final Map<Long, Set<Integer>> cells = new ConcurrentHashMap<>();
+
+  public DriverPositionStore(
+      @Value("${drivers.position.max-drivers:16777216}") int maxDrivers,
+      @Value("${drivers.position.cell-size-degrees:0.01}") double cellSizeDegrees) {
+    int pageCount = (maxDrivers + PAGE_SIZE - 1) >>> PAGE_BITS;
+    this.pages = new AtomicReferenceArray<>(pageCount);
+    this.capacity = (long) pageCount << PAGE_BITS;
+    this.grid = new GeoGrid(cellSizeDegrees);
+  }
+
+  /** Whether the store has room for the driver's position; {@link #update} rejects any other. */
+  public boolean accepts(long userId) {
+    return userId >= 0 && userId < capacity;
+  }
+
+  /**
+   * Records a ping unless the store already holds a newer one for the driver.
+   *
+   * @param heading degrees clockwise from north, or a negative value if unknown
+   * @param speedKmh speed, or a negative value if unknown
+   * @return whether the ping replaced the stored position
+   * @throws IllegalArgumentException if the store does not {@link #accepts accept} the driver
+   */
+  public boolean update(
+      long userId, double latitude, double longitude, long timestampMs, int heading, double speedKmh) {
+    if (!accepts(userId)) {
+      throw new IllegalArgumentException("User id outside position store capacity");
+    }
+    Page page = page(userId);
+    int slot = (int) (userId & PAGE_MASK);
+
+    long cell = grid.cellOf(latitude, longitude);
+    long sequence = lock(page, slot);
+    long oldCell;
+    try {
+      if (timestampMs <= page.timestamps.get(slot)) {
+        return false;
+      }
+      page.positions.set(slot, pack(latitude, longitude));
+      page.motion.set(slot, packMotion(heading, speedKmh));
+      page.timestamps.set(slot, timestampMs);
+      oldCell = page.cells.getAndSet(slot, cell);
+    } finally {
+      page.sequences.set(slot, sequence + 2);
+    }
+    if (oldCell != cell) {
+      Integer id = (int) userId;
+      if (oldCell != NO_CELL) {
+        removeFromCell(oldCell, id);
+      }
+      addToCell(cell, id);
+    }
+    return true;
+  }
+
+  /** Returns the latest position of a driver, or {@code null} if none is known. */
+  public DriverPosition get(long userId) {
+    if (!accepts(userId)) {
+      return null;
+    }
+    Page page = pages.get((int) (userId >>> PAGE_BITS));
+    if (page == null) {
+      return null;
+    }
+    int slot = (int) (userId & PAGE_MASK);
+    return page.timestamps.get(slot) == 0 ? null : read(page, slot, userId, Double.NaN);
+  }
+
+  /**
+   * Returns drivers within a radius whose last ping is not older than {@code minTimestampMs},
+   * nearest first.
+   */
+  public List<DriverPosition> findNearby(
+      double latitude, double longitude, double radiusKm, long minTimestampMs, int limit) {
+    List<DriverPosition> found = new ArrayList<>();
+    for (long cell : grid.cellsCovering(latitude, longitude, radiusKm)) {
+      Set<Integer> members = cells.get(cell);
+      if (members == null) {
+        continue;
+      }
+      for (Integer id : members) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        int slot = id & PAGE_MASK;
+        if (page.cells.get(slot) != cell || page.timestamps.get(slot) < minTimestampMs) {
+          continue;
+        }
+        DriverPosition position = read(page, slot, id, Double.NaN);
+        if (position.timestampMs() < minTimestampMs) {
+          continue;
+        }
+        double distance =
+            GeoGrid.distanceKm(latitude, longitude, position.latitude(), position.longitude());
+        if (distance <= radiusKm) {
+          found.add(position.atDistance(distance));
+        }
+      }
+    }
+    found.sort(Comparator.comparingDouble(DriverPosition::distanceKm));
+    return found.size() > limit ? found.subList(0, limit) : found;
+  }
+
+  /**
+   * Calls the sink for every driver whose position changed since the previous call, at most once
+   * per driver, and marks those positions as taken.
+   */
+  public int drainChanged(PositionSink sink) {
+    int drained = 0;
+    for (int p = 0; p < pages.length(); p++) {
+      Page page = pages.get(p);
+      if (page == null) {
+        continue;
+      }
+      for (int slot = 0; slot < PAGE_SIZE; slot++) {
+        long ts = page.timestamps.get(slot);
+        long taken = page.drained.get(slot);
+        if (ts <= taken) {
+          continue;
+        }
+        DriverPosition position = read(page, slot, ((long) p << PAGE_BITS) | slot, Double.NaN);
+        if (page.drained.compareAndSet(slot, taken, position.timestampMs())) {
+          sink.accept(
+              position.userId(),
+              position.latitude(),
+              position.longitude(),
+              position.timestampMs(),
+              position.heading(),
+              position.speedKmh());
+          drained++;
+        }
+      }
+    }
+    return drained;
+  }
+
+  /** Drops drivers whose last ping is older than {@code minTimestampMs} from the grid. */
+  public int evictStale(long minTimestampMs) {
+    int evicted = 0;
+    for (Map.Entry<Long, Set<Integer>> entry : cells.entrySet()) {
+      long cell = entry.getKey();
+      for (Integer id : entry.getValue()) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        int slot = id & PAGE_MASK;
+        long current = page.cells.get(slot);
+        boolean moved = current != cell;
+        boolean stale =
+            page.timestamps.get(slot) < minTimestampMs
+                && page.cells.compareAndSet(slot, cell, NO_CELL);
+        if (moved || stale) {
+          removeFromCell(cell, id);
+          if (page.cells.get(slot) == cell) {
+            // A concurrent ping moved the driver back into this cell
+            addToCell(cell, id);
+          } else if (stale) {
+            evicted++;
+          }
+        }
+      }
+    }
+    return evicted;
+  }
+
+  /** Number of drivers currently placed on the grid. */
+  public int size() {
+    int size = 0;
+    for (Set<Integer> members : cells.values()) {
+      size += members.size();
+    }
+    return size;
+  }
+
+  private Page page(long userId) {
+    int index = (int) (userId >>> PAGE_BITS);
+    Page page = pages.get(index);
+    if (page == null) {
+      pages.compareAndSet(index, null, new Page());
+      page = pages.get(index);
+    }
+    return page;
+  }
+
+  private void addToCell(long cell, Integer id) {
+    cells.compute(
+        cell,
+        (c, members) -> {
+          Set<Integer> target = members != null ? members : ConcurrentHashMap.newKeySet();
+          target.add(id);
+          return target;
+        });
+  }
+
+  private void removeFromCell(long cell, Integer id) {
+    cells.computeIfPresent(
+        cell,
+        (c, members) -> {
+          members.remove(id);
+          return members.isEmpty() ? null : members;
+        });
+  }
+
+  /** Takes a slot's write lock by moving its sequence from even to odd; returns the even value. */
+  private static long lock(Page page, int slot) {
+    while (true) {
+      long sequence = page.sequences.get(slot);
+      if ((sequence & 1) == 0 && page.sequences.compareAndSet(slot, sequence, sequence + 1)) {
+        return sequence;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /** Reads timestamp, position and motion as published together by a single update. */
+  private static DriverPosition read(Page page, int slot, long userId, double distanceKm) {
+    while (true) {
+      long sequence = page.sequences.get(slot);
+      if ((sequence & 1) == 0) {
+        long timestampMs = page.timestamps.get(slot);
+        long packed = page.positions.get(slot);
+        int motion = page.motion.get(slot);
+        if (page.sequences.get(slot) == sequence) {
+          return new DriverPosition(
+              userId,
+              unpackLat(packed),
+              unpackLon(packed),
+              timestampMs,
+              unpackHeading(motion),
+              unpackSpeed(motion),
+              distanceKm);
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  private static long pack(double latitude, double longitude) {
+    int lat = (int) Math.round(latitude * E7);
+    int lon = (int) Math.round(longitude * E7);
+    return ((long) lat << 32) | (lon & 0xffffffffL);
+  }
+
+  private static double unpackLat(long packed) {
+    return (int) (packed >> 32) / E7;
+  }
+
+  private static double unpackLon(long packed) {
+    return (int) packed / E7;
+  }
+
+  /** Heading + 1 in the low 10 bits and speed in tenths of km/h + 1 above; 0 means unknown. */
+  private static int packMotion(int heading, double speedKmh) {
+    int h = heading < 0 ? 0 : (heading % 360) + 1;
+    int s =
+        speedKmh < 0 || Double.isNaN(speedKmh)
+            ? 0
+            : (int) Math.min(Math.round(speedKmh * 10), MAX_SPEED_DECI_KMH) + 1;
+    return (s << 10) | h;
+  }
+
+  private static int unpackHeading(int motion) {
+    return (motion & 0x3ff) - 1;
+  }
+
+  private static double unpackSpeed(int motion) {
+    int s = motion >>> 10;
+    return s == 0 ? -1 : (s - 1) / 10.0;
+  }
+
+  /** Receives drained positions; heading and speed are negative when unknown. */
+  @FunctionalInterface
+  public interface PositionSink {
+    void accept(
+        long userId,
+        double latitude,
+        double longitude,
+        long timestampMs,
+        int heading,
+        double speedKmh);
+  }
+
+  /** A driver's position as read from the store; {@code distanceKm} is NaN outside queries. */
+  public record DriverPosition(
+      long userId,
+      double latitude,
+      double longitude,
+      long timestampMs,
+      int heading,
+      double speedKmh,
+      double distanceKm) {
+
+    private DriverPosition atDistance(double distanceKm) {
+      return new DriverPosition(
+          userId, latitude, longitude, timestampMs, heading, speedKmh, distanceKm);
+    }
+  }
+
+  private static final class Page {
+    final AtomicLongArray sequences = new AtomicLongArray(PAGE_SIZE);
+    final AtomicLongArray positions = new AtomicLongArray(PAGE_SIZE);
+    final AtomicLongArray timestamps = new AtomicLongArray(PAGE_SIZE);
+    final AtomicIntegerArray motion = new AtomicIntegerArray(PAGE_SIZE);
+    final AtomicLongArray cells = new AtomicLongArray(PAGE_SIZE);
+    final AtomicLongArray drained = new AtomicLongArray(PAGE_SIZE);
+
+    Page() {
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        cells.set(i, NO_CELL);
+      }
+    }
+  }
+}
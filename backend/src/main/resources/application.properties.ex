@@ -1,5 +1,6 @@
 # Database Configuration
-spring.datasource.url=jdbc:postgresql://localhost:5432/driverlink_db
+# reWriteBatchedInserts turns JDBC batches into multi-row INSERTs
+spring.datasource.url=jdbc:postgresql://localhost:5432/driverlink_db?reWriteBatchedInserts=true
 spring.datasource.username=${DB_USERNAME:your_username}
 spring.datasource.password=${DB_PASSWORD:your_password}
 spring.datasource.driver-class-name=org.postgresql.Driver
@@ -9,10 +10,73 @@ spring.jpa.hibernate.ddl-auto=update
 spring.jpa.show-sql=true
 spring.jpa.properties.hibernate.format_sql=true
 spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect
+# Sequence ids are handed out in blocks (see IdAllocation; the entities pin the pooled-lo
+# optimizer). With ids known up front, inserts and updates are grouped by entity and sent as JDBC
+# batches
+spring.jpa.properties.hibernate.jdbc.batch_size=50
+spring.jpa.properties.hibernate.order_inserts=true
+spring.jpa.properties.hibernate.order_updates=true
+
+# Second-Level Cache (users with roles, locations, incidents and login lookups; in-process Caffeine)
+# Regions are sized in application.conf; other nodes' writes are evicted through the outbox feed
+spring.jpa.properties.hibernate.cache.use_second_level_cache=true
+spring.jpa.properties.hibernate.cache.use_query_cache=true
+spring.jpa.properties.hibernate.cache.region.factory_class=jcache
+spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider
+spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail
+spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE
+# Per-region hit/miss counts for the hibernate.cache.* metrics; the per-session summary is not logged
+spring.jpa.properties.hibernate.generate_statistics=true
+logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN
+
+# Optimistic Locking (versioned incidents, votes, ratings and comments; 409 once retries run out)
+# Idempotent updates retry in a new transaction after a random wait up to base * 2^(attempt - 1), capped
+retry.optimistic-lock.max-attempts=4
+retry.optimistic-lock.base-delay-ms=10
+retry.optimistic-lock.max-delay-ms=200
+
+# Read Replicas (read-only transactions round-robin over healthy replicas, everything else on the primary)
+# Locally, point a node at a second PostgreSQL (or H2) instance; writes never go there
+datasource.replicas.enabled=false
+datasource.replicas.nodes[0].url=jdbc:postgresql://localhost:5433/driverlink_db
+datasource.replicas.nodes[0].username=${DB_USERNAME:your_username}
+datasource.replicas.nodes[0].password=${DB_PASSWORD:your_password}
+datasource.replicas.maximum-pool-size=10
+# A user's reads stay on the primary this long after their last committed write
+datasource.replicas.read-your-writes-window=5s
+datasource.replicas.max-tracked-writers=100000
+datasource.replicas.health-check-interval-ms=5000
+datasource.replicas.health-check-timeout=2s
+# Hand the connection back after every transaction so the next one is routed afresh
+spring.jpa.properties.hibernate.connection.handling_mode=DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
 
 # JWT Configuration
 jwt.secret=${JWT_SECRET:your-256-bit-secret}
-jwt.expiration=${JWT_EXPIRATION:86400000}
+# Access tokens are short-lived; clients renew them with single-use refresh tokens
+jwt.expiration=${JWT_EXPIRATION:900000}
+jwt.refresh-expiration=${JWT_REFRESH_EXPIRATION:2592000000}
+# Verified tokens kept in memory until they expire (bounded, TinyLFU eviction)
+jwt.cache.max-size=100000
+# claims: authenticate from token claims plus the in-memory token version map; database: load the user per request
+jwt.auth.mode=claims
+# Revoked access token ids are screened through a Bloom filter sized for this many live entries
+jwt.revocation.expected-insertions=100000
+jwt.revocation.false-positive-rate=0.01
+# Rebuild the filter from the database, dropping expired ids
+jwt.revocation.rebuild-interval-ms=600000
+# Delete expired refresh tokens and revocations
+jwt.purge-interval-ms=3600000
+
+# Password Hashing (BCrypt on a dedicated bounded pool; 429 when saturated)
+# 0 calibrates the cost at startup to the largest in [min-cost, max-cost] hashing within target-ms
+security.password.cost=0
+security.password.target-ms=250
+security.password.min-cost=10
+security.password.max-cost=14
+# 0 uses half the available processors
+security.password.threads=0
+security.password.queue-capacity=64
+security.password.timeout-ms=5000
 
 # Server Configuration
 server.port=8080
@@ -40,4 +104,168 @@ cors.allow-credentials=true
 spring.flyway.enabled=true
 spring.flyway.baseline-on-migrate=true
 spring.flyway.locations=classpath:db/migration
-spring.flyway.validate-on-migrate=true
\ No newline at end of file
+spring.flyway.validate-on-migrate=true
+
+# Rate Limiting (per-user and per-target token buckets)
+rate-limit.max-tracked-keys=100000
+rate-limit.actions.comment.per-user.capacity=10
+rate-limit.actions.comment.per-user.refill-period=1m
+rate-limit.actions.comment.per-target.capacity=3
+rate-limit.actions.comment.per-target.refill-period=1m
+rate-limit.actions.vote.per-user.capacity=30
+rate-limit.actions.vote.per-user.refill-period=1m
+rate-limit.actions.vote.per-target.capacity=5
+rate-limit.actions.vote.per-target.refill-period=1m
+rate-limit.actions.rating.per-user.capacity=10
+rate-limit.actions.rating.per-user.refill-period=1m
+rate-limit.actions.rating.per-target.capacity=3
+rate-limit.actions.rating.per-target.refill-period=1m
+rate-limit.actions.incident-report.per-user.capacity=5
+rate-limit.actions.incident-report.per-user.refill-period=10m
+
+# Request Limiting (per-route-group token buckets per user, or per IP when anonymous; 429 when over)
+# Patterns match the path below the context path, as the controllers are mapped: /api/incidents/**
+request-limit.enabled=true
+request-limit.max-tracked-keys=200000
+request-limit.routes[0].name=availability
+request-limit.routes[0].patterns=/auth/availability
+request-limit.routes[0].priority=low
+request-limit.routes[0].per-ip.capacity=120
+request-limit.routes[0].per-ip.refill-period=1m
+request-limit.routes[1].name=auth
+request-limit.routes[1].patterns=/auth/**
+request-limit.routes[1].priority=high
+request-limit.routes[1].per-ip.capacity=20
+request-limit.routes[1].per-ip.refill-period=1m
+request-limit.routes[2].name=incidents-nearby
+request-limit.routes[2].patterns=/api/incidents/nearby
+request-limit.routes[2].priority=low
+request-limit.routes[2].per-user.capacity=60
+request-limit.routes[2].per-user.refill-period=1m
+request-limit.routes[2].per-ip.capacity=120
+request-limit.routes[2].per-ip.refill-period=1m
+request-limit.routes[3].name=incidents
+request-limit.routes[3].patterns=/api/incidents,/api/incidents/**
+request-limit.routes[3].priority=low
+request-limit.routes[3].per-user.capacity=120
+request-limit.routes[3].per-user.refill-period=1m
+request-limit.routes[3].per-ip.capacity=240
+request-limit.routes[3].per-ip.refill-period=1m
+request-limit.default-group.per-user.capacity=300
+request-limit.default-group.per-user.refill-period=1m
+request-limit.default-group.per-ip.capacity=600
+request-limit.default-group.per-ip.refill-period=1m
+# Adaptive concurrency limit (503 when shedding; low-priority routes get a share of the limit)
+request-limit.concurrency.enabled=true
+request-limit.concurrency.initial-limit=50
+request-limit.concurrency.min-limit=10
+request-limit.concurrency.max-limit=400
+request-limit.concurrency.tolerance=1.5
+request-limit.concurrency.smoothing=0.2
+request-limit.concurrency.low-priority-share=0.7
+
+# Username / Email Availability (GET /api/auth/availability; Bloom filters in front of the users table)
+users.availability.expected-users=100000
+users.availability.false-positive-rate=0.01
+users.availability.rebuild-interval-ms=3600000
+
+# Bulk User Import (POST /api/users/import with text/csv or application/x-ndjson)
+# Plain-text passwords are hashed at this cost and upgraded to security.password.cost on first login
+users.import.password-cost=10
+# 0 uses half the available processors
+users.import.hash-threads=0
+users.import.batch-size=500
+users.import.max-rows=50000
+
+# Reporter Reputation (votes and ratings on a user's incidents, decayed, checkpointed to user_reputation)
+reputation.half-life-ms=2592000000
+# Score at which a reporter's ranking/verification weight reaches about 1.46 (weights range over 0..2)
+reputation.weight-scale=10
+reputation.reporter-cache-size=100000
+reputation.checkpoint-interval-ms=60000
+# Verify pending incidents once reputation-weighted upvotes minus downvotes reach the threshold
+reputation.verification.enabled=false
+reputation.verification.threshold=3
+
+# Top-Reporter Leaderboards (GET /api/leaderboards; in memory, DAY/WEEK roll over hourly buckets)
+leaderboards.verified-points=5
+leaderboards.incident-cache-size=100000
+leaderboards.roll-interval-ms=60000
+
+# Content Moderation (leave the file empty to use the bundled dictionary)
+moderation.banned-terms-file=
+moderation.reload-interval-ms=30000
+
+# Live Comment Stream (Server-Sent Events)
+comments.stream.replay-buffer-size=128
+comments.stream.subscriber-queue-size=64
+comments.stream.timeout-ms=1800000
+comments.stream.heartbeat-ms=15000
+comments.stream.idle-channel-ms=600000
+comments.stream.sender-threads=4
+
+# Live Incident Push (STOMP over WebSocket at /ws; authenticate in the CONNECT frame)
+incidents.push.cell-size-degrees=0.1
+incidents.push.max-radius-km=50
+websocket.heartbeat-ms=20000
+websocket.inbound-threads=8
+websocket.outbound-threads=16
+websocket.send-time-limit-ms=10000
+websocket.send-buffer-size-limit=131072
+websocket.message-size-limit=8192
+server.tomcat.max-connections=30000
+server.tomcat.accept-count=500
+
+# Transactional Outbox / Change Feed (GET /api/changes?since=)
+outbox.batch-size=500
+outbox.poll-interval-ms=250
+outbox.changes.timeout-ms=25000
+outbox.changes.max-page-size=500
+outbox.compaction-interval-ms=600000
+outbox.compact-after-ms=3600000
+outbox.retention-ms=604800000
+
+# Live Driver Positions (in-memory latest position, downsampled history in driver_positions)
+drivers.position.max-drivers=16777216
+drivers.position.cell-size-degrees=0.01
+drivers.position.max-radius-km=25
+drivers.position.max-clock-skew-ms=30000
+drivers.position.stale-after-ms=120000
+drivers.position.snapshot-interval-ms=30000
+drivers.position.snapshot-batch-size=1000
+drivers.position.retention-ms=2592000000
+drivers.position.prune-interval-ms=3600000
+
+# Binary Position Ingest (40-byte SipHash-signed frames over UDP/TCP; sessions from POST /api/drivers/me/ingest-session)
+ingest.enabled=false
+ingest.bind-address=0.0.0.0
+ingest.udp-port=7401
+ingest.tcp-port=7402
+ingest.tcp-buffer-size=8192
+ingest.max-connections=20000
+ingest.max-sessions=65536
+
+# Geofence Alerts (user zones matched against new incidents; alerts go to the notification queue)
+geofences.max-per-user=20
+geofences.max-radius-km=25
+geofences.max-vertices=64
+geofences.max-polygon-span-degrees=0.5
+geofences.cell-size-degrees=0.05
+
+# Notification Delivery (first alert per user immediately, the rest coalesced per digest window)
+# notifications.sender: log, memory, file or smtp (smtp uses the spring.mail.* settings)
+notifications.sender=log
+notifications.queue-capacity=10000
+notifications.worker-threads=2
+notifications.digest-window-ms=300000
+notifications.batch-size=50
+notifications.max-attempts=5
+notifications.retry-base-delay-ms=1000
+notifications.retry-max-delay-ms=60000
+notifications.file.path=notifications.jsonl
+notifications.smtp.from=alerts@driverlink.local
+#spring.mail.host=smtp.example.com
+#spring.mail.port=587
+#spring.mail.username=
+#spring.mail.password=
+management.endpoints.web.exposure.include=health,metrics
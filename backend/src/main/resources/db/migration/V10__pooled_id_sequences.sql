@@ -0,0 +1,21 @@
+-- Hibernate now takes ids from these sequences in blocks of 50 (pooled-lo: each nextval is the
+-- first id of its block) instead of relying on the column default per row. Existing ids are kept;
+-- each sequence restarts 50 past the current maximum so no block can overlap a row that already
+-- exists, whichever pooled optimiser reads it. Column defaults still work and just use up a block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+SELECT setval('users_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+
+ALTER SEQUENCE locations_id_seq INCREMENT BY 50;
+SELECT setval('locations_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM locations;
+
+ALTER SEQUENCE incidents_id_seq INCREMENT BY 50;
+SELECT setval('incidents_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM incidents;
+
+ALTER SEQUENCE comments_id_seq INCREMENT BY 50;
+SELECT setval('comments_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
+
+ALTER SEQUENCE votes_id_seq INCREMENT BY 50;
+SELECT setval('votes_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM votes;
+
+ALTER SEQUENCE ratings_id_seq INCREMENT BY 50;
+SELECT setval('ratings_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM ratings;
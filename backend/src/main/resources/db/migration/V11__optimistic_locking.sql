@@ -0,0 +1,11 @@
+-- Optimistic locking: every entity update checks and bumps the row's version
+ALTER TABLE incidents ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE votes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ratings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- verification_count is now the number of active upvotes, kept up to date in SQL by each vote
+UPDATE incidents i SET verification_count = (
+    SELECT COUNT(*) FROM votes v
+    WHERE v.incident_id = i.id AND v.active = true AND v.vote_type = 'UPVOTE'
+);
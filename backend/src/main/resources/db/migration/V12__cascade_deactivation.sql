@@ -0,0 +1,11 @@
+-- What deactivated a row as part of a cascade ('incident:<id>' or 'user:<id>'), so restoring that
+-- incident or user brings back exactly the rows it took down. NULL for rows removed on their own.
+ALTER TABLE incidents ADD COLUMN deactivated_by VARCHAR(32);
+ALTER TABLE comments ADD COLUMN deactivated_by VARCHAR(32);
+ALTER TABLE votes ADD COLUMN deactivated_by VARCHAR(32);
+ALTER TABLE ratings ADD COLUMN deactivated_by VARCHAR(32);
+
+CREATE INDEX idx_incidents_deactivated_by ON incidents(deactivated_by) WHERE deactivated_by IS NOT NULL;
+CREATE INDEX idx_comments_deactivated_by ON comments(deactivated_by) WHERE deactivated_by IS NOT NULL;
+CREATE INDEX idx_votes_deactivated_by ON votes(deactivated_by) WHERE deactivated_by IS NOT NULL;
+CREATE INDEX idx_ratings_deactivated_by ON ratings(deactivated_by) WHERE deactivated_by IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Token version of the user when the refresh token was issued; a refresh token stops working once
+-- the user's version moves on. Tokens issued before this column existed are treated as version 0.
+ALTER TABLE refresh_tokens ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- When an incident was last verified; leaderboards bucket verification credit by this rather than
+-- by updated_at, which moves on every edit. Null while the incident is not verified or resolved.
+ALTER TABLE incidents ADD COLUMN verified_at TIMESTAMP;
+
+-- Best guess for incidents verified before this column existed
+UPDATE incidents SET verified_at = updated_at WHERE status IN ('VERIFIED', 'RESOLVED');
+
+CREATE INDEX idx_incidents_verified_at ON incidents (verified_at);
@@ -0,0 +1,11 @@
+-- Threaded replies: materialised path per comment plus an incrementally maintained reply count
+ALTER TABLE comments ADD COLUMN parent_id BIGINT REFERENCES comments(id);
+ALTER TABLE comments ADD COLUMN path VARCHAR(400);
+ALTER TABLE comments ADD COLUMN depth INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN reply_count INTEGER NOT NULL DEFAULT 0;
+
+-- Existing comments become thread roots
+UPDATE comments SET path = LPAD(CAST(id AS VARCHAR(19)), 19, '0') WHERE path IS NULL;
+
+CREATE INDEX idx_comments_path ON comments(path);
+CREATE INDEX idx_comments_parent ON comments(parent_id);
@@ -0,0 +1,20 @@
+-- Transactional outbox: one row per committed change, sequenced into a gap-free feed position by the poller
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    position BIGINT
+);
+
+CREATE UNIQUE INDEX idx_outbox_events_position ON outbox_events(position);
+CREATE INDEX idx_outbox_events_unsequenced ON outbox_events(id) WHERE position IS NULL;
+CREATE INDEX idx_outbox_events_aggregate ON outbox_events(aggregate_type, aggregate_id, position);
+
+-- Feed bookkeeping, e.g. the position up to which events have been pruned
+CREATE TABLE outbox_cursors (
+    name VARCHAR(50) PRIMARY KEY,
+    position BIGINT NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Downsampled history of driver positions; the live position is held in memory
+CREATE TABLE driver_positions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    heading SMALLINT,
+    speed_kmh REAL,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_driver_positions_user_time ON driver_positions(user_id, recorded_at);
+CREATE INDEX idx_driver_positions_recorded_at ON driver_positions(recorded_at);
@@ -0,0 +1,16 @@
+-- User-defined alert zones: circles use the centre/radius columns, polygons the vertex list
+CREATE TABLE geofences (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    name VARCHAR(100) NOT NULL,
+    shape VARCHAR(20) NOT NULL,
+    center_latitude DOUBLE PRECISION,
+    center_longitude DOUBLE PRECISION,
+    radius_km DOUBLE PRECISION,
+    vertices TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    active BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX idx_geofences_user ON geofences(user_id) WHERE active;
@@ -0,0 +1,2 @@
+-- Bumped whenever a user's existing tokens must stop working (role change, deactivation, new password)
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
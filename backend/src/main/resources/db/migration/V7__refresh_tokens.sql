@@ -0,0 +1,24 @@
+-- Rotating refresh tokens, stored only as SHA-256 hashes. Each login starts a family; presenting
+-- an already rotated token revokes the whole family
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash CHAR(64) NOT NULL UNIQUE,
+    family_id VARCHAR(36) NOT NULL,
+    access_token_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens(expires_at);
+
+-- Access token ids revoked before they expire; every node loads the unexpired ones into memory
+CREATE TABLE revoked_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_id VARCHAR(36) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens(expires_at);
@@ -0,0 +1,11 @@
+-- Roles are mapped as an element collection; make sure the table exists before indexing it
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    role VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_roles_user ON user_roles (user_id);
+
+-- Prefix search on the admin user listing
+CREATE INDEX idx_users_username_prefix ON users (LOWER(username) text_pattern_ops);
+CREATE INDEX idx_users_email_prefix ON users (LOWER(email) text_pattern_ops);
@@ -0,0 +1,7 @@
+-- Checkpointed reporter reputation. score is the decayed value as of updated_at; nodes add their
+-- pending evidence with an upsert that first decays the stored score to the write time
+CREATE TABLE user_reputation (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
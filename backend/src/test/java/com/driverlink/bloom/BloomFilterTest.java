@@ -0,0 +1,49 @@
+package com.driverlink.bloom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void whenKeyAdded_thenItIsAlwaysReported() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    String[] keys = new String[10_000];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = UUID.randomUUID().toString();
+      filter.add(keys[i]);
+    }
+
+    for (String key : keys) {
+      assertTrue(filter.mightContain(key));
+    }
+  }
+
+  @Test
+  void whenFilledToCapacity_thenFalsePositiveRateStaysNearTarget() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(UUID.randomUUID().toString());
+    }
+
+    int falsePositives = 0;
+    int probes = 100_000;
+    for (int i = 0; i < probes; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+  }
+
+  @Test
+  void whenEmpty_thenNothingIsReported() {
+    BloomFilter filter = BloomFilter.create(100, 0.01);
+
+    assertFalse(filter.mightContain("anything"));
+    assertFalse(filter.mightContain(""));
+  }
+}
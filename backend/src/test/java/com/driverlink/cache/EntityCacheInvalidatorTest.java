@@ -0,0 +1,103 @@
+package com.driverlink.cache;
+
+import static org.mockito.Mockito.*;
+
+import com.driverlink.dto.VoteDTO;
+import com.driverlink.event.LifecycleEvent;
+import com.driverlink.event.UserEvent;
+import com.driverlink.event.VoteEvent;
+import com.driverlink.model.CacheRegions;
+import com.driverlink.model.Incident;
+import com.driverlink.model.Location;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityCacheInvalidatorTest {
+
+  private final Cache cache = mock(Cache.class);
+  private EntityCacheInvalidator invalidator;
+
+  @BeforeEach
+  void setUp() {
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    when(sessionFactory.getCache()).thenReturn(cache);
+    invalidator = new EntityCacheInvalidator(entityManagerFactory, new ObjectMapper());
+  }
+
+  @Test
+  void userEventsFromTheFeedEvictTheUserTheirRolesAndLoginLookups() {
+    invalidator.onOutboxEvents(
+        List.of(
+            new OutboxEvent("user", 7L, "UPDATED", "{}"),
+            new OutboxEvent("user", 8L, "DELETED", "{}")));
+
+    verify(cache).evictEntityData(User.class, 7L);
+    verify(cache).evictEntityData(User.class, 8L);
+    verify(cache).evictCollectionData(User.class.getName() + ".roles", 7L);
+    verify(cache, times(1)).evictQueryRegion(CacheRegions.USERS_BY_LOGIN);
+  }
+
+  @Test
+  void incidentEventsEvictTheIncidentAndItsLocation() {
+    invalidator.onOutboxEvents(
+        List.of(
+            new OutboxEvent("incident", 3L, "UPDATED", "{\"id\":3,\"location\":{\"id\":12}}"),
+            new OutboxEvent("rating", 6L, "CREATED", "{\"incidentId\":4}")));
+
+    verify(cache).evictEntityData(Incident.class, 3L);
+    verify(cache).evictEntityData(Location.class, 12L);
+    verifyNoMoreInteractions(cache);
+  }
+
+  @Test
+  void votesEvictTheIncidentWhoseCountTheyChanged() {
+    invalidator.onOutboxEvents(
+        List.of(new OutboxEvent("vote", 5L, "CREATED", "{\"id\":5,\"incidentId\":3}")));
+    VoteDTO vote = new VoteDTO();
+    vote.setIncidentId(4L);
+    invalidator.onVoteEvent(new VoteEvent(VoteEvent.Type.CREATED, vote, null));
+
+    verify(cache).evictEntityData(Incident.class, 3L);
+    verify(cache).evictEntityData(Incident.class, 4L);
+  }
+
+  @Test
+  void cascadesEvictTheIncidentOrEveryIncidentForAUser() {
+    invalidator.onOutboxEvents(
+        List.of(new OutboxEvent("lifecycle", 3L, "DEACTIVATED", "{\"scope\":\"INCIDENT\"}")));
+    invalidator.onLifecycleEvent(
+        new LifecycleEvent(
+            LifecycleEvent.Type.RESTORED, LifecycleEvent.Scope.USER, 7L, 2, 0, 5, 1));
+
+    verify(cache).evictEntityData(Incident.class, 3L);
+    verify(cache).evictEntityData(Incident.class);
+    verifyNoMoreInteractions(cache);
+  }
+
+  @Test
+  void unreadableIncidentPayloadEvictsEveryLocation() {
+    invalidator.onOutboxEvents(List.of(new OutboxEvent("incident", 3L, "UPDATED", "{oops")));
+
+    verify(cache).evictEntityData(Incident.class, 3L);
+    verify(cache).evictEntityData(Location.class);
+  }
+
+  @Test
+  void usersCreatedOnThisNodeClearCachedLoginLookups() {
+    invalidator.onUserEvent(
+        new UserEvent(UserEvent.Type.CREATED, 9L, "erin", "erin@example.com", true, 0));
+    invalidator.onUserEvent(
+        new UserEvent(UserEvent.Type.UPDATED, 9L, "erin", "erin@example.com", true, 0));
+
+    verify(cache, times(1)).evictQueryRegion(CacheRegions.USERS_BY_LOGIN);
+  }
+}
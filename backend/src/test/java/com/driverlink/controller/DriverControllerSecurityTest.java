@@ -0,0 +1,121 @@
+package com.driverlink.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.driverlink.dto.DriverPositionDTO;
+import com.driverlink.security.UserPrincipal;
+import com.driverlink.service.DriverPositionService;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig(DriverControllerSecurityTest.Config.class)
+class DriverControllerSecurityTest {
+
+  @Configuration
+  @EnableMethodSecurity
+  static class Config {
+    @Bean
+    DriverPositionService driverPositionService() {
+      return mock(DriverPositionService.class);
+    }
+
+    @Bean
+    DriverController driverController(DriverPositionService driverPositionService) {
+      return new DriverController(driverPositionService);
+    }
+  }
+
+  @Autowired private DriverController driverController;
+
+  @Autowired private DriverPositionService driverPositionService;
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    reset(driverPositionService);
+  }
+
+  @Test
+  void getPosition_WhenDriverReadsOwnPosition_ShouldSucceed() {
+    authenticate(7L, "ROLE_USER");
+    DriverPositionDTO position = DriverPositionDTO.builder().userId(7L).build();
+    when(driverPositionService.getPosition(7L)).thenReturn(position);
+
+    assertThat(driverController.getPosition(7L).getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void getPosition_WhenDriverReadsAnotherDriver_ShouldBeDenied() {
+    authenticate(7L, "ROLE_USER");
+
+    assertThatThrownBy(() -> driverController.getPosition(8L))
+        .isInstanceOf(AccessDeniedException.class);
+    verifyNoInteractions(driverPositionService);
+  }
+
+  @Test
+  void getPosition_WhenModeratorReadsAnyDriver_ShouldSucceed() {
+    authenticate(1L, "ROLE_MODERATOR");
+    when(driverPositionService.getPosition(8L))
+        .thenReturn(DriverPositionDTO.builder().userId(8L).build());
+
+    assertThat(driverController.getPosition(8L).getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void getPosition_WhenAnonymous_ShouldBeDenied() {
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+    assertThatThrownBy(() -> driverController.getPosition(7L))
+        .isInstanceOf(AccessDeniedException.class);
+  }
+
+  @Test
+  void getNearbyDrivers_WhenRegularUser_ShouldBeDenied() {
+    authenticate(7L, "ROLE_USER");
+
+    assertThatThrownBy(() -> driverController.getNearbyDrivers(-26.2, 28.0, 5.0, 10))
+        .isInstanceOf(AccessDeniedException.class);
+    verifyNoInteractions(driverPositionService);
+  }
+
+  @Test
+  void getNearbyDrivers_WhenAdmin_ShouldSucceed() {
+    authenticate(1L, "ROLE_ADMIN");
+    when(driverPositionService.getNearbyDrivers(-26.2, 28.0, 5.0, 10)).thenReturn(List.of());
+
+    assertThat(driverController.getNearbyDrivers(-26.2, 28.0, 5.0, 10).getBody()).isEmpty();
+  }
+
+  private static void authenticate(Long userId, String role) {
+    UserPrincipal principal =
+        UserPrincipal.builder()
+            .id(userId)
+            .username("user" + userId)
+            .authorities(AuthorityUtils.createAuthorityList(role))
+            .build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+}
@@ -4,11 +4,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.driverlink.dto.LifecycleReportDTO;
 import com.driverlink.dto.UserDTO;
+import com.driverlink.dto.UserPageDTO;
 import com.driverlink.mapper.UserMapper;
 import com.driverlink.model.User;
+import com.driverlink.service.UserImportService;
 import com.driverlink.service.UserService;
-import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,8 @@ class UserControllerTest {
 
   @Mock private UserMapper userMapper;
 
+  @Mock private UserImportService userImportService;
+
   @InjectMocks private UserController userController;
 
   private User testUser;
@@ -84,21 +88,20 @@ class UserControllerTest {
   }
 
   @Test
-  void getAllUsers_Success() {
+  void getUsers_Success() {
     // Arrange
-    List<User> users = Arrays.asList(testUser);
-    List<UserDTO> userDTOs = Arrays.asList(testUserDTO);
-    when(userService.getAllUsers()).thenReturn(users);
-    when(userMapper.toDTO(testUser)).thenReturn(testUserDTO);
+    UserPageDTO page = UserPageDTO.builder().users(List.of(testUserDTO)).build();
+    when(userService.listUsers(null, 50, "test")).thenReturn(page);
 
     // Act
-    ResponseEntity<List<UserDTO>> response = userController.getAllUsers();
+    ResponseEntity<UserPageDTO> response = userController.getUsers(null, 50, "test");
 
     // Assert
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertNotNull(response.getBody());
-    assertEquals(1, response.getBody().size());
-    assertEquals(testUserDTO.getUsername(), response.getBody().get(0).getUsername());
+    assertEquals(1, response.getBody().getUsers().size());
+    assertEquals(testUserDTO.getUsername(), response.getBody().getUsers().get(0).getUsername());
+    assertNull(response.getBody().getNext());
   }
 
   @Test
@@ -120,7 +123,7 @@ class UserControllerTest {
   @Test
   void deleteUser_Success() {
     // Arrange
-    doNothing().when(userService).deleteUser(1L);
+    when(userService.deleteUser(1L)).thenReturn(new LifecycleReportDTO());
 
     // Act
     ResponseEntity<Void> response = userController.deleteUser(1L);
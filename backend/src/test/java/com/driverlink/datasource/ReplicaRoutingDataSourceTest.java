@@ -0,0 +1,135 @@
+package com.driverlink.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaOneConnection = mock(Connection.class);
+  private final Connection replicaTwoConnection = mock(Connection.class);
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replicaOne = mock(DataSource.class);
+  private final DataSource replicaTwo = mock(DataSource.class);
+
+  private AtomicLong clock;
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replicaOne.getConnection()).thenReturn(replicaOneConnection);
+    when(replicaTwo.getConnection()).thenReturn(replicaTwoConnection);
+    clock = new AtomicLong();
+    routing =
+        new ReplicaRoutingDataSource(
+            primary,
+            List.of(replicaOne, replicaTwo),
+            Duration.ofSeconds(5),
+            1_000,
+            Duration.ofSeconds(1),
+            new SimpleMeterRegistry(),
+            clock::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsAreSpreadOverReplicasAndEverythingElseUsesThePrimary()
+      throws SQLException {
+    assertSame(primaryConnection, routing.getConnection());
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(replicaOneConnection, routing.getConnection());
+    assertSame(replicaTwoConnection, routing.getConnection());
+    assertSame(replicaOneConnection, routing.getConnection());
+  }
+
+  @Test
+  void failedReplicaIsSkippedUntilItsHealthCheckPasses() throws SQLException {
+    when(replicaOne.getConnection()).thenThrow(new SQLException("connection refused"));
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(replicaTwoConnection, routing.getConnection());
+    assertSame(replicaTwoConnection, routing.getConnection());
+    assertEquals(1, routing.healthyCount());
+
+    doReturn(replicaOneConnection).when(replicaOne).getConnection();
+    when(replicaOneConnection.isValid(anyInt())).thenReturn(true);
+    when(replicaTwoConnection.isValid(anyInt())).thenReturn(true);
+    routing.checkReplicas();
+
+    assertEquals(2, routing.healthyCount());
+  }
+
+  @Test
+  void readsFallBackToThePrimaryWhenNoReplicaIsHealthy() throws SQLException {
+    when(replicaOneConnection.isValid(anyInt())).thenReturn(false);
+    when(replicaTwo.getConnection()).thenThrow(new SQLException("connection refused"));
+    routing.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void userReadsTheirOwnWritesFromThePrimaryForTheWindow() throws SQLException {
+    authenticate(7L);
+    TransactionSynchronizationManager.initSynchronization();
+    routing.getConnection();
+    TransactionSynchronizationUtils.triggerAfterCommit();
+    TransactionSynchronizationManager.clearSynchronization();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(primaryConnection, routing.getConnection());
+
+    authenticate(8L);
+    assertNotSame(primaryConnection, routing.getConnection());
+
+    authenticate(7L);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+    assertNotSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void writeThatDoesNotCommitKeepsTheUserOnReplicas() throws SQLException {
+    authenticate(7L);
+    TransactionSynchronizationManager.initSynchronization();
+    routing.getConnection();
+    TransactionSynchronizationManager.clearSynchronization();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertNotSame(primaryConnection, routing.getConnection());
+  }
+
+  private static void authenticate(long userId) {
+    UserPrincipal user = UserPrincipal.builder().id(userId).username("driver" + userId).build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+  }
+}
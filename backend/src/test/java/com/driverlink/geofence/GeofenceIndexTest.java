@@ -0,0 +1,115 @@
+package com.driverlink.geofence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.driverlink.dto.GeoPointDTO;
+import com.driverlink.dto.GeofenceDTO;
+import com.driverlink.model.GeofenceShape;
+import com.driverlink.service.GeofenceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GeofenceIndexTest {
+
+  private GeofenceIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new GeofenceIndex(mock(GeofenceService.class), new ObjectMapper(), 0.01);
+  }
+
+  @Test
+  void whenPointInsideCircle_thenZoneMatches() {
+    index.put(circle(1L, 10L, -26.2041, 28.0473, 2.0));
+
+    assertThat(index.match(-26.2100, 28.0500))
+        .extracting(GeofenceIndex.Match::geofenceId)
+        .containsExactly(1L);
+    assertThat(index.match(-26.2041, 28.0473 + 0.05)).isEmpty();
+  }
+
+  @Test
+  void whenPointInPolygonNotch_thenZoneDoesNotMatch() {
+    // U shape: the notch between the arms is inside the bounding box but outside the polygon
+    index.put(
+        polygon(
+            2L,
+            10L,
+            -26.00, 28.00,
+            -26.00, 28.10,
+            -25.90, 28.10,
+            -25.90, 28.07,
+            -25.97, 28.07,
+            -25.97, 28.03,
+            -25.90, 28.03,
+            -25.90, 28.00));
+
+    assertThat(index.match(-25.99, 28.05)).hasSize(1);
+    assertThat(index.match(-25.92, 28.01)).hasSize(1);
+    assertThat(index.match(-25.92, 28.05)).isEmpty();
+  }
+
+  @Test
+  void whenGeofenceRemovedOrReplaced_thenOldShapeNoLongerMatches() {
+    index.put(circle(1L, 10L, -26.2041, 28.0473, 2.0));
+    index.put(circle(1L, 10L, -33.9249, 18.4241, 2.0));
+
+    assertThat(index.match(-26.2041, 28.0473)).isEmpty();
+    assertThat(index.match(-33.9249, 18.4241)).hasSize(1);
+
+    index.remove(1L);
+
+    assertThat(index.match(-33.9249, 18.4241)).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  void whenRandomPointsQueried_thenIndexAgreesWithExactGeometry() {
+    GeofenceDTO triangle = polygon(3L, 10L, -26.00, 28.00, -26.00, 28.20, -25.85, 28.05);
+    GeofenceDTO disc = circle(4L, 11L, -25.95, 28.10, 4.0);
+    index.put(triangle);
+    index.put(disc);
+    Zone exactTriangle = Zone.compile(triangle);
+    Zone exactDisc = Zone.compile(disc);
+
+    Random random = new Random(42);
+    for (int i = 0; i < 20_000; i++) {
+      double lat = -26.05 + random.nextDouble() * 0.25;
+      double lon = 27.95 + random.nextDouble() * 0.30;
+      List<Long> ids = index.match(lat, lon).stream().map(GeofenceIndex.Match::geofenceId).toList();
+
+      assertThat(ids.contains(3L)).isEqualTo(exactTriangle.contains(lat, lon));
+      assertThat(ids.contains(4L)).isEqualTo(exactDisc.contains(lat, lon));
+    }
+  }
+
+  private static GeofenceDTO circle(long id, long ownerId, double lat, double lon, double radiusKm) {
+    GeofenceDTO dto = base(id, ownerId, GeofenceShape.CIRCLE);
+    dto.setCenter(new GeoPointDTO(lat, lon));
+    dto.setRadiusKm(radiusKm);
+    return dto;
+  }
+
+  private static GeofenceDTO polygon(long id, long ownerId, double... latLon) {
+    GeofenceDTO dto = base(id, ownerId, GeofenceShape.POLYGON);
+    GeoPointDTO[] vertices = new GeoPointDTO[latLon.length / 2];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = new GeoPointDTO(latLon[2 * i], latLon[2 * i + 1]);
+    }
+    dto.setVertices(List.of(vertices));
+    return dto;
+  }
+
+  private static GeofenceDTO base(long id, long ownerId, GeofenceShape shape) {
+    GeofenceDTO dto = new GeofenceDTO();
+    dto.setId(id);
+    dto.setUserId(ownerId);
+    dto.setName("zone " + id);
+    dto.setShape(shape);
+    return dto;
+  }
+}
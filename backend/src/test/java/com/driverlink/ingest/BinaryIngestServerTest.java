@@ -0,0 +1,132 @@
+package com.driverlink.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.driverlink.ingest.IngestLoadGenerator.SimulatedDriver;
+import com.driverlink.security.JwtService;
+import com.driverlink.tracking.DriverPositionStore;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BinaryIngestServerTest {
+
+  private DriverPositionStore store;
+  private IngestSessionRegistry registry;
+  private BinaryIngestServer server;
+  private int nextToken;
+
+  @BeforeEach
+  void setUp() {
+    JwtService jwtService = mock(JwtService.class);
+    when(jwtService.deriveKey(anyString(), anyString()))
+        .thenAnswer(inv -> (inv.getArgument(0, String.class) + "-key-material-32b").getBytes());
+    when(jwtService.getExpiration(anyString()))
+        .thenReturn(new Date(System.currentTimeMillis() + 60_000));
+    store = new DriverPositionStore(1 << 16, 0.01);
+    registry = new IngestSessionRegistry(jwtService, 1024);
+    server = new BinaryIngestServer(store, registry, "127.0.0.1", 0, 0, 4096, 100, 30_000);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void whenFramesStreamedOverTcp_thenLatestPositionOfEachDriverIsStored() throws Exception {
+    List<SimulatedDriver> drivers = drivers(50);
+
+    long sent =
+        IngestLoadGenerator.sendTcp(
+            new InetSocketAddress("127.0.0.1", server.getTcpPort()), drivers, 20);
+
+    await(() -> server.getAcceptedFrames() == sent);
+    assertThat(server.getRejectedFrames()).isZero();
+    assertThat(store.get(1).latitude()).isGreaterThan(drivers.get(0).latitude());
+  }
+
+  @Test
+  void whenFramesSentOverUdp_thenDriversAreStored() throws Exception {
+    List<SimulatedDriver> drivers = drivers(10);
+
+    IngestLoadGenerator.sendUdp(
+        new InetSocketAddress("127.0.0.1", server.getUdpPort()), drivers, 1, 4);
+
+    await(() -> store.get(10) != null);
+    assertThat(store.get(1)).isNotNull();
+  }
+
+  @Test
+  void whenFrameSignedWithWrongKey_thenItIsRejected() throws Exception {
+    SimulatedDriver driver = drivers(1).get(0);
+    SimulatedDriver forged =
+        new SimulatedDriver(driver.sessionId(), new byte[16], driver.latitude(), driver.longitude());
+
+    IngestLoadGenerator.sendTcp(
+        new InetSocketAddress("127.0.0.1", server.getTcpPort()), List.of(forged), 1);
+
+    await(() -> server.getRejectedFrames() == 1);
+    assertThat(store.get(1)).isNull();
+  }
+
+  @Test
+  void whenDriverIsOutsideStoreCapacity_thenFrameIsRejectedAndOthersStillIngest() throws Exception {
+    IngestSessionRegistry.OpenedSession opened = registry.open(1L << 16, "token" + nextToken++);
+    SimulatedDriver outside =
+        new SimulatedDriver(opened.session().sessionId(), opened.key(), -26.2, 28.04);
+    InetSocketAddress udpAddress = new InetSocketAddress("127.0.0.1", server.getUdpPort());
+
+    IngestLoadGenerator.sendUdp(udpAddress, List.of(outside), 1, 1);
+    await(() -> server.getRejectedFrames() == 1);
+
+    IngestLoadGenerator.sendUdp(udpAddress, drivers(1), 1, 1);
+    await(() -> store.get(1) != null);
+  }
+
+  @Test
+  void sipHashMatchesReferenceVector() {
+    ByteBuffer key = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+    ByteBuffer message = ByteBuffer.allocate(15).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < 16; i++) {
+      key.put((byte) i);
+    }
+    for (int i = 0; i < 15; i++) {
+      message.put((byte) i);
+    }
+
+    long hash = SipHash.hash(key.getLong(0), key.getLong(8), message, 0, 15);
+
+    assertThat(hash).isEqualTo(0xa129ca6149be45e5L);
+  }
+
+  private List<SimulatedDriver> drivers(int count) {
+    List<SimulatedDriver> drivers = new ArrayList<>();
+    for (long userId = 1; userId <= count; userId++) {
+      IngestSessionRegistry.OpenedSession opened = registry.open(userId, "token" + nextToken++);
+      drivers.add(
+          new SimulatedDriver(
+              opened.session().sessionId(), opened.key(), -26.2 + userId * 0.001, 28.04));
+    }
+    return drivers;
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
@@ -0,0 +1,120 @@
+package com.driverlink.ingest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Local load generator for {@link BinaryIngestServer}. Tests use the static helpers; {@link #main}
+ * drives a running server with one session:
+ *
+ * <pre>
+ * IngestLoadGenerator host udpPort sessionId base64Key seconds [framesPerDatagram]
+ * </pre>
+ */
+public final class IngestLoadGenerator {
+  private IngestLoadGenerator() {}
+
+  /** A driver to simulate: its session credentials and a starting point. */
+  public record SimulatedDriver(long sessionId, byte[] key, double latitude, double longitude) {}
+
+  /** Sends {@code rounds} pings per driver over UDP, packing several frames per datagram. */
+  public static long sendUdp(
+      InetSocketAddress target, List<SimulatedDriver> drivers, int rounds, int framesPerDatagram)
+      throws IOException {
+    long sent = 0;
+    ByteBuffer buf =
+        ByteBuffer.allocateDirect(PingFrame.SIZE * framesPerDatagram).order(ByteOrder.LITTLE_ENDIAN);
+    try (DatagramChannel channel = DatagramChannel.open()) {
+      channel.connect(target);
+      long baseTime = System.currentTimeMillis() - rounds;
+      for (int round = 0; round < rounds; round++) {
+        for (SimulatedDriver driver : drivers) {
+          writePing(buf, driver, baseTime + round, round);
+          sent++;
+          if (!buf.hasRemaining()) {
+            flushDatagram(channel, buf);
+          }
+        }
+      }
+      if (buf.position() > 0) {
+        flushDatagram(channel, buf);
+      }
+    }
+    return sent;
+  }
+
+  /** Sends {@code rounds} pings per driver as one continuous TCP stream. */
+  public static long sendTcp(InetSocketAddress target, List<SimulatedDriver> drivers, int rounds)
+      throws IOException {
+    long sent = 0;
+    ByteBuffer buf = ByteBuffer.allocateDirect(PingFrame.SIZE * 256).order(ByteOrder.LITTLE_ENDIAN);
+    try (SocketChannel channel = SocketChannel.open(target)) {
+      long baseTime = System.currentTimeMillis() - rounds;
+      for (int round = 0; round < rounds; round++) {
+        for (SimulatedDriver driver : drivers) {
+          writePing(buf, driver, baseTime + round, round);
+          sent++;
+          if (!buf.hasRemaining()) {
+            flushStream(channel, buf);
+          }
+        }
+      }
+      flushStream(channel, buf);
+    }
+    return sent;
+  }
+
+  private static void writePing(ByteBuffer buf, SimulatedDriver driver, long timestamp, int round) {
+    double drift = round * 0.0001;
+    PingFrame.write(
+        buf,
+        driver.sessionId(),
+        driver.key(),
+        driver.latitude() + drift,
+        driver.longitude() + drift,
+        timestamp,
+        round % 360,
+        40 + round % 80);
+  }
+
+  private static void flushDatagram(DatagramChannel channel, ByteBuffer buf) throws IOException {
+    buf.flip();
+    channel.write(buf);
+    buf.clear();
+  }
+
+  private static void flushStream(SocketChannel channel, ByteBuffer buf) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining()) {
+      channel.write(buf);
+    }
+    buf.clear();
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 5) {
+      System.err.println(
+          "usage: IngestLoadGenerator host udpPort sessionId base64Key seconds [framesPerDatagram]");
+      return;
+    }
+    InetSocketAddress target = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+    SimulatedDriver driver =
+        new SimulatedDriver(
+            Long.parseLong(args[2]), Base64.getDecoder().decode(args[3]), -26.2041, 28.0473);
+    long deadline = System.currentTimeMillis() + Long.parseLong(args[4]) * 1000;
+    int framesPerDatagram = args.length > 5 ? Integer.parseInt(args[5]) : 16;
+    long sent = 0;
+    long start = System.nanoTime();
+    while (System.currentTimeMillis() < deadline) {
+      sent += sendUdp(target, List.of(driver), 1000, framesPerDatagram);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("sent %d frames in %.1fs (%.0f frames/s)%n", sent, seconds, sent / seconds);
+  }
+}
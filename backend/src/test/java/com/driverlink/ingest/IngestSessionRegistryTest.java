@@ -0,0 +1,61 @@
+package com.driverlink.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.driverlink.exception.TooManyRequestsException;
+import com.driverlink.ingest.IngestSessionRegistry.OpenedSession;
+import com.driverlink.security.JwtService;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IngestSessionRegistryTest {
+
+  private IngestSessionRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    JwtService jwtService = mock(JwtService.class);
+    when(jwtService.deriveKey(anyString(), anyString()))
+        .thenAnswer(inv -> (inv.getArgument(0, String.class) + "-key-material-32b").getBytes());
+    when(jwtService.getExpiration(anyString()))
+        .thenReturn(new Date(System.currentTimeMillis() + 60_000));
+    registry = new IngestSessionRegistry(jwtService, 2);
+  }
+
+  @Test
+  void whenDriverOpensAgain_thenPreviousSessionIsReplaced() {
+    OpenedSession first = registry.open(1, "token1");
+    OpenedSession second = registry.open(1, "token2");
+    long now = System.currentTimeMillis();
+
+    assertThat(registry.find(first.session().sessionId(), now)).isNull();
+    assertThat(registry.find(second.session().sessionId(), now)).isEqualTo(second.session());
+    // The replaced session's slot is not held, so a second driver still fits
+    assertThat(registry.open(2, "token3").session().userId()).isEqualTo(2);
+  }
+
+  @Test
+  void whenEverySlotIsLive_thenOpenIsRejectedAsTooManyRequests() {
+    registry.open(1, "token1");
+    registry.open(2, "token2");
+
+    assertThatThrownBy(() -> registry.open(3, "token3"))
+        .isInstanceOf(TooManyRequestsException.class);
+  }
+
+  @Test
+  void whenTokensRevoked_thenSessionIsClosedAndSlotFreed() {
+    OpenedSession opened = registry.open(1, "token1");
+    registry.open(2, "token2");
+
+    registry.onTokensRevoked(1);
+
+    assertThat(registry.find(opened.session().sessionId(), System.currentTimeMillis())).isNull();
+    assertThat(registry.open(3, "token3").session().userId()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,250 @@
+package com.driverlink.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.IncidentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class LeaderboardIndexTest {
+  private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 12, 30);
+
+  private MutableClock clock;
+  private LeaderboardIndex index;
+
+  @BeforeEach
+  void setUp() {
+    IncidentRepository incidentRepository = mock(IncidentRepository.class);
+    when(incidentRepository.findReporterAndCityById(100L))
+        .thenReturn(List.<Object[]>of(new Object[] {7L, "Johannesburg"}));
+    when(incidentRepository.findReporterAndCityById(200L))
+        .thenReturn(List.<Object[]>of(new Object[] {8L, "Cape Town"}));
+    clock = new MutableClock();
+    index =
+        new LeaderboardIndex(
+            incidentRepository,
+            mock(JdbcTemplate.class),
+            new ObjectMapper().findAndRegisterModules(),
+            clock,
+            5,
+            1000);
+  }
+
+  @Test
+  void whenIncidentsAreVerifiedAndUpvoted_thenReportersAreRankedGloballyAndPerCity() {
+    index.onOutboxEvents(
+        List.of(
+            verified(7L, "Johannesburg"),
+            vote("CREATED", 200L, 1L, "UPVOTE", null),
+            vote("CREATED", 200L, 2L, "UPVOTE", null),
+            vote("CREATED", 200L, 3L, "UPVOTE", null)));
+
+    List<Standing> global = index.top(LeaderboardWindow.WEEK, null, 10);
+    assertEquals(List.of(7L, 8L), global.stream().map(Standing::userId).toList());
+    assertEquals(new Standing(8L, 2, 0, 3, 3), index.standing(LeaderboardWindow.DAY, null, 8L));
+    assertEquals(1, index.standing(LeaderboardWindow.ALL_TIME, "cape town", 8L).rank());
+    assertEquals(1, index.top(LeaderboardWindow.DAY, " JOHANNESBURG", 10).size());
+    assertNull(index.standing(LeaderboardWindow.WEEK, "Johannesburg", 8L));
+  }
+
+  @Test
+  void whenUpvoteIsOwnOrChangedAway_thenItDoesNotCount() {
+    index.onOutboxEvents(
+        List.of(
+            vote("CREATED", 100L, 7L, "UPVOTE", null),
+            vote("CREATED", 100L, 1L, "UPVOTE", null),
+            vote("CREATED", 100L, 2L, "UPVOTE", null),
+            vote("UPDATED", 100L, 2L, "DOWNVOTE", "UPVOTE")));
+
+    assertEquals(1, index.standing(LeaderboardWindow.WEEK, null, 7L).upvotesReceived());
+  }
+
+  @Test
+  void whenDayPasses_thenDailyBoardRollsOverAndLongerWindowsKeepCounts() {
+    index.onOutboxEvents(List.of(vote("CREATED", 100L, 1L, "UPVOTE", null)));
+
+    clock.advance(Duration.ofHours(23));
+    index.roll();
+    assertNotNull(index.standing(LeaderboardWindow.DAY, null, 7L));
+
+    clock.advance(Duration.ofHours(1));
+    index.roll();
+    assertNull(index.standing(LeaderboardWindow.DAY, null, 7L));
+    assertNotNull(index.standing(LeaderboardWindow.WEEK, null, 7L));
+    assertNotNull(index.standing(LeaderboardWindow.ALL_TIME, "Johannesburg", 7L));
+  }
+
+  @Test
+  void whenExpiredUpvoteIsWithdrawn_thenOnlyWindowsStillCountingItLoseIt() {
+    index.onOutboxEvents(
+        List.of(
+            vote("CREATED", 100L, 1L, "UPVOTE", null), vote("CREATED", 100L, 2L, "UPVOTE", null)));
+    clock.advance(Duration.ofDays(2));
+
+    index.onOutboxEvents(List.of(vote("DELETED", 100L, 1L, "UPVOTE", null)));
+    index.onOutboxEvents(List.of(vote("CREATED", 100L, 3L, "UPVOTE", null)));
+
+    assertEquals(1, index.standing(LeaderboardWindow.DAY, null, 7L).upvotesReceived());
+    assertEquals(2, index.standing(LeaderboardWindow.WEEK, null, 7L).upvotesReceived());
+    assertEquals(2, index.standing(LeaderboardWindow.ALL_TIME, null, 7L).upvotesReceived());
+  }
+
+  @Test
+  void whenVerifiedIncidentIsResolved_thenItIsNotCountedTwice() {
+    index.onOutboxEvents(
+        List.of(
+            verified(7L, "Johannesburg"),
+            statusChanged(100L, 7L, "Johannesburg", "VERIFIED", "RESOLVED")));
+
+    assertEquals(1, index.standing(LeaderboardWindow.WEEK, null, 7L).verifiedIncidents());
+  }
+
+  @Test
+  void whenIncidentLeavesVerified_thenItIsWithdrawnFromTheBucketItWasCreditedTo() {
+    index.onOutboxEvents(List.of(verified(7L, "Johannesburg")));
+    clock.advance(Duration.ofHours(3));
+    index.onOutboxEvents(List.of(vote("CREATED", 100L, 1L, "UPVOTE", null)));
+
+    index.onOutboxEvents(
+        List.of(statusChanged(100L, 7L, "Johannesburg", "VERIFIED", "REJECTED")));
+    assertEquals(0, index.standing(LeaderboardWindow.DAY, null, 7L).verifiedIncidents());
+
+    // Had the withdrawal landed in a later bucket, the expired credit would leave it negative
+    clock.advance(Duration.ofHours(22));
+    index.roll();
+    assertEquals(0, index.standing(LeaderboardWindow.DAY, null, 7L).verifiedIncidents());
+    assertEquals(0, index.standing(LeaderboardWindow.ALL_TIME, null, 7L).verifiedIncidents());
+  }
+
+  @Test
+  void whenVerificationIsDeliveredLate_thenItIsCreditedAtTheVerificationTime() {
+    LocalDateTime verifiedAt = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+    clock.advance(Duration.ofHours(5));
+    index.onOutboxEvents(
+        List.of(statusChanged(100L, 7L, "Johannesburg", "PENDING", "VERIFIED", verifiedAt)));
+
+    // Credited in the bucket a reload would put it in, so it expires a day after verification
+    clock.advance(Duration.ofHours(19));
+    index.roll();
+    assertNull(index.standing(LeaderboardWindow.DAY, null, 7L));
+    assertEquals(1, index.standing(LeaderboardWindow.WEEK, null, 7L).verifiedIncidents());
+  }
+
+  @Test
+  void whenUpvoteChangedInAndOutLater_thenBothHitTheSameBucket() {
+    LocalDateTime castAt = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+    clock.advance(Duration.ofHours(5));
+    index.onOutboxEvents(List.of(vote("UPDATED", 100L, 1L, "UPVOTE", "DOWNVOTE", castAt)));
+    clock.advance(Duration.ofHours(5));
+    index.onOutboxEvents(List.of(vote("UPDATED", 100L, 1L, "DOWNVOTE", "UPVOTE", castAt)));
+
+    // The bucket of the cast expires first; a mismatched withdrawal would leave -1 behind
+    clock.advance(Duration.ofHours(15));
+    index.roll();
+    assertNull(index.standing(LeaderboardWindow.DAY, null, 7L));
+    assertNull(index.standing(LeaderboardWindow.WEEK, null, 7L));
+  }
+
+  @Test
+  void whenContentIsDeletedInBulk_thenBoardsAreReloadedOnTheNextRoll() {
+    index.onOutboxEvents(List.of(vote("CREATED", 100L, 1L, "UPVOTE", null)));
+
+    index.onOutboxEvents(
+        List.of(new OutboxEvent("lifecycle", 7L, "DEACTIVATED", "{\"scope\":\"USER\"}")));
+    assertNotNull(index.standing(LeaderboardWindow.ALL_TIME, null, 7L));
+
+    // The database no longer has the upvote
+    index.roll();
+    assertNull(index.standing(LeaderboardWindow.ALL_TIME, null, 7L));
+    assertTrue(index.top(LeaderboardWindow.DAY, null, 10).isEmpty());
+  }
+
+  private OutboxEvent verified(long reporterId, String city) {
+    return statusChanged(100L, reporterId, city, "PENDING", "VERIFIED");
+  }
+
+  /** A status change written now; an incident entering verified was verified now. */
+  private OutboxEvent statusChanged(
+      long incidentId, long reporterId, String city, String previousStatus, String status) {
+    LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+    boolean verified = "VERIFIED".equals(status) || "RESOLVED".equals(status);
+    return statusChanged(
+        incidentId, reporterId, city, previousStatus, status, verified ? now : null);
+  }
+
+  private OutboxEvent statusChanged(
+      long incidentId,
+      long reporterId,
+      String city,
+      String previousStatus,
+      String status,
+      LocalDateTime verifiedAt) {
+    return new OutboxEvent(
+        "incident",
+        incidentId,
+        "STATUS_CHANGED",
+        "{\"id\":" + incidentId + ",\"reporterId\":" + reporterId
+            + ",\"status\":\"" + status + "\",\"previousStatus\":\"" + previousStatus + "\","
+            + (verifiedAt == null ? "" : "\"verifiedAt\":\"" + verifiedAt + "\",")
+            + "\"location\":{\"city\":\"" + city + "\"}}");
+  }
+
+  /** A vote event written now; votes other than new ones were cast at the start of the test. */
+  private OutboxEvent vote(
+      String type, long incidentId, long userId, String voteType, String previousVoteType) {
+    LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+    return vote(
+        type, incidentId, userId, voteType, previousVoteType, "CREATED".equals(type) ? now : START);
+  }
+
+  private OutboxEvent vote(
+      String type,
+      long incidentId,
+      long userId,
+      String voteType,
+      String previousVoteType,
+      LocalDateTime createdAt) {
+    LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+    return new OutboxEvent(
+        "vote",
+        1L,
+        type,
+        "{\"incidentId\":" + incidentId + ",\"userId\":" + userId
+            + ",\"voteType\":\"" + voteType + "\""
+            + (previousVoteType == null ? "" : ",\"previousVoteType\":\"" + previousVoteType + "\"")
+            + ",\"createdAt\":\"" + createdAt + "\",\"updatedAt\":\"" + now + "\"}");
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = START.atZone(ZoneId.systemDefault()).toInstant();
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.systemDefault();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.driverlink.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RankedBoardTest {
+
+  @Test
+  void whenPointsChange_thenRanksFollow() {
+    RankedBoard board = new RankedBoard(5);
+    board.add(1L, 0, 3);
+    board.add(2L, 1, 0);
+    board.add(3L, 0, 3);
+
+    assertEquals(List.of(2L, 1L, 3L), board.top(10).stream().map(Standing::userId).toList());
+    assertEquals(new Standing(3L, 3, 0, 3, 3), board.standing(3L));
+
+    board.add(3L, 0, 4);
+
+    assertEquals(1, board.standing(3L).rank());
+    assertEquals(List.of(3L, 2L), board.top(2).stream().map(Standing::userId).toList());
+  }
+
+  @Test
+  void whenCountsReturnToZero_thenUserLeavesTheBoard() {
+    RankedBoard board = new RankedBoard(5);
+    board.add(1L, 1, 2);
+    board.add(1L, -1, -2);
+
+    assertNull(board.standing(1L));
+    assertTrue(board.isEmpty());
+    assertEquals(List.of(), board.top(10));
+  }
+
+  @Test
+  void randomUpdates_MatchSortedOrder() {
+    RankedBoard board = new RankedBoard(5);
+    Map<Long, long[]> counts = new HashMap<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 20_000; i++) {
+      long userId = random.nextInt(500);
+      long verified = random.nextInt(10) == 0 ? 1 : 0;
+      long upvotes = random.nextInt(3) - (counts.containsKey(userId) ? 1 : 0);
+      long[] c = counts.computeIfAbsent(userId, id -> new long[2]);
+      if (c[0] + verified < 0 || c[1] + upvotes < 0) {
+        continue;
+      }
+      c[0] += verified;
+      c[1] += upvotes;
+      if (c[0] == 0 && c[1] == 0) {
+        counts.remove(userId);
+      }
+      board.add(userId, verified, upvotes);
+    }
+
+    List<Long> expected = new ArrayList<>(counts.keySet());
+    expected.sort(
+        Comparator.<Long>comparingLong(id -> -(counts.get(id)[0] * 5 + counts.get(id)[1]))
+            .thenComparingLong(id -> id));
+    assertEquals(expected.size(), board.size());
+    assertEquals(expected, board.top(expected.size() + 1).stream().map(Standing::userId).toList());
+    for (int rank = 1; rank <= expected.size(); rank++) {
+      assertEquals(rank, board.standing(expected.get(rank - 1)).rank());
+    }
+  }
+}
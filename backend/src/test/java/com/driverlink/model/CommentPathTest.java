@@ -0,0 +1,61 @@
+package com.driverlink.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CommentPathTest {
+
+  @Test
+  void segmentsAreZeroPaddedToAFixedWidth() {
+    String root = CommentPath.of(null, 42L);
+    String reply = CommentPath.of(root, 7L);
+
+    assertEquals("0000000000000000042", root);
+    assertEquals(CommentPath.SEGMENT_LENGTH * 2, reply.length());
+    assertTrue(reply.startsWith(root));
+    assertEquals(Long.toString(Long.MAX_VALUE), CommentPath.of(null, Long.MAX_VALUE));
+  }
+
+  @Test
+  void deepestPathFitsTheColumn() {
+    String path = null;
+    for (int depth = 0; depth <= CommentPath.MAX_DEPTH; depth++) {
+      path = CommentPath.of(path, Long.MAX_VALUE);
+    }
+    assertTrue(path.length() <= 400);
+  }
+
+  @Test
+  void sortingByPathWalksTheThreadDepthFirst() {
+    String first = CommentPath.of(null, 5L);
+    String firstReply = CommentPath.of(first, 90L);
+    String nestedReply = CommentPath.of(firstReply, 91L);
+    String secondReply = CommentPath.of(first, 100L);
+    String second = CommentPath.of(null, 12L);
+    List<String> paths =
+        new ArrayList<>(List.of(second, secondReply, nestedReply, first, firstReply));
+
+    Collections.sort(paths);
+
+    assertEquals(List.of(first, firstReply, nestedReply, secondReply, second), paths);
+  }
+
+  @Test
+  void upperBoundClosesTheSubtreeRange() {
+    String parent = CommentPath.of(null, 5L);
+    String bound = CommentPath.upperBound(parent);
+
+    assertTrue(CommentPath.of(CommentPath.of(parent, Long.MAX_VALUE), 1L).compareTo(bound) < 0);
+    assertTrue(CommentPath.of(null, 6L).compareTo(bound) >= 0);
+    assertEquals("0000000000000000200", CommentPath.upperBound("0000000000000000199"));
+  }
+
+  @Test
+  void allNinesHaveNoUpperBound() {
+    assertThrows(IllegalStateException.class, () -> CommentPath.upperBound("999"));
+  }
+}
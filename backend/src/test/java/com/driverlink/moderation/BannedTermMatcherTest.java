@@ -0,0 +1,59 @@
+package com.driverlink.moderation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BannedTermMatcherTest {
+
+  private BannedTermMatcher matcher;
+
+  @BeforeEach
+  void setUp() {
+    matcher = BannedTermMatcher.compile(List.of("shit", "idiot*", "son of a bitch", "ass"));
+  }
+
+  @Test
+  void whenTextContainsWholeWordTerm_thenItMatches() {
+    assertTrue(matcher.matches("Traffic is a total shit show"));
+    assertTrue(matcher.matches("Ass."));
+  }
+
+  @Test
+  void whenTermIsOnlyPartOfAWord_thenItDoesNotMatch() {
+    assertFalse(matcher.matches("Road closed near the class assignment venue"));
+    assertFalse(matcher.matches("Shitake mushrooms truck overturned"));
+  }
+
+  @Test
+  void whenTermHasPrefixWildcard_thenLongerWordsMatch() {
+    assertTrue(matcher.matches("Some IDIOTS are driving on the shoulder"));
+  }
+
+  @Test
+  void whenTextUsesLeetspeakAccentsOrLookalikes_thenItStillMatches() {
+    assertTrue(matcher.matches("sh1t"));
+    assertTrue(matcher.matches("$h!t happens"));
+    assertTrue(matcher.matches("what an ídíót"));
+    assertTrue(matcher.matches("ѕhit")); // Cyrillic dze in place of s
+  }
+
+  @Test
+  void whenMultiWordTermIsSplitByPunctuation_thenItMatches() {
+    assertTrue(matcher.matches("Son...of   a B!tch!"));
+  }
+
+  @Test
+  void whenTextIsClean_thenNothingMatches() {
+    assertFalse(matcher.matches("Accident on the N1 northbound, two lanes closed. Hello!"));
+    assertFalse(matcher.matches(null));
+    assertTrue(matcher.findAll("Accident on the N1").isEmpty());
+  }
+
+  @Test
+  void whenSeveralTermsMatch_thenFindAllReturnsEachOnce() {
+    assertEquals(List.of("shit", "ass"), matcher.findAll("shit, shit and ass"));
+  }
+}
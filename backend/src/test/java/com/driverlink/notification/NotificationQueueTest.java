@@ -0,0 +1,116 @@
+package com.driverlink.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.driverlink.model.IncidentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NotificationQueueTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private NotificationQueue queue;
+
+  @AfterEach
+  void tearDown() {
+    queue.stop();
+  }
+
+  @Test
+  void whenAlertsArriveWithinWindow_thenFirstIsImmediateAndRestAreCoalesced() throws Exception {
+    InMemoryNotificationSender sender = new InMemoryNotificationSender();
+    queue = queue(sender, 300, 5);
+
+    queue.enqueue(alert(1L, IncidentType.TRAFFIC));
+    awaitUntil(() -> sender.getSent().size() == 1);
+    queue.enqueue(alert(1L, IncidentType.TRAFFIC));
+    queue.enqueue(alert(1L, IncidentType.CRIME));
+
+    assertThat(sender.getSent()).hasSize(1);
+    awaitUntil(() -> sender.getSent().size() == 2);
+    Digest digest = sender.getSent().get(1);
+    assertThat(digest.getNotifications())
+        .extracting(Notification::getIncidentType)
+        .containsExactly(IncidentType.CRIME, IncidentType.TRAFFIC);
+    awaitUntil(() -> queue.size() == 0);
+    assertThat(meterRegistry.get("notifications.delivered").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void whenAlertsAreForDifferentUsers_thenEachIsSentImmediately() throws Exception {
+    InMemoryNotificationSender sender = new InMemoryNotificationSender();
+    queue = queue(sender, 60_000, 5);
+
+    queue.enqueue(alert(1L, IncidentType.TRAFFIC));
+    queue.enqueue(alert(2L, IncidentType.TRAFFIC));
+
+    awaitUntil(() -> sender.getSent().size() == 2);
+  }
+
+  @Test
+  void whenSenderFails_thenBatchIsRetriedWithBackoff() throws Exception {
+    InMemoryNotificationSender delegate = new InMemoryNotificationSender();
+    AtomicInteger calls = new AtomicInteger();
+    queue =
+        queue(
+            batch -> {
+              if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("provider down");
+              }
+              delegate.send(batch);
+            },
+            0,
+            5);
+
+    queue.enqueue(alert(1L, IncidentType.ACCIDENT));
+
+    awaitUntil(() -> delegate.getSent().size() == 1);
+    assertThat(calls.get()).isEqualTo(3);
+    assertThat(meterRegistry.get("notifications.retried").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void whenAttemptsExhausted_thenAlertIsGivenUp() throws Exception {
+    queue =
+        queue(
+            batch -> {
+              throw new IllegalStateException("provider down");
+            },
+            0,
+            2);
+
+    queue.enqueue(alert(1L, IncidentType.OTHER));
+
+    awaitUntil(() -> queue.size() == 0);
+    assertThat(meterRegistry.get("notifications.failed").counter().count()).isEqualTo(1);
+  }
+
+  private NotificationQueue queue(NotificationSender sender, long windowMs, int maxAttempts) {
+    return new NotificationQueue(sender, meterRegistry, 100, 1, windowMs, 10, maxAttempts, 10, 50);
+  }
+
+  private static Notification alert(Long userId, IncidentType type) {
+    return Notification.builder()
+        .userId(userId)
+        .incidentId(1L)
+        .incidentType(type)
+        .title(type + " in zone")
+        .message("details")
+        .createdAt(Instant.now())
+        .build();
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Condition not met in time");
+      }
+      Thread.sleep(10);
+    }
+  }
+}
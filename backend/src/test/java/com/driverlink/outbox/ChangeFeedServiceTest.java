@@ -0,0 +1,73 @@
+package com.driverlink.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.driverlink.dto.ChangeFeedDTO;
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.OutboxEventRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+
+  private ChangeFeedService changeFeedService;
+
+  @BeforeEach
+  void setUp() {
+    changeFeedService = new ChangeFeedService(outboxEventRepository, 25_000, 100);
+  }
+
+  @Test
+  void whenChangesExist_thenPageIsReturnedImmediately() {
+    when(outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(anyLong(), any()))
+        .thenReturn(List.of(event(4), event(5)));
+
+    DeferredResult<ChangeFeedDTO> result = changeFeedService.getChanges(3, 10);
+
+    ChangeFeedDTO feed = (ChangeFeedDTO) result.getResult();
+    assertThat(feed.getChanges()).hasSize(2);
+    assertThat(feed.getNext()).isEqualTo(5);
+  }
+
+  @Test
+  void whenAtHead_thenRequestIsCompletedByNextBatch() {
+    when(outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(anyLong(), any()))
+        .thenReturn(List.of());
+
+    DeferredResult<ChangeFeedDTO> result = changeFeedService.getChanges(5, 10);
+    assertThat(result.hasResult()).isFalse();
+
+    changeFeedService.onOutboxEvents(List.of(event(6), event(7)));
+
+    ChangeFeedDTO feed = (ChangeFeedDTO) result.getResult();
+    assertThat(feed.getChanges()).extracting("position").containsExactly(6L, 7L);
+    assertThat(feed.getNext()).isEqualTo(7);
+  }
+
+  @Test
+  void whenCursorWasPruned_thenResetIsRequired() {
+    when(outboxEventRepository.findCursor(ChangeFeedService.PRUNED_CURSOR)).thenReturn(100L);
+
+    ChangeFeedDTO feed = (ChangeFeedDTO) changeFeedService.getChanges(42, 10).getResult();
+
+    assertThat(feed.isResetRequired()).isTrue();
+    assertThat(feed.getNext()).isEqualTo(100);
+  }
+
+  private static OutboxEvent event(long position) {
+    OutboxEvent event = new OutboxEvent("incident", position, "CREATED", "{}");
+    event.setPosition(position);
+    return event;
+  }
+}
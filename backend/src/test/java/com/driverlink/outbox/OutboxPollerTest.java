@@ -0,0 +1,127 @@
+package com.driverlink.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.driverlink.model.OutboxEvent;
+import com.driverlink.repository.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class OutboxPollerTest {
+
+  /** The outbox table and cursors, behind the repository's queries. */
+  private final List<OutboxEvent> rows = new ArrayList<>();
+  private final Map<String, Long> cursors = new HashMap<>();
+  private final List<Long> delivered = new ArrayList<>();
+
+  private OutboxPoller poller;
+  private OutboxCompactor compactor;
+
+  @BeforeEach
+  void setUp() {
+    OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    when(repository.tryAdvisoryLock(anyLong())).thenReturn(true);
+    when(repository.findMaxPosition())
+        .thenAnswer(
+            invocation ->
+                rows.stream()
+                    .filter(row -> row.getPosition() != null)
+                    .mapToLong(OutboxEvent::getPosition)
+                    .max()
+                    .orElse(0));
+    when(repository.findCursor(anyString()))
+        .thenAnswer(invocation -> cursors.get(invocation.<String>getArgument(0)));
+    when(repository.saveCursor(anyString(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              cursors.put(invocation.getArgument(0), invocation.getArgument(1));
+              return 1;
+            });
+    when(repository.assignPositions(anyLong(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              long base = invocation.getArgument(0);
+              int stamped = 0;
+              for (OutboxEvent row : rows) {
+                if (row.getPosition() == null) {
+                  row.setPosition(base + ++stamped);
+                }
+              }
+              return stamped;
+            });
+    when(repository.findByPositionGreaterThanOrderByPositionAsc(anyLong(), any(Pageable.class)))
+        .thenAnswer(
+            invocation -> {
+              long after = invocation.getArgument(0);
+              return rows.stream()
+                  .filter(row -> row.getPosition() != null && row.getPosition() > after)
+                  .sorted(Comparator.comparing(OutboxEvent::getPosition))
+                  .toList();
+            });
+    when(repository.findMaxPositionCreatedBefore(any(LocalDateTime.class)))
+        .thenAnswer(
+            invocation -> {
+              LocalDateTime before = invocation.getArgument(0);
+              return rows.stream()
+                  .filter(row -> row.getPosition() != null && row.getCreatedAt().isBefore(before))
+                  .map(OutboxEvent::getPosition)
+                  .max(Long::compare)
+                  .orElse(null);
+            });
+    when(repository.deleteUpToPosition(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              long position = invocation.getArgument(0);
+              int before = rows.size();
+              rows.removeIf(row -> row.getPosition() != null && row.getPosition() <= position);
+              return before - rows.size();
+            });
+
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    OutboxEventListener listener =
+        events -> events.forEach(event -> delivered.add(event.getPosition()));
+    poller = new OutboxPoller(repository, List.of(listener), transactionManager, 500);
+    poller.init();
+    compactor = new OutboxCompactor(repository, 3_600_000, 60_000);
+  }
+
+  @Test
+  void positionsKeepIncreasingAfterPruningEmptiesTheOutbox() {
+    append(LocalDateTime.now().minusDays(1));
+    append(LocalDateTime.now().minusDays(1));
+    poller.poll();
+    assertThat(delivered).containsExactly(1L, 2L);
+
+    compactor.compactAndPrune();
+    assertThat(rows).isEmpty();
+
+    append(LocalDateTime.now());
+    poller.poll();
+
+    assertThat(rows.get(0).getPosition()).isEqualTo(3L);
+    assertThat(delivered).containsExactly(1L, 2L, 3L);
+  }
+
+  private void append(LocalDateTime createdAt) {
+    OutboxEvent event = new OutboxEvent("incident", 1L, "UPDATED", "{}");
+    event.setId((long) rows.size() + 1);
+    event.setCreatedAt(createdAt);
+    rows.add(event);
+  }
+}
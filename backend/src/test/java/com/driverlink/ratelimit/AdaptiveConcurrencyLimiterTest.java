@@ -0,0 +1,77 @@
+package com.driverlink.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private RequestLimitProperties.Concurrency settings;
+
+  @BeforeEach
+  void setUp() {
+    settings = new RequestLimitProperties.Concurrency();
+    settings.setInitialLimit(20);
+    settings.setMinLimit(5);
+    settings.setMaxLimit(100);
+  }
+
+  @Test
+  void whenLimitReached_thenFurtherRequestsAreRefused() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+    for (int i = 0; i < 20; i++) {
+      assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+    }
+
+    assertFalse(limiter.tryAcquire(RequestPriority.HIGH));
+    limiter.release();
+    assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+  }
+
+  @Test
+  void whenNearLimit_thenLowPriorityIsRefusedFirst() {
+    settings.setLowPriorityShare(0.5);
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+    }
+
+    assertFalse(limiter.tryAcquire(RequestPriority.LOW));
+    assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+  }
+
+  @Test
+  void whenLatencyStaysFlatUnderLoad_thenLimitGrows() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+    runAtLimit(limiter, 50, 10);
+
+    assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+  }
+
+  @Test
+  void whenLatencyRisesUnderLoad_thenLimitShrinks() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+    runAtLimit(limiter, 5, 10);
+    int before = limiter.getLimit();
+
+    runAtLimit(limiter, 20, 80);
+
+    assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+  }
+
+  /** Fills every slot, then completes them all with the given latency, for several rounds. */
+  private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, int rounds, long latencyMs) {
+    for (int round = 0; round < rounds; round++) {
+      int acquired = 0;
+      while (limiter.tryAcquire(RequestPriority.HIGH)) {
+        acquired++;
+      }
+      for (int i = 0; i < acquired; i++) {
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.driverlink.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.driverlink.ratelimit.RateLimitProperties.Limit;
+import com.driverlink.ratelimit.RequestLimitProperties.RouteGroup;
+import com.driverlink.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class RequestLimitFilterTest {
+
+  private AtomicLong clock;
+  private SimpleMeterRegistry meterRegistry;
+  private RequestLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    RequestLimitProperties properties = new RequestLimitProperties();
+    properties.setRoutes(
+        List.of(
+            new RouteGroup(
+                "incidents",
+                List.of("/api/incidents", "/api/incidents/**"),
+                RequestPriority.LOW,
+                new Limit(2, Duration.ofMinutes(1)),
+                new Limit(1, Duration.ofMinutes(1)))));
+    clock = new AtomicLong();
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new RequestLimitFilter(properties, meterRegistry, clock::get);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void whenAnonymousClientExceedsRouteBudget_thenRequestIsRejectedWith429() throws Exception {
+    assertEquals(200, call("/api/api/incidents/nearby", "10.0.0.1").getStatus());
+
+    MockHttpServletResponse rejected = call("/api/api/incidents/nearby", "10.0.0.1");
+
+    assertEquals(429, rejected.getStatus());
+    assertEquals("60", rejected.getHeader("Retry-After"));
+    assertEquals(200, call("/api/api/incidents/nearby", "10.0.0.2").getStatus());
+    assertEquals(200, call("/api/api/users/me", "10.0.0.1").getStatus());
+  }
+
+  @Test
+  void whenUserIsAuthenticated_thenRequestsAreChargedToTheUser() throws Exception {
+    UserPrincipal user = UserPrincipal.builder().id(7L).username("driver").build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+    assertEquals(200, call("/api/api/incidents", "10.0.0.1").getStatus());
+    assertEquals(200, call("/api/api/incidents/5", "10.0.0.1").getStatus());
+    assertEquals(429, call("/api/api/incidents", "10.0.0.2").getStatus());
+  }
+
+  @Test
+  void whenDefaultRoutesAreUsed_thenIncidentAndAuthEndpointsGetTheirOwnGroups() throws Exception {
+    filter = new RequestLimitFilter(new RequestLimitProperties(), meterRegistry, clock::get);
+
+    exhaust("/api/api/incidents/nearby", "10.0.1.1");
+    exhaust("/api/api/incidents/42", "10.0.1.2");
+    exhaust("/api/auth/availability", "10.0.1.3");
+
+    assertEquals(1, rejections("incidents-nearby"));
+    assertEquals(1, rejections("incidents"));
+    assertEquals(1, rejections("availability"));
+    assertEquals(0, rejections("default"));
+  }
+
+  /** Calls the URI from one address until the first rejection. */
+  private void exhaust(String uri, String remoteAddr) throws Exception {
+    for (int i = 0; i < 1_000; i++) {
+      if (call(uri, remoteAddr).getStatus() == 429) {
+        return;
+      }
+    }
+    fail(uri + " was never limited");
+  }
+
+  private double rejections(String group) {
+    return meterRegistry.counter("requests.rejected", "group", group, "reason", "client").count();
+  }
+
+  private MockHttpServletResponse call(String uri, String remoteAddr) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+    request.setContextPath("/api");
+    request.setRemoteAddr(remoteAddr);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+}
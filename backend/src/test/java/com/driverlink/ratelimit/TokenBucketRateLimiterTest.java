@@ -0,0 +1,69 @@
+package com.driverlink.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+  private AtomicLong clock;
+  private TokenBucketRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    clock = new AtomicLong();
+    rateLimiter = new TokenBucketRateLimiter(new RateLimitProperties(), clock::get);
+  }
+
+  @Test
+  void whenPerTargetLimitExhausted_thenFurtherCommentsAreRejected() {
+    for (int i = 0; i < 3; i++) {
+      assertTrue(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L));
+    }
+
+    assertFalse(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L));
+  }
+
+  @Test
+  void whenPerTargetLimitExhausted_thenOtherTargetsAndUsersAreUnaffected() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L);
+    }
+
+    assertTrue(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 11L));
+    assertTrue(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 2L, 10L));
+  }
+
+  @Test
+  void whenTimePasses_thenTokensAreRefilled() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L);
+    }
+
+    clock.addAndGet(Duration.ofSeconds(20).toNanos());
+
+    assertTrue(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L));
+    assertFalse(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 10L));
+  }
+
+  @Test
+  void whenPerUserLimitExhausted_thenAllTargetsAreRejected() {
+    for (long incidentId = 0; incidentId < 10; incidentId++) {
+      assertTrue(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, incidentId));
+    }
+
+    assertFalse(rateLimiter.tryAcquire(RateLimitAction.COMMENT, 1L, 99L));
+  }
+
+  @Test
+  void whenActionHasNoTarget_thenOnlyPerUserLimitApplies() {
+    for (int i = 0; i < 5; i++) {
+      assertTrue(rateLimiter.tryAcquire(RateLimitAction.INCIDENT_REPORT, 1L, null));
+    }
+
+    assertFalse(rateLimiter.tryAcquire(RateLimitAction.INCIDENT_REPORT, 1L, null));
+  }
+}
@@ -0,0 +1,52 @@
+package com.driverlink.reputation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongDoubleHashMapTest {
+
+  @Test
+  void whenManyKeysAreAdded_thenMapGrowsAndKeepsEveryValue() {
+    LongDoubleHashMap map = new LongDoubleHashMap();
+    Map<Long, Double> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      long key = random.nextInt(5_000) - 100;
+      double delta = random.nextDouble();
+      map.add(key, delta);
+      expected.merge(key, delta, Double::sum);
+    }
+
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key), 1e-9));
+    Map<Long, Double> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(expected.keySet(), visited.keySet());
+  }
+
+  @Test
+  void whenKeyIsMissing_thenValueIsZero() {
+    LongDoubleHashMap map = new LongDoubleHashMap();
+    map.put(0L, 2.5);
+
+    assertEquals(2.5, map.get(0L));
+    assertEquals(0.0, map.get(1L));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void scale_MultipliesEveryValue() {
+    LongDoubleHashMap map = new LongDoubleHashMap();
+    map.put(0L, 2);
+    map.put(Long.MAX_VALUE, 4);
+
+    map.scale(0.5);
+
+    assertEquals(1.0, map.get(0L));
+    assertEquals(2.0, map.get(Long.MAX_VALUE));
+  }
+}
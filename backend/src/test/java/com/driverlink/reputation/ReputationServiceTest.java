@@ -0,0 +1,207 @@
+package com.driverlink.reputation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.dto.RatingDTO;
+import com.driverlink.dto.VoteDTO;
+import com.driverlink.event.RatingEvent;
+import com.driverlink.event.VoteEvent;
+import com.driverlink.repository.IncidentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReputationServiceTest {
+  private static final long HALF_LIFE_MS = Duration.ofDays(30).toMillis();
+  private static final long REPORTER_ID = 7L;
+  private static final long INCIDENT_ID = 100L;
+
+  @Mock private IncidentRepository incidentRepository;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Captor private ArgumentCaptor<List<Object[]>> rows;
+
+  private MutableClock clock;
+  private ReputationService reputationService;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock();
+    when(incidentRepository.findReporterIdById(INCIDENT_ID)).thenReturn(Optional.of(REPORTER_ID));
+    reputationService =
+        new ReputationService(
+            incidentRepository,
+            jdbcTemplate,
+            new SimpleMeterRegistry(),
+            clock,
+            HALF_LIFE_MS,
+            10,
+            1000);
+  }
+
+  @Test
+  void whenIncidentIsUpvotedAndRated_thenReporterGainsReputation() {
+    reputationService.onVoteEvent(vote(VoteEvent.Type.CREATED, 1L, "UPVOTE", null));
+    reputationService.onRatingEvent(rating(RatingEvent.Type.CREATED, 2L, 5, null));
+
+    assertEquals(2.0, reputationService.getScore(REPORTER_ID));
+    assertTrue(reputationService.getWeight(REPORTER_ID) > 1);
+    assertEquals(0.0, reputationService.getScore(1L));
+    assertEquals(1.0, reputationService.getWeight(1L));
+  }
+
+  @Test
+  void whenReporterVotesOnOwnIncident_thenItIsIgnored() {
+    reputationService.onVoteEvent(vote(VoteEvent.Type.CREATED, REPORTER_ID, "UPVOTE", null));
+
+    assertEquals(0.0, reputationService.getScore(REPORTER_ID));
+  }
+
+  @Test
+  void whenFeedbackChangesOrIsWithdrawn_thenPreviousEvidenceIsRetracted() {
+    reputationService.onVoteEvent(vote(VoteEvent.Type.CREATED, 1L, "UPVOTE", null));
+    reputationService.onVoteEvent(vote(VoteEvent.Type.UPDATED, 1L, "REPORT", "UPVOTE"));
+    assertEquals(-2.0, reputationService.getScore(REPORTER_ID));
+
+    reputationService.onVoteEvent(vote(VoteEvent.Type.DELETED, 1L, "REPORT", null));
+    reputationService.onRatingEvent(rating(RatingEvent.Type.CREATED, 2L, 1, null));
+    reputationService.onRatingEvent(rating(RatingEvent.Type.UPDATED, 2L, 4, 1));
+
+    assertEquals(0.5, reputationService.getScore(REPORTER_ID));
+  }
+
+  @Test
+  void whenHalfLifePasses_thenScoreHalves() {
+    reputationService.record(REPORTER_ID, 8);
+
+    clock.advance(HALF_LIFE_MS);
+    reputationService.record(REPORTER_ID, 2);
+
+    assertEquals(6.0, reputationService.getScore(REPORTER_ID));
+    clock.advance(HALF_LIFE_MS);
+    assertEquals(3.0, reputationService.getScore(REPORTER_ID));
+  }
+
+  @Test
+  void checkpoint_WritesPendingEvidenceDecayedToNowAndReloads() throws Exception {
+    reputationService.record(REPORTER_ID, 4);
+    clock.advance(HALF_LIFE_MS);
+    Timestamp checkpointedAt = new Timestamp(clock.millis());
+    doAnswer(
+            invocation -> {
+              ResultSet rs = mock(ResultSet.class);
+              when(rs.getLong("user_id")).thenReturn(REPORTER_ID);
+              when(rs.getDouble("score")).thenReturn(5.0);
+              when(rs.getTimestamp("updated_at")).thenReturn(checkpointedAt);
+              invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class));
+
+    reputationService.checkpoint();
+
+    verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+    Object[] row = rows.getValue().get(0);
+    assertEquals(REPORTER_ID, row[0]);
+    assertEquals(2.0, (double) row[1], 1e-9);
+    assertEquals(checkpointedAt, row[2]);
+    // The reloaded table also holds another node's evidence
+    assertEquals(5.0, reputationService.getScore(REPORTER_ID));
+  }
+
+  @Test
+  void checkpoint_WhenWriteFails_KeepsEvidencePendingForTheNextCheckpoint() {
+    reputationService.record(REPORTER_ID, 4);
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenThrow(new IllegalStateException("database down"))
+        .thenReturn(new int[] {1});
+
+    reputationService.checkpoint();
+    assertEquals(4.0, reputationService.getScore(REPORTER_ID));
+    reputationService.checkpoint();
+
+    verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+    assertEquals(4.0, (double) rows.getValue().get(0)[1], 1e-9);
+    verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void checkpoint_WhenNothingIsPending_OnlyReloads() {
+    reputationService.checkpoint();
+
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+  }
+
+  private static VoteEvent vote(
+      VoteEvent.Type type, long voterId, String voteType, String previous) {
+    VoteDTO dto = new VoteDTO();
+    dto.setIncidentId(INCIDENT_ID);
+    dto.setUserId(voterId);
+    dto.setVoteType(voteType);
+    return new VoteEvent(type, dto, previous);
+  }
+
+  private static RatingEvent rating(
+      RatingEvent.Type type, long raterId, int value, Integer previous) {
+    RatingDTO dto = new RatingDTO();
+    dto.setIncidentId(INCIDENT_ID);
+    dto.setUserId(raterId);
+    dto.setValue(value);
+    return new RatingEvent(type, dto, previous);
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    void advance(long ms) {
+      millis += ms;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
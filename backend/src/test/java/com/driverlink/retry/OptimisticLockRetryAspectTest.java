@@ -0,0 +1,92 @@
+package com.driverlink.retry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OptimisticLockRetryAspectTest {
+
+  private final ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+  private SimpleMeterRegistry meterRegistry;
+  private OptimisticLockRetryAspect aspect;
+
+  @BeforeEach
+  void setUp() {
+    Signature signature = mock(Signature.class);
+    when(signature.toShortString()).thenReturn("IncidentService.deleteIncident(..)");
+    when(joinPoint.getSignature()).thenReturn(signature);
+    meterRegistry = new SimpleMeterRegistry();
+    aspect = new OptimisticLockRetryAspect(meterRegistry, 3, 0, 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  void conflictIsRetriedUntilAnAttemptSucceeds() throws Throwable {
+    when(joinPoint.proceed()).thenThrow(conflict()).thenThrow(conflict()).thenReturn("updated");
+
+    assertEquals("updated", aspect.retry(joinPoint));
+    verify(joinPoint, times(3)).proceed();
+    assertEquals(
+        2,
+        meterRegistry
+            .counter(
+                "optimistic.lock.conflicts",
+                "method",
+                "IncidentService.deleteIncident(..)",
+                "outcome",
+                "retried")
+            .count());
+  }
+
+  @Test
+  void conflictPropagatesOnceAttemptsRunOut() throws Throwable {
+    when(joinPoint.proceed()).thenThrow(conflict());
+
+    assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint));
+    verify(joinPoint, times(3)).proceed();
+  }
+
+  @Test
+  void otherFailuresAreNotRetried() throws Throwable {
+    when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+    assertThrows(IllegalStateException.class, () -> aspect.retry(joinPoint));
+    verify(joinPoint, times(1)).proceed();
+  }
+
+  @Test
+  void callJoiningAnOuterTransactionIsLeftToTheOuterCaller() throws Throwable {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    when(joinPoint.proceed()).thenThrow(conflict());
+
+    assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint));
+    verify(joinPoint, times(1)).proceed();
+  }
+
+  @Test
+  void backoffIsJitteredWithinAnExponentialCeiling() {
+    OptimisticLockRetryAspect backoff = new OptimisticLockRetryAspect(meterRegistry, 5, 10, 50);
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(backoff.backoffMillis(1) <= 10);
+      assertTrue(backoff.backoffMillis(2) <= 20);
+      assertTrue(backoff.backoffMillis(10) <= 50);
+    }
+  }
+
+  private static ObjectOptimisticLockingFailureException conflict() {
+    return new ObjectOptimisticLockingFailureException("Incident", 1L);
+  }
+}
@@ -0,0 +1,107 @@
+package com.driverlink.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.driverlink.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private SimpleMeterRegistry registry;
+  private ExecutorService callers;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    callers = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    callers.shutdownNow();
+  }
+
+  @Test
+  void whenHasherIsIdle_thenCallsAreDelegated() {
+    BoundedPasswordEncoder encoder =
+        new BoundedPasswordEncoder(passThrough(), registry, 1, 1, 1000);
+
+    assertEquals("{hashed}secret", encoder.encode("secret"));
+    assertTrue(encoder.matches("secret", "{hashed}secret"));
+    assertEquals(
+        1, registry.get("passwords.hash.duration").tag("operation", "encode").timer().count());
+  }
+
+  @Test
+  void whenPoolAndQueueAreFull_thenCallIsRejected() throws Exception {
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), registry, 1, 1, 10_000);
+    callers.submit(() -> encoder.encode("first"));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    callers.submit(() -> encoder.encode("queued"));
+    waitForQueued(encoder);
+
+    assertThrows(TooManyRequestsException.class, () -> encoder.encode("rejected"));
+    assertEquals(1, registry.get("passwords.rejected").counter().count());
+  }
+
+  @Test
+  void whenCallerWaitsPastTimeout_thenCallIsRejected() throws Exception {
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(), registry, 1, 4, 50);
+
+    assertThrows(TooManyRequestsException.class, () -> encoder.encode("slow"));
+  }
+
+  private void waitForQueued(BoundedPasswordEncoder encoder) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (registry.get("passwords.queue.depth").gauge().value() < 1) {
+      assertTrue(System.nanoTime() < deadline, "request never queued");
+      Thread.sleep(5);
+    }
+  }
+
+  private PasswordEncoder passThrough() {
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        return "{hashed}" + rawPassword;
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encodedPassword.equals(encode(rawPassword));
+      }
+    };
+  }
+
+  private PasswordEncoder blocking() {
+    PasswordEncoder passThrough = passThrough();
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return passThrough.encode(rawPassword);
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passThrough.matches(rawPassword, encodedPassword);
+      }
+    };
+  }
+}
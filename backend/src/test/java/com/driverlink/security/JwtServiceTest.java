@@ -7,21 +7,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 class JwtServiceTest {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
 
   private JwtService jwtService;
   private UserDetails userDetails;
 
   @BeforeEach
   void setUp() {
-    jwtService = new JwtService();
-    ReflectionTestUtils.setField(
-        jwtService,
-        "secretKey",
-        "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
-    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
+    jwtService = new JwtService(SECRET, 86400000L, 1000);
 
     userDetails = new User("testuser", "password", new ArrayList<>());
   }
@@ -45,9 +41,28 @@ class JwtServiceTest {
   @Test
   void whenTokenExpired_thenTokenIsInvalid() {
     // Set a very short expiration time
-    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 0L);
+    jwtService = new JwtService(SECRET, 0L, 1000);
     String token = jwtService.generateToken(userDetails);
 
     assertFalse(jwtService.isTokenValid(token, userDetails));
   }
+
+  @Test
+  void whenTokenVerifiedBefore_thenTamperedCopyIsStillRejected() {
+    String token = jwtService.generateToken(userDetails);
+    assertTrue(jwtService.isTokenValid(token, userDetails));
+
+    String tampered = token.substring(0, token.length() - 2) + "xx";
+
+    assertFalse(jwtService.isTokenValid(tampered, userDetails));
+  }
+
+  @Test
+  void whenTokenCached_thenOtherUserIsStillRejected() {
+    String token = jwtService.generateToken(userDetails);
+    assertTrue(jwtService.isTokenValid(token, userDetails));
+
+    assertFalse(
+        jwtService.isTokenValid(token, new User("someoneelse", "password", new ArrayList<>())));
+  }
 }
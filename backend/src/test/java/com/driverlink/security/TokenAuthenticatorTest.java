@@ -0,0 +1,88 @@
+package com.driverlink.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenAuthenticatorTest {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  private JwtService jwtService;
+  private CustomUserDetailsService userDetailsService;
+  private TokenVersionRegistry tokenVersions;
+  private TokenRevocationList revocations;
+  private UserPrincipal principal;
+
+  @BeforeEach
+  void setUp() {
+    jwtService = new JwtService(SECRET, 86400000L, 1000);
+    userDetailsService = mock(CustomUserDetailsService.class);
+    tokenVersions = mock(TokenVersionRegistry.class);
+    revocations = mock(TokenRevocationList.class);
+    principal =
+        UserPrincipal.builder()
+            .id(7L)
+            .username("driver")
+            .authorities(List.of(new SimpleGrantedAuthority("ROLE_MODERATOR")))
+            .tokenVersion(2)
+            .build();
+  }
+
+  @Test
+  void whenClaimsTrusted_thenPrincipalIsBuiltWithoutLoadingUser() {
+    when(tokenVersions.isCurrent(7L, 2)).thenReturn(true);
+    TokenAuthenticator authenticator = authenticator("claims");
+
+    UsernamePasswordAuthenticationToken authentication =
+        authenticator.authenticate(jwtService.generateToken(principal));
+
+    UserPrincipal authenticated = (UserPrincipal) authentication.getPrincipal();
+    assertEquals(7L, authenticated.getId());
+    assertEquals("ROLE_MODERATOR", authentication.getAuthorities().iterator().next().getAuthority());
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  void whenTokenVersionRevoked_thenTokenAuthenticatesNobody() {
+    when(tokenVersions.isCurrent(7L, 2)).thenReturn(false);
+    TokenAuthenticator authenticator = authenticator("claims");
+
+    assertNull(authenticator.authenticate(jwtService.generateToken(principal)));
+  }
+
+  @Test
+  void whenTokenIdRevoked_thenTokenAuthenticatesNobody() {
+    when(tokenVersions.isCurrent(7L, 2)).thenReturn(true);
+    when(revocations.isRevoked("revoked-id")).thenReturn(true);
+    TokenAuthenticator authenticator = authenticator("claims");
+
+    assertNull(authenticator.authenticate(jwtService.generateToken(principal, "revoked-id")));
+    assertNotNull(authenticator.authenticate(jwtService.generateToken(principal, "other-id")));
+  }
+
+  @Test
+  void whenDatabaseMode_thenTokenVersionIsCheckedAgainstLoadedUser() {
+    UserPrincipal current =
+        UserPrincipal.builder()
+            .id(7L)
+            .username("driver")
+            .authorities(List.of())
+            .tokenVersion(3)
+            .build();
+    when(userDetailsService.loadUserById(7L)).thenReturn(current);
+    TokenAuthenticator authenticator = authenticator("database");
+
+    assertNull(authenticator.authenticate(jwtService.generateToken(principal)));
+    verifyNoInteractions(tokenVersions);
+  }
+
+  private TokenAuthenticator authenticator(String mode) {
+    return new TokenAuthenticator(jwtService, userDetailsService, tokenVersions, revocations, mode);
+  }
+}
@@ -0,0 +1,51 @@
+package com.driverlink.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.driverlink.event.UserEvent;
+import com.driverlink.event.UserEvent.Type;
+import com.driverlink.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenVersionRegistryTest {
+
+  private TokenRevocationListener listener;
+  private TokenVersionRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    listener = mock(TokenRevocationListener.class);
+    registry =
+        new TokenVersionRegistry(mock(UserRepository.class), new ObjectMapper(), List.of(listener));
+  }
+
+  @Test
+  void whenTokenVersionBumped_thenListenersAreTold() {
+    registry.onUserEvent(new UserEvent(Type.UPDATED, 7L, "driver", "d@example.com", true, 1));
+
+    assertThat(registry.isCurrent(7, 0)).isFalse();
+    verify(listener).onTokensRevoked(7);
+  }
+
+  @Test
+  void whenUserDeactivated_thenListenersAreTold() {
+    registry.onUserEvent(new UserEvent(Type.UPDATED, 7L, "driver", "d@example.com", false, 0));
+
+    assertThat(registry.isCurrent(7, 0)).isFalse();
+    verify(listener).onTokensRevoked(7);
+  }
+
+  @Test
+  void whenUpdateKeepsTokenVersion_thenListenersAreNotTold() {
+    registry.onUserEvent(new UserEvent(Type.UPDATED, 7L, "driver", "d@example.com", true, 0));
+
+    assertThat(registry.isCurrent(7, 0)).isTrue();
+    verify(listener, never()).onTokensRevoked(7);
+  }
+}
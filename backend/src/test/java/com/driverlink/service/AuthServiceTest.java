@@ -0,0 +1,249 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.LoginRequestDTO;
+import com.driverlink.dto.TokenPairDTO;
+import com.driverlink.event.TokenRevokedEvent;
+import com.driverlink.exception.AuthenticationFailedException;
+import com.driverlink.model.RefreshToken;
+import com.driverlink.model.RevokedToken;
+import com.driverlink.model.Role;
+import com.driverlink.model.User;
+import com.driverlink.repository.RefreshTokenRepository;
+import com.driverlink.repository.RevokedTokenRepository;
+import com.driverlink.repository.UserRepository;
+import com.driverlink.security.JwtService;
+import com.driverlink.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthService authService;
+    private User testUser;
+    private long nextTokenId;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(userRepository, refreshTokenRepository, revokedTokenRepository,
+                passwordEncoder, jwtService, eventPublisher, transactionManager, 900_000L, 2_592_000_000L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("hashed");
+        testUser.setRoles(Set.of(Role.ROLE_USER));
+        testUser.setActive(true);
+    }
+
+    @Test
+    void login_WithValidCredentials_ShouldIssueTokenPair() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("secret");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+        when(jwtService.generateToken(any(UserPrincipal.class), anyString())).thenReturn("access");
+
+        TokenPairDTO result = authService.login(request);
+
+        assertThat(result.getAccessToken()).isEqualTo("access");
+        assertThat(result.getRefreshToken()).isNotBlank();
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(stored.capture());
+        assertThat(stored.getValue().getTokenHash()).hasSize(64).isNotEqualTo(result.getRefreshToken());
+    }
+
+    @Test
+    void login_WithHashAtOldCost_ShouldRehashPassword() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("secret");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashed")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("rehashed");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(jwtService.generateToken(any(UserPrincipal.class), anyString())).thenReturn("access");
+
+        authService.login(request);
+
+        assertThat(testUser.getPassword()).isEqualTo("rehashed");
+    }
+
+    @Test
+    void login_ShouldCheckPasswordBeforeOpeningTransaction() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("secret");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+        when(jwtService.generateToken(any(UserPrincipal.class), anyString())).thenReturn("access");
+
+        authService.login(request);
+
+        InOrder order = inOrder(passwordEncoder, transactionManager, refreshTokenRepository);
+        order.verify(passwordEncoder).matches("secret", "hashed");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldNotOpenTransaction() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("wrong");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("wrong", "hashed")).thenReturn(false);
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.login(request));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldFail() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("wrong");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("wrong", "hashed")).thenReturn(false);
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.login(request));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_WithCurrentToken_ShouldRotateWithinFamily() {
+        RefreshToken current = refreshToken("family-1", null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfUnused(eq(current.getId()), any(LocalDateTime.class))).thenReturn(1);
+        when(jwtService.generateToken(any(UserPrincipal.class), anyString())).thenReturn("access");
+
+        TokenPairDTO result = authService.refresh("presented");
+
+        assertThat(result.getRefreshToken()).isNotEqualTo("presented");
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(stored.capture());
+        assertThat(stored.getValue().getFamilyId()).isEqualTo("family-1");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void refresh_WithAlreadyRotatedToken_ShouldRevokeWholeFamily() {
+        RefreshToken reused = refreshToken("family-1", LocalDateTime.now().minusMinutes(1));
+        RefreshToken successor = refreshToken("family-1", null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(reused));
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(reused, successor));
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.refresh("presented"));
+
+        assertThat(successor.getRevokedAt()).isNotNull();
+        verify(revokedTokenRepository, times(2)).save(any(RevokedToken.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TokenRevokedEvent.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_WhenConcurrentRefreshRotatedFirst_ShouldRevokeWholeFamily() {
+        RefreshToken raced = refreshToken("family-1", null);
+        RefreshToken successor = refreshToken("family-1", null);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(raced));
+        when(refreshTokenRepository.revokeIfUnused(eq(raced.getId()), any(LocalDateTime.class))).thenReturn(0);
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(raced, successor));
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.refresh("presented"));
+
+        assertThat(successor.getRevokedAt()).isNotNull();
+        verify(refreshTokenRepository, never()).save(any());
+        verify(jwtService, never()).generateToken(any(UserPrincipal.class), anyString());
+    }
+
+    @Test
+    void refresh_AfterTokenVersionBump_ShouldRevokeFamily() {
+        RefreshToken issuedBefore = refreshToken("family-1", null);
+        testUser.setTokenVersion(1);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(issuedBefore));
+        when(refreshTokenRepository.findByFamilyId("family-1")).thenReturn(List.of(issuedBefore));
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(AuthenticationFailedException.class, () -> authService.refresh("presented"));
+
+        assertThat(issuedBefore.getRevokedAt()).isNotNull();
+        verify(refreshTokenRepository, never()).revokeIfUnused(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void login_ShouldStampRefreshTokenWithTokenVersion() {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setEmail("test@example.com");
+        request.setPassword("secret");
+        testUser.setTokenVersion(3);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+        when(jwtService.generateToken(any(UserPrincipal.class), anyString())).thenReturn("access");
+
+        authService.login(request);
+
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(stored.capture());
+        assertThat(stored.getValue().getTokenVersion()).isEqualTo(3);
+    }
+
+    private RefreshToken refreshToken(String familyId, LocalDateTime revokedAt) {
+        RefreshToken token = new RefreshToken();
+        token.setId(++nextTokenId);
+        token.setUser(testUser);
+        token.setFamilyId(familyId);
+        token.setAccessTokenId(java.util.UUID.randomUUID().toString());
+        token.setTokenHash("hash");
+        token.setCreatedAt(LocalDateTime.now().minusMinutes(2));
+        token.setExpiresAt(LocalDateTime.now().plusDays(1));
+        token.setRevokedAt(revokedAt);
+        return token;
+    }
+}
@@ -0,0 +1,184 @@
+package com.driverlink.service;
+
+import com.driverlink.dto.CommentDTO;
+import com.driverlink.dto.CommentThreadDTO;
+import com.driverlink.exception.ResourceNotFoundException;
+import com.driverlink.exception.ValidationException;
+import com.driverlink.model.Comment;
+import com.driverlink.model.CommentPath;
+import com.driverlink.model.Incident;
+import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.ratelimit.RateLimiter;
+import com.driverlink.repository.CommentRepository;
+import com.driverlink.repository.IncidentRepository;
+import com.driverlink.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private IncidentRepository incidentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ContentModerator contentModerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    private User testUser;
+    private Incident testIncident;
+    private Comment root;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        testIncident = new Incident();
+        testIncident.setId(1L);
+
+        root = comment(10L, null);
+    }
+
+    @Test
+    void getThread_ShouldNestRepliesUnderTheirParentsInPathOrder() {
+        // Given
+        Comment reply = comment(11L, root);
+        Comment nested = comment(12L, reply);
+        Comment sibling = comment(13L, root);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(root));
+        when(commentRepository.findSubtree(
+                root.getPath(), CommentPath.upperBound(root.getPath()), CommentPath.MAX_DEPTH))
+                .thenReturn(List.of(root, reply, nested, sibling));
+
+        // When
+        CommentThreadDTO thread = commentService.getThread(10L, null);
+
+        // Then
+        assertThat(thread.getComment().getId()).isEqualTo(10L);
+        assertThat(thread.getReplies()).extracting(node -> node.getComment().getId())
+                .containsExactly(11L, 13L);
+        assertThat(thread.getReplies().get(0).getReplies()).extracting(node -> node.getComment().getId())
+                .containsExactly(12L);
+    }
+
+    @Test
+    void getThread_ShouldLimitDepthRelativeToTheRequestedComment() {
+        // Given
+        Comment reply = comment(11L, root);
+        when(commentRepository.findById(11L)).thenReturn(Optional.of(reply));
+        when(commentRepository.findSubtree(any(), any(), anyInt())).thenReturn(List.of(reply));
+
+        // When
+        commentService.getThread(11L, 2);
+
+        // Then
+        verify(commentRepository).findSubtree(
+                reply.getPath(), CommentPath.upperBound(reply.getPath()), reply.getDepth() + 2);
+    }
+
+    @Test
+    void getThread_ShouldLeaveOutRepliesToDeletedComments() {
+        // Given
+        Comment deleted = comment(11L, root);
+        Comment orphan = comment(12L, deleted);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(root));
+        when(commentRepository.findSubtree(any(), any(), anyInt())).thenReturn(List.of(root, orphan));
+
+        // When
+        CommentThreadDTO thread = commentService.getThread(10L, null);
+
+        // Then
+        assertThat(thread.getReplies()).isEmpty();
+    }
+
+    @Test
+    void getThread_ShouldRejectDeletedComment() {
+        // Given
+        root.setActive(false);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(root));
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getThread(10L, null));
+    }
+
+    @Test
+    void getCommentsForIncident_ShouldPageThroughTopLevelComments() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 2);
+        when(incidentRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findCommentsWithFilters(1L, null, null, true, true, pageable))
+                .thenReturn(new PageImpl<>(List.of(root), pageable, 3));
+
+        // When
+        Page<CommentDTO> page = commentService.getCommentsForIncident(1L, null, null, true, pageable);
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(CommentDTO::getId).containsExactly(10L);
+    }
+
+    @Test
+    void createComment_ShouldRejectRepliesBeyondMaxDepth() {
+        // Given
+        root.setDepth(CommentPath.MAX_DEPTH);
+        CommentDTO dto = new CommentDTO();
+        dto.setContent("Still stuck here");
+        dto.setIncidentId(1L);
+        dto.setParentId(10L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(root));
+
+        // When / Then
+        assertThrows(ValidationException.class, () -> commentService.createComment(dto, 1L));
+        verify(commentRepository, never()).save(any());
+    }
+
+    private Comment comment(Long id, Comment parent) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent("Comment " + id);
+        comment.setIncident(testIncident);
+        comment.setUser(testUser);
+        comment.setParent(parent);
+        comment.setDepth(parent == null ? 0 : parent.getDepth() + 1);
+        comment.setPath(CommentPath.of(parent == null ? null : parent.getPath(), id));
+        comment.setCreatedAt(LocalDateTime.now());
+        return comment;
+    }
+}
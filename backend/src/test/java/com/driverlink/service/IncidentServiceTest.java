@@ -1,8 +1,14 @@
 package com.driverlink.service;
 
 import com.driverlink.dto.IncidentDTO;
+import com.driverlink.dto.LifecycleReportDTO;
 import com.driverlink.dto.LocationDTO;
+import com.driverlink.event.IncidentEvent;
+import com.driverlink.exception.ValidationException;
 import com.driverlink.model.*;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.ratelimit.RateLimiter;
+import com.driverlink.reputation.ReputationService;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.LocationRepository;
 import com.driverlink.repository.UserRepository;
@@ -13,6 +19,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -39,6 +47,21 @@ class IncidentServiceTest {
     @Mock
     private RatingService ratingService;
 
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ContentModerator contentModerator;
+
+    @Mock
+    private ReputationService reputationService;
+
+    @Mock
+    private LifecycleService lifecycleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IncidentService incidentService;
 
@@ -50,6 +73,8 @@ class IncidentServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(rateLimiter.tryAcquire(any(), any(), any())).thenReturn(true);
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -93,7 +118,7 @@ class IncidentServiceTest {
 
         // When
         List<IncidentDTO> result = incidentService.getAllIncidents(
-                IncidentStatus.PENDING, IncidentType.ACCIDENT, "Johannesburg", startDate, endDate);
+                IncidentStatus.PENDING, IncidentType.ACCIDENT, "Johannesburg", startDate, endDate, false);
 
         // Then
         assertThat(result).hasSize(1);
@@ -102,6 +127,34 @@ class IncidentServiceTest {
                 IncidentStatus.PENDING, IncidentType.ACCIDENT, "Johannesburg", startDate, endDate);
     }
 
+    @Test
+    void getAllIncidents_WhenRankedByReputation_ShouldPutTrustedReportersFirst() {
+        // Given
+        User trustedReporter = new User();
+        trustedReporter.setId(2L);
+        Incident trustedIncident = new Incident();
+        trustedIncident.setId(2L);
+        trustedIncident.setTitle("Trusted Incident");
+        trustedIncident.setType(IncidentType.ACCIDENT);
+        trustedIncident.setStatus(IncidentStatus.PENDING);
+        trustedIncident.setLocation(testLocation);
+        trustedIncident.setReporter(trustedReporter);
+        trustedIncident.setCreatedAt(LocalDateTime.now().minusHours(1));
+        when(incidentRepository.findIncidentsWithFilters(any(), any(), any(), any(), any()))
+                .thenReturn(Arrays.asList(testIncident, trustedIncident));
+        when(reputationService.getWeight(1L)).thenReturn(1.0);
+        when(reputationService.getWeight(2L)).thenReturn(1.6);
+        when(reputationService.getScore(1L)).thenReturn(2.0);
+        when(reputationService.getScore(2L)).thenReturn(4.5);
+
+        // When
+        List<IncidentDTO> result = incidentService.getAllIncidents(null, null, null, null, null, true);
+
+        // Then
+        assertThat(result).extracting(IncidentDTO::getId).containsExactly(2L, 1L);
+        assertThat(result).extracting(IncidentDTO::getReporterReputation).containsExactly(4.5, 2.0);
+    }
+
     @Test
     void getIncidentById_ShouldReturnIncident() {
         // Given
@@ -143,6 +196,82 @@ class IncidentServiceTest {
         assertThat(result.getType()).isEqualTo(testIncidentDTO.getType());
         verify(locationRepository).save(any(Location.class));
         verify(incidentRepository).save(any(Incident.class));
+        verify(eventPublisher).publishEvent(any(IncidentEvent.class));
+    }
+
+    @Test
+    void updateIncident_WhenVersionMatches_ShouldApplyEdit() {
+        // Given
+        testIncident.setVersion(3L);
+        testIncidentDTO.setTitle("Updated Title");
+        testIncidentDTO.setVersion(3L);
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+        when(incidentRepository.save(any(Incident.class))).thenReturn(testIncident);
+
+        // When
+        IncidentDTO result = incidentService.updateIncident(1L, testIncidentDTO);
+
+        // Then
+        assertThat(result.getTitle()).isEqualTo("Updated Title");
+        assertThat(result.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void updateIncident_WhenClientReadAnOlderVersion_ShouldRejectWithConflict() {
+        // Given
+        testIncident.setVersion(4L);
+        testIncidentDTO.setTitle("Stale Title");
+        testIncidentDTO.setVersion(3L);
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+
+        // When/Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> incidentService.updateIncident(1L, testIncidentDTO));
+        assertThat(testIncident.getTitle()).isNotEqualTo("Stale Title");
+        verify(incidentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateIncident_WithoutVersion_ShouldBeRejected() {
+        // Given
+        testIncidentDTO.setVersion(null);
+
+        // When/Then
+        assertThrows(ValidationException.class, () -> incidentService.updateIncident(1L, testIncidentDTO));
+        verify(incidentRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateIncidentStatus_ShouldPublishStatusChange() {
+        // Given
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+        when(incidentRepository.save(any(Incident.class))).thenReturn(testIncident);
+
+        // When
+        IncidentDTO result = incidentService.updateIncidentStatus(1L, IncidentStatus.VERIFIED);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(IncidentStatus.VERIFIED);
+        verify(eventPublisher).publishEvent(
+                new IncidentEvent(IncidentEvent.Type.STATUS_CHANGED, result, IncidentStatus.PENDING));
+    }
+
+    @Test
+    void updateIncidentStatus_ShouldKeepVerificationTimeUntilIncidentLeavesVerified() {
+        // Given
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+        when(incidentRepository.save(any(Incident.class))).thenReturn(testIncident);
+
+        // When
+        LocalDateTime verifiedAt = incidentService.updateIncidentStatus(1L, IncidentStatus.VERIFIED).getVerifiedAt();
+        IncidentDTO resolved = incidentService.updateIncidentStatus(1L, IncidentStatus.RESOLVED);
+        IncidentDTO rejected = incidentService.updateIncidentStatus(1L, IncidentStatus.REJECTED);
+
+        // Then
+        assertThat(verifiedAt).isNotNull();
+        assertThat(resolved.getVerifiedAt()).isEqualTo(verifiedAt);
+        assertThat(rejected.getVerifiedAt()).isNull();
     }
 
     @Test
@@ -153,11 +282,54 @@ class IncidentServiceTest {
         when(ratingService.getAverageRatingForIncident(any())).thenReturn(4.5);
 
         // When
-        List<IncidentDTO> result = incidentService.getNearbyIncidents(-26.2041, 28.0473, 5.0);
+        List<IncidentDTO> result = incidentService.getNearbyIncidents(-26.2041, 28.0473, 5.0, false);
 
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo(testIncident.getTitle());
         verify(incidentRepository).findNearbyIncidents(28.0473, -26.2041, 5.0);
     }
+
+    @Test
+    void deleteIncident_ShouldDeactivateItAndCascadeToItsContent() {
+        // Given
+        LifecycleReportDTO report = LifecycleReportDTO.builder().comments(2).votes(3).build();
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+        when(lifecycleService.deactivateIncident(1L)).thenReturn(report);
+
+        // When
+        LifecycleReportDTO result = incidentService.deleteIncident(1L);
+
+        // Then
+        assertThat(result).isEqualTo(report);
+        assertThat(testIncident.isActive()).isFalse();
+        verify(incidentRepository).save(testIncident);
+        verify(eventPublisher).publishEvent(any(IncidentEvent.class));
+    }
+
+    @Test
+    void deleteIncident_WhenAlreadyDeleted_ShouldNotCascadeAgain() {
+        // Given
+        testIncident.setActive(false);
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+
+        // When
+        LifecycleReportDTO result = incidentService.deleteIncident(1L);
+
+        // Then
+        assertThat(result.getVotes()).isZero();
+        verifyNoInteractions(lifecycleService, eventPublisher);
+    }
+
+    @Test
+    void restoreIncident_WhenReporterIsDeleted_ShouldBeRejected() {
+        // Given
+        testIncident.setActive(false);
+        testUser.setActive(false);
+        when(incidentRepository.findById(1L)).thenReturn(Optional.of(testIncident));
+
+        // When / Then
+        assertThrows(ValidationException.class, () -> incidentService.restoreIncident(1L));
+        verifyNoInteractions(lifecycleService);
+    }
 }
@@ -0,0 +1,86 @@
+package com.driverlink.service;
+
+import static com.driverlink.repository.LifecycleRepository.ChildTable.COMMENTS;
+import static com.driverlink.repository.LifecycleRepository.ChildTable.RATINGS;
+import static com.driverlink.repository.LifecycleRepository.ChildTable.VOTES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.dto.LifecycleReportDTO;
+import com.driverlink.event.LifecycleEvent;
+import com.driverlink.repository.LifecycleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class LifecycleServiceTest {
+
+  @Mock private LifecycleRepository lifecycleRepository;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks private LifecycleService lifecycleService;
+
+  @Test
+  void deactivateIncident_ReportsEachTableAndPublishesOneEvent() {
+    when(lifecycleRepository.deactivateByIncident(COMMENTS, 3L, "incident:3")).thenReturn(4);
+    when(lifecycleRepository.deactivateByIncident(VOTES, 3L, "incident:3")).thenReturn(6);
+    when(lifecycleRepository.deactivateByIncident(RATINGS, 3L, "incident:3")).thenReturn(2);
+
+    LifecycleReportDTO report = lifecycleService.deactivateIncident(3L);
+
+    assertEquals(new LifecycleReportDTO(0, 4, 6, 2), report);
+    InOrder inOrder = inOrder(lifecycleRepository);
+    inOrder.verify(lifecycleRepository).deactivateByIncident(VOTES, 3L, "incident:3");
+    inOrder.verify(lifecycleRepository).adjustVerificationCounts("incident:3", -1);
+    inOrder.verify(lifecycleRepository).adjustReplyCounts("incident:3", -1);
+    verify(eventPublisher)
+        .publishEvent(
+            new LifecycleEvent(
+                LifecycleEvent.Type.DEACTIVATED, LifecycleEvent.Scope.INCIDENT, 3L, 0, 4, 6, 2));
+  }
+
+  @Test
+  void deactivateUser_TakesDownIncidentsBeforeWhatWasLeftOnThem() {
+    when(lifecycleRepository.deactivateIncidentsByReporter(7L, "user:7")).thenReturn(2);
+    when(lifecycleRepository.deactivateByUser(COMMENTS, 7L, "user:7")).thenReturn(5);
+    when(lifecycleRepository.deactivateByUser(VOTES, 7L, "user:7")).thenReturn(9);
+    when(lifecycleRepository.deactivateByUser(RATINGS, 7L, "user:7")).thenReturn(1);
+
+    LifecycleReportDTO report = lifecycleService.deactivateUser(7L);
+
+    assertEquals(new LifecycleReportDTO(2, 5, 9, 1), report);
+    InOrder inOrder = inOrder(lifecycleRepository);
+    inOrder.verify(lifecycleRepository).deactivateIncidentsByReporter(7L, "user:7");
+    inOrder.verify(lifecycleRepository).deactivateByUser(COMMENTS, 7L, "user:7");
+    inOrder.verify(lifecycleRepository).adjustVerificationCounts("user:7", -1);
+    inOrder.verify(lifecycleRepository).adjustReplyCounts("user:7", -1);
+    verify(eventPublisher).publishEvent(any(LifecycleEvent.class));
+  }
+
+  @Test
+  void restoreUser_CountsUpvotesBackBeforeRestoringThem() {
+    when(lifecycleRepository.restoreIncidents("user:7")).thenReturn(2);
+    when(lifecycleRepository.restore(COMMENTS, "user:7")).thenReturn(5);
+    when(lifecycleRepository.restore(VOTES, "user:7")).thenReturn(9);
+    when(lifecycleRepository.restore(RATINGS, "user:7")).thenReturn(1);
+
+    LifecycleReportDTO report = lifecycleService.restoreUser(7L);
+
+    assertEquals(new LifecycleReportDTO(2, 5, 9, 1), report);
+    InOrder inOrder = inOrder(lifecycleRepository);
+    inOrder.verify(lifecycleRepository).adjustVerificationCounts("user:7", 1);
+    inOrder.verify(lifecycleRepository).adjustReplyCounts("user:7", 1);
+    inOrder.verify(lifecycleRepository).restore(COMMENTS, "user:7");
+    inOrder.verify(lifecycleRepository).restore(VOTES, "user:7");
+    verify(eventPublisher)
+        .publishEvent(
+            new LifecycleEvent(
+                LifecycleEvent.Type.RESTORED, LifecycleEvent.Scope.USER, 7L, 2, 5, 9, 1));
+  }
+}
@@ -7,6 +7,8 @@ import com.driverlink.exception.ValidationException;
 import com.driverlink.model.Incident;
 import com.driverlink.model.Rating;
 import com.driverlink.model.User;
+import com.driverlink.moderation.ContentModerator;
+import com.driverlink.ratelimit.RateLimiter;
 import com.driverlink.repository.IncidentRepository;
 import com.driverlink.repository.RatingRepository;
 import com.driverlink.repository.UserRepository;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -41,6 +44,15 @@ class RatingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ContentModerator contentModerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -51,6 +63,8 @@ class RatingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(rateLimiter.tryAcquire(any(), any(), any())).thenReturn(true);
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -194,4 +208,18 @@ class RatingServiceTest {
         // Then
         verify(ratingRepository).save(argThat(rating -> !rating.isActive()));
     }
+
+    @Test
+    void deleteRating_WhenAlreadyDeleted_ShouldDoNothing() {
+        // Given
+        testRating.setActive(false);
+        when(ratingRepository.findById(1L)).thenReturn(Optional.of(testRating));
+
+        // When
+        ratingService.deleteRating(1L, 1L);
+
+        // Then
+        verify(ratingRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
 }
@@ -0,0 +1,64 @@
+package com.driverlink.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.event.UserEvent;
+import com.driverlink.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class UserAvailabilityIndexTest {
+
+  @Mock private UserRepository userRepository;
+
+  private UserAvailabilityIndex index;
+
+  @BeforeEach
+  void setUp() {
+    when(userRepository.count()).thenReturn(1L);
+    Object[] row = {1L, "Alice", "alice@example.com"};
+    List<Object[]> rows = List.<Object[]>of(row);
+    when(userRepository.findIdentityRows(eq(0L), any(Pageable.class))).thenReturn(rows);
+    index =
+        new UserAvailabilityIndex(
+            userRepository, new ObjectMapper(), new SimpleMeterRegistry(), 1000, 0.001);
+    index.rebuild();
+  }
+
+  @Test
+  void whenNameWasNeverRegistered_thenItIsAvailableWithoutQuery() {
+    assertTrue(index.isUsernameAvailable("bob"));
+    assertTrue(index.isEmailAvailable("bob@example.com"));
+
+    verify(userRepository, never()).existsByUsernameIgnoreCase(anyString());
+    verify(userRepository, never()).existsByEmailIgnoreCase(anyString());
+  }
+
+  @Test
+  void whenNameIsLoaded_thenDatabaseConfirmsRegardlessOfCase() {
+    when(userRepository.existsByUsernameIgnoreCase("ALICE")).thenReturn(true);
+
+    assertFalse(index.isUsernameAvailable(" ALICE "));
+  }
+
+  @Test
+  void whenUserIsWritten_thenNameIsNoLongerReportedFreeFromMemory() {
+    index.onUserEvent(
+        new UserEvent(UserEvent.Type.CREATED, 2L, "carol", "carol@example.com", true, 0));
+    when(userRepository.existsByEmailIgnoreCase("carol@example.com")).thenReturn(true);
+
+    assertFalse(index.isEmailAvailable("carol@example.com"));
+  }
+}
@@ -0,0 +1,138 @@
+package com.driverlink.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.driverlink.dto.UserImportReportDTO;
+import com.driverlink.dto.UserImportReportDTO.RowResult;
+import com.driverlink.event.UserEvent;
+import com.driverlink.exception.ValidationException;
+import com.driverlink.model.IdAllocation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserImportServiceTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private UserAvailabilityIndex availabilityIndex;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Captor private ArgumentCaptor<List<Object[]>> rows;
+
+  private UserImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    importService =
+        new UserImportService(
+            jdbcTemplate,
+            transactionManager,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            availabilityIndex,
+            eventPublisher,
+            new ObjectMapper(),
+            4,
+            2,
+            500,
+            1000);
+    when(availabilityIndex.isUsernameAvailable(anyString())).thenReturn(true);
+    when(availabilityIndex.isEmailAvailable(anyString())).thenReturn(true);
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt()))
+        .thenAnswer(
+            invocation ->
+                LongStream.range(0, invocation.<Integer>getArgument(2))
+                    .map(block -> 100 + block * IdAllocation.BLOCK_SIZE)
+                    .boxed()
+                    .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    importService.shutdown();
+  }
+
+  @Test
+  void importCsv_CreatesValidRowsAndReportsRejectedOnes() {
+    String csv =
+        "username,email,password,roles\n"
+            + "alice,alice@example.com,Password123!,ROLE_ADMIN|user\n"
+            + "bob,\"bob@example.com\",Password123!,\n"
+            + "ALICE,alice2@example.com,Password123!,\n"
+            + "carol,not-an-email,Password123!,\n"
+            + "dave,dave@example.com,weak,\n";
+
+    UserImportReportDTO report =
+        importService.importUsers(stream(csv), UserImportService.Format.CSV);
+
+    assertEquals(5, report.getTotal());
+    assertEquals(2, report.getCreated());
+    assertEquals(
+        List.of(2, 3, 4, 5, 6), report.getRows().stream().map(RowResult::getLine).toList());
+    assertEquals(RowResult.Status.CREATED, report.getRows().get(0).getStatus());
+    assertEquals(100L, report.getRows().get(0).getUserId());
+    assertEquals(101L, report.getRows().get(1).getUserId());
+    verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(1));
+    assertEquals("Duplicate username in file", report.getRows().get(2).getError());
+    assertEquals(RowResult.Status.REJECTED, report.getRows().get(3).getStatus());
+    assertEquals(RowResult.Status.REJECTED, report.getRows().get(4).getStatus());
+
+    verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO user_roles"), rows.capture());
+    assertEquals(3, rows.getValue().size());
+    verify(eventPublisher, times(2)).publishEvent(any(UserEvent.class));
+  }
+
+  @Test
+  void importNdjson_KeepsPrehashedPasswordsAndRejectsExistingNames() {
+    String hash = "$2a$10$" + "a".repeat(53);
+    when(availabilityIndex.isEmailAvailable("taken@example.com")).thenReturn(false);
+    String ndjson =
+        "{\"username\":\"erin\",\"email\":\"erin@example.com\",\"password\":\"" + hash + "\"}\n"
+            + "{\"username\":\"frank\",\"email\":\"taken@example.com\","
+            + "\"password\":\"Password123!\"}\n"
+            + "{not json}\n";
+
+    UserImportReportDTO report =
+        importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON);
+
+    assertEquals(1, report.getCreated());
+    assertEquals("Email already exists", report.getRows().get(1).getError());
+    assertEquals("Malformed JSON", report.getRows().get(2).getError());
+    verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO users"), rows.capture());
+    assertEquals(hash, rows.getValue().get(0)[3]);
+  }
+
+  @Test
+  void importCsv_WithoutRequiredColumns_IsRefused() {
+    assertThrows(
+        ValidationException.class,
+        () -> importService.importUsers(stream("name,mail\nx,y\n"), UserImportService.Format.CSV));
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -2,20 +2,29 @@ package com.driverlink.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.driverlink.dto.LifecycleReportDTO;
+import com.driverlink.dto.UserPageDTO;
+import com.driverlink.event.UserEvent;
 import com.driverlink.exception.UserException;
+import com.driverlink.model.Role;
 import com.driverlink.model.User;
 import com.driverlink.repository.UserRepository;
-import java.util.Arrays;
+import com.driverlink.reputation.ReputationService;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +36,12 @@ class UserServiceTest {
 
   @Mock private PasswordEncoder passwordEncoder;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private ReputationService reputationService;
+
+  @Mock private LifecycleService lifecycleService;
+
   @InjectMocks private UserService userService;
 
   private User testUser;
@@ -38,7 +53,7 @@ class UserServiceTest {
             .username("testuser")
             .email("test@example.com")
             .password("Password123!")
-            .role("USER")
+            .role(Set.of(Role.ROLE_USER))
             .active(true)
             .build();
     testUser.setId(1L);
@@ -52,12 +67,13 @@ class UserServiceTest {
             .username("testuser")
             .email("test@example.com")
             .password("Password123!")
-            .role("USER")
+            .role(Set.of(Role.ROLE_USER))
             .active(true)
             .build();
 
+    String rawPassword = inputUser.getPassword();
     String encodedPassword = "encodedPassword";
-    when(passwordEncoder.encode(inputUser.getPassword())).thenReturn(encodedPassword);
+    when(passwordEncoder.encode(rawPassword)).thenReturn(encodedPassword);
     when(userRepository.save(any(User.class)))
         .thenAnswer(
             invocation -> {
@@ -75,7 +91,7 @@ class UserServiceTest {
     assertEquals(inputUser.getUsername(), createdUser.getUsername());
     assertEquals(encodedPassword, createdUser.getPassword());
     verify(userValidator).validateNewUser(inputUser);
-    verify(passwordEncoder).encode(inputUser.getPassword());
+    verify(passwordEncoder).encode("Password123!");
     verify(userRepository).save(any(User.class));
   }
 
@@ -102,18 +118,40 @@ class UserServiceTest {
   }
 
   @Test
-  void getAllUsers_Success() {
+  void listUsers_GroupsRoleRowsAndReturnsCursor() {
+    // Arrange
+    LocalDateTime created = LocalDateTime.now();
+    List<Object[]> rows =
+        List.of(
+            new Object[] {1L, "alice", "alice@example.com", true, created, Role.ROLE_USER},
+            new Object[] {1L, "alice", "alice@example.com", true, created, Role.ROLE_ADMIN},
+            new Object[] {2L, "albert", "albert@example.com", true, created, null},
+            new Object[] {3L, "alfred", "alfred@example.com", false, created, Role.ROLE_USER});
+    when(userRepository.findListingRows(eq(0L), eq("al%"), any(Pageable.class))).thenReturn(rows);
+
+    // Act
+    UserPageDTO page = userService.listUsers(null, 2, "Al");
+
+    // Assert
+    assertEquals(2, page.getUsers().size());
+    assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), page.getUsers().get(0).getRoles());
+    assertTrue(page.getUsers().get(1).getRoles().isEmpty());
+    assertEquals(2L, page.getNext());
+  }
+
+  @Test
+  void listUsers_OnLastPage_HasNoCursor() {
     // Arrange
-    List<User> users = Arrays.asList(testUser);
-    when(userRepository.findAll()).thenReturn(users);
+    Object[] row = {5L, "bob", "bob@example.com", true, LocalDateTime.now(), Role.ROLE_USER};
+    List<Object[]> rows = List.<Object[]>of(row);
+    when(userRepository.findListingRows(eq(4L), eq("%"), any(Pageable.class))).thenReturn(rows);
 
     // Act
-    List<User> foundUsers = userService.getAllUsers();
+    UserPageDTO page = userService.listUsers(4L, 50, null);
 
     // Assert
-    assertNotNull(foundUsers);
-    assertEquals(1, foundUsers.size());
-    assertEquals(testUser.getUsername(), foundUsers.get(0).getUsername());
+    assertEquals(1, page.getUsers().size());
+    assertNull(page.getNext());
   }
 
   @Test
@@ -124,7 +162,7 @@ class UserServiceTest {
             .username("updateduser")
             .email("updated@example.com")
             .password("UpdatedPass123!")
-            .role("USER")
+            .role(Set.of(Role.ROLE_USER))
             .active(true)
             .build();
     updatedUser.setId(1L);
@@ -143,13 +181,60 @@ class UserServiceTest {
   }
 
   @Test
-  void deleteUser_Success() {
+  void deleteUser_ShouldDeactivateRevokeTokensAndCascade() {
     // Arrange
+    LifecycleReportDTO report = LifecycleReportDTO.builder().incidents(2).votes(5).build();
     when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-    doNothing().when(userRepository).delete(testUser);
+    when(userRepository.save(testUser)).thenReturn(testUser);
+    when(lifecycleService.deactivateUser(1L)).thenReturn(report);
 
-    // Act & Assert
-    assertDoesNotThrow(() -> userService.deleteUser(1L));
-    verify(userRepository).delete(testUser);
+    // Act
+    LifecycleReportDTO result = userService.deleteUser(1L);
+
+    // Assert
+    assertEquals(report, result);
+    assertFalse(testUser.isActive());
+    assertEquals(1, testUser.getTokenVersion());
+    verify(userRepository, never()).delete(any());
+    verify(eventPublisher)
+        .publishEvent(
+            new UserEvent(UserEvent.Type.UPDATED, 1L, "testuser", "test@example.com", false, 1));
+  }
+
+  @Test
+  void restoreUser_WhenActive_ShouldDoNothing() {
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+    assertEquals(new LifecycleReportDTO(), userService.restoreUser(1L));
+    verifyNoInteractions(lifecycleService, eventPublisher);
+  }
+
+  @Test
+  void updateUser_WhenRolesChange_ShouldBumpTokenVersion() {
+    User promoted =
+        User.builder()
+            .username(testUser.getUsername())
+            .email(testUser.getEmail())
+            .password(testUser.getPassword())
+            .role(Set.of(Role.ROLE_USER, Role.ROLE_MODERATOR))
+            .active(true)
+            .build();
+    promoted.setId(1L);
+
+    when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    User result = userService.updateUser(promoted);
+
+    assertEquals(testUser.getTokenVersion() + 1, result.getTokenVersion());
+    verify(eventPublisher)
+        .publishEvent(
+            new UserEvent(
+                UserEvent.Type.UPDATED,
+                1L,
+                promoted.getUsername(),
+                promoted.getEmail(),
+                true,
+                result.getTokenVersion()));
   }
 }
@@ -0,0 +1,178 @@
+package com.driverlink.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.driverlink.dto.CommentDTO;
+import com.driverlink.event.CommentEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class CommentStreamHubTest {
+  private static final long IDLE_MS = 60_000;
+
+  private final MutableClock clock = new MutableClock();
+  private final List<RecordingEmitter> emitters = new ArrayList<>();
+  private ExecutorService senders;
+  private CommentStreamHub hub;
+
+  @BeforeEach
+  void setUp() {
+    senders = Executors.newSingleThreadExecutor();
+    hub =
+        new CommentStreamHub(
+            3,
+            16,
+            IDLE_MS,
+            senders,
+            () -> {
+              RecordingEmitter emitter = new RecordingEmitter();
+              emitters.add(emitter);
+              return emitter;
+            },
+            clock);
+  }
+
+  @AfterEach
+  void tearDown() {
+    hub.shutdown();
+  }
+
+  @Test
+  void commentsFanOutToEverySubscriberOfTheIncidentOnly() throws Exception {
+    hub.subscribe(1L, null);
+    hub.subscribe(1L, null);
+    hub.subscribe(2L, null);
+
+    hub.onCommentEvent(event(1L, 10L));
+
+    List<List<String>> sent = sent();
+    assertEquals(1, sent.get(0).size());
+    assertTrue(sent.get(0).get(0).contains("event:comment.created"));
+    assertEquals(sent.get(0), sent.get(1));
+    assertTrue(sent.get(2).isEmpty());
+  }
+
+  @Test
+  void reconnectingClientIsCaughtUpFromLastEventId() throws Exception {
+    hub.subscribe(1L, null);
+    hub.onCommentEvent(event(1L, 10L));
+    hub.onCommentEvent(event(1L, 11L));
+    hub.onCommentEvent(event(1L, 12L));
+    String firstId = eventId(sent().get(0).get(0));
+
+    hub.subscribe(1L, firstId);
+
+    List<String> replayed = sent().get(1);
+    assertEquals(2, replayed.size());
+    assertEquals(sent().get(0).subList(1, 3), replayed);
+  }
+
+  @Test
+  void resumingFromAnIdThatCannotBeReplayedSendsReset() throws Exception {
+    hub.subscribe(1L, null);
+    for (long id = 10; id < 15; id++) {
+      hub.onCommentEvent(event(1L, id));
+    }
+    String evictedId = eventId(sent().get(0).get(0));
+
+    hub.subscribe(1L, evictedId);
+    hub.subscribe(1L, "another-boot-7");
+
+    assertTrue(sent().get(1).get(0).contains("event:reset"));
+    assertTrue(sent().get(2).get(0).contains("event:reset"));
+  }
+
+  @Test
+  void idleChannelsAreReapedAndLiveOnesGetHeartbeats() throws Exception {
+    hub.subscribe(1L, null);
+    hub.onCommentEvent(event(1L, 10L));
+    String lastId = eventId(sent().get(0).get(0));
+    emitters.get(0).completion.run();
+    hub.subscribe(2L, null);
+
+    clock.advance(Duration.ofMillis(IDLE_MS + 1));
+    hub.heartbeat();
+
+    // Had the channel survived, its buffer would show nothing was missed; once reaped, any later
+    // event means the gap cannot be ruled out
+    hub.onCommentEvent(event(2L, 11L));
+    hub.subscribe(1L, lastId);
+    List<List<String>> sent = sent();
+    assertTrue(sent.get(1).get(0).contains("keep-alive"));
+    assertTrue(sent.get(2).get(0).contains("event:reset"));
+  }
+
+  private List<List<String>> sent() throws Exception {
+    // Drains run on the single sender thread in submission order
+    senders.submit(() -> {}).get();
+    return emitters.stream().map(emitter -> emitter.sent).collect(Collectors.toList());
+  }
+
+  private static String eventId(String frame) {
+    int start = frame.indexOf("id:") + 3;
+    return frame.substring(start, frame.indexOf('\n', start));
+  }
+
+  private static CommentEvent event(Long incidentId, Long commentId) {
+    CommentDTO comment = new CommentDTO();
+    comment.setId(commentId);
+    comment.setIncidentId(incidentId);
+    return new CommentEvent(CommentEvent.Type.CREATED, incidentId, comment);
+  }
+
+  /** Records the text of every frame instead of writing it to a response. */
+  private static final class RecordingEmitter extends SseEmitter {
+    private final List<String> sent = new ArrayList<>();
+    private Runnable completion = () -> {};
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      sent.add(
+          builder.build().stream()
+              .map(ResponseBodyEmitter.DataWithMediaType::getData)
+              .filter(data -> data instanceof String)
+              .map(String.class::cast)
+              .collect(Collectors.joining()));
+    }
+
+    @Override
+    public synchronized void onCompletion(Runnable callback) {
+      completion = callback;
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2024-03-04T12:30:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("UTC");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
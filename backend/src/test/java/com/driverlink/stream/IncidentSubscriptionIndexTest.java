@@ -0,0 +1,51 @@
+package com.driverlink.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IncidentSubscriptionIndexTest {
+
+  private IncidentSubscriptionIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new IncidentSubscriptionIndex(0.1);
+  }
+
+  @Test
+  void whenIncidentInsideRadius_thenSubscriptionMatches() {
+    index.subscribe("s1", -26.2041, 28.0473, 5.0);
+
+    assertThat(index.match(-26.2100, 28.0500))
+        .extracting(IncidentSubscriptionIndex.Subscription::sessionId)
+        .containsExactly("s1");
+  }
+
+  @Test
+  void whenIncidentInCoveredCellButOutsideRadius_thenNoMatch() {
+    index.subscribe("s1", -26.2041, 28.0473, 1.0);
+
+    assertThat(index.match(-26.2041, 28.0473 + 0.02)).isEmpty();
+  }
+
+  @Test
+  void whenSessionResubscribes_thenOnlyNewAreaMatches() {
+    index.subscribe("s1", -26.2041, 28.0473, 5.0);
+    index.subscribe("s1", -33.9249, 18.4241, 5.0);
+
+    assertThat(index.match(-26.2041, 28.0473)).isEmpty();
+    assertThat(index.match(-33.9249, 18.4241)).hasSize(1);
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void whenSessionUnsubscribes_thenNothingMatches() {
+    index.subscribe("s1", -26.2041, 28.0473, 5.0);
+    index.unsubscribe("s1");
+
+    assertThat(index.match(-26.2041, 28.0473)).isEmpty();
+    assertThat(index.size()).isZero();
+  }
+}
@@ -0,0 +1,124 @@
+package com.driverlink.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.driverlink.tracking.DriverPositionStore.DriverPosition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DriverPositionStoreTest {
+
+  private DriverPositionStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new DriverPositionStore(1 << 16, 0.01);
+  }
+
+  @Test
+  void whenPingRecorded_thenLatestPositionIsReturned() {
+    store.update(7, -26.2041, 28.0473, 1_000, 90, 60.5);
+
+    DriverPosition position = store.get(7);
+
+    assertThat(position.latitude()).isCloseTo(-26.2041, within(1e-6));
+    assertThat(position.longitude()).isCloseTo(28.0473, within(1e-6));
+    assertThat(position.heading()).isEqualTo(90);
+    assertThat(position.speedKmh()).isEqualTo(60.5);
+  }
+
+  @Test
+  void whenDriverIsOutsideCapacity_thenStoreDoesNotAcceptThem() {
+    assertThat(store.accepts((1 << 16) - 1)).isTrue();
+    assertThat(store.accepts(1 << 16)).isFalse();
+    assertThat(store.accepts(-1)).isFalse();
+    assertThatThrownBy(() -> store.update(1 << 16, -26.2, 28.0, 1_000, -1, -1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void whenOlderPingArrives_thenItIsIgnored() {
+    store.update(7, -26.2041, 28.0473, 2_000, -1, -1);
+
+    assertThat(store.update(7, -33.9249, 18.4241, 1_000, -1, -1)).isFalse();
+    assertThat(store.get(7).latitude()).isCloseTo(-26.2041, within(1e-6));
+    assertThat(store.get(7).heading()).isEqualTo(-1);
+  }
+
+  @Test
+  void whenDriverMoves_thenNearbyQueryFollows() {
+    store.update(1, -26.2041, 28.0473, 1_000, -1, -1);
+    store.update(2, -26.2100, 28.0500, 1_000, -1, -1);
+    store.update(2, -33.9249, 18.4241, 2_000, -1, -1);
+
+    List<DriverPosition> nearby = store.findNearby(-26.2041, 28.0473, 5, 0, 10);
+
+    assertThat(nearby).extracting(DriverPosition::userId).containsExactly(1L);
+  }
+
+  @Test
+  void whenDriverStopsReporting_thenEvictedFromNearbyResults() {
+    store.update(1, -26.2041, 28.0473, 1_000, -1, -1);
+    store.update(2, -26.2050, 28.0480, 5_000, -1, -1);
+
+    assertThat(store.evictStale(2_000)).isEqualTo(1);
+    assertThat(store.findNearby(-26.2041, 28.0473, 5, 0, 10))
+        .extracting(DriverPosition::userId)
+        .containsExactly(2L);
+  }
+
+  @Test
+  void whenDrained_thenEachChangeIsReportedOnce() {
+    store.update(1, -26.2041, 28.0473, 1_000, -1, -1);
+    store.update(5000, -26.2041, 28.0473, 1_000, -1, -1);
+    List<Long> drained = new ArrayList<>();
+
+    store.drainChanged((id, lat, lon, ts, heading, speed) -> drained.add(id));
+    store.drainChanged((id, lat, lon, ts, heading, speed) -> drained.add(id));
+
+    assertThat(drained).containsExactly(1L, 5000L);
+  }
+
+  @Test
+  void whenWritersRace_thenReadersNeverSeeTimestampFromAnotherPing() throws Exception {
+    int pings = 20_000;
+    AtomicInteger torn = new AtomicInteger();
+    CompletableFuture<Void> even = CompletableFuture.runAsync(() -> writePings(0, pings));
+    CompletableFuture<Void> odd = CompletableFuture.runAsync(() -> writePings(1, pings));
+
+    while (!(even.isDone() && odd.isDone())) {
+      DriverPosition position = store.get(7);
+      if (position != null && !matchesTimestamp(position)) {
+        torn.incrementAndGet();
+      }
+      store.drainChanged(
+          (id, lat, lon, ts, heading, speed) -> {
+            if (heading != ts % 360 || Math.abs(lat - ts * 1e-4) > 1e-6) {
+              torn.incrementAndGet();
+            }
+          });
+    }
+    CompletableFuture.allOf(even, odd).get();
+
+    assertThat(torn).hasValue(0);
+    assertThat(store.get(7).timestampMs()).isEqualTo(pings - 1);
+  }
+
+  private void writePings(int first, int pings) {
+    for (int ts = first + 2; ts < pings; ts += 2) {
+      store.update(7, ts * 1e-4, 28.0473, ts, ts % 360, -1);
+    }
+  }
+
+  private static boolean matchesTimestamp(DriverPosition position) {
+    long ts = position.timestampMs();
+    return position.heading() == ts % 360
+        && Math.abs(position.latitude() - ts * 1e-4) < 1e-6;
+  }
+}